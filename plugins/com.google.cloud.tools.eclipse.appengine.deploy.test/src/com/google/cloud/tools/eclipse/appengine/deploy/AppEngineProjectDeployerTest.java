@@ -19,11 +19,15 @@ package com.google.cloud.tools.eclipse.appengine.deploy;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.google.cloud.tools.eclipse.appengine.deploy.AppEngineProjectDeployer.DeployProgressReporter;
+import com.google.cloud.tools.eclipse.sdk.GcloudDeployProgressParser;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.SubMonitor;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -109,4 +113,41 @@ public class AppEngineProjectDeployerTest {
     tempFolder.newFile("WEB-INF/appengine-generated/dos.yaml");
     tempFolder.newFile("WEB-INF/appengine-generated/queue.yaml");
   }
+
+  @Test
+  public void testDeployProgressReporter_advancesWithMilestones() {
+    DeployProgressReporter reporter = new DeployProgressReporter(
+        SubMonitor.convert(new NullProgressMonitor(), DeployProgressReporter.TOTAL_WORK));
+    GcloudDeployProgressParser parser = new GcloudDeployProgressParser(reporter);
+    assertEquals(0, reporter.getReported());
+
+    parser.onOutputLine("Uploading 3 files to Google Cloud Storage");
+    int afterUploadStart = reporter.getReported();
+    parser.onOutputLine("File upload done.");
+    int afterUploadDone = reporter.getReported();
+    parser.onOutputLine("Setting traffic split for service [default]...");
+    int afterTraffic = reporter.getReported();
+
+    assertTrue(0 < afterUploadStart);
+    assertTrue(afterUploadStart < afterUploadDone);
+    assertTrue(afterUploadDone < afterTraffic);
+    assertTrue(afterTraffic < DeployProgressReporter.TOTAL_WORK);
+
+    reporter.done();
+    assertEquals(DeployProgressReporter.TOTAL_WORK, reporter.getReported());
+  }
+
+  @Test
+  public void testDeployProgressReporter_neverMovesBackwards() {
+    DeployProgressReporter reporter = new DeployProgressReporter(
+        SubMonitor.convert(new NullProgressMonitor(), DeployProgressReporter.TOTAL_WORK));
+    GcloudDeployProgressParser parser = new GcloudDeployProgressParser(reporter);
+
+    parser.onOutputLine("Deployed service [default] to [https://p.appspot.com]");
+    int afterFirstService = reporter.getReported();
+    // second service of a multi-service deploy
+    parser.onOutputLine("Beginning deployment of service [backend]...");
+    parser.onOutputLine("Uploading 1 file to Google Cloud Storage");
+    assertEquals(afterFirstService, reporter.getReported());
+  }
 }
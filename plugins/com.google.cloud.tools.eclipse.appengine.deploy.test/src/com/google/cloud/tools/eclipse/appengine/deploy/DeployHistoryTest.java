@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.deploy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.appengine.deploy.DeployTimings.Measurement;
+import com.google.cloud.tools.eclipse.appengine.deploy.DeployTimings.Phase;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeployHistoryTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path historyFile;
+  private DeployHistory history;
+
+  @Before
+  public void setUp() {
+    historyFile = tempFolder.getRoot().toPath().resolve("history.json");
+    history = new DeployHistory(historyFile);
+  }
+
+  @Test
+  public void testEmptyHistory() {
+    assertTrue(history.getTimings("project").isEmpty());
+    assertTrue(history.findRegressions("project", timings(100000, 100000)).isEmpty());
+  }
+
+  @Test
+  public void testAdd_persisted() throws IOException {
+    DeployTimings timings = new DeployTimings(1234L);
+    timings.record(Phase.STAGING, new Measurement(500, 2048, 12));
+    timings.record(Phase.DEPLOY, 3000);
+    history.add("project", timings);
+
+    List<DeployTimings> loaded = new DeployHistory(historyFile).getTimings("project");
+    assertEquals(1, loaded.size());
+    assertEquals(1234L, loaded.get(0).getTimestamp());
+    assertEquals(500, loaded.get(0).get(Phase.STAGING).getMillis());
+    assertEquals(2048, loaded.get(0).get(Phase.STAGING).getBytes());
+    assertEquals(12, loaded.get(0).get(Phase.STAGING).getFileCount());
+    assertEquals(3000, loaded.get(0).get(Phase.DEPLOY).getMillis());
+  }
+
+  @Test
+  public void testAdd_keptPerProject() throws IOException {
+    history.add("project-a", timings(1000, 1000));
+    history.add("project-b", timings(1000, 1000));
+    history.add("project-b", timings(1000, 1000));
+
+    assertEquals(1, history.getTimings("project-a").size());
+    assertEquals(2, history.getTimings("project-b").size());
+  }
+
+  @Test
+  public void testAdd_bounded() throws IOException {
+    for (int i = 0; i < DeployHistory.MAX_RECORDS_PER_PROJECT + 5; i++) {
+      DeployTimings timings = new DeployTimings(i);
+      timings.record(Phase.DEPLOY, 1000);
+      history.add("project", timings);
+    }
+
+    List<DeployTimings> loaded = history.getTimings("project");
+    assertEquals(DeployHistory.MAX_RECORDS_PER_PROJECT, loaded.size());
+    assertEquals(5, loaded.get(0).getTimestamp());  // oldest dropped first
+  }
+
+  @Test
+  public void testCorruptHistoryFileIgnored() throws IOException {
+    Files.write(historyFile, "{ not json".getBytes(StandardCharsets.UTF_8));
+    assertTrue(new DeployHistory(historyFile).getTimings("project").isEmpty());
+  }
+
+  @Test
+  public void testFindRegressions_needsEnoughSamples() throws IOException {
+    for (int i = 0; i < DeployHistory.MIN_SAMPLES - 1; i++) {
+      history.add("project", timings(1000, 10000));
+    }
+    assertTrue(history.findRegressions("project", timings(60000, 60000)).isEmpty());
+  }
+
+  @Test
+  public void testFindRegressions() throws IOException {
+    history.add("project", timings(1000, 10000));
+    history.add("project", timings(1200, 11000));
+    history.add("project", timings(900, 9000));
+
+    List<Phase> regressions = history.findRegressions("project", timings(1100, 30000));
+    assertEquals(Collections.singletonList(Phase.DEPLOY), regressions);
+  }
+
+  @Test
+  public void testFindRegressions_ignoresSmallAbsoluteDifference() throws IOException {
+    history.add("project", timings(100, 10000));
+    history.add("project", timings(100, 10000));
+    history.add("project", timings(100, 10000));
+
+    // 10x slower, but still well under a second
+    assertTrue(history.findRegressions("project", timings(1000, 10000)).isEmpty());
+  }
+
+  @Test
+  public void testMedian() {
+    assertEquals(3, DeployHistory.median(Arrays.asList(5L, 1L, 3L)));
+    assertEquals(3, DeployHistory.median(Arrays.asList(4L, 1L, 2L, 8L)));
+    assertEquals(7, DeployHistory.median(Arrays.asList(7L)));
+  }
+
+  private static DeployTimings timings(long stagingMillis, long deployMillis) {
+    DeployTimings timings = new DeployTimings();
+    timings.record(Phase.STAGING, stagingMillis);
+    timings.record(Phase.DEPLOY, deployMillis);
+    return timings;
+  }
+}
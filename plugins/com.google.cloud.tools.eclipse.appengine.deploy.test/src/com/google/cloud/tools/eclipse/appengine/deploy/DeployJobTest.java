@@ -18,11 +18,21 @@ package com.google.cloud.tools.eclipse.appengine.deploy;
 
 import com.google.cloud.tools.appengine.operations.cloudsdk.JsonParseException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.AppEngineDeployResult;
+import com.google.cloud.tools.eclipse.appengine.deploy.DeployTimings.Measurement;
+import com.google.cloud.tools.eclipse.appengine.deploy.DeployTimings.Phase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class DeployJobTest {
 
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
   @Test
   public void testGetDeployedAppUrl_internal() throws JsonParseException {
     AppEngineDeployResult deployOutput =
@@ -73,6 +83,42 @@ public class DeployJobTest {
         DeployJob.getDeployedAppUrl(false /* promoted */, deployOutput));
   }
 
+  @Test
+  public void testMeasureDirectory() throws IOException {
+    Path directory = tempFolder.newFolder("staging").toPath();
+    Files.write(directory.resolve("app.yaml"), new byte[10]);
+    Files.createDirectories(directory.resolve("WEB-INF/lib"));
+    Files.write(directory.resolve("WEB-INF/lib/some.jar"), new byte[1000]);
+
+    Measurement measurement = DeployJob.measureDirectory(directory, 42);
+    Assert.assertEquals(42, measurement.getMillis());
+    Assert.assertEquals(1010, measurement.getBytes());
+    Assert.assertEquals(2, measurement.getFileCount());
+  }
+
+  @Test
+  public void testMeasureDirectory_nonExisting() {
+    Path directory = tempFolder.getRoot().toPath().resolve("non-existing");
+    Measurement measurement = DeployJob.measureDirectory(directory, 42);
+    Assert.assertEquals(-1, measurement.getBytes());
+    Assert.assertEquals(-1, measurement.getFileCount());
+  }
+
+  @Test
+  public void testFormatTimings() {
+    DeployTimings timings = new DeployTimings();
+    timings.record(Phase.CLOUD_SDK_CHECK, 15);
+    timings.record(Phase.STAGING, new Measurement(2500, 4096, 7));
+    timings.record(Phase.DEPLOY, new Measurement(60000, -1, 3));
+
+    String formatted =
+        DeployJob.formatTimings(timings, Collections.singletonList(Phase.DEPLOY));
+    Assert.assertEquals("Deploy time breakdown:\n"
+        + "  cloud_sdk_check: 15 ms\n"
+        + "  staging: 2500 ms, 7 files, 4096 bytes\n"
+        + "  deploy: 60000 ms, 3 files (slower than usual)", formatted);
+  }
+
   private static AppEngineDeployResult createDeployOutput(String project, String version,
       String service) throws JsonParseException {
     String jsonOutput =
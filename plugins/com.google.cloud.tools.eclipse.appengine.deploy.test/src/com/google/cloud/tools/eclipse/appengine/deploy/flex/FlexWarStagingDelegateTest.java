@@ -96,4 +96,11 @@ public class FlexWarStagingDelegateTest {
 
     assertEquals(appEngineDirectory, delegate.getOptionalConfigurationFilesDirectory());
   }
+
+  @Test
+  public void testRequiresCloudSdk() {
+    setUpProject();
+    StagingDelegate delegate = new FlexWarStagingDelegate(project, appEngineDirectory);
+    assertFalse(delegate.requiresCloudSdk());
+  }
 }
@@ -140,4 +140,12 @@ public class StandardStagingDelegateTest {
     assertEquals("problem publishing WAR", status.getMessage());
     cloudSdkExitCode = 0;  // Make the Cloud SDK check in tearDown() happy.
   }
+
+  @Test
+  public void testRequiresCloudSdk() throws CloudSdkNotFoundException {
+    setUpProject();
+    StagingDelegate delegate = new StandardStagingDelegate(project, null, cloudSdkWrapper);
+    assertTrue(delegate.requiresCloudSdk());
+    cloudSdkExitCode = 0;  // Make the Cloud SDK check in tearDown() happy.
+  }
 }
@@ -331,7 +331,7 @@ public class AppEngineDeployPreferencesPanelTest {
   private void initializeProjectRepository() throws ProjectRepositoryException {
     GcpProject project1 = new GcpProject("Project1", "projectId1");
     GcpProject project2 = new GcpProject("Project2", "projectId2");
-    when(projectRepository.getProjects(any(Credential.class)))
+    when(projectRepository.getProjects(any(Credential.class), any()))
       .thenReturn(Arrays.asList(project1, project2))
       .thenReturn(Arrays.asList(project2));
     when(projectRepository.getProject(any(Credential.class), eq("projectId1")))
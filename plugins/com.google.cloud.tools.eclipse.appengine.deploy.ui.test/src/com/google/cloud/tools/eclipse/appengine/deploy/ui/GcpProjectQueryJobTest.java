@@ -18,6 +18,9 @@ package com.google.cloud.tools.eclipse.appengine.deploy.ui;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -30,6 +33,7 @@ import com.google.cloud.tools.eclipse.projectselector.ProjectSelector;
 import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import org.eclipse.core.databinding.DataBindingContext;
 import org.eclipse.core.runtime.jobs.Job;
@@ -38,6 +42,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -63,7 +68,7 @@ public class GcpProjectQueryJobTest {
         dataBindingContext, isLatestQueryJob);
 
     when(projectSelector.isDisposed()).thenReturn(false);
-    when(projectRepository.getProjects(credential)).thenReturn(projects);
+    when(projectRepository.getProjects(eq(credential), any())).thenReturn(projects);
     when(isLatestQueryJob.test(queryJob)).thenReturn(true);
   }
 
@@ -83,12 +88,48 @@ public class GcpProjectQueryJobTest {
     queryJob.schedule();
     queryJob.join();
 
-    verify(projectRepository).getProjects(credential);
+    verify(projectRepository).getProjects(eq(credential), any());
     verify(isLatestQueryJob).test(queryJob);
     verify(projectSelector).isDisposed();
     verify(projectSelector).setProjects(projects);
   }
 
+  @Test
+  public void testRun_showsKnownProjectsFirst()
+      throws InterruptedException, ProjectRepositoryException {
+    List<GcpProject> knownProjects = new ArrayList<>();
+    knownProjects.add(new GcpProject("known", "known.id"));
+    when(projectRepository.getKnownProjects(credential)).thenReturn(knownProjects);
+
+    queryJob.schedule();
+    queryJob.join();
+
+    InOrder inOrder = inOrder(projectSelector);
+    inOrder.verify(projectSelector).setProjects(knownProjects);
+    inOrder.verify(projectSelector).setProjects(projects);
+    verify(projectRepository).getProjects(credential, null);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRun_showsPagesWithoutKnownProjects()
+      throws InterruptedException, ProjectRepositoryException {
+    List<GcpProject> firstPage = new ArrayList<>();
+    firstPage.add(new GcpProject("first", "first.id"));
+    when(projectRepository.getProjects(eq(credential), any())).thenAnswer(invocation -> {
+      Consumer<List<GcpProject>> pageListener = invocation.getArgumentAt(1, Consumer.class);
+      pageListener.accept(firstPage);
+      return projects;
+    });
+
+    queryJob.schedule();
+    queryJob.join();
+
+    InOrder inOrder = inOrder(projectSelector);
+    inOrder.verify(projectSelector).setProjects(firstPage);
+    inOrder.verify(projectSelector).setProjects(projects);
+  }
+
   @Test
   public void testRun_abandonIfDisposed() throws InterruptedException, ProjectRepositoryException {
     when(projectSelector.isDisposed()).thenReturn(true);
@@ -96,7 +137,7 @@ public class GcpProjectQueryJobTest {
     queryJob.schedule();
     queryJob.join();
 
-    verify(projectRepository).getProjects(credential);
+    verify(projectRepository).getProjects(eq(credential), any());
     verify(projectSelector, never()).setProjects(projects);
   }
 
@@ -108,7 +149,7 @@ public class GcpProjectQueryJobTest {
     queryJob.schedule();
     queryJob.join();
 
-    verify(projectRepository).getProjects(credential);
+    verify(projectRepository).getProjects(eq(credential), any());
     verify(projectSelector, never()).setProjects(projects);
   }
 
@@ -121,7 +162,7 @@ public class GcpProjectQueryJobTest {
     anotherProjectList.add(null); // so not equals to projects
     
     ProjectRepository projectRepository2 = mock(ProjectRepository.class);
-    when(projectRepository2.getProjects(staleCredential)).thenReturn(anotherProjectList);
+    when(projectRepository2.getProjects(eq(staleCredential), any())).thenReturn(anotherProjectList);
 
     // This second job is stale, i.e., it was fired, but user has selected another credential.
     Predicate<Job> notLatest = job -> false;
@@ -134,8 +175,8 @@ public class GcpProjectQueryJobTest {
     staleJob.schedule();
     staleJob.join();
 
-    verify(projectRepository).getProjects(credential);
-    verify(projectRepository2).getProjects(staleCredential);
+    verify(projectRepository).getProjects(eq(credential), any());
+    verify(projectRepository2).getProjects(eq(staleCredential), any());
 
     verify(projectSelector).setProjects(projects);
     verify(projectSelector, never()).setProjects(anotherProjectList);
@@ -503,6 +503,8 @@ public abstract class AppEngineDeployPreferencesPanel extends DeployPreferencesP
 
     Credential selectedCredential = accountSelector.getSelectedCredential();
     if (selectedCredential != null) {
+      // an explicit refresh also checks again for App Engine applications created meanwhile
+      ProjectRepository.invalidateAppEngineApplications(selectedCredential);
       Predicate<Job> isLatestQueryJob = job -> job == latestGcpProjectQueryJob;
       latestGcpProjectQueryJob = new GcpProjectQueryJob(selectedCredential,
           projectRepository, projectSelector, bindingContext, isLatestQueryJob);
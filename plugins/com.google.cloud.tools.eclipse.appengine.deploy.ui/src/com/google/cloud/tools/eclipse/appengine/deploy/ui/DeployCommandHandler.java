@@ -21,8 +21,10 @@ import com.google.cloud.tools.eclipse.appengine.deploy.CleanupOldDeploysJob;
 import com.google.cloud.tools.eclipse.appengine.deploy.DeployJob;
 import com.google.cloud.tools.eclipse.appengine.deploy.DeployPreferences;
 import com.google.cloud.tools.eclipse.appengine.deploy.StagingDelegate;
+import com.google.cloud.tools.eclipse.googleapis.GcpProjectServicesJob;
 import com.google.cloud.tools.eclipse.googleapis.IGoogleApiFactory;
 import com.google.cloud.tools.eclipse.login.IGoogleLoginService;
+import com.google.cloud.tools.eclipse.projectselector.ProjectRepository;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkPreferences;
 import com.google.cloud.tools.eclipse.ui.util.MessageConsoleUtilities;
 import com.google.cloud.tools.eclipse.ui.util.ProjectFromSelectionHelper;
@@ -193,6 +195,10 @@ public abstract class DeployCommandHandler extends AbstractHandler {
 
       @Override
       public void done(IJobChangeEvent event) {
+        // a deployment may create the App Engine application and enable services
+        String projectId = deployPreferences.getProjectId();
+        ProjectRepository.invalidateAppEngineApplication(credential, projectId);
+        GcpProjectServicesJob.invalidate(credential, projectId);
         if (event.getResult().isOK()) {
           sendAnalyticsPing(AnalyticsEvents.APP_ENGINE_DEPLOY_SUCCESS);
         }
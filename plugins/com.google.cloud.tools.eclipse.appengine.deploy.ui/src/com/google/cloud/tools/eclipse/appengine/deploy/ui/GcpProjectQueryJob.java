@@ -64,24 +64,36 @@ public class GcpProjectQueryJob extends Job {
     display = projectSelector.getDisplay();
   }
 
+  /**
+   * Shows the projects last fetched for the account at once, or, if there are none, each page of
+   * projects as it arrives, and then the complete list.
+   */
   @Override
   protected IStatus run(IProgressMonitor monitor) {
     try {
-      final Job thisJob = this;
-      final List<GcpProject> projects = projectRepository.getProjects(credential);
-
-      // The selector may have been disposed (i.e., dialog closed); check it in the UI thread.
-      display.syncExec(() -> {
-        if (!projectSelector.isDisposed()
-            && isLatestQueryJob.test(thisJob) /* intentionally checking in UI context */) {
-          projectSelector.setProjects(projects);
-          dataBindingContext.updateTargets();  // Select saved choice, if any.
-        }
-      });
+      List<GcpProject> knownProjects = projectRepository.getKnownProjects(credential);
+      if (knownProjects != null) {
+        showProjects(knownProjects);
+      }
+      List<GcpProject> projects = projectRepository.getProjects(credential,
+          knownProjects == null ? this::showProjects : null);
+      showProjects(projects);
       return Status.OK_STATUS;
     } catch (ProjectRepositoryException ex) {
       return StatusUtil.error(this,
           Messages.getString("projectselector.retrieveproject.error.message", ex.getMessage()), ex);
     }
   }
+
+  private void showProjects(List<GcpProject> projects) {
+    final Job thisJob = this;
+    // The selector may have been disposed (i.e., dialog closed); check it in the UI thread.
+    display.syncExec(() -> {
+      if (!projectSelector.isDisposed()
+          && isLatestQueryJob.test(thisJob) /* intentionally checking in UI context */) {
+        projectSelector.setProjects(projects);
+        dataBindingContext.updateTargets();  // Select saved choice, if any.
+      }
+    });
+  }
 }
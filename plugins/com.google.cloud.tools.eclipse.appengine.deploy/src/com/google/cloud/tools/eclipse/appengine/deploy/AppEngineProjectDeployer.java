@@ -21,6 +21,7 @@ import com.google.cloud.tools.appengine.operations.Deployment;
 import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
 import com.google.cloud.tools.appengine.operations.CloudSdk;
 import com.google.cloud.tools.eclipse.appengine.deploy.util.CloudSdkProcessWrapper;
+import com.google.cloud.tools.eclipse.sdk.GcloudDeployProgressParser;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -30,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -49,6 +51,7 @@ public class AppEngineProjectDeployer {
       "cron.yaml", "dispatch.yaml", "dos.yaml", "index.yaml", "queue.yaml"));
 
   private final CloudSdkProcessWrapper cloudSdkProcessWrapper = new CloudSdkProcessWrapper();
+  private int uploadFileCount = -1;
 
   /**
    * @param optionalConfigurationFilesDirectory if not {@code null}, searches optional configuration
@@ -61,8 +64,9 @@ public class AppEngineProjectDeployer {
       throw new OperationCanceledException();
     }
 
-    SubMonitor progress = SubMonitor.convert(monitor, 1);
+    SubMonitor progress = SubMonitor.convert(monitor, DeployProgressReporter.TOTAL_WORK);
     progress.setTaskName(Messages.getString("task.name.deploy.project")); //$NON-NLS-1$
+    DeployProgressReporter progressReporter = new DeployProgressReporter(progress);
     try {
       List<File> files =
           computeDeployables(stagingDirectory, optionalConfigurationFilesDirectory);
@@ -74,15 +78,91 @@ public class AppEngineProjectDeployer {
       DeployConfiguration configuration =
           DeployPreferencesConverter.toDeployConfiguration(deployPreferences, deployables);
       try { 
-        Deployment deployment =
-            cloudSdkProcessWrapper.getAppEngineDeployment(credentialFile, stdoutOutputStream);
+        Deployment deployment = cloudSdkProcessWrapper.getAppEngineDeployment(
+            credentialFile, stdoutOutputStream, progressReporter);
         deployment.deploy(configuration);
       } catch (AppEngineException ex) {
         return StatusUtil.error(this, "Error deploying project: " + ex.getMessage(), ex);
       }
       return cloudSdkProcessWrapper.getExitStatus();
     } finally {
-      progress.worked(1);
+      uploadFileCount = progressReporter.getUploadFileCount();
+      progressReporter.done();
+    }
+  }
+
+  /**
+   * Translates gcloud deploy milestones into {@link SubMonitor} progress. Milestones may arrive
+   * more than once (e.g., one per service) and on the process output thread, so progress only
+   * ever moves forward and updates are synchronized.
+   */
+  @VisibleForTesting
+  static class DeployProgressReporter implements Consumer<GcloudDeployProgressParser.Event> {
+
+    static final int TOTAL_WORK = 100;
+
+    private final SubMonitor progress;
+    private int reported = 0;
+    private int uploadFileCount = -1;
+
+    DeployProgressReporter(SubMonitor progress) {
+      this.progress = progress;
+    }
+
+    @Override
+    public synchronized void accept(GcloudDeployProgressParser.Event event) {
+      switch (event.getType()) {
+        case DEPLOYMENT_STARTED:
+          advanceTo(5);
+          break;
+        case UPLOAD_STARTED:
+          if (event.getFileCount() >= 0) {
+            uploadFileCount = Math.max(uploadFileCount, 0) + event.getFileCount();
+            progress.subTask(Messages.getString("deploy.progress.uploading", //$NON-NLS-1$
+                event.getFileCount()));
+          }
+          advanceTo(10);
+          break;
+        case UPLOAD_DONE:
+          advanceTo(60);
+          break;
+        case VERSION_UPDATING:
+          progress.subTask(Messages.getString("deploy.progress.updating", //$NON-NLS-1$
+              event.getService()));
+          advanceTo(65);
+          break;
+        case TRAFFIC_MIGRATION:
+          progress.subTask(Messages.getString("deploy.progress.traffic", //$NON-NLS-1$
+              event.getService()));
+          advanceTo(90);
+          break;
+        case SERVICE_DEPLOYED:
+          advanceTo(95);
+          break;
+        default:
+          break;
+      }
+    }
+
+    synchronized void done() {
+      advanceTo(TOTAL_WORK);
+    }
+
+    /** Total number of files gcloud uploaded across all services, or -1 if never reported. */
+    synchronized int getUploadFileCount() {
+      return uploadFileCount;
+    }
+
+    @VisibleForTesting
+    synchronized int getReported() {
+      return reported;
+    }
+
+    private void advanceTo(int work) {
+      if (work > reported) {
+        progress.worked(work - reported);
+        reported = work;
+      }
     }
   }
 
@@ -107,6 +187,14 @@ public class AppEngineProjectDeployer {
     cloudSdkProcessWrapper.interrupt();
   }
 
+  /**
+   * Returns the number of files gcloud reported uploading during {@link #deploy}, or -1 if unknown.
+   * Files unchanged since previous deploys are not uploaded and not counted.
+   */
+  public int getUploadFileCount() {
+    return uploadFileCount;
+  }
+
   public String getJsonDeployResult() {
     Preconditions.checkNotNull(cloudSdkProcessWrapper);
     return cloudSdkProcessWrapper.getStdOutAsString();
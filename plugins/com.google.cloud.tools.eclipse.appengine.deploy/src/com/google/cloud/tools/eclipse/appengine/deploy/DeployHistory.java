@@ -0,0 +1,198 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.deploy;
+
+import com.google.cloud.tools.eclipse.appengine.deploy.DeployTimings.Measurement;
+import com.google.cloud.tools.eclipse.appengine.deploy.DeployTimings.Phase;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * A local, bounded store of {@link DeployTimings} of past deploys, kept per GCP project in a JSON
+ * file. Used to spot deploy phases that became slower than usual.
+ */
+public class DeployHistory {
+
+  private static final Logger logger = Logger.getLogger(DeployHistory.class.getName());
+
+  private static final String HISTORY_FILENAME = "deploy-history.json";
+
+  /** Maximum number of deploys remembered per project. */
+  @VisibleForTesting
+  static final int MAX_RECORDS_PER_PROJECT = 30;
+  /** Number of most recent deploys the median is computed over. */
+  @VisibleForTesting
+  static final int MEDIAN_WINDOW = 10;
+  /** Minimum number of past measurements of a phase before it can be flagged. */
+  @VisibleForTesting
+  static final int MIN_SAMPLES = 3;
+  /** A phase regressed if it took this many times longer than its median... */
+  @VisibleForTesting
+  static final double REGRESSION_FACTOR = 1.5;
+  /** ... and at least this many milliseconds longer, to ignore noise in short phases. */
+  @VisibleForTesting
+  static final long REGRESSION_MIN_MILLIS = 2000;
+
+  private static DeployHistory instance;
+
+  public static synchronized DeployHistory getDefault() {
+    if (instance == null) {
+      Path stateLocation = Platform.getStateLocation(FrameworkUtil.getBundle(DeployHistory.class))
+          .toFile().toPath();
+      instance = new DeployHistory(stateLocation.resolve(HISTORY_FILENAME));
+    }
+    return instance;
+  }
+
+  /** Persistent form of a {@link DeployTimings}. */
+  private static class Record {
+    private long timestamp;
+    private Map<Phase, Measurement> phases;
+  }
+
+  private static final Type HISTORY_TYPE = new TypeToken<Map<String, List<Record>>>() {}.getType();
+
+  private final Gson gson = new Gson();
+  private final Path historyFile;
+  // lazily loaded; project ID -> records in chronological order
+  private Map<String, List<Record>> history;
+
+  @VisibleForTesting
+  DeployHistory(Path historyFile) {
+    this.historyFile = Preconditions.checkNotNull(historyFile);
+  }
+
+  /** Adds {@code timings} to the history of {@code projectId} and saves the history. */
+  public synchronized void add(String projectId, DeployTimings timings) throws IOException {
+    Record record = new Record();
+    record.timestamp = timings.getTimestamp();
+    record.phases = new LinkedHashMap<>(timings.getMeasurements());
+
+    List<Record> records = getHistory().computeIfAbsent(projectId, key -> new ArrayList<>());
+    records.add(record);
+    while (records.size() > MAX_RECORDS_PER_PROJECT) {
+      records.remove(0);
+    }
+    save();
+  }
+
+  /** Returns past timings of {@code projectId}, oldest first. */
+  public synchronized List<DeployTimings> getTimings(String projectId) {
+    List<DeployTimings> result = new ArrayList<>();
+    for (Record record : getHistory().getOrDefault(projectId, Collections.emptyList())) {
+      DeployTimings timings = new DeployTimings(record.timestamp);
+      if (record.phases != null) {
+        record.phases.forEach(timings::record);
+      }
+      result.add(timings);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the phases of {@code timings} that took noticeably longer than the median of the same
+   * phase over the recent history of {@code projectId}. Should be called before {@link #add}ing
+   * {@code timings}.
+   */
+  public synchronized List<Phase> findRegressions(String projectId, DeployTimings timings) {
+    List<DeployTimings> past = getTimings(projectId);
+    List<DeployTimings> window = past.subList(Math.max(0, past.size() - MEDIAN_WINDOW), past.size());
+
+    List<Phase> regressions = new ArrayList<>();
+    for (Map.Entry<Phase, Measurement> entry : timings.getMeasurements().entrySet()) {
+      Phase phase = entry.getKey();
+      List<Long> samples = new ArrayList<>();
+      for (DeployTimings pastTimings : window) {
+        Measurement measurement = pastTimings.get(phase);
+        if (measurement != null) {
+          samples.add(measurement.getMillis());
+        }
+      }
+
+      if (samples.size() >= MIN_SAMPLES) {
+        long median = median(samples);
+        long millis = entry.getValue().getMillis();
+        if (millis > median * REGRESSION_FACTOR && millis - median >= REGRESSION_MIN_MILLIS) {
+          regressions.add(phase);
+        }
+      }
+    }
+    return regressions;
+  }
+
+  @VisibleForTesting
+  static long median(List<Long> samples) {
+    Preconditions.checkArgument(!samples.isEmpty());
+    List<Long> sorted = new ArrayList<>(samples);
+    Collections.sort(sorted);
+    int middle = sorted.size() / 2;
+    if (sorted.size() % 2 == 1) {
+      return sorted.get(middle);
+    }
+    return (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+  }
+
+  private Map<String, List<Record>> getHistory() {
+    if (history == null) {
+      history = load();
+    }
+    return history;
+  }
+
+  private Map<String, List<Record>> load() {
+    if (Files.exists(historyFile)) {
+      try (Reader reader = Files.newBufferedReader(historyFile, StandardCharsets.UTF_8)) {
+        Map<String, List<Record>> loaded = gson.fromJson(reader, HISTORY_TYPE);
+        if (loaded != null) {
+          return new LinkedHashMap<>(loaded);
+        }
+      } catch (IOException | JsonParseException ex) {
+        logger.log(Level.WARNING, "Discarding unreadable deploy history: " + historyFile, ex);
+      }
+    }
+    return new LinkedHashMap<>();
+  }
+
+  private void save() throws IOException {
+    Files.createDirectories(historyFile.getParent());
+    Path tempFile = historyFile.resolveSibling(HISTORY_FILENAME + ".tmp");
+    try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+      gson.toJson(history, HISTORY_TYPE, writer);
+    }
+    Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING);
+  }
+}
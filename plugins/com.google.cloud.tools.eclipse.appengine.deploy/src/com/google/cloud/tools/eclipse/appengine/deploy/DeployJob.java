@@ -19,6 +19,8 @@ package com.google.cloud.tools.eclipse.appengine.deploy;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.cloud.tools.appengine.operations.cloudsdk.JsonParseException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.AppEngineDeployResult;
+import com.google.cloud.tools.eclipse.appengine.deploy.DeployTimings.Measurement;
+import com.google.cloud.tools.eclipse.appengine.deploy.DeployTimings.Phase;
 import com.google.cloud.tools.eclipse.login.CredentialHelper;
 import com.google.cloud.tools.eclipse.sdk.CloudSdkManager;
 import com.google.cloud.tools.eclipse.ui.util.WorkbenchUtil;
@@ -26,14 +28,25 @@ import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.console.MessageConsoleStream;
 
 /**
@@ -41,6 +54,8 @@ import org.eclipse.ui.console.MessageConsoleStream;
  * <p>
  * Deploy steps:
  * <ol>
+ *  <li>make sure the Cloud SDK is available and save a credential (concurrently with the next two
+ *      steps if the {@link StagingDelegate} does not require the Cloud SDK)</li>
  *  <li>prepare deploy artifact (WAR or exploded WAR)</li>
  *  <li>stage project for deploy</li>
  *  <li>deploy staged project</li>
@@ -56,6 +71,8 @@ public class DeployJob extends WorkspaceJob {
   private static final String CREDENTIAL_FILENAME = "gcloud-credentials.json";
   private static final String DEFAULT_SERVICE = "default";
 
+  private static final Logger logger = Logger.getLogger(DeployJob.class.getName());
+
   private final Credential credential;
   private final IPath workDirectory;
   private final MessageConsoleStream stdoutOutputStream;
@@ -63,6 +80,7 @@ public class DeployJob extends WorkspaceJob {
   private final DeployPreferences deployPreferences;
   private final StagingDelegate stager;
   private final AppEngineProjectDeployer deployer = new AppEngineProjectDeployer();
+  private volatile Job preparationJob;
 
   /**
    * @param workDirectory temporary work directory the job can safely use (e.g., for creating and
@@ -85,29 +103,47 @@ public class DeployJob extends WorkspaceJob {
   @Override
   public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
     SubMonitor progress = SubMonitor.convert(monitor, 120);
+    Path credentialFile = workDirectory.append(CREDENTIAL_FILENAME).toFile().toPath();
+    IPath stagingDirectory = workDirectory.append(STAGING_DIRECTORY_NAME);
 
+    DeployTimings timings = new DeployTimings();
     try {
-      progress.subTask("Checking for Google Cloud SDK");
-      IStatus installStatus =
-          CloudSdkManager.getInstance().installManagedSdk(stdoutOutputStream, progress.newChild(20));
-      if (installStatus != Status.OK_STATUS) {
-        return StatusUtil.error(
-            this,
-            "Deploy failed: cannot install Google Cloud SDK",
-            new CoreException(installStatus));
-      }
+      IStatus stagingStatus;
+      if (stager.requiresCloudSdk()) {
+        IStatus preparationStatus = prepareCloudSdkAndCredential(credentialFile, timings,
+            progress.newChild(20));
+        if (preparationStatus != Status.OK_STATUS) {
+          return preparationStatus;
+        }
 
-      progress.subTask("Saving credential");
-      Path credentialFile = workDirectory.append(CREDENTIAL_FILENAME).toFile().toPath();
+        progress.subTask("Staging project files");
+        stagingStatus = stageProject(stagingDirectory, timings, progress.newChild(30));
+      } else {
+        // Staging does not need the Cloud SDK, so check for the SDK and save the credential in the
+        // background while staging (e.g., publishing a WAR) is in progress.
+        PreparationJob preparation = new PreparationJob(credentialFile, timings);
+        preparationJob = preparation;
+        preparation.schedule();
+        try {
+          progress.subTask("Staging project files");
+          stagingStatus = stageProject(stagingDirectory, timings, progress.newChild(30));
+          if (stagingStatus != Status.OK_STATUS) {
+            return stagingStatus;
+          }
 
-      IStatus saveStatus = saveCredential(credentialFile);
-      if (saveStatus != Status.OK_STATUS) {
-        return saveStatus;
+          IStatus preparationStatus = awaitPreparation(preparation, progress.newChild(20));
+          if (preparationStatus != Status.OK_STATUS) {
+            return preparationStatus;
+          }
+        } finally {
+          // never leave the preparation installing the SDK or writing the credential file once
+          // this job has returned and the work directory may be cleaned up
+          preparation.cancel();
+          joinUninterruptibly(preparation);
+          preparationJob = null;
+        }
       }
 
-      progress.subTask("Staging project files");
-      IPath stagingDirectory = workDirectory.append(STAGING_DIRECTORY_NAME);
-      IStatus stagingStatus = stageProject(stagingDirectory, progress.newChild(30));
       if (stagingStatus != Status.OK_STATUS) {
         return stagingStatus;
       } else if (monitor.isCanceled()) {
@@ -115,12 +151,16 @@ public class DeployJob extends WorkspaceJob {
       }
 
       progress.subTask("Deploying staged project");
+      long deployStart = System.nanoTime();
       IStatus deployStatus = deployProject(credentialFile, stagingDirectory, progress.newChild(70));
       if (deployStatus != Status.OK_STATUS) {
         return deployStatus;
       } else if (monitor.isCanceled()) {
         return Status.CANCEL_STATUS;
       }
+      timings.record(Phase.DEPLOY, new Measurement(elapsedMillis(deployStart),
+          -1 /* unknown */, deployer.getUploadFileCount()));
+      recordTimings(timings);
 
       return openAppInBrowser();
     } finally {
@@ -130,11 +170,99 @@ public class DeployJob extends WorkspaceJob {
 
   @Override
   protected void canceling() {
+    Job preparation = preparationJob;
+    if (preparation != null) {
+      preparation.cancel();
+    }
     stager.interrupt();
     deployer.interrupt();
     super.canceling();
   }
 
+  /** Makes sure the Cloud SDK is available and saves the credential for gcloud to use. */
+  private IStatus prepareCloudSdkAndCredential(Path credentialFile, DeployTimings timings,
+      IProgressMonitor monitor) {
+    SubMonitor progress = SubMonitor.convert(monitor, 20);
+
+    progress.subTask("Checking for Google Cloud SDK");
+    long start = System.nanoTime();
+    IStatus installStatus =
+        CloudSdkManager.getInstance().installManagedSdk(stdoutOutputStream, progress.newChild(20));
+    if (installStatus != Status.OK_STATUS) {
+      return StatusUtil.error(
+          this,
+          "Deploy failed: cannot install Google Cloud SDK",
+          new CoreException(installStatus));
+    }
+    timings.record(Phase.CLOUD_SDK_CHECK, elapsedMillis(start));
+
+    progress.subTask("Saving credential");
+    start = System.nanoTime();
+    IStatus saveStatus = saveCredential(credentialFile);
+    timings.record(Phase.CREDENTIAL_SAVE, elapsedMillis(start));
+    return saveStatus;
+  }
+
+  private IStatus awaitPreparation(PreparationJob preparation, IProgressMonitor monitor) {
+    SubMonitor progress = SubMonitor.convert(monitor, 1);
+    try {
+      if (!preparation.join(0, progress)) {
+        return Status.CANCEL_STATUS;
+      }
+      return preparation.getPreparationStatus();
+    } catch (OperationCanceledException | InterruptedException ex) {
+      preparation.cancel();
+      return Status.CANCEL_STATUS;
+    } finally {
+      progress.worked(1);
+    }
+  }
+
+  private static void joinUninterruptibly(Job job) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          job.join();
+          return;
+        } catch (InterruptedException ex) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Runs {@link #prepareCloudSdkAndCredential} concurrently with staging. The outcome is kept
+   * separately from the job result so that failures are reported once, by {@link DeployJob}.
+   */
+  private class PreparationJob extends Job {
+
+    private final Path credentialFile;
+    private final DeployTimings timings;
+    private volatile IStatus preparationStatus = Status.CANCEL_STATUS;
+
+    private PreparationJob(Path credentialFile, DeployTimings timings) {
+      super(Messages.getString("deploy.job.preparation.name")); //$NON-NLS-1$
+      this.credentialFile = credentialFile;
+      this.timings = timings;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      preparationStatus = prepareCloudSdkAndCredential(credentialFile, timings, monitor);
+      return Status.OK_STATUS;
+    }
+
+    private IStatus getPreparationStatus() {
+      return preparationStatus;
+    }
+  }
+
   private IStatus saveCredential(Path destination) {
     try {
       CredentialHelper.toJsonFile(credential, destination);
@@ -144,14 +272,21 @@ public class DeployJob extends WorkspaceJob {
     }
   }
 
-  private IStatus stageProject(IPath stagingDirectory, IProgressMonitor monitor) {
+  private IStatus stageProject(IPath stagingDirectory, DeployTimings timings,
+      IProgressMonitor monitor) {
     SubMonitor progress = SubMonitor.convert(monitor, 100);
 
     try {
       getJobManager().beginRule(stager.getSchedulingRule(), progress.newChild(1));
+      long start = System.nanoTime();
       IPath safeWorkDirectory = workDirectory.append(SAFE_STAGING_WORK_DIRECTORY_NAME);
-      return stager.stage(stagingDirectory, safeWorkDirectory,
+      IStatus status = stager.stage(stagingDirectory, safeWorkDirectory,
           stdoutOutputStream, stderrOutputStream, progress.newChild(99));
+      if (status == Status.OK_STATUS) {
+        timings.record(Phase.STAGING,
+            measureDirectory(stagingDirectory.toFile().toPath(), elapsedMillis(start)));
+      }
+      return status;
     } catch (IllegalArgumentException ex) {
       return StatusUtil.error(this, Messages.getString("deploy.job.staging.failed"), ex);
     } finally {
@@ -159,6 +294,63 @@ public class DeployJob extends WorkspaceJob {
     }
   }
 
+  /** Measures the total size and number of regular files under {@code directory}. */
+  @VisibleForTesting
+  static Measurement measureDirectory(Path directory, long millis) {
+    long[] bytesAndCount = new long[2];
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.filter(Files::isRegularFile).forEach(path -> {
+        bytesAndCount[0] += path.toFile().length();
+        bytesAndCount[1]++;
+      });
+      return new Measurement(millis, bytesAndCount[0], (int) bytesAndCount[1]);
+    } catch (IOException | UncheckedIOException ex) {
+      return new Measurement(millis, -1, -1);
+    }
+  }
+
+  /**
+   * Saves {@code timings} into the {@link DeployHistory} and writes a breakdown to the console,
+   * flagging phases slower than usual for this project.
+   */
+  private void recordTimings(DeployTimings timings) {
+    String projectId = deployPreferences.getProjectId();
+    DeployHistory history = DeployHistory.getDefault();
+    List<Phase> regressions = history.findRegressions(projectId, timings);
+    if (stdoutOutputStream != null && !stdoutOutputStream.isClosed()) {
+      stdoutOutputStream.println(formatTimings(timings, regressions));
+    }
+    try {
+      history.add(projectId, timings);
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to save deploy history", ex); //$NON-NLS-1$
+    }
+  }
+
+  @VisibleForTesting
+  static String formatTimings(DeployTimings timings, List<Phase> regressions) {
+    StringBuilder builder = new StringBuilder(Messages.getString("deploy.timings.header"));
+    for (Map.Entry<Phase, Measurement> entry : timings.getMeasurements().entrySet()) {
+      Measurement measurement = entry.getValue();
+      builder.append('\n').append(Messages.getString("deploy.timings.phase",
+          entry.getKey().name().toLowerCase(Locale.US), measurement.getMillis()));
+      if (measurement.getFileCount() >= 0) {
+        builder.append(Messages.getString("deploy.timings.files", measurement.getFileCount()));
+      }
+      if (measurement.getBytes() >= 0) {
+        builder.append(Messages.getString("deploy.timings.bytes", measurement.getBytes()));
+      }
+      if (regressions.contains(entry.getKey())) {
+        builder.append(Messages.getString("deploy.timings.regressed"));
+      }
+    }
+    return builder.toString();
+  }
+
+  private static long elapsedMillis(long startNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+  }
+
   private IStatus deployProject(Path credentialFile, IPath stagingDirectory, IProgressMonitor monitor) {
     IPath optionalConfigurationFilesDirectory = null;
     if (deployPreferences.isIncludeOptionalConfigurationFiles()) {
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.deploy;
+
+import com.google.common.base.Preconditions;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Wall time, bytes and file counts of each phase of a single deploy, as recorded by {@link
+ * DeployJob}. Phases may be recorded from different threads (e.g., the Cloud SDK check runs
+ * concurrently with staging).
+ */
+public class DeployTimings {
+
+  /** Phases of a deploy, in the order they (start to) run. */
+  public enum Phase {
+    CLOUD_SDK_CHECK,
+    CREDENTIAL_SAVE,
+    /** Publishing a WAR (or building an artifact) and running the staging tool. */
+    STAGING,
+    /** {@code gcloud app deploy}, including upload and promotion. */
+    DEPLOY
+  }
+
+  /** Measurement of a single phase. {@code bytes} and {@code fileCount} are -1 if unknown. */
+  public static class Measurement {
+    private final long millis;
+    private final long bytes;
+    private final int fileCount;
+
+    public Measurement(long millis, long bytes, int fileCount) {
+      this.millis = millis;
+      this.bytes = bytes;
+      this.fileCount = fileCount;
+    }
+
+    public long getMillis() {
+      return millis;
+    }
+
+    public long getBytes() {
+      return bytes;
+    }
+
+    public int getFileCount() {
+      return fileCount;
+    }
+  }
+
+  private final long timestamp;
+  private final Map<Phase, Measurement> measurements = new EnumMap<>(Phase.class);
+
+  public DeployTimings() {
+    this(System.currentTimeMillis());
+  }
+
+  public DeployTimings(long timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  /** Time (in milliseconds since the epoch) when the deploy started. */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public synchronized void record(Phase phase, long millis) {
+    record(phase, new Measurement(millis, -1, -1));
+  }
+
+  public synchronized void record(Phase phase, Measurement measurement) {
+    Preconditions.checkNotNull(phase);
+    Preconditions.checkNotNull(measurement);
+    measurements.put(phase, measurement);
+  }
+
+  /** Returns the measurement of {@code phase}, or {@code null} if the phase was not recorded. */
+  public synchronized Measurement get(Phase phase) {
+    return measurements.get(phase);
+  }
+
+  public synchronized Map<Phase, Measurement> getMeasurements() {
+    return Collections.unmodifiableMap(new EnumMap<>(measurements));
+  }
+}
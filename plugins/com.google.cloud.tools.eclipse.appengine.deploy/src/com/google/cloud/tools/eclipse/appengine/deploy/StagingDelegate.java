@@ -61,6 +61,13 @@ public interface StagingDelegate {
    */
   IPath getOptionalConfigurationFilesDirectory();
 
+  /**
+   * Returns {@code true} if {@link #stage} runs Cloud SDK tools and so cannot start until the Cloud
+   * SDK is installed. If {@code false}, {@link DeployJob} checks for (and possibly installs) the
+   * Cloud SDK concurrently with staging.
+   */
+  boolean requiresCloudSdk();
+
   /**
    * Does not guarantee cancellation/termination. This can be called concurrently from a different
    * thread than the thread running {@link #stage}.
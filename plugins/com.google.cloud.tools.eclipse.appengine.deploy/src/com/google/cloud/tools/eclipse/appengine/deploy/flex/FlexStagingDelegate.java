@@ -76,6 +76,11 @@ abstract class FlexStagingDelegate implements StagingDelegate {
     return appEngineDirectory;
   }
 
+  @Override
+  public boolean requiresCloudSdk() {
+    return false;  // flexible staging only copies files
+  }
+
   @Override
   public void interrupt() {
     // It's enough to leave it to the normal cancellation flow through monitor.
@@ -96,6 +96,11 @@ public class StandardStagingDelegate implements StagingDelegate {
     return optionalConfigurationFilesDirectory;
   }
 
+  @Override
+  public boolean requiresCloudSdk() {
+    return true;  // runs AppCfg from the Cloud SDK
+  }
+
   @Override
   public void interrupt() {
     cloudSdkWrapper.interrupt();
@@ -29,6 +29,8 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.process.StringBuilde
 import com.google.cloud.tools.eclipse.appengine.deploy.AppEngineProjectDeployer;
 import com.google.cloud.tools.eclipse.appengine.deploy.Messages;
 import com.google.cloud.tools.eclipse.appengine.deploy.standard.StandardStagingDelegate;
+import com.google.cloud.tools.eclipse.sdk.CloudSdkDescriptorCache;
+import com.google.cloud.tools.eclipse.sdk.GcloudDeployProgressParser;
 import com.google.cloud.tools.eclipse.sdk.GcloudStructuredLogErrorMessageCollector;
 import com.google.cloud.tools.eclipse.sdk.MessageConsoleWriterListener;
 import com.google.cloud.tools.eclipse.util.CloudToolsInfo;
@@ -39,6 +41,7 @@ import com.google.common.base.Preconditions;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Consumer;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.console.MessageConsoleStream;
@@ -68,12 +71,25 @@ public class CloudSdkProcessWrapper {
    */
   public Deployment getAppEngineDeployment(Path credentialFile,
       MessageConsoleStream normalOutputStream) throws CloudSdkNotFoundException {
+    return getAppEngineDeployment(credentialFile, normalOutputStream, null);
+  }
+
+  /**
+   * Sets up a {@link CloudSdk} to be used for App Engine deploy.
+   *
+   * @param progressConsumer if not {@code null}, receives deploy progress events as gcloud
+   *     reports them
+   */
+  public Deployment getAppEngineDeployment(Path credentialFile,
+      MessageConsoleStream normalOutputStream,
+      Consumer<GcloudDeployProgressParser.Event> progressConsumer)
+      throws CloudSdkNotFoundException {
     Preconditions.checkNotNull(credentialFile, "credential required for deploying");
     Preconditions.checkArgument(Files.exists(credentialFile), "non-existing credential file");
     Preconditions.checkState(!initialized, "process wrapper already set up");
     initialized = true;
 
-    CloudSdk cloudSdk = new CloudSdk.Builder().build();
+    CloudSdk cloudSdk = CloudSdkDescriptorCache.getInstance().newCloudSdkBuilder().build();
     Gcloud gcloud = Gcloud.builder(cloudSdk)
         .setCredentialFile(credentialFile.toFile().toPath())
         .setMetricsEnvironment(CloudToolsInfo.METRICS_NAME, CloudToolsInfo.getToolsVersion())
@@ -86,14 +102,19 @@ public class CloudSdkProcessWrapper {
     // Gcloud sends structured gcloud logs (in JSON format) to stderr, so prepare to capture them.
     gcloudErrorMessageCollector = new GcloudStructuredLogErrorMessageCollector();
 
-    ProcessHandler processHandler = LegacyProcessHandler.builder()
+    LegacyProcessHandler.Builder processHandlerBuilder = LegacyProcessHandler.builder()
         .setStartListener(this::storeProcessObject)
         .setExitListener(this::recordProcessExitCode)
         // Gcloud sends normal operation output to stderr.
         .addStdErrLineListener(new MessageConsoleWriterListener(normalOutputStream))
         .addStdErrLineListener(gcloudErrorMessageCollector)
-        .addStdOutLineListener(stdOutCaptor)
-        .build();
+        .addStdOutLineListener(stdOutCaptor);
+    if (progressConsumer != null) {
+      // Gcloud reports deploy progress on stderr too; parse it as it arrives.
+      processHandlerBuilder.addStdErrLineListener(
+          new GcloudDeployProgressParser(progressConsumer));
+    }
+    ProcessHandler processHandler = processHandlerBuilder.build();
 
     return gcloud.newDeployment(processHandler);
   }
@@ -110,9 +131,10 @@ public class CloudSdkProcessWrapper {
     Preconditions.checkState(!initialized, "process wrapper already set up");
     initialized = true;
 
+    CloudSdk.Builder cloudSdkBuilder = CloudSdkDescriptorCache.getInstance().newCloudSdkBuilder();
     CloudSdk cloudSdk = javaHome == null
-        ? new CloudSdk.Builder().build()
-        : new CloudSdk.Builder().javaHome(javaHome).build();
+        ? cloudSdkBuilder.build()
+        : cloudSdkBuilder.javaHome(javaHome).build();
 
     ProcessHandler processHandler = LegacyProcessHandler.builder()
         .setStartListener(this::storeProcessObject)
@@ -21,6 +21,7 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -47,20 +48,33 @@ import com.google.common.io.ByteSource;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.function.BiConsumer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.resource.ResourceManager;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jst.common.project.facet.core.JavaFacet;
 import org.eclipse.jst.j2ee.web.project.facet.WebFacetUtils;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.navigator.ICommonContentExtensionSite;
+import org.eclipse.ui.navigator.IExtensionStateModel;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -70,11 +84,15 @@ public class AppEngineContentProviderTest {
   @Rule
   public TestProjectCreator projectCreator =
       new TestProjectCreator().withFacets(JavaFacet.VERSION_1_7);
+  @Rule
+  public TestProjectCreator otherProjectCreator =
+      new TestProjectCreator().withFacets(JavaFacet.VERSION_1_7);
 
   private AppEngineContentProvider fixture;
 
   /** Called by {@link #fixture} when elements require updating. */
   @Mock private BiConsumer<Collection<Object>, Collection<Object>> refreshHandler;
+  @Captor private ArgumentCaptor<Collection<Object>> refreshed;
 
   @Before
   public void setUp() {
@@ -433,4 +451,110 @@ public class AppEngineContentProviderTest {
     assertSame(project, fixture.getParent(projectElement));
     assertSame(projectElement, fixture.getParent(queueDescriptor));
   }
+
+  @Test
+  public void testGetChildren_displayThread_loadedInBackground() throws InterruptedException {
+    projectCreator.withFacets(AppEngineStandardFacet.JRE7, WebFacetUtils.WEB_25);
+    IProject project = projectCreator.getProject();
+    List<Thread> loadingThreads = Collections.synchronizedList(new ArrayList<>());
+    fixture = new AppEngineContentProvider(refreshHandler, loadingProject -> {
+      loadingThreads.add(Thread.currentThread());
+      return AppEngineContentProvider.loadRepresentation(loadingProject);
+    });
+
+    Object[] children = getChildrenOnDisplayThread(project);
+    assertEquals(1, children.length);
+    assertTrue(children[0] instanceof PendingUpdateAdapter);
+
+    Job.getJobManager().join(fixture, null);
+    verify(refreshHandler).accept(Arrays.asList(project), Collections.emptyList());
+    assertEquals(1, loadingThreads.size());
+    assertNotSame(Display.getDefault().getThread(), loadingThreads.get(0));
+
+    children = getChildrenOnDisplayThread(project);
+    assertEquals(1, children.length);
+    assertTrue(children[0] instanceof AppEngineProjectElement);
+    assertEquals(1, loadingThreads.size());
+  }
+
+  @Test
+  public void testLabelProvider_displayThread_loadedInBackground() throws InterruptedException {
+    projectCreator.withFacets(AppEngineStandardFacet.JRE7, WebFacetUtils.WEB_25);
+    IProject project = projectCreator.getProject();
+    List<Thread> loadingThreads = Collections.synchronizedList(new ArrayList<>());
+    fixture = new AppEngineContentProvider(refreshHandler, loadingProject -> {
+      loadingThreads.add(Thread.currentThread());
+      return AppEngineContentProvider.loadRepresentation(loadingProject);
+    });
+    IExtensionStateModel stateModel = mock(IExtensionStateModel.class);
+    when(stateModel.getProperty(AppEngineContentProvider.CONTENT_PROVIDER_PROPERTY))
+        .thenReturn(fixture);
+    ICommonContentExtensionSite site = mock(ICommonContentExtensionSite.class);
+    when(site.getExtensionStateModel()).thenReturn(stateModel);
+    fixture.init(site);
+    verify(stateModel).setProperty(AppEngineContentProvider.CONTENT_PROVIDER_PROPERTY, fixture);
+    AppEngineLabelProvider labelProvider = new AppEngineLabelProvider(mock(ResourceManager.class));
+    labelProvider.init(site);
+
+    String[] text = new String[1];
+    Display.getDefault().syncExec(() -> text[0] = labelProvider.getText(project));
+    assertEquals(project.getName(), text[0]);
+
+    Job.getJobManager().join(fixture, null);
+    verify(refreshHandler).accept(Arrays.asList(project), Collections.emptyList());
+    assertEquals(1, loadingThreads.size());
+    assertNotSame(Display.getDefault().getThread(), loadingThreads.get(0));
+  }
+
+  @Test
+  public void testGetChildren_displayThread_refreshedTogether() throws InterruptedException {
+    projectCreator.withFacets(AppEngineStandardFacet.JRE7, WebFacetUtils.WEB_25);
+    otherProjectCreator.withFacets(AppEngineStandardFacet.JRE7, WebFacetUtils.WEB_25);
+    IProject project = projectCreator.getProject();
+    IProject otherProject = otherProjectCreator.getProject();
+    CountDownLatch bothRequested = new CountDownLatch(1);
+    fixture = new AppEngineContentProvider(refreshHandler, loadingProject -> {
+      try {
+        bothRequested.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return AppEngineContentProvider.loadRepresentation(loadingProject);
+    });
+
+    getChildrenOnDisplayThread(project);
+    getChildrenOnDisplayThread(otherProject);
+    bothRequested.countDown();
+
+    Job.getJobManager().join(fixture, null);
+    verify(refreshHandler).accept(refreshed.capture(), anyObject());
+    assertEquals(2, refreshed.getValue().size());
+    assertTrue(refreshed.getValue().contains(project));
+    assertTrue(refreshed.getValue().contains(otherProject));
+  }
+
+  @Test
+  public void testGetChildren_displayThread_failedLoadNotRetried() throws InterruptedException {
+    projectCreator.withFacets(AppEngineStandardFacet.JRE7, WebFacetUtils.WEB_25);
+    IProject project = projectCreator.getProject();
+    List<IProject> loadedProjects = Collections.synchronizedList(new ArrayList<>());
+    fixture = new AppEngineContentProvider(refreshHandler, loadingProject -> {
+      loadedProjects.add(loadingProject);
+      throw new AppEngineException("invalid descriptor");
+    });
+
+    getChildrenOnDisplayThread(project);
+    Job.getJobManager().join(fixture, null);
+    verify(refreshHandler).accept(Arrays.asList(project), Collections.emptyList());
+
+    assertEquals(0, getChildrenOnDisplayThread(project).length);
+    assertFalse(fixture.hasChildren(project));
+    assertEquals(1, loadedProjects.size());
+  }
+
+  private Object[] getChildrenOnDisplayThread(IProject project) {
+    Object[][] children = new Object[1][];
+    Display.getDefault().syncExec(() -> children[0] = fixture.getChildren(project));
+    return children[0];
+  }
 }
@@ -30,10 +30,13 @@ import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.Datast
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.DenialOfServiceDescriptor;
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.DispatchRoutingDescriptor;
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.TaskQueuesDescriptor;
+import java.util.Optional;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.ResourceManager;
+import org.eclipse.jface.viewers.StyledString;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
 import org.junit.Test;
 
 public class AppEngineLabelProviderTest {
@@ -47,7 +50,31 @@ public class AppEngineLabelProviderTest {
     // descriptor, which is generated from getVersionTuple(). This test ensures that
     // we don't generate a text string when no appengine-web.xml is found.
     IProject project = mock(IProject.class);
-    assertNull(AppEngineLabelProvider.getAppEngineProjectText(project));
+    assertNull(AppEngineLabelProvider.getAppEngineProjectText(project, Optional.empty()));
+  }
+
+  @Test
+  public void testProjectText_notLoaded() {
+    IProject project = mock(IProject.class);
+    when(project.getName()).thenReturn("project");
+    StyledString result = AppEngineLabelProvider.getAppEngineProjectText(project, null);
+    assertEquals("project", result.getString());
+  }
+
+  @Test
+  public void testProjectText_loaded() {
+    IProject project = mock(IProject.class);
+    when(project.getName()).thenReturn("project");
+    when(programElement.getServiceId()).thenReturn("service");
+    StyledString result =
+        AppEngineLabelProvider.getAppEngineProjectText(project, Optional.of(programElement));
+    assertEquals("project [service]", result.getString());
+  }
+
+  @Test
+  public void testPendingText() {
+    PendingUpdateAdapter pending = new PendingUpdateAdapter();
+    assertEquals(pending.getLabel(pending), fixture.getText(pending));
   }
 
   @Test
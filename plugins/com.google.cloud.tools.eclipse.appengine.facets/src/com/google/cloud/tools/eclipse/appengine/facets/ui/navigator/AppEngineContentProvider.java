@@ -20,19 +20,24 @@ import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.eclipse.appengine.facets.AppEngineFlexJarFacet;
 import com.google.cloud.tools.eclipse.appengine.facets.AppEngineFlexWarFacet;
 import com.google.cloud.tools.eclipse.appengine.facets.AppEngineStandardFacet;
+import com.google.cloud.tools.eclipse.appengine.facets.Messages;
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.AppEngineProjectElement;
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.AppEngineResourceElement;
 import com.google.cloud.tools.eclipse.util.io.ResourceUtils;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Multimap;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -44,10 +49,18 @@ import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.navigator.ICommonContentExtensionSite;
+import org.eclipse.ui.navigator.ICommonContentProvider;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
 import org.eclipse.wst.common.componentcore.ComponentCore;
 import org.eclipse.wst.common.componentcore.resources.IVirtualFile;
 import org.eclipse.wst.common.componentcore.resources.IVirtualFolder;
@@ -75,11 +88,20 @@ import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
  * IVirtualFolder virtual folder}. The virtual layout could be reconfigured such that a different
  * {@code appengine-web.xml} file is used — or the {@code appengine-web.xml} may no longer appear in
  * {@code WEB-INF}!
+ *
+ * <p>Reading the descriptors takes time, so the models are never loaded on the display thread:
+ * until a project's model is loaded in the background, its App Engine content block is a {@link
+ * PendingUpdateAdapter pending} placeholder. Projects loaded together are refreshed together.
+ * The loaded models are shared with the {@link AppEngineLabelProvider} through the navigator
+ * extension's state model.
  */
-public class AppEngineContentProvider implements ITreeContentProvider {
+public class AppEngineContentProvider implements ICommonContentProvider {
   private static final Logger logger = Logger.getLogger(AppEngineContentProvider.class.getName());
   private static final Object[] EMPTY_ARRAY = new Object[0];
 
+  /** The extension state model property holding the content provider. */
+  static final String CONTENT_PROVIDER_PROPERTY = AppEngineContentProvider.class.getName();
+
   /** Try to get a {@link IProject} from the given element, return {@code null} otherwise. */
   private static IProject getProject(Object inputElement) {
     if (inputElement instanceof IFacetedProject) {
@@ -121,17 +143,43 @@ public class AppEngineContentProvider implements ITreeContentProvider {
     return appEngineProject;
   }
 
-  /** Cached representation of App Engine projects. */
-  private final LoadingCache<IProject, AppEngineProjectElement> projectMapping =
-      CacheBuilder.newBuilder()
-          .weakKeys()
-          .build(
-              new CacheLoader<IProject, AppEngineProjectElement>() {
-                @Override
-                public AppEngineProjectElement load(IProject key) throws Exception {
-                  return AppEngineContentProvider.loadRepresentation(key);
-                }
-              });
+  /** Loads the model of an App Engine project. */
+  @VisibleForTesting
+  interface ProjectLoader {
+    AppEngineProjectElement load(IProject project) throws AppEngineException;
+  }
+
+  /**
+   * Cached representation of App Engine projects. A project whose model failed to load is mapped
+   * to an empty value, so that it is not reloaded until its files change.
+   */
+  private final Cache<IProject, Optional<AppEngineProjectElement>> projectMapping =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  /**
+   * Projects waiting to be loaded, or being loaded, by {@link #loadJob}; guarded by itself. A
+   * project removed while it is being loaded has changed, and the model being loaded is dropped.
+   */
+  private final Set<IProject> pendingProjects = new LinkedHashSet<>();
+
+  private final Job loadJob = new Job(Messages.getString("appengine.navigator.loading")) {
+    {
+      setSystem(true);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      loadPendingProjects(monitor);
+      return Status.OK_STATUS;
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+      return family == AppEngineContentProvider.this;
+    }
+  };
+
+  private final ProjectLoader projectLoader;
 
   private final IWorkspace workspace = ResourcesPlugin.getWorkspace();
   private StructuredViewer viewer;
@@ -145,11 +193,33 @@ public class AppEngineContentProvider implements ITreeContentProvider {
 
   private IResourceChangeListener resourceListener;
 
-  public AppEngineContentProvider() {}
+  public AppEngineContentProvider() {
+    projectLoader = AppEngineContentProvider::loadRepresentation;
+  }
 
   @VisibleForTesting
   AppEngineContentProvider(BiConsumer<Collection<Object>, Collection<Object>> refreshHandler) {
+    this(refreshHandler, AppEngineContentProvider::loadRepresentation);
+  }
+
+  @VisibleForTesting
+  AppEngineContentProvider(BiConsumer<Collection<Object>, Collection<Object>> refreshHandler,
+      ProjectLoader projectLoader) {
     this.refreshHandler = refreshHandler;
+    this.projectLoader = projectLoader;
+  }
+
+  @Override
+  public void init(ICommonContentExtensionSite config) {
+    config.getExtensionStateModel().setProperty(CONTENT_PROVIDER_PROPERTY, this);
+  }
+
+  @Override
+  public void restoreState(IMemento memento) {
+  }
+
+  @Override
+  public void saveState(IMemento memento) {
   }
 
   @Override
@@ -184,12 +254,14 @@ public class AppEngineContentProvider implements ITreeContentProvider {
     for (IProject project : affected.keySet()) {
       if (!project.exists()) {
         projectMapping.invalidate(project);
+        cancelLoad(project);
         continue; // the explorer will update itself to remove the project
       }
       Collection<IFile> projectFiles = affected.get(project);
       // Do we have a model for this project?  If so, then update it.
-      AppEngineProjectElement projectElement = projectMapping.getIfPresent(project);
-      if (projectElement != null) {
+      Optional<AppEngineProjectElement> cached = projectMapping.getIfPresent(project);
+      if (cached != null && cached.isPresent()) {
+        AppEngineProjectElement projectElement = cached.get();
         try {
           if (projectElement.resourcesChanged(projectFiles)) {
             // there was a change in the App Engine content block
@@ -207,10 +279,14 @@ public class AppEngineContentProvider implements ITreeContentProvider {
           projectMapping.invalidate(project);
           toBeRefreshed.add(project);
         }
-      } else if (AppEngineProjectElement.hasAppEngineDescriptor(projectFiles)) {
-        // We have no project model (wasn't an App Engine project previously) but it seems to
-        // contain an App Engine descriptor.  So trigger refresh of project.
-        toBeRefreshed.add(project);
+      } else {
+        // The model failed to load or is being loaded, and may now load differently
+        projectMapping.invalidate(project);
+        if (cancelLoad(project) || AppEngineProjectElement.hasAppEngineDescriptor(projectFiles)) {
+          // We have no project model (wasn't an App Engine project previously) but it seems to
+          // contain an App Engine descriptor.  So trigger refresh of project.
+          toBeRefreshed.add(project);
+        }
       }
     }
     if (!toBeRefreshed.isEmpty() || !toBeUpdated.isEmpty()) {
@@ -252,8 +328,11 @@ public class AppEngineContentProvider implements ITreeContentProvider {
     if (project == null) {
       return false;
     }
-    AppEngineProjectElement webProject = projectMapping.getIfPresent(project);
-    return webProject != null ? webProject.getConfigurations().length > 0 : true;
+    Optional<AppEngineProjectElement> webProject = projectMapping.getIfPresent(project);
+    if (webProject == null) {
+      return true;
+    }
+    return webProject.isPresent() && webProject.get().getConfigurations().length > 0;
   }
 
   @Override
@@ -262,16 +341,82 @@ public class AppEngineContentProvider implements ITreeContentProvider {
       return ((AppEngineProjectElement) parentElement).getConfigurations();
     }
     IProject project = getProject(parentElement);
-    if (project != null) {
-      try {
-        AppEngineProjectElement projectElement = projectMapping.get(project);
-        return projectElement == null ? EMPTY_ARRAY : new Object[] {projectElement};
-      } catch (ExecutionException ex) {
-        // ignore: either not an App Engine project, or load failed due to a validation problem
-        // in the appengine-web.xml that will be reported via Problems view
+    if (project == null || !project.exists() || !isAppEngine(project)) {
+      return EMPTY_ARRAY;
+    }
+    Optional<AppEngineProjectElement> projectElement = projectMapping.getIfPresent(project);
+    if (projectElement == null) {
+      if (Display.getCurrent() != null) {
+        // don't read the descriptors on the display thread
+        scheduleLoad(project);
+        return new Object[] {new PendingUpdateAdapter()};
       }
+      projectElement = load(project);
+      projectMapping.put(project, projectElement);
+    }
+    // empty if the load failed due to a validation problem in the appengine-web.xml that will be
+    // reported via Problems view
+    return projectElement.isPresent() ? new Object[] {projectElement.get()} : EMPTY_ARRAY;
+  }
+
+  /**
+   * Returns the model of the project if loaded, empty if it failed to load, or {@code null} if it
+   * is not loaded yet. A project not loaded yet is loaded in the background and then refreshed.
+   */
+  Optional<AppEngineProjectElement> getLoadedRepresentation(IProject project) {
+    Optional<AppEngineProjectElement> projectElement = projectMapping.getIfPresent(project);
+    if (projectElement == null) {
+      scheduleLoad(project);
+    }
+    return projectElement;
+  }
+
+  private Optional<AppEngineProjectElement> load(IProject project) {
+    try {
+      return Optional.of(projectLoader.load(project));
+    } catch (AppEngineException ex) {
+      logger.log(Level.FINE, "Could not load App Engine project " + project.getName(), ex);
+      return Optional.empty();
+    }
+  }
+
+  private void scheduleLoad(IProject project) {
+    synchronized (pendingProjects) {
+      pendingProjects.add(project);
+    }
+    loadJob.schedule();
+  }
+
+  /** Returns {@code true} if the project was waiting to be loaded or being loaded. */
+  private boolean cancelLoad(IProject project) {
+    synchronized (pendingProjects) {
+      return pendingProjects.remove(project);
+    }
+  }
+
+  /** Loads the pending projects, and refreshes them all at once. */
+  private void loadPendingProjects(IProgressMonitor monitor) {
+    List<Object> loaded = new ArrayList<>();
+    IProject project;
+    while (!monitor.isCanceled() && (project = nextPendingProject()) != null) {
+      Optional<AppEngineProjectElement> projectElement = load(project);
+      synchronized (pendingProjects) {
+        if (pendingProjects.remove(project)) {
+          projectMapping.put(project, projectElement);
+          loaded.add(project);
+        }
+      }
+    }
+    if (!loaded.isEmpty()) {
+      refreshHandler.accept(loaded, Collections.emptyList());
+    }
+  }
+
+  private IProject nextPendingProject() {
+    synchronized (pendingProjects) {
+      Iterator<IProject> iterator = pendingProjects.iterator();
+      return iterator.hasNext() ? iterator.next() : null;
     }
-    return EMPTY_ARRAY;
   }
 
   @Override
@@ -280,13 +425,15 @@ public class AppEngineContentProvider implements ITreeContentProvider {
       return ((AppEngineProjectElement) element).getProject();
     } else if (element instanceof AppEngineResourceElement) {
       IProject project = ((AppEngineResourceElement) element).getProject();
-      return projectMapping.getIfPresent(project);
+      Optional<AppEngineProjectElement> projectElement = projectMapping.getIfPresent(project);
+      return projectElement == null ? null : projectElement.orElse(null);
     }
     return null;
   }
 
   @Override
   public void dispose() {
+    loadJob.cancel();
     if (resourceListener != null) {
       workspace.removeResourceChangeListener(resourceListener);
     }
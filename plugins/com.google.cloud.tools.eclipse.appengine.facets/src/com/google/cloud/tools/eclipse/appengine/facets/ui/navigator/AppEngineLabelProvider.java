@@ -16,7 +16,6 @@
 
 package com.google.cloud.tools.eclipse.appengine.facets.ui.navigator;
 
-import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.AppEngineProjectElement;
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.AppEngineResourceElement;
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.DatastoreIndexesDescriptor;
@@ -24,6 +23,7 @@ import com.google.cloud.tools.eclipse.appengine.ui.AppEngineImages;
 import com.google.cloud.tools.eclipse.ui.util.images.SharedImages;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import java.util.Optional;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.resource.LocalResourceManager;
@@ -32,9 +32,16 @@ import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider.IStyledLabelP
 import org.eclipse.jface.viewers.LabelProvider;
 import org.eclipse.jface.viewers.StyledString;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.navigator.ICommonContentExtensionSite;
+import org.eclipse.ui.navigator.ICommonLabelProvider;
+import org.eclipse.ui.navigator.IExtensionStateModel;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
 
-public class AppEngineLabelProvider extends LabelProvider implements IStyledLabelProvider {
+public class AppEngineLabelProvider extends LabelProvider
+    implements ICommonLabelProvider, IStyledLabelProvider {
   private final ResourceManager resources;
+  private IExtensionStateModel stateModel;
 
   public AppEngineLabelProvider() {
     this(new LocalResourceManager(JFaceResources.getResources()));
@@ -45,6 +52,24 @@ public class AppEngineLabelProvider extends LabelProvider implements IStyledLabe
     this.resources = resources;
   }
 
+  @Override
+  public void init(ICommonContentExtensionSite config) {
+    stateModel = config.getExtensionStateModel();
+  }
+
+  @Override
+  public void restoreState(IMemento memento) {
+  }
+
+  @Override
+  public void saveState(IMemento memento) {
+  }
+
+  @Override
+  public String getDescription(Object element) {
+    return null;
+  }
+
   @Override
   public String getText(Object element) {
     StyledString result = getStyledText(element);
@@ -54,31 +79,53 @@ public class AppEngineLabelProvider extends LabelProvider implements IStyledLabe
   @Override
   public StyledString getStyledText(Object element) {
     if (element instanceof IProject && AppEngineContentProvider.isAppEngine((IProject) element)) {
-      return getAppEngineProjectText((IProject) element);
+      IProject project = (IProject) element;
+      return getAppEngineProjectText(project, getLoadedRepresentation(project));
     } else if (element instanceof AppEngineProjectElement) {
       return ((AppEngineProjectElement) element).getStyledLabel();
     } else if (element instanceof AppEngineResourceElement) {
       return ((AppEngineResourceElement) element).getStyledLabel();
+    } else if (element instanceof PendingUpdateAdapter) {
+      return new StyledString(((PendingUpdateAdapter) element).getLabel(element),
+          StyledString.DECORATIONS_STYLER);
     }
     return null; // continue on to the next label provider
   }
 
+  /**
+   * Returns the model loaded by our content provider, without loading it on the display thread.
+   *
+   * @see AppEngineContentProvider#getLoadedRepresentation(IProject)
+   */
+  private Optional<AppEngineProjectElement> getLoadedRepresentation(IProject project) {
+    Object contentProvider = stateModel == null
+        ? null : stateModel.getProperty(AppEngineContentProvider.CONTENT_PROVIDER_PROPERTY);
+    if (contentProvider instanceof AppEngineContentProvider) {
+      return ((AppEngineContentProvider) contentProvider).getLoadedRepresentation(project);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the project name qualified with the version tuple of the given model. Until the model
+   * is loaded ({@code null}), this is the plain project name.
+   */
   @VisibleForTesting
-  static StyledString getAppEngineProjectText(IProject project) {
-    try {
-      AppEngineProjectElement projectElement = AppEngineContentProvider.loadRepresentation(project);
-      StyledString result = new StyledString(project.getName());
-      String qualifier = getVersionTuple(projectElement);
-      if (qualifier.length() > 0) {
-        result.append(" [", StyledString.QUALIFIER_STYLER); //$NON-NLS-1$
-        result.append(qualifier.toString(), StyledString.QUALIFIER_STYLER);
-        result.append("]", StyledString.QUALIFIER_STYLER); //$NON-NLS-1$
-      }
-      return result;
-    } catch (AppEngineException ex) {
-      // ignore
+  static StyledString getAppEngineProjectText(IProject project,
+      Optional<AppEngineProjectElement> projectElement) {
+    StyledString result = new StyledString(project.getName());
+    if (projectElement == null) {
+      return result; // the project is refreshed once loaded
+    } else if (!projectElement.isPresent()) {
+      return null; // carry onto the next label provider
+    }
+    String qualifier = getVersionTuple(projectElement.get());
+    if (qualifier.length() > 0) {
+      result.append(" [", StyledString.QUALIFIER_STYLER); //$NON-NLS-1$
+      result.append(qualifier.toString(), StyledString.QUALIFIER_STYLER);
+      result.append("]", StyledString.QUALIFIER_STYLER); //$NON-NLS-1$
     }
-    return null; // carry onto the next label provider
+    return result;
   }
 
   /** Returns a <em>project:service:version</em> tuple from the App Engine descriptor. */
@@ -54,5 +54,28 @@ public class BomTest {
   public void testGuava() {
     Assert.assertFalse(cloudBom.defines("com.google.guava", "guava"));
   }
-  
+
+  @Test
+  public void testLoadBom_cached() throws CoreException {
+    Assert.assertSame(cloudBom,
+        Bom.loadBom("com.google.cloud", "google-cloud-bom", "0.41.0-alpha", null));
+  }
+
+  @Test
+  public void testIsCacheable() {
+    Assert.assertTrue(Bom.isCacheable("0.41.0-alpha"));
+    Assert.assertTrue(Bom.isCacheable("3.0.0"));
+  }
+
+  @Test
+  public void testIsCacheable_changingVersions() {
+    Assert.assertFalse(Bom.isCacheable(null));
+    Assert.assertFalse(Bom.isCacheable(""));
+    Assert.assertFalse(Bom.isCacheable("1.0-SNAPSHOT"));
+    Assert.assertFalse(Bom.isCacheable("LATEST"));
+    Assert.assertFalse(Bom.isCacheable("RELEASE"));
+    Assert.assertFalse(Bom.isCacheable("${bom.version}"));
+    Assert.assertFalse(Bom.isCacheable("[1.0,2.0)"));
+    Assert.assertFalse(Bom.isCacheable("(,2.0]"));
+  }
 }
@@ -26,6 +26,7 @@ import com.google.cloud.tools.eclipse.appengine.libraries.model.Library;
 import com.google.cloud.tools.eclipse.test.util.project.TestProjectCreator;
 import java.util.ArrayList;
 import java.util.List;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -136,4 +137,12 @@ public class BuildPathTest {
     assertTrue(rule.isConflicting(MavenPlugin.getProjectConfigurationManager().getRule()));
     assertTrue(rule.contains(project.getProject()));
   }
+
+  @Test
+  public void testUpdatingRule() {
+    ISchedulingRule rule = BuildPath.updatingRule(project);
+    assertTrue(rule.contains(project.getProject()));
+    IProject otherProject = project.getProject().getWorkspace().getRoot().getProject("other");
+    assertFalse(rule.isConflicting(otherProject));
+  }
 }
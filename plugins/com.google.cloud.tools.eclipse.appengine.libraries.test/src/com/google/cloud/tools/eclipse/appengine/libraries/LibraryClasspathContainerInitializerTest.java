@@ -35,6 +35,7 @@ import com.google.cloud.tools.eclipse.test.util.ThreadDumpingWatchdog;
 import com.google.cloud.tools.eclipse.test.util.project.TestProjectCreator;
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -266,6 +267,49 @@ public class LibraryClasspathContainerInitializerTest {
     fail("classpath entry not found");
   }
 
+  @Test
+  public void testInitialize_validContainerMarkedVerified() throws CoreException, IOException {
+    File artifactFile = temporaryFolder.newFile();
+    IClasspathEntry entry =
+        JavaCore.newLibraryEntry(new Path(artifactFile.getAbsolutePath()), null, null);
+    LibraryClasspathContainer container = mock(LibraryClasspathContainer.class);
+    when(container.getClasspathEntries()).thenReturn(new IClasspathEntry[] {entry});
+    when(serializer.loadContainer(any(IJavaProject.class), any(IPath.class))).thenReturn(container);
+
+    LibraryClasspathContainerInitializer containerInitializer =
+        new LibraryClasspathContainerInitializer(TEST_CONTAINER_PATH, serializer, resolverService);
+    containerInitializer.initialize(new Path(TEST_LIBRARY_PATH), testProject.getJavaProject());
+
+    verify(serializer).markVerified(testProject.getJavaProject(), new Path(TEST_LIBRARY_PATH));
+    verifyResolveServiceResolveContainerNotCalled();
+  }
+
+  @Test
+  public void testInitialize_verifiedContainerWithMissingJarResolvedAfterwards()
+      throws CoreException, IOException, InterruptedException {
+    IClasspathEntry entry = JavaCore.newLibraryEntry(new Path(NON_EXISTENT_FILE), null, null);
+    LibraryClasspathContainer container = mock(LibraryClasspathContainer.class);
+    when(container.getClasspathEntries()).thenReturn(new IClasspathEntry[] {entry});
+    when(serializer.loadContainer(any(IJavaProject.class), any(IPath.class))).thenReturn(container);
+    when(serializer.isVerified(any(IJavaProject.class), any(IPath.class))).thenReturn(true);
+
+    CountDownLatch updateRequested = new CountDownLatch(1);
+    LibraryClasspathContainerInitializer containerInitializer =
+        new LibraryClasspathContainerInitializer(TEST_CONTAINER_PATH, serializer, resolverService) {
+          @Override
+          public void requestClasspathContainerUpdate(
+              IPath containerPath, IJavaProject project, IClasspathContainer containerSuggestion) {
+            updateRequested.countDown();
+          }
+        };
+    containerInitializer.initialize(new Path(TEST_LIBRARY_PATH), testProject.getJavaProject());
+
+    assertEquals(container, JavaCore.getClasspathContainer(
+        new Path(TEST_LIBRARY_PATH), testProject.getJavaProject()));
+    assertTrue(updateRequested.await(30, TimeUnit.SECONDS));
+    verify(serializer, never()).markVerified(any(IJavaProject.class), any(IPath.class));
+  }
+
   @Test
   public void testComparisonIdUnique() {
     LibraryClasspathContainerInitializer containerInitializer =
@@ -16,26 +16,34 @@
 
 package com.google.cloud.tools.eclipse.appengine.libraries;
 
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
-import com.google.cloud.tools.eclipse.util.jobs.MutexRule;
 import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.jdt.core.IJavaProject;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 public class LibraryClasspathContainerResolverJobTest {
 
+  private final ILibraryClasspathContainerResolverService service =
+      Mockito.mock(ILibraryClasspathContainerResolverService.class);
+  private final IJavaProject javaProject = Mockito.mock(IJavaProject.class);
+
   @Test
   public void testBelongsTo() {
-    ISchedulingRule rule = new MutexRule("LibraryClasspathContainerResolverJobTest");
-    ILibraryClasspathContainerResolverService service =
-        Mockito.mock(ILibraryClasspathContainerResolverService.class);
-    IJavaProject javaProject = Mockito.mock(IJavaProject.class);
     LibraryClasspathContainerResolverJob fixture =
-        new LibraryClasspathContainerResolverJob(rule, service, javaProject);
+        new LibraryClasspathContainerResolverJob(service, javaProject);
 
     assertTrue(fixture.belongsTo(ResourcesPlugin.FAMILY_MANUAL_BUILD));
   }
+
+  @Test
+  public void testNoJobRule() {
+    // artifact rules cannot be acquired inside an unrelated job rule
+    LibraryClasspathContainerResolverJob fixture =
+        new LibraryClasspathContainerResolverJob(service, javaProject);
+
+    assertNull(fixture.getRule());
+  }
 }
@@ -22,6 +22,7 @@ import com.google.cloud.tools.eclipse.appengine.libraries.model.MavenCoordinates
 import com.google.cloud.tools.eclipse.test.util.project.TestProjectCreator;
 import com.google.cloud.tools.eclipse.util.ArtifactRetriever;
 import com.google.cloud.tools.eclipse.util.MappedNamespaceContext;
+import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
@@ -31,6 +32,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.xml.parsers.DocumentBuilder;
@@ -357,6 +359,46 @@ public class PomTest {
     Assert.assertThat(resolved, Matchers.hasItem(library2));
   }
 
+  @Test(timeout = 10000)
+  public void testLoadBoms_concurrently() throws CoreException {
+    CountDownLatch secondLoaded = new CountDownLatch(1);
+    List<Pom.BomLoader> loaders = Arrays.asList(
+        () -> {
+          // completes only if the second BOM is resolved at the same time
+          awaitUninterruptibly(secondLoaded);
+          return null;
+        },
+        () -> {
+          secondLoaded.countDown();
+          return null;
+        });
+
+    Assert.assertEquals(2, Pom.loadBoms(loaders).size());
+  }
+
+  @Test
+  public void testLoadBoms_failure() {
+    CoreException failure = new CoreException(StatusUtil.error(this, "unresolvable"));
+    List<Pom.BomLoader> loaders = Arrays.asList(() -> null, () -> {
+      throw failure;
+    });
+
+    try {
+      Pom.loadBoms(loaders);
+      Assert.fail();
+    } catch (CoreException ex) {
+      Assert.assertSame(failure, ex);
+    }
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private static Document parse(InputStream in)
       throws ParserConfigurationException, IOException, SAXException {
     DocumentBuilder builder = factory.newDocumentBuilder();
@@ -37,6 +37,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class SourceAttacherJobTest {
 
+  private final IPath sourcePath = mock(IPath.class);
   private SourceAttacherJob attacherJob;
 
   @SuppressWarnings("unchecked")
@@ -55,7 +56,7 @@ public class SourceAttacherJobTest {
     when(validContainer.getClasspathEntries()).thenReturn(new IClasspathEntry[0]);
     when(validContainer.copyWithNewEntries(any(List.class))).thenReturn(validContainer);
 
-    LibraryClasspathContainer newContainer = attacherJob.attachSource(validContainer);
+    LibraryClasspathContainer newContainer = attacherJob.attachSource(validContainer, sourcePath);
     assertNotNull(newContainer);
   }
 
@@ -63,7 +64,7 @@ public class SourceAttacherJobTest {
   public void testAttachSource_shortCircuitOnGenericClasspathContainer() throws Exception {
     IClasspathContainer invalidContainer = mock(IClasspathContainer.class);
 
-    LibraryClasspathContainer newContainer = attacherJob.attachSource(invalidContainer);
+    LibraryClasspathContainer newContainer = attacherJob.attachSource(invalidContainer, sourcePath);
     assertNull(newContainer);
   }
 }
@@ -16,6 +16,9 @@
 
 package com.google.cloud.tools.eclipse.appengine.libraries.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
@@ -80,4 +83,53 @@ public class CloudLibrariesTest {
     Assert.assertEquals("non-appengine-standard", library.getGroups().get(0));
     Assert.assertEquals("Objectify", library.getName());
   }
+
+  @Test
+  public void testGetLibrariesWithArtifact() {
+    List<Library> libraries =
+        CloudLibraries.getLibrariesWithArtifact("com.googlecode.objectify", "objectify");
+    Assert.assertTrue(libraries.contains(CloudLibraries.getLibrary("objectify")));
+  }
+
+  @Test
+  public void testGetLibrariesWithArtifact_unknown() {
+    Assert.assertTrue(CloudLibraries.getLibrariesWithArtifact("com.example", "none").isEmpty());
+  }
+
+  @Test
+  public void testCatalog() {
+    Library first = newLibrary("first", "a,b", "com.example:shared", "com.example:first");
+    Library second = newLibrary("second", "b", "com.example:shared");
+    Library third = newLibrary("third", "c");
+    CloudLibraries.Catalog catalog =
+        new CloudLibraries.Catalog(Arrays.asList(first, second, third));
+
+    Assert.assertSame(second, catalog.getLibrary("second"));
+    Assert.assertNull(catalog.getLibrary("fourth"));
+    Assert.assertEquals(Collections.singletonList(first), catalog.getLibraries("a"));
+    Assert.assertEquals(Arrays.asList(first, second), catalog.getLibraries("b"));
+    Assert.assertTrue(catalog.getLibraries("d").isEmpty());
+    Assert.assertEquals(Arrays.asList(first, second),
+        catalog.getLibrariesWithArtifact("com.example", "shared"));
+    Assert.assertEquals(Collections.singletonList(first),
+        catalog.getLibrariesWithArtifact("com.example", "first"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCatalog_duplicateId() {
+    new CloudLibraries.Catalog(Arrays.asList(newLibrary("id", "a"), newLibrary("id", "b")));
+  }
+
+  private static Library newLibrary(String id, String group, String... artifacts) {
+    Library library = new Library(id);
+    library.setGroup(group);
+    List<LibraryFile> files = new ArrayList<>();
+    for (String artifact : artifacts) {
+      String[] ids = artifact.split(":");
+      files.add(new LibraryFile(
+          new MavenCoordinates.Builder().setGroupId(ids[0]).setArtifactId(ids[1]).build()));
+    }
+    library.setLibraryFiles(files);
+    return library;
+  }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.libraries.persistence;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ContainerVerificationSnapshotTest {
+
+  private static final String KEY = "project/container/path";
+  private static final String FINGERPRINT = "/repository:1";
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path snapshotFile;
+  private File stateFile;
+  private ContainerVerificationSnapshot snapshot;
+
+  @Before
+  public void setUp() throws IOException {
+    snapshotFile = tempFolder.getRoot().toPath().resolve("containers.snapshot");
+    stateFile = tempFolder.newFile("libraryId.container");
+    Files.write(stateFile.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+    snapshot = new ContainerVerificationSnapshot(snapshotFile);
+  }
+
+  @Test
+  public void testIsVerified_unknown() {
+    assertFalse(snapshot.isVerified(KEY, stateFile, FINGERPRINT));
+  }
+
+  @Test
+  public void testMarkVerified() throws IOException {
+    snapshot.markVerified(KEY, stateFile, FINGERPRINT);
+    assertTrue(snapshot.isVerified(KEY, stateFile, FINGERPRINT));
+    assertFalse(snapshot.isVerified("other/key", stateFile, FINGERPRINT));
+  }
+
+  @Test
+  public void testMarkVerified_persisted() throws IOException {
+    snapshot.markVerified(KEY, stateFile, FINGERPRINT);
+
+    ContainerVerificationSnapshot reloaded = new ContainerVerificationSnapshot(snapshotFile);
+    assertTrue(reloaded.isVerified(KEY, stateFile, FINGERPRINT));
+  }
+
+  @Test
+  public void testIsVerified_stateFileChanged() throws IOException {
+    snapshot.markVerified(KEY, stateFile, FINGERPRINT);
+    Files.write(stateFile.toPath(), "{ }".getBytes(StandardCharsets.UTF_8));
+
+    assertFalse(snapshot.isVerified(KEY, stateFile, FINGERPRINT));
+  }
+
+  @Test
+  public void testIsVerified_fingerprintChanged() throws IOException {
+    snapshot.markVerified(KEY, stateFile, FINGERPRINT);
+    assertFalse(snapshot.isVerified(KEY, stateFile, "/repository:2"));
+  }
+
+  @Test
+  public void testMarkVerified_newFingerprintDropsOtherEntries() throws IOException {
+    snapshot.markVerified(KEY, stateFile, FINGERPRINT);
+    snapshot.markVerified("other/key", stateFile, "/repository:2");
+
+    assertFalse(snapshot.isVerified(KEY, stateFile, "/repository:2"));
+    assertTrue(snapshot.isVerified("other/key", stateFile, "/repository:2"));
+  }
+
+  @Test
+  public void testRemove() throws IOException {
+    snapshot.markVerified(KEY, stateFile, FINGERPRINT);
+    snapshot.remove(KEY);
+
+    assertFalse(snapshot.isVerified(KEY, stateFile, FINGERPRINT));
+    assertFalse(new ContainerVerificationSnapshot(snapshotFile)
+        .isVerified(KEY, stateFile, FINGERPRINT));
+  }
+
+  @Test
+  public void testIsVerified_otherFormatVersionIgnored() throws IOException {
+    snapshot.markVerified(KEY, stateFile, FINGERPRINT);
+    byte[] data = Files.readAllBytes(snapshotFile);
+    data[3] = (byte) (ContainerVerificationSnapshot.FORMAT_VERSION + 1);
+    Files.write(snapshotFile, data);
+
+    assertFalse(new ContainerVerificationSnapshot(snapshotFile)
+        .isVerified(KEY, stateFile, FINGERPRINT));
+  }
+
+  @Test
+  public void testIsVerified_truncatedFileIgnored() throws IOException {
+    Files.write(snapshotFile, new byte[] {0, 0});
+    assertFalse(snapshot.isVerified(KEY, stateFile, FINGERPRINT));
+  }
+}
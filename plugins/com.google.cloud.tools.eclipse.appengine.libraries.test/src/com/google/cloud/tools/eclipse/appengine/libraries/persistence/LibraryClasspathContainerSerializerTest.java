@@ -131,6 +131,40 @@ public class LibraryClasspathContainerSerializerTest {
     compare(container, containerFromFile);
   }
 
+  @Test
+  public void testIsVerified_noSnapshot() throws CoreException, IOException {
+    Path stateFilePath = new Path(stateFolder.newFile().getAbsolutePath());
+    when(stateLocationProvider.getContainerStateFile(any(IJavaProject.class), anyString(),
+        anyBoolean())).thenReturn(stateFilePath);
+    LibraryClasspathContainerSerializer serializer = new LibraryClasspathContainerSerializer(
+        stateLocationProvider, binaryBaseLocationProvider, sourceBaseLocationProvider);
+    serializer.saveContainer(javaProject, container);
+    serializer.markVerified(javaProject, new Path(CONTAINER_PATH));
+
+    assertFalse(serializer.isVerified(javaProject, new Path(CONTAINER_PATH)));
+  }
+
+  @Test
+  public void testMarkVerified_untilContainerSavedAgain() throws CoreException, IOException {
+    Path stateFilePath = new Path(stateFolder.newFile().getAbsolutePath());
+    when(stateLocationProvider.getContainerStateFile(any(IJavaProject.class), anyString(),
+        anyBoolean())).thenReturn(stateFilePath);
+    LibraryClasspathContainerSerializer serializer = new LibraryClasspathContainerSerializer(
+        stateLocationProvider, binaryBaseLocationProvider, sourceBaseLocationProvider,
+        stateFolder.getRoot().toPath().resolve("containers.snapshot"));
+    serializer.saveContainer(javaProject, container);
+    assertFalse(serializer.isVerified(javaProject, new Path(CONTAINER_PATH)));
+
+    serializer.markVerified(javaProject, new Path(CONTAINER_PATH));
+    assertTrue(serializer.isVerified(javaProject, new Path(CONTAINER_PATH)));
+
+    LibraryClasspathContainer changedContainer = new LibraryClasspathContainer(
+        new Path(CONTAINER_PATH), "Changed description", Arrays.asList(
+            container.getClasspathEntries()), container.getLibraryFiles());
+    serializer.saveContainer(javaProject, changedContainer);
+    assertFalse(serializer.isVerified(javaProject, new Path(CONTAINER_PATH)));
+  }
+
   @Test
   public void testLoadContainer() throws IOException, CoreException {
     Path stateFilePath = new Path(stateFolder.newFile().getAbsolutePath());
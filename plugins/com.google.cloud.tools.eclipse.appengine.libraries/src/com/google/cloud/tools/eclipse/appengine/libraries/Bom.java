@@ -17,28 +17,81 @@
 package com.google.cloud.tools.eclipse.appengine.libraries;
 
 import com.google.cloud.tools.eclipse.util.DependencyResolver;
+import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 /**
  * A cache of a pom.xml file and all its transitive dependencies.
  */
 class Bom {
-  
+
+  // A released BOM never changes, so resolved BOMs are kept by coordinates for the session.
+  // Concurrent loads of the same BOM wait for a single resolution.
+  private static final Cache<String, Bom> resolvedBoms =
+      CacheBuilder.newBuilder().maximumSize(50).build();
+
   private Map<String, Artifact> artifacts;
 
   private Bom(Map<String, Artifact> artifacts) {
     this.artifacts = artifacts;
   }
 
+  /**
+   * Returns the BOM with the given coordinates, resolving it only if it has not been resolved
+   * before. BOMs with versions that may resolve differently over time (e.g., snapshots, ranges, or
+   * {@code LATEST}) are always resolved.
+   */
   static Bom loadBom(String groupId, String artifactId, String version, IProgressMonitor monitor)
       throws CoreException {
-    
+    if (!isCacheable(version)) {
+      return resolveBom(groupId, artifactId, version, monitor);
+    }
+
+    String coordinates = groupId + ":" + artifactId + ":" + version;
+    try {
+      return resolvedBoms.get(coordinates,
+          () -> resolveBom(groupId, artifactId, version, monitor));
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof CoreException) {
+        throw (CoreException) ex.getCause();
+      }
+      throw new CoreException(
+          StatusUtil.error(Bom.class, "Could not resolve BOM " + coordinates, ex.getCause()));
+    } catch (UncheckedExecutionException ex) {
+      // cancellation is not a resolution failure
+      Throwables.throwIfInstanceOf(ex.getCause(), OperationCanceledException.class);
+      throw new CoreException(
+          StatusUtil.error(Bom.class, "Could not resolve BOM " + coordinates, ex.getCause()));
+    }
+  }
+
+  @VisibleForTesting
+  static boolean isCacheable(String version) {
+    return !Strings.isNullOrEmpty(version)
+        && !version.endsWith("-SNAPSHOT")
+        && !"LATEST".equals(version)
+        && !"RELEASE".equals(version)
+        && !version.contains("${")
+        && !version.startsWith("[")
+        && !version.startsWith("(");
+  }
+
+  private static Bom resolveBom(String groupId, String artifactId, String version,
+      IProgressMonitor monitor) throws CoreException {
     Collection<Dependency> dependencies =
         DependencyResolver.getManagedDependencies(groupId, artifactId, version, monitor);
     Map<String, Artifact> artifacts = new HashMap<>();
@@ -316,7 +316,8 @@ public class BuildPath {
 
   /**
    * Returns a suitable {@link ISchedulingRule scheduling rule} when resolving libraries for a
-   * project.
+   * project while holding the rule throughout. Jobs that only need to update the containers
+   * should resolve without a rule and use {@link #updatingRule(IJavaProject)} instead.
    */
   public static ISchedulingRule resolvingRule(IJavaProject javaProject) {
     // Requires both the project modification rule and the Maven project configuration rule
@@ -327,4 +328,13 @@ public class BuildPath {
             MavenUtils.mavenResolvingRule());
     return rule;
   }
+
+  /**
+   * Returns the {@link ISchedulingRule scheduling rule} for updating the library containers of a
+   * project once their artifacts have been resolved.
+   */
+  public static ISchedulingRule updatingRule(IJavaProject javaProject) {
+    IWorkspace workspace = javaProject.getProject().getWorkspace();
+    return workspace.getRuleFactory().modifyRule(javaProject.getProject());
+  }
 }
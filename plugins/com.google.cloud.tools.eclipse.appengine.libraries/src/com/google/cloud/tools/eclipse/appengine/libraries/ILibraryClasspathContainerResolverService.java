@@ -31,30 +31,33 @@ import org.eclipse.jdt.core.IJavaProject;
 public interface ILibraryClasspathContainerResolverService {
 
   /**
-   * Return the minimum scheduling rule required for calls to this service. The service will obtain
-   * the rule when there is no current scheduling rule.
+   * Return the scheduling rule for jobs calling this service, or {@code null} if such jobs should
+   * run without a rule. With no current rule, the service resolves artifacts under rules that only
+   * conflict with resolution of the same artifact, and then updates containers under
+   * {@link BuildPath#updatingRule the project rule}.
    */
   ISchedulingRule getSchedulingRule();
 
   /**
    * Resolves all {@link LibraryClasspathContainer}s found on the classpath of <code>javaProject
    * </code>. Source attachment for the resolved libraries will happen asynchronously. If callers
-   * are operating under a scheduling rule, it must at least contain {@link #getSchedulingRule()}.
+   * are operating under a scheduling rule, it must contain {@link BuildPath#resolvingRule}.
    */
   IStatus resolveAll(IJavaProject javaProject, IProgressMonitor monitor);
 
   /**
    * Resolves the binary and source artifacts corresponding to the {@link Library libraries}
    * identified by <code>libraryIds</code> synchronously and creates the {@link IClasspathEntry}s
-   * referring them. If callers are operating under a scheduling rule, it should at least contain
-   * {@link #getSchedulingRule()}.
+   * referring them. If callers are operating under a scheduling rule, it must contain the
+   * m2e project configuration rule.
    */
   IClasspathEntry[] resolveLibrariesAttachSources(String... libraryIds) throws CoreException;
 
   /**
    * Resolves a single {@link LibraryClasspathContainer} corresponding to <code>containerPath</code>
    * in <code>javaProject</code>. Sources for the resolved binary artifacts are resolved
-   * asynchronously.
+   * asynchronously. If callers are operating under a scheduling rule, it must contain
+   * {@link BuildPath#resolvingRule}.
    */
   IStatus resolveContainer(IJavaProject javaProject, IPath containerPath, IProgressMonitor monitor);
 }
\ No newline at end of file
@@ -25,7 +25,11 @@ import java.util.Collections;
 import javax.inject.Inject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.ClasspathContainerInitializer;
 import org.eclipse.jdt.core.IClasspathContainer;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -38,6 +42,11 @@ import org.eclipse.jdt.core.JavaCore;
  *
  * <p>The container path is expected to be in the form of &lt;value of {@link
  * LibraryClasspathContainer#CONTAINER_PATH_PREFIX}&gt;/&lt;library ID&gt;
+ *
+ * <p>A persisted container is used only if all its jars exist. Checking costs a file stat per jar,
+ * so containers found valid are {@linkplain LibraryClasspathContainerSerializer#markVerified
+ * recorded as such}; on later startups they are restored right away and their jars are checked
+ * afterwards by a background job.
  */
 public class LibraryClasspathContainerInitializer extends ClasspathContainerInitializer {
   @Inject private LibraryClasspathContainerSerializer serializer;
@@ -74,13 +83,21 @@ public class LibraryClasspathContainerInitializer extends ClasspathContainerInit
     }
     try {
       LibraryClasspathContainer container = serializer.loadContainer(project, containerPath);
-      if (container != null && jarPathsAreValid(container)) {
-        JavaCore.setClasspathContainer(
-            containerPath,
-            new IJavaProject[] {project},
-            new IClasspathContainer[] {container},
-            new NullProgressMonitor());
-        return;
+      if (container != null) {
+        boolean verified = serializer.isVerified(project, containerPath);
+        if (verified || jarPathsAreValid(container)) {
+          JavaCore.setClasspathContainer(
+              containerPath,
+              new IJavaProject[] {project},
+              new IClasspathContainer[] {container},
+              new NullProgressMonitor());
+          if (verified) {
+            new DeferredVerificationJob(containerPath, project, container).schedule();
+          } else {
+            serializer.markVerified(project, containerPath);
+          }
+          return;
+        }
       }
       /* Container definition is not resolved, so set an empty container (an
        * IClasspathContainerInitializer *must* set a corresponding container) and initiate
@@ -112,6 +129,35 @@ public class LibraryClasspathContainerInitializer extends ClasspathContainerInit
     return true;
   }
 
+  /** Re-resolves a container restored without checking its jars if some turn out to be missing. */
+  private class DeferredVerificationJob extends Job {
+    private final IPath containerPath;
+    private final IJavaProject project;
+    private final LibraryClasspathContainer container;
+
+    private DeferredVerificationJob(
+        IPath containerPath, IJavaProject project, LibraryClasspathContainer container) {
+      super("Verifying " + containerPath); //$NON-NLS-1$
+      this.containerPath = containerPath;
+      this.project = project;
+      this.container = container;
+      setSystem(true);
+      setPriority(DECORATE);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      if (!jarPathsAreValid(container)) {
+        try {
+          requestClasspathContainerUpdate(containerPath, project, container);
+        } catch (CoreException ex) {
+          return ex.getStatus();
+        }
+      }
+      return Status.OK_STATUS;
+    }
+  }
+
   @Override
   public boolean canUpdateClasspathContainer(IPath containerPath, IJavaProject project) {
     return true;
@@ -123,8 +169,7 @@ public class LibraryClasspathContainerInitializer extends ClasspathContainerInit
       throws CoreException {
 
     LibraryClasspathContainerResolverJob job =
-        new LibraryClasspathContainerResolverJob(
-            BuildPath.resolvingRule(project), resolverService, project);
+        new LibraryClasspathContainerResolverJob(resolverService, project);
     job.setUser(true);
     job.schedule();
   }
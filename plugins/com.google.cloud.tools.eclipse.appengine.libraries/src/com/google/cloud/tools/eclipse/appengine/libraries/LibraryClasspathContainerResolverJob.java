@@ -22,7 +22,6 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IJavaProject;
 
@@ -34,16 +33,14 @@ public class LibraryClasspathContainerResolverJob extends Job {
   private IJavaProject javaProject;
 
   public LibraryClasspathContainerResolverJob(
-      ISchedulingRule rule,
       ILibraryClasspathContainerResolverService service,
       IJavaProject javaProject) {
     super(Messages.getString("AppEngineLibraryContainerResolverJobName"));
-    // This job must be protected; our lower-level Maven classes actions do more verification
-    Preconditions.checkNotNull(rule, "rule must be prvided");
+    // No job rule: artifacts are resolved under per-artifact rules and the containers are then
+    // updated under BuildPath#updatingRule, as rules cannot be nested inside an unrelated rule
     Preconditions.checkNotNull(javaProject, "javaProject is null");
     this.resolverService = service;
     this.javaProject = javaProject;
-    setRule(rule);
   }
 
   @Override
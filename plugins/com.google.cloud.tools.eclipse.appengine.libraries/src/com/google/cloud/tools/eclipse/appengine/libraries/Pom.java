@@ -24,7 +24,9 @@ import com.google.cloud.tools.eclipse.util.MappedNamespaceContext;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.base.Verify;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -38,6 +40,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.parsers.DocumentBuilder;
@@ -72,6 +78,8 @@ class Pom {
   private static final TransformerFactory transformerFactory = TransformerFactory.newInstance();
   private static final NamespaceContext maven4NamespaceContext =
       new MappedNamespaceContext("m", "http://maven.apache.org/POM/4.0.0");
+  private static final ExecutorService bomLoaderExecutor = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setNameFormat("bom-loader-%d").setDaemon(true).build());
   
   static {
     builderFactory.setNamespaceAware(true);
@@ -103,6 +111,7 @@ class Pom {
           document.getDocumentElement(),
           XPathConstants.NODESET);
       
+      List<BomLoader> loaders = new ArrayList<>();
       for (int i = 0; i < bomNodes.getLength(); i++) {
         String artifactId = (String) xpath.evaluate("string(./m:artifactId)",
             bomNodes.item(i),
@@ -113,9 +122,9 @@ class Pom {
         String version = (String) xpath.evaluate("string(./m:version)",
             bomNodes.item(i),
             XPathConstants.STRING);
-        Bom bom = Bom.loadBom(groupId, artifactId, version, null);
-        pom.boms.add(bom);
-      } 
+        loaders.add(() -> Bom.loadBom(groupId, artifactId, version, null));
+      }
+      pom.boms.addAll(loadBoms(loaders));
       
       return pom;
     } catch (ParserConfigurationException | XPathExpressionException ex) {
@@ -124,6 +133,45 @@ class Pom {
     }
   }
 
+  @FunctionalInterface
+  interface BomLoader {
+    Bom load() throws CoreException;
+  }
+
+  /**
+   * Resolve imported BOMs concurrently, returning them in declaration order. Each BOM is
+   * resolved under its own artifact rule, so the downloads do not block each other.
+   */
+  @VisibleForTesting
+  static List<Bom> loadBoms(List<BomLoader> loaders) throws CoreException {
+    if (loaders.size() == 1) {
+      return Collections.singletonList(loaders.get(0).load());
+    }
+
+    List<CompletableFuture<Bom>> futures = new ArrayList<>();
+    for (BomLoader loader : loaders) {
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          return loader.load();
+        } catch (CoreException ex) {
+          throw new CompletionException(ex);
+        }
+      }, bomLoaderExecutor));
+    }
+
+    List<Bom> boms = new ArrayList<>();
+    for (CompletableFuture<Bom> future : futures) {
+      try {
+        boms.add(future.join());
+      } catch (CompletionException ex) {
+        Throwables.throwIfInstanceOf(ex.getCause(), CoreException.class);
+        Throwables.throwIfUnchecked(ex.getCause());
+        throw new CoreException(StatusUtil.error(Pom.class, ex.getMessage(), ex.getCause()));
+      }
+    }
+    return boms;
+  }
+
   /**
    * Select libraries whose artifacts are satisfied by the pom's dependencies.
    */
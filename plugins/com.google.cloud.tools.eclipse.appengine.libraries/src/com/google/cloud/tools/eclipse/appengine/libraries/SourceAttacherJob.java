@@ -44,6 +44,9 @@ import org.eclipse.jdt.core.JavaCore;
  * also be replaced with a copy that is identical to the original except for the updated
  * {@link IClasspathEntry}s.
  * <p>
+ * The source artifact is resolved without holding a rule so that it is guarded by its own artifact
+ * rule; the container is then updated under the given rule.
+ * <p>
  * If the source resolution or setting the source attachment attribute fails, the job will still
  * return {@link Status#OK_STATUS} as this is not considered an error that the user should be
  * notified of.
@@ -57,6 +60,7 @@ public class SourceAttacherJob extends Job {
   private final IPath libraryPath;
   private final Callable<IPath> sourceArtifactPathProvider;
   private final LibraryClasspathContainerSerializer serializer;
+  private final ISchedulingRule updateRule;
 
   public SourceAttacherJob(
       ISchedulingRule rule,
@@ -71,20 +75,26 @@ public class SourceAttacherJob extends Job {
     this.libraryPath = libraryPath;
     this.sourceArtifactPathProvider = sourceArtifactPathProvider;
     serializer = new LibraryClasspathContainerSerializer();
-    setRule(rule);
+    updateRule = rule;
   }
 
   @Override
   protected IStatus run(IProgressMonitor monitor) {
-    Preconditions.checkState(getRule() != null);
+    Preconditions.checkState(updateRule != null);
     try {
-      IClasspathContainer container = JavaCore.getClasspathContainer(containerPath, javaProject);
-      LibraryClasspathContainer newContainer = attachSource(container);
+      IPath sourceArtifactPath = sourceArtifactPathProvider.call();
+      getJobManager().beginRule(updateRule, monitor);
+      try {
+        IClasspathContainer container = JavaCore.getClasspathContainer(containerPath, javaProject);
+        LibraryClasspathContainer newContainer = attachSource(container, sourceArtifactPath);
 
-      if (newContainer != null) {
-        JavaCore.setClasspathContainer(containerPath, new IJavaProject[]{ javaProject },
-            new IClasspathContainer[]{ newContainer }, monitor);
-        serializer.saveContainer(javaProject, newContainer);
+        if (newContainer != null) {
+          JavaCore.setClasspathContainer(containerPath, new IJavaProject[]{ javaProject },
+              new IClasspathContainer[]{ newContainer }, monitor);
+          serializer.saveContainer(javaProject, newContainer);
+        }
+      } finally {
+        getJobManager().endRule(updateRule);
       }
     } catch (Exception ex) {
       // it's not needed to be logged normally
@@ -94,7 +104,7 @@ public class SourceAttacherJob extends Job {
   }
 
   @VisibleForTesting
-  LibraryClasspathContainer attachSource(IClasspathContainer container) throws Exception {
+  LibraryClasspathContainer attachSource(IClasspathContainer container, IPath sourceArtifactPath) {
     if (!(container instanceof LibraryClasspathContainer)) {
       logger.log(Level.FINE, Messages.getString("ContainerClassUnexpected",
           container.getClass().getName(), LibraryClasspathContainer.class.getName()));
@@ -102,7 +112,6 @@ public class SourceAttacherJob extends Job {
     }
 
     LibraryClasspathContainer libraryClasspathContainer = (LibraryClasspathContainer) container;
-    IPath sourceArtifactPath = sourceArtifactPathProvider.call();
     List<IClasspathEntry> newClasspathEntries = new ArrayList<>();
 
     for (IClasspathEntry entry : libraryClasspathContainer.getClasspathEntries()) {
@@ -17,12 +17,16 @@
 package com.google.cloud.tools.eclipse.appengine.libraries.model;
 
 import com.google.cloud.tools.appengine.operations.CloudSdk;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -60,29 +64,81 @@ public class CloudLibraries {
 
   private static final Logger logger = Logger.getLogger(CloudLibraries.class.getName());
 
-  // Note: LibraryFile versions of Libraries in the map can be updated dynamically, e.g., to latest
-  // available release versions.
-  private static final ImmutableMap<String, Library> libraries = loadLibraryDefinitions();
-
   /**
-   * Returns libraries in the named group.
+   * Libraries indexed by ID, group, and Maven group and artifact IDs of their files.
+   *
+   * <p>Note: LibraryFile versions of Libraries in the catalog can be updated dynamically, e.g., to
+   * latest available release versions. Group and artifact IDs never change.
    */
-  public static List<Library> getLibraries(String group) {
-    List<Library> result = new ArrayList<>();
-    for (Library library : libraries.values()) {
-      List<String> groups = library.getGroups();
-      if (groups.contains(group)) {
-        result.add(library);
+  @VisibleForTesting
+  static class Catalog {
+    private final ImmutableMap<String, Library> byId;
+    private final ImmutableListMultimap<String, Library> byGroup;
+    private final ImmutableListMultimap<String, Library> byArtifact;
+
+    Catalog(Collection<Library> libraries) {
+      ImmutableMap.Builder<String, Library> idIndex = ImmutableMap.builder();
+      ImmutableListMultimap.Builder<String, Library> groupIndex = ImmutableListMultimap.builder();
+      ImmutableListMultimap.Builder<String, Library> artifactIndex =
+          ImmutableListMultimap.builder();
+      for (Library library : libraries) {
+        idIndex.put(library.getId(), library);
+        for (String group : library.getGroups()) {
+          groupIndex.put(group, library);
+        }
+        for (LibraryFile file : library.getDirectDependencies()) {
+          MavenCoordinates coordinates = file.getMavenCoordinates();
+          artifactIndex.put(
+              artifactKey(coordinates.getGroupId(), coordinates.getArtifactId()), library);
+        }
       }
+      byId = idIndex.build();
+      byGroup = groupIndex.build();
+      byArtifact = artifactIndex.build();
+    }
+
+    Library getLibrary(String id) {
+      return byId.get(id);
+    }
+
+    ImmutableList<Library> getLibraries(String group) {
+      return byGroup.get(group);
+    }
+
+    ImmutableList<Library> getLibrariesWithArtifact(String groupId, String artifactId) {
+      return byArtifact.get(artifactKey(groupId, artifactId));
+    }
+
+    private static String artifactKey(String groupId, String artifactId) {
+      return groupId + ':' + artifactId;
     }
-    return result;
+  }
+
+  /** Builds the catalog on first use rather than when this class is initialized. */
+  private static class CatalogHolder {
+    private static final Catalog catalog = new Catalog(loadLibraryDefinitions().values());
+  }
+
+  /**
+   * Returns libraries in the named group, in definition order. The returned list is immutable.
+   */
+  public static List<Library> getLibraries(String group) {
+    return CatalogHolder.catalog.getLibraries(group);
   }
 
   /**
    * Returns the library with the specified ID, or null if not found.
    */
   public static Library getLibrary(String id) {
-    return libraries.get(id);
+    return CatalogHolder.catalog.getLibrary(id);
+  }
+
+  /**
+   * Returns the libraries that directly include the Maven artifact, in definition order. The
+   * returned list is immutable.
+   */
+  public static List<Library> getLibrariesWithArtifact(String groupId, String artifactId) {
+    return CatalogHolder.catalog.getLibrariesWithArtifact(groupId, artifactId);
   }
 
   private static List<Library> loadClientApis() {
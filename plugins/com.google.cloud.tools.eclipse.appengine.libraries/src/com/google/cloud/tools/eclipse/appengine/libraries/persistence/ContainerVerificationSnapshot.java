@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.libraries.persistence;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A workspace-wide record of persisted containers whose jars were found to exist, so that they can
+ * be trusted on the next startup without checking every jar again. Kept in a small versioned
+ * binary file.
+ *
+ * <p>An entry holds the size and modification time of the container's state file, so it no longer
+ * applies once the container is saved again. All entries are also tied to a single fingerprint of
+ * the artifact base directories (such as the local Maven repository), and are dropped together
+ * when that changes.
+ */
+class ContainerVerificationSnapshot {
+
+  private static final Logger logger =
+      Logger.getLogger(ContainerVerificationSnapshot.class.getName());
+
+  /** Bump when changing the file layout; files of other versions are ignored. */
+  @VisibleForTesting
+  static final int FORMAT_VERSION = 1;
+
+  private static class StateFileStamp {
+    private final long size;
+    private final long lastModified;
+
+    private StateFileStamp(long size, long lastModified) {
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof StateFileStamp)) {
+        return false;
+      }
+      StateFileStamp stamp = (StateFileStamp) other;
+      return size == stamp.size && lastModified == stamp.lastModified;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(size, lastModified);
+    }
+  }
+
+  private final Path snapshotFile;
+  // lazily loaded
+  private String repositoryFingerprint;
+  private Map<String, StateFileStamp> entries;
+
+  ContainerVerificationSnapshot(Path snapshotFile) {
+    this.snapshotFile = Preconditions.checkNotNull(snapshotFile);
+  }
+
+  /**
+   * Returns true if the container identified by {@code key} was recorded as verified with the
+   * given state file and repository fingerprint.
+   */
+  synchronized boolean isVerified(String key, File stateFile, String repositoryFingerprint) {
+    load();
+    if (!repositoryFingerprint.equals(this.repositoryFingerprint)) {
+      return false;
+    }
+    StateFileStamp stamp = entries.get(key);
+    return stamp != null && stamp.equals(stampOf(stateFile));
+  }
+
+  /** Records the container identified by {@code key} as verified and saves the snapshot. */
+  synchronized void markVerified(String key, File stateFile, String repositoryFingerprint)
+      throws IOException {
+    load();
+    if (!repositoryFingerprint.equals(this.repositoryFingerprint)) {
+      entries.clear();
+      this.repositoryFingerprint = repositoryFingerprint;
+    }
+    entries.put(key, stampOf(stateFile));
+    save();
+  }
+
+  /** Forgets the container identified by {@code key}. */
+  synchronized void remove(String key) throws IOException {
+    load();
+    if (entries.remove(key) != null) {
+      save();
+    }
+  }
+
+  private static StateFileStamp stampOf(File stateFile) {
+    return new StateFileStamp(stateFile.length(), stateFile.lastModified());
+  }
+
+  private void load() {
+    if (entries != null) {
+      return;
+    }
+    entries = new HashMap<>();
+    repositoryFingerprint = "";
+    try (DataInputStream input = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+      if (input.readInt() != FORMAT_VERSION) {
+        return;
+      }
+      String fingerprint = input.readUTF();
+      int count = input.readInt();
+      Map<String, StateFileStamp> loaded = new HashMap<>();
+      for (int i = 0; i < count; i++) {
+        String key = input.readUTF();
+        loaded.put(key, new StateFileStamp(input.readLong(), input.readLong()));
+      }
+      repositoryFingerprint = fingerprint;
+      entries = loaded;
+    } catch (NoSuchFileException ex) {
+      // first use
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Discarding unreadable container snapshot: " + snapshotFile, ex);
+    }
+  }
+
+  private void save() throws IOException {
+    Files.createDirectories(snapshotFile.getParent());
+    Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+    try (DataOutputStream output = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+      output.writeInt(FORMAT_VERSION);
+      output.writeUTF(repositoryFingerprint);
+      output.writeInt(entries.size());
+      for (Map.Entry<String, StateFileStamp> entry : entries.entrySet()) {
+        output.writeUTF(entry.getKey());
+        output.writeLong(entry.getValue().size);
+        output.writeLong(entry.getValue().lastModified);
+      }
+    }
+    Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+  }
+}
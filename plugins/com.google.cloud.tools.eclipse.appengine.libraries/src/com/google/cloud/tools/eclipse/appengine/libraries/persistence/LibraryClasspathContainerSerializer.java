@@ -60,16 +60,20 @@ public class LibraryClasspathContainerSerializer {
       Logger.getLogger(LibraryClasspathContainerSerializer.class.getName());
 
   private static final String CONTAINER_LIBRARY_LIST_FILE_ID = "_libraries"; //$NON-NLS-1$
+  private static final String VERIFICATION_SNAPSHOT_FILE = "containers.snapshot"; //$NON-NLS-1$
 
   private final LibraryContainerStateLocationProvider stateLocationProvider;
   private final ArtifactBaseLocationProvider binaryArtifactBaseLocationProvider;
   private final ArtifactBaseLocationProvider sourceBaseLocationProvider;
+  private final ContainerVerificationSnapshot verificationSnapshot;
   private final Gson gson;
 
   public LibraryClasspathContainerSerializer() {
     this(new DefaultStateLocationProvider(),
          new M2LocalRepositoryLocationProvider(),
-         new LibrariesBundleStateLocationProvider());
+         new LibrariesBundleStateLocationProvider(),
+         new LibrariesBundleStateLocationProvider().getBaseLocation()
+             .append(VERIFICATION_SNAPSHOT_FILE).toFile().toPath());
   }
 
   @VisibleForTesting
@@ -77,9 +81,24 @@ public class LibraryClasspathContainerSerializer {
       LibraryContainerStateLocationProvider stateLocationProvider,
       ArtifactBaseLocationProvider binaryBaseLocationProvider,
       ArtifactBaseLocationProvider sourceBaseLocationProvider) {
+    this(stateLocationProvider, binaryBaseLocationProvider, sourceBaseLocationProvider, null);
+  }
+
+  /**
+   * @param verificationSnapshotFile where to record containers known to have all their jars; if
+   *     {@code null}, no container is ever reported as verified
+   */
+  @VisibleForTesting
+  public LibraryClasspathContainerSerializer(
+      LibraryContainerStateLocationProvider stateLocationProvider,
+      ArtifactBaseLocationProvider binaryBaseLocationProvider,
+      ArtifactBaseLocationProvider sourceBaseLocationProvider,
+      java.nio.file.Path verificationSnapshotFile) {
     this.stateLocationProvider = stateLocationProvider;
     this.binaryArtifactBaseLocationProvider = binaryBaseLocationProvider;
     this.sourceBaseLocationProvider = sourceBaseLocationProvider;
+    verificationSnapshot = verificationSnapshotFile == null
+        ? null : new ContainerVerificationSnapshot(verificationSnapshotFile);
     gson = new GsonBuilder().setPrettyPrinting().create();
   }
 
@@ -125,6 +144,62 @@ public class LibraryClasspathContainerSerializer {
       throws CoreException {
     // delete the container state cache file since the library list has changed
     stateLocationProvider.removeContainerStateFile(javaProject, containerPath.lastSegment());
+    if (verificationSnapshot != null) {
+      try {
+        verificationSnapshot.remove(getSnapshotKey(javaProject, containerPath));
+      } catch (IOException ex) {
+        logger.log(Level.WARNING, "Could not update container snapshot", ex); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * Returns {@code true} if the persisted container was {@link #markVerified marked as verified}
+   * since it was last saved, and the artifact base locations have not changed since, in which case
+   * its jars need not be checked again. Costs a single file stat per container.
+   */
+  public boolean isVerified(IJavaProject javaProject, IPath containerPath) {
+    if (verificationSnapshot == null) {
+      return false;
+    }
+    try {
+      File stateFile = getContainerStateFile(javaProject, containerPath.lastSegment(), false);
+      return stateFile != null && verificationSnapshot.isVerified(
+          getSnapshotKey(javaProject, containerPath), stateFile, getRepositoryFingerprint());
+    } catch (CoreException ex) {
+      return false;
+    }
+  }
+
+  /** Records that all jars of the persisted container were found to exist. */
+  public void markVerified(IJavaProject javaProject, IPath containerPath) {
+    if (verificationSnapshot == null) {
+      return;
+    }
+    try {
+      File stateFile = getContainerStateFile(javaProject, containerPath.lastSegment(), false);
+      if (stateFile != null) {
+        verificationSnapshot.markVerified(
+            getSnapshotKey(javaProject, containerPath), stateFile, getRepositoryFingerprint());
+      }
+    } catch (CoreException | IOException ex) {
+      logger.log(Level.WARNING, "Could not update container snapshot", ex); //$NON-NLS-1$
+    }
+  }
+
+  private static String getSnapshotKey(IJavaProject javaProject, IPath containerPath) {
+    return javaProject.getElementName() + '/' + containerPath;
+  }
+
+  /**
+   * Identifies the artifact base locations. Also changes when entries are added to or removed from
+   * the root of the binary base location (e.g., when the local Maven repository is wiped). The
+   * source base location holds the snapshot itself, so its modification time is not used.
+   */
+  private String getRepositoryFingerprint() {
+    File binaryBase = binaryArtifactBaseLocationProvider.getBaseLocation().toFile();
+    File sourceBase = sourceBaseLocationProvider.getBaseLocation().toFile();
+    return binaryBase + ":" + binaryBase.lastModified() + "|" + sourceBase; //$NON-NLS-1$ //$NON-NLS-2$
   }
 
   /**
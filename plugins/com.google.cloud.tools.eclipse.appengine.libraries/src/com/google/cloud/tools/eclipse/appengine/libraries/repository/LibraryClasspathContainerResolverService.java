@@ -26,7 +26,6 @@ import com.google.cloud.tools.eclipse.appengine.libraries.model.Filter;
 import com.google.cloud.tools.eclipse.appengine.libraries.model.Library;
 import com.google.cloud.tools.eclipse.appengine.libraries.model.LibraryFile;
 import com.google.cloud.tools.eclipse.appengine.libraries.persistence.LibraryClasspathContainerSerializer;
-import com.google.cloud.tools.eclipse.util.MavenUtils;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
@@ -106,11 +105,6 @@ public class LibraryClasspathContainerResolverService
   @Override
   public IClasspathEntry[] resolveLibrariesAttachSources(String... libraryIds)
       throws CoreException {
-    ISchedulingRule currentRule = Job.getJobManager().currentRule();
-    Preconditions.checkState(
-        currentRule == null || currentRule.contains(getSchedulingRule()),
-        "current scheduling rule is insufficient: " + currentRule);
-
     LinkedHashSet<IClasspathEntry> resolvedEntries = new LinkedHashSet<>();
     for (String libraryId : libraryIds) {
       Library library = CloudLibraries.getLibrary(libraryId);
@@ -131,11 +125,6 @@ public class LibraryClasspathContainerResolverService
 
     Preconditions.checkArgument(
         containerPath.segment(0).equals(LibraryClasspathContainer.CONTAINER_PATH_PREFIX));
-    ISchedulingRule currentRule = Job.getJobManager().currentRule();
-    Preconditions.checkState(
-        currentRule == null || currentRule.contains(getSchedulingRule()),
-        "current scheduling rule is insufficient");
-
     SubMonitor subMonitor = SubMonitor.convert(monitor, 19);
 
     try {
@@ -163,12 +152,24 @@ public class LibraryClasspathContainerResolverService
         LibraryClasspathContainer container =
             resolveLibraryFiles(
                 javaProject, containerPath, library, sourceAttacherJobs, subMonitor.newChild(9));
-        JavaCore.setClasspathContainer(
-            containerPath,
-            new IJavaProject[] {javaProject},
-            new IClasspathContainer[] {container},
-            subMonitor.newChild(1));
-        serializer.saveContainer(javaProject, container);
+        // artifacts were resolved under their own rules; only the update needs the project
+        ISchedulingRule updateRule = BuildPath.updatingRule(javaProject);
+        boolean acquireRule = Job.getJobManager().currentRule() == null;
+        if (acquireRule) {
+          Job.getJobManager().beginRule(updateRule, subMonitor.newChild(0));
+        }
+        try {
+          JavaCore.setClasspathContainer(
+              containerPath,
+              new IJavaProject[] {javaProject},
+              new IClasspathContainer[] {container},
+              subMonitor.newChild(1));
+          serializer.saveContainer(javaProject, container);
+        } finally {
+          if (acquireRule) {
+            Job.getJobManager().endRule(updateRule);
+          }
+        }
         for (Job job : sourceAttacherJobs) {
           job.schedule();
         }
@@ -242,7 +243,7 @@ public class LibraryClasspathContainerResolverService
       final Artifact artifact,
       IPath libraryPath) {
 
-    ISchedulingRule rule = BuildPath.resolvingRule(javaProject);
+    ISchedulingRule rule = BuildPath.updatingRule(javaProject);
     Callable<IPath> resolver =
         () -> repositoryService.resolveSourceArtifact(libraryFile, artifact.getVersion(), monitor);
     SourceAttacherJob job =
@@ -356,6 +357,8 @@ public class LibraryClasspathContainerResolverService
 
   @Override
   public ISchedulingRule getSchedulingRule() {
-    return MavenUtils.mavenResolvingRule();
+    // artifacts are resolved under per-artifact rules (see MavenUtils#runOperation) and
+    // containers are updated under BuildPath#updatingRule when no rule is held
+    return null;
   }
 }
@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
@@ -130,8 +131,10 @@ public class GcpLocalRunTabTest {
     when(account2.getOAuth2Credential()).thenReturn(credential2);
     when(loginService.getAccounts()).thenReturn(new HashSet<>(Arrays.asList(account1, account2)));
 
-    when(projectRepository.getProjects(credential1)).thenReturn(projectsOfEmail1);
-    when(projectRepository.getProjects(credential2)).thenReturn(projectsOfEmail2);
+    when(projectRepository.getKnownProjects(credential1)).thenReturn(projectsOfEmail1);
+    when(projectRepository.getKnownProjects(credential2)).thenReturn(projectsOfEmail2);
+    when(projectRepository.getProjects(eq(credential1), any())).thenReturn(projectsOfEmail1);
+    when(projectRepository.getProjects(eq(credential2), any())).thenReturn(projectsOfEmail2);
 
     tab = new GcpLocalRunTab(environmentTab, loginService, apiFactory, projectRepository);
     tab.createControl(shell);
@@ -203,6 +206,27 @@ public class GcpLocalRunTabTest {
     assertEquals("", projectSelector.getSelectedProjectId());
   }
 
+  @Test
+  public void testProjectSelectorLoaded_fetchedInBackground()
+      throws ProjectRepositoryException, InterruptedException {
+    Thread displayThread = Thread.currentThread();
+    when(projectRepository.getKnownProjects(credential1)).thenReturn(null);
+    when(projectRepository.getProjects(eq(credential1), any())).then(invocation -> {
+      assertNotEquals(displayThread, Thread.currentThread());
+      return projectsOfEmail1;
+    });
+
+    accountSelector.selectAccount("account1@example.com");
+    assertTrue(projectSelector.getProjects().isEmpty());
+
+    tab.joinFetchProjectsJob();
+    while (shell.getDisplay().readAndDispatch()) {
+      // spin until the fetched projects are shown
+    }
+    assertEquals(projectsOfEmail1, projectSelector.getProjects());
+    verify(projectRepository).getProjects(eq(credential1), any());
+  }
+
   @Test
   public void testProjectSelectorLoaded_switchingAccounts() {
     accountSelector.selectAccount("account1@example.com");
@@ -31,6 +31,7 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessStart
 import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.CloudSdkVersion;
 import com.google.cloud.tools.eclipse.appengine.localserver.Activator;
 import com.google.cloud.tools.eclipse.appengine.localserver.Messages;
+import com.google.cloud.tools.eclipse.sdk.CloudSdkDescriptorCache;
 import com.google.cloud.tools.eclipse.sdk.MessageConsoleWriterListener;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.annotations.VisibleForTesting;
@@ -332,7 +333,7 @@ public class LocalAppEngineServerBehaviour extends ServerBehaviourDelegate
     MessageConsoleWriterListener stderrListener = new MessageConsoleWriterListener(stderr);
 
     // dev_appserver output goes to stderr
-    cloudSdk = new CloudSdk.Builder()
+    cloudSdk = CloudSdkDescriptorCache.getInstance().newCloudSdkBuilder()
         .javaHome(javaHomePath)
         .build();
 
@@ -29,6 +29,7 @@ import com.google.cloud.tools.eclipse.appengine.localserver.PreferencesInitializ
 import com.google.cloud.tools.eclipse.appengine.localserver.ui.DatastoreIndexesUpdatedStatusHandler;
 import com.google.cloud.tools.eclipse.appengine.localserver.ui.LocalAppEngineConsole;
 import com.google.cloud.tools.eclipse.appengine.localserver.ui.StaleResourcesStatusHandler;
+import com.google.cloud.tools.eclipse.sdk.CloudSdkDescriptorCache;
 import com.google.cloud.tools.eclipse.sdk.CloudSdkManager;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkPreferences;
 import com.google.cloud.tools.eclipse.ui.util.MessageConsoleUtilities;
@@ -131,7 +132,7 @@ public class LocalAppEngineServerLaunchConfigurationDelegate
       return status;
     }
     try {
-      CloudSdk cloudSdk = new CloudSdk.Builder().build();
+      CloudSdk cloudSdk = CloudSdkDescriptorCache.getInstance().newCloudSdkBuilder().build();
       cloudSdk.validateCloudSdk();
       cloudSdk.validateJdk();
       cloudSdk.validateAppEngineJavaComponents();
@@ -26,8 +26,10 @@ import com.google.cloud.tools.eclipse.projectselector.ProjectRepository;
 import com.google.cloud.tools.eclipse.projectselector.ProjectRepositoryException;
 import com.google.cloud.tools.eclipse.projectselector.ProjectSelector;
 import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
+import com.google.cloud.tools.eclipse.ui.util.DisplayExecutor;
 import com.google.cloud.tools.eclipse.ui.util.event.FileFieldSetter;
 import com.google.cloud.tools.eclipse.ui.util.images.SharedImages;
+import com.google.cloud.tools.eclipse.util.jobs.FuturisticJob;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
@@ -40,9 +42,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
@@ -88,6 +92,8 @@ public class GcpLocalRunTab extends AbstractLaunchConfigurationTab {
   private ProjectSelector projectSelector;
   private Text serviceKeyInput;
   private Button createServiceKey;
+  private Executor displayExecutor;
+  private FetchProjectsJob fetchProjectsJob;
   @VisibleForTesting
   ControlDecoration serviceKeyDecoration;
 
@@ -139,6 +145,10 @@ public class GcpLocalRunTab extends AbstractLaunchConfigurationTab {
 
   @Override
   public void dispose() {
+    if (fetchProjectsJob != null) {
+      fetchProjectsJob.abandon();
+      fetchProjectsJob = null;
+    }
     if (gcpIcon != null) {
       gcpIcon.dispose();
       gcpIcon = null;
@@ -148,6 +158,7 @@ public class GcpLocalRunTab extends AbstractLaunchConfigurationTab {
   @Override
   public void createControl(Composite parent) {
     Composite composite = new Composite(parent, SWT.NONE);
+    displayExecutor = DisplayExecutor.create(composite.getDisplay());
 
     // Account row
     new Label(composite, SWT.LEAD).setText(Messages.getString("label.account")); //$NON-NLS-1$
@@ -250,22 +261,79 @@ public class GcpLocalRunTab extends AbstractLaunchConfigurationTab {
     setControl(composite);
   }
 
+  /**
+   * Shows the projects last fetched for the selected account at once, and fetches the project list
+   * again in the background. If no projects were fetched before, each page of projects is shown as
+   * it arrives.
+   */
   private void updateProjectSelector() {
+    if (fetchProjectsJob != null) {
+      fetchProjectsJob.abandon();
+      fetchProjectsJob = null;
+    }
     Credential credential = accountSelector.getSelectedCredential();
     if (credential == null) {
       projectSelector.setProjects(new ArrayList<GcpProject>());
       return;
     }
 
-    BusyIndicator.showWhile(projectSelector.getDisplay(), () -> {
-      try {
-        List<GcpProject> gcpProjects = projectRepository.getProjects(credential);
-        projectSelector.setProjects(gcpProjects);
-      } catch (ProjectRepositoryException e) {
-        logger.log(Level.WARNING,
-            "Could not retrieve GCP project information from server.", e); //$NON-NLS-1$
-      }
-    });
+    List<GcpProject> knownProjects = projectRepository.getKnownProjects(credential);
+    showProjects(knownProjects != null ? knownProjects : new ArrayList<GcpProject>());
+
+    fetchProjectsJob = new FetchProjectsJob(credential, knownProjects == null);
+    fetchProjectsJob.onSuccess(displayExecutor, this::showProjects);
+    fetchProjectsJob.onError(displayExecutor, ex -> logger.log(Level.WARNING,
+        "Could not retrieve GCP project information from server.", ex)); //$NON-NLS-1$
+    fetchProjectsJob.schedule();
+  }
+
+  /** Shows the projects, keeping the project saved in the run configuration selected. */
+  private void showProjects(List<GcpProject> projects) {
+    if (projectSelector.isDisposed()) {
+      return;
+    }
+    boolean wasInitializing = initializingUiValues;
+    initializingUiValues = true; // a project not listed yet must not clear the saved one
+    try {
+      projectSelector.setProjects(projects);
+      projectSelector.selectProjectId(gcpProjectIdModel);
+    } finally {
+      initializingUiValues = wasInitializing;
+    }
+  }
+
+  @VisibleForTesting
+  void joinFetchProjectsJob() throws InterruptedException {
+    if (fetchProjectsJob != null) {
+      fetchProjectsJob.join();
+    }
+  }
+
+  /** Fetches the projects accessible to an account. */
+  private class FetchProjectsJob extends FuturisticJob<List<GcpProject>> {
+    private final Credential credential;
+    private final boolean showPages;
+
+    private FetchProjectsJob(Credential credential, boolean showPages) {
+      super("Determining accessible projects"); //$NON-NLS-1$
+      this.credential = credential;
+      this.showPages = showPages;
+      setSystem(true);
+    }
+
+    @Override
+    protected List<GcpProject> compute(IProgressMonitor monitor)
+        throws ProjectRepositoryException {
+      return projectRepository.getProjects(credential, showPages ? this::showPage : null);
+    }
+
+    private void showPage(List<GcpProject> projectsSoFar) {
+      displayExecutor.execute(() -> {
+        if (isCurrent()) {
+          showProjects(projectsSoFar);
+        }
+      });
+    }
   }
 
   @Override
@@ -294,7 +362,8 @@ public class GcpLocalRunTab extends AbstractLaunchConfigurationTab {
     String serviceKey = Strings.nullToEmpty(environmentMap.get(SERVICE_KEY_ENVIRONMENT_VARIABLE));
 
     initializingUiValues = true;
-    // Selecting an account loads projects into the project selector synchronously (via a listener).
+    // Selecting an account shows the projects last fetched for it at once (via a listener); the
+    // saved project is selected again when the list fetched in the background arrives.
     accountSelector.selectAccount(accountEmailModel);
     projectSelector.selectProjectId(gcpProjectIdModel);
     serviceKeyInput.setText(serviceKey);
@@ -17,8 +17,8 @@
 package com.google.cloud.tools.eclipse.appengine.localserver.ui;
 
 import com.google.cloud.tools.appengine.AppEngineException;
-import com.google.cloud.tools.appengine.operations.CloudSdk;
 import com.google.cloud.tools.eclipse.appengine.localserver.Messages;
+import com.google.cloud.tools.eclipse.sdk.CloudSdkDescriptorCache;
 import com.google.cloud.tools.eclipse.sdk.ui.preferences.CloudSdkPreferenceArea;
 import org.eclipse.jface.preference.PreferenceDialog;
 import org.eclipse.swt.SWT;
@@ -71,8 +71,7 @@ public class LocalAppEngineServerWizardFragment extends WizardFragment {
 
   private String getCloudSdkLocation() {
     try {
-      CloudSdk cloudSdk = new CloudSdk.Builder().build();
-      return cloudSdk.getPath().toString();
+      return CloudSdkDescriptorCache.getInstance().getDescriptor().getSdkHome().toString();
     } catch (AppEngineException ex) {
       return null;
     }
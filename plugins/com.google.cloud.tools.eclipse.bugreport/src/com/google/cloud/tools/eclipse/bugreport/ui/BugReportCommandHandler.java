@@ -17,7 +17,7 @@
 package com.google.cloud.tools.eclipse.bugreport.ui;
 
 import com.google.cloud.tools.appengine.AppEngineException;
-import com.google.cloud.tools.appengine.operations.CloudSdk;
+import com.google.cloud.tools.eclipse.sdk.CloudSdkDescriptorCache;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkPreferences;
 import com.google.cloud.tools.eclipse.util.CloudToolsInfo;
 import com.google.common.annotations.VisibleForTesting;
@@ -81,8 +81,8 @@ public class BugReportCommandHandler extends AbstractHandler {
 
   private static String getCloudSdkVersion() {
     try {
-      CloudSdk sdk = new CloudSdk.Builder().build();
-      return sdk.getVersion().toString();
+      String version = CloudSdkDescriptorCache.getInstance().getDescriptor().getVersion();
+      return version != null ? version : "(unreadable VERSION file)";
     } catch (AppEngineException ex) {
       return ex.toString();
     }
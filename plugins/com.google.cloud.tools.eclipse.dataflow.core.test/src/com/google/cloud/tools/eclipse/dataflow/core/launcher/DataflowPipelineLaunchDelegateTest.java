@@ -56,6 +56,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.CoreException;
@@ -93,6 +94,7 @@ public class DataflowPipelineLaunchDelegateTest {
   @Mock private JavaLaunchDelegate javaDelegate;
   @Mock private IWorkspaceRoot workspaceRoot;
   @Mock private IProject project;
+  @Mock private IFile pomFile;
   @Mock private PipelineOptionsHierarchyFactory pipelineOptionsHierarchyFactory;
   @Mock private PipelineOptionsHierarchy pipelineOptionsHierarchy;
   @Mock private IGoogleLoginService loginService;
@@ -116,6 +118,7 @@ public class DataflowPipelineLaunchDelegateTest {
     credential.setRefreshToken("fake-refresh-token");
     when(loginService.getCredential("bogus@example.com")).thenReturn(credential);
 
+    when(project.getFile("pom.xml")).thenReturn(pomFile);
     when(dependencyManager.getProjectMajorVersion(project)).thenReturn(MajorVersion.ONE);
     dataflowDelegate = new DataflowPipelineLaunchDelegate(javaDelegate,
         pipelineOptionsHierarchyFactory, dependencyManager, workspaceRoot, loginService);
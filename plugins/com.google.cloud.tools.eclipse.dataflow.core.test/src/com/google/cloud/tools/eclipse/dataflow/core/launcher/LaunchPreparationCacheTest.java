@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowDependencyManager;
+import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LaunchPreparationCacheTest {
+
+  @Mock private DataflowDependencyManager dependencyManager;
+  @Mock private IProject project;
+  @Mock private IFile pomFile;
+
+  private LaunchPreparationCache cache;
+
+  @Before
+  public void setUp() {
+    when(project.getFile("pom.xml")).thenReturn(pomFile);
+    when(pomFile.getModificationStamp()).thenReturn(1L);
+    when(dependencyManager.getProjectMajorVersion(project)).thenReturn(MajorVersion.TWO);
+    cache = new LaunchPreparationCache(dependencyManager);
+  }
+
+  @Test
+  public void testGetProjectMajorVersion_resolvedOnce() {
+    for (int i = 0; i < 10; i++) {
+      assertEquals(MajorVersion.TWO, cache.getProjectMajorVersion(project));
+    }
+    verify(dependencyManager, times(1)).getProjectMajorVersion(project);
+  }
+
+  @Test
+  public void testGetProjectMajorVersion_pomChanged() {
+    cache.getProjectMajorVersion(project);
+
+    when(pomFile.getModificationStamp()).thenReturn(2L);
+    when(dependencyManager.getProjectMajorVersion(project)).thenReturn(MajorVersion.ONE);
+
+    assertEquals(MajorVersion.ONE, cache.getProjectMajorVersion(project));
+    verify(dependencyManager, times(2)).getProjectMajorVersion(project);
+  }
+
+  @Test
+  public void testGetProjectMajorVersion_noPomRemembered() {
+    when(pomFile.getModificationStamp()).thenReturn(IResource.NULL_STAMP);
+    when(dependencyManager.getProjectMajorVersion(project)).thenReturn(null);
+
+    assertNull(cache.getProjectMajorVersion(project));
+    assertNull(cache.getProjectMajorVersion(project));
+    verify(dependencyManager, times(1)).getProjectMajorVersion(project);
+  }
+}
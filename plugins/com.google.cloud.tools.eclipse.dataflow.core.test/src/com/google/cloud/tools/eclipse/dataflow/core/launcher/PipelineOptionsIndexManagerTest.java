@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsIndex;
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsNamespaces;
+import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaModel;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PipelineOptionsIndexManagerTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final String rootTypeName = PipelineOptionsNamespaces.rootType(MajorVersion.TWO);
+  private final IJavaProject project = mock(IJavaProject.class);
+  private final IType rootType = mock(IType.class);
+  private final ITypeHierarchy hierarchy = mock(ITypeHierarchy.class);
+  private final IProgressMonitor monitor = new NullProgressMonitor();
+
+  @Before
+  public void setUp() throws JavaModelException {
+    when(project.getElementName()).thenReturn("project");
+    when(project.getJavaProject()).thenReturn(project);
+    when(project.getElementType()).thenReturn(IJavaElement.JAVA_PROJECT);
+    when(project.getResolvedClasspath(true)).thenReturn(new IClasspathEntry[0]);
+    when(project.getRequiredProjectNames()).thenReturn(new String[0]);
+    when(project.exists()).thenReturn(true);
+    when(project.findType(rootTypeName)).thenReturn(rootType);
+
+    when(rootType.exists()).thenReturn(true);
+    when(rootType.getFullyQualifiedName()).thenReturn(rootTypeName);
+    when(rootType.getMethods()).thenReturn(new IMethod[0]);
+    when(rootType.newTypeHierarchy(any(IProgressMonitor.class))).thenReturn(hierarchy);
+    when(hierarchy.getAllInterfaces()).thenReturn(new IType[] {rootType});
+    when(hierarchy.getSuperInterfaces(rootType)).thenReturn(new IType[0]);
+  }
+
+  @Test
+  public void testGetIndex_builtOnce() throws JavaModelException {
+    PipelineOptionsIndexManager manager = new PipelineOptionsIndexManager(null);
+    PipelineOptionsIndex index = manager.getIndex(project, MajorVersion.TWO, monitor);
+
+    assertEquals(1, index.getAllPipelineOptionsTypes().size());
+    assertSame(index, manager.getIndex(project, MajorVersion.TWO, monitor));
+    verify(rootType, times(1)).newTypeHierarchy(any(IProgressMonitor.class));
+  }
+
+  @Test
+  public void testGetIndex_restoredFromStateDirectory() throws JavaModelException {
+    Path stateDirectory = tempFolder.getRoot().toPath();
+    new PipelineOptionsIndexManager(stateDirectory).getIndex(project, MajorVersion.TWO, monitor);
+
+    PipelineOptionsIndex restored = new PipelineOptionsIndexManager(stateDirectory)
+        .getIndex(project, MajorVersion.TWO, monitor);
+    assertEquals(1, restored.getAllPipelineOptionsTypes().size());
+    verify(rootType, times(1)).newTypeHierarchy(any(IProgressMonitor.class));
+  }
+
+  @Test
+  public void testGetIndex_classpathChangeCausesRebuild() throws JavaModelException {
+    PipelineOptionsIndexManager manager = new PipelineOptionsIndexManager(null);
+    PipelineOptionsIndex index = manager.getIndex(project, MajorVersion.TWO, monitor);
+
+    manager.elementChanged(projectChanged(IJavaElementDelta.F_CLASSPATH_CHANGED));
+
+    assertNotSame(index, manager.getIndex(project, MajorVersion.TWO, monitor));
+    verify(rootType, times(2)).newTypeHierarchy(any(IProgressMonitor.class));
+  }
+
+  @Test
+  public void testGetIndex_unrelatedChangeKeepsIndex() throws JavaModelException {
+    PipelineOptionsIndexManager manager = new PipelineOptionsIndexManager(null);
+    PipelineOptionsIndex index = manager.getIndex(project, MajorVersion.TWO, monitor);
+
+    manager.elementChanged(projectChanged(IJavaElementDelta.F_DESCRIPTION));
+
+    assertSame(index, manager.getIndex(project, MajorVersion.TWO, monitor));
+  }
+
+  @Test
+  public void testGetIndex_removedProjectForgotten() throws JavaModelException {
+    PipelineOptionsIndexManager manager = new PipelineOptionsIndexManager(null);
+    PipelineOptionsIndex index = manager.getIndex(project, MajorVersion.TWO, monitor);
+
+    manager.elementChanged(projectDelta(IJavaElementDelta.REMOVED, 0));
+
+    assertNotSame(index, manager.getIndex(project, MajorVersion.TWO, monitor));
+    verify(rootType, times(2)).newTypeHierarchy(any(IProgressMonitor.class));
+  }
+
+  @Test(timeout = 10000)
+  public void testGetIndex_concurrentRequestsShareBuild() throws Exception {
+    CountDownLatch building = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    blockHierarchy(building, release);
+    PipelineOptionsIndexManager manager = new PipelineOptionsIndexManager(null);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<PipelineOptionsIndex> first =
+          executor.submit(() -> manager.getIndex(project, MajorVersion.TWO, monitor));
+      assertTrue(building.await(5, TimeUnit.SECONDS));
+      Future<PipelineOptionsIndex> second =
+          executor.submit(() -> manager.getIndex(project, MajorVersion.TWO, monitor));
+
+      release.countDown();
+      assertSame(first.get(), second.get());
+      verify(rootType, times(1)).newTypeHierarchy(any(IProgressMonitor.class));
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void testElementChanged_notBlockedByBuild() throws Exception {
+    CountDownLatch building = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    blockHierarchy(building, release);
+    PipelineOptionsIndexManager manager = new PipelineOptionsIndexManager(null);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<PipelineOptionsIndex> build =
+          executor.submit(() -> manager.getIndex(project, MajorVersion.TWO, monitor));
+      assertTrue(building.await(5, TimeUnit.SECONDS));
+
+      // returns while the build is still running
+      manager.elementChanged(projectChanged(IJavaElementDelta.F_CLASSPATH_CHANGED));
+      assertFalse(build.isDone());
+
+      // the build started before the change is not kept
+      release.countDown();
+      assertNotSame(build.get(), manager.getIndex(project, MajorVersion.TWO, monitor));
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  private void blockHierarchy(CountDownLatch building, CountDownLatch release)
+      throws JavaModelException {
+    when(rootType.newTypeHierarchy(any(IProgressMonitor.class))).thenAnswer(invocation -> {
+      building.countDown();
+      release.await();
+      return hierarchy;
+    });
+  }
+
+  private ElementChangedEvent projectChanged(int flags) {
+    return projectDelta(IJavaElementDelta.CHANGED, flags);
+  }
+
+  private ElementChangedEvent projectDelta(int kind, int flags) {
+    IJavaElementDelta projectDelta = mock(IJavaElementDelta.class);
+    when(projectDelta.getElement()).thenReturn(project);
+    when(projectDelta.getKind()).thenReturn(kind);
+    when(projectDelta.getFlags()).thenReturn(flags);
+    when(projectDelta.getAffectedChildren()).thenReturn(new IJavaElementDelta[0]);
+
+    IJavaModel model = mock(IJavaModel.class);
+    when(model.getElementType()).thenReturn(IJavaElement.JAVA_MODEL);
+    IJavaElementDelta modelDelta = mock(IJavaElementDelta.class);
+    when(modelDelta.getElement()).thenReturn(model);
+    when(modelDelta.getAffectedChildren()).thenReturn(new IJavaElementDelta[] {projectDelta});
+    return new ElementChangedEvent(modelDelta, ElementChangedEvent.POST_CHANGE);
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher.options;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsIndex.TypeRecord;
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.Test;
+
+public class PipelineOptionsIndexTest {
+
+  private static final String ROOT = "org.apache.beam.sdk.options.PipelineOptions";
+  private static final String HAS_DISPLAY_DATA = "org.apache.beam.sdk.transforms.HasDisplayData";
+  private static final String STREAMING = "org.apache.beam.sdk.options.StreamingOptions";
+  private static final String MY_OPTIONS = "com.example.MyOptions";
+  private static final String MY_UNIT = "=project/src<com.example{MyOptions.java";
+
+  private final PipelineOptionsProperty inputFile =
+      new PipelineOptionsProperty("inputFile", false, true, ImmutableSet.of("group"), "Input");
+
+  private final PipelineOptionsIndex index = new PipelineOptionsIndex(ROOT, Arrays.asList(
+      record(HAS_DISPLAY_DATA, null),
+      record(ROOT, null, HAS_DISPLAY_DATA),
+      record(STREAMING, null, ROOT),
+      new TypeRecord(MY_OPTIONS, MY_UNIT, Arrays.asList(STREAMING), ImmutableSet.of(inputFile))));
+
+  @Test
+  public void testGetAllPipelineOptionsTypes() {
+    assertEquals(ImmutableSet.of(HAS_DISPLAY_DATA, ROOT, STREAMING, MY_OPTIONS),
+        index.getAllPipelineOptionsTypes().keySet());
+  }
+
+  @Test
+  public void testGetOptionsHierarchy() {
+    assertEquals(4, index.getOptionsHierarchy(MY_OPTIONS).size());
+    assertEquals(Collections.singleton("inputFile"), index.getPropertyNames(MY_OPTIONS));
+    assertEquals(Collections.singleton(inputFile),
+        index.getRequiredOptionsByType(MY_OPTIONS).get(index.getPipelineOptionsType(MY_OPTIONS)));
+  }
+
+  @Test
+  public void testGetPipelineOptionsType_nestedTypeWithDots() {
+    PipelineOptionsIndex nested = new PipelineOptionsIndex(ROOT, Arrays.asList(
+        record(ROOT, null), record("com.example.Outer$Options", null, ROOT)));
+    assertNotNull(nested.getPipelineOptionsType("com.example.Outer.Options"));
+    assertNull(nested.getPipelineOptionsType("com.example.Outer.Other"));
+  }
+
+  @Test
+  public void testUnrelatedInterfacesExcluded() {
+    PipelineOptionsIndex withOther = new PipelineOptionsIndex(ROOT, Arrays.asList(
+        record(HAS_DISPLAY_DATA, null),
+        record(ROOT, null, HAS_DISPLAY_DATA),
+        record("org.apache.beam.sdk.transforms.PTransform", null, HAS_DISPLAY_DATA)));
+    assertEquals(ImmutableSet.of(HAS_DISPLAY_DATA, ROOT),
+        withOther.getAllPipelineOptionsTypes().keySet());
+  }
+
+  @Test
+  public void testUpdate_changedProperties() {
+    TypeRecord changed = new TypeRecord(
+        MY_OPTIONS, MY_UNIT, Arrays.asList(STREAMING), Collections.emptySet());
+    PipelineOptionsIndex updated = index.update(
+        ImmutableSet.of(MY_UNIT), Collections.emptySet(), Collections.singleton(changed));
+
+    assertNotNull(updated);
+    assertTrue(updated.getPipelineOptionsType(MY_OPTIONS).getDeclaredProperties().isEmpty());
+  }
+
+  @Test
+  public void testUpdate_removedUnit() {
+    PipelineOptionsIndex updated = index.update(
+        ImmutableSet.of(MY_UNIT), Collections.emptySet(), Collections.emptySet());
+
+    assertNotNull(updated);
+    assertNull(updated.getPipelineOptionsType(MY_OPTIONS));
+    assertNotNull(updated.getPipelineOptionsType(STREAMING));
+  }
+
+  @Test
+  public void testUpdate_noLongerOptionsType() {
+    TypeRecord changed = new TypeRecord(
+        MY_OPTIONS, MY_UNIT, Collections.emptyList(), Collections.emptySet());
+    PipelineOptionsIndex updated = index.update(
+        ImmutableSet.of(MY_UNIT), Collections.emptySet(), Collections.singleton(changed));
+
+    assertNotNull(updated);
+    assertNull(updated.getPipelineOptionsType(MY_OPTIONS));
+  }
+
+  @Test
+  public void testUpdate_addedUnit() {
+    String addedUnit = "=project/src<com.example{MoreOptions.java";
+    // declared in an order where the subtype comes first
+    PipelineOptionsIndex updated = index.update(ImmutableSet.of(addedUnit),
+        ImmutableSet.of(addedUnit), Arrays.asList(
+            record("com.example.MoreOptions$Sub", addedUnit, "com.example.MoreOptions"),
+            record("com.example.MoreOptions", addedUnit, MY_OPTIONS),
+            record("com.example.MoreOptions$Unrelated", addedUnit)));
+
+    assertNotNull(updated);
+    assertEquals(ImmutableSet.of(HAS_DISPLAY_DATA, ROOT, STREAMING, MY_OPTIONS,
+        "com.example.MoreOptions", "com.example.MoreOptions$Sub"),
+        updated.getAllPipelineOptionsTypes().keySet());
+    assertEquals(6, updated.getOptionsHierarchy("com.example.MoreOptions$Sub").size());
+  }
+
+  @Test
+  public void testUpdate_existingInterfaceBecomesOptionsType() {
+    String changedUnit = "=project/src<com.example{Settings.java";
+    PipelineOptionsIndex updated = index.update(ImmutableSet.of(changedUnit),
+        Collections.emptySet(), Arrays.asList(record("com.example.Settings", changedUnit, ROOT)));
+
+    assertNull(updated);
+  }
+
+  @Test
+  public void testUpdate_supertypeRemovedAndRestored() {
+    String streamingUnit = "=project/src<org.apache.beam.sdk.options{StreamingOptions.java";
+    PipelineOptionsIndex sourceIndex = new PipelineOptionsIndex(ROOT, Arrays.asList(
+        record(ROOT, null),
+        record(STREAMING, streamingUnit, ROOT),
+        record(MY_OPTIONS, MY_UNIT, STREAMING)));
+
+    PipelineOptionsIndex removed = sourceIndex.update(
+        ImmutableSet.of(streamingUnit), Collections.emptySet(), Collections.emptySet());
+    assertEquals(Collections.singleton(ROOT), removed.getAllPipelineOptionsTypes().keySet());
+
+    PipelineOptionsIndex restored = removed.update(ImmutableSet.of(streamingUnit),
+        ImmutableSet.of(streamingUnit), Arrays.asList(record(STREAMING, streamingUnit, ROOT)));
+    assertEquals(ImmutableSet.of(ROOT, STREAMING, MY_OPTIONS),
+        restored.getAllPipelineOptionsTypes().keySet());
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    index.write(new DataOutputStream(bytes));
+    PipelineOptionsIndex read = PipelineOptionsIndex.read(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertEquals(index.getAllPipelineOptionsTypes().keySet(),
+        read.getAllPipelineOptionsTypes().keySet());
+    Set<PipelineOptionsProperty> properties =
+        read.getPipelineOptionsType(MY_OPTIONS).getDeclaredProperties();
+    assertEquals(1, properties.size());
+    PipelineOptionsProperty property = properties.iterator().next();
+    assertEquals("inputFile", property.getName());
+    assertTrue(property.isRequired());
+    assertEquals(ImmutableSet.of("group"), property.getGroups());
+    assertEquals("Input", property.getDescription());
+
+    // source types can still be updated
+    assertNull(read.update(ImmutableSet.of(MY_UNIT), Collections.emptySet(),
+        Collections.emptySet()).getPipelineOptionsType(MY_OPTIONS));
+  }
+
+  @Test(expected = IOException.class)
+  public void testRead_otherFormat() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new DataOutputStream(bytes).writeInt(PipelineOptionsIndex.FORMAT_VERSION + 1);
+    PipelineOptionsIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+
+  @Test
+  public void testToFullyQualifiedName() {
+    assertEquals("com.example.Outer$Inner",
+        PipelineOptionsIndex.toFullyQualifiedName("com.example", "Outer.Inner"));
+    assertEquals("Options", PipelineOptionsIndex.toFullyQualifiedName("", "Options"));
+  }
+
+  private static TypeRecord record(String name, String unit, String... superInterfaces) {
+    return new TypeRecord(name, unit, Arrays.asList(superInterfaces), Collections.emptySet());
+  }
+}
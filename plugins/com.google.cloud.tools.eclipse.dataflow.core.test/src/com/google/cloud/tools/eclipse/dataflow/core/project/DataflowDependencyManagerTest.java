@@ -38,6 +38,7 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.m2e.core.embedder.IMaven;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
@@ -201,24 +202,27 @@ public class DataflowDependencyManagerTest {
   }
 
   @Test
-  public void hasTrackedDependencyNoDependency() {
+  public void hasTrackedDependencyNoDependency() throws InterruptedException {
     when(model.getDependencies()).thenReturn(ImmutableList.<Dependency>of());
+    readPom();
 
     assertFalse(manager.hasTrackedDataflowDependency(project));
   }
 
   @Test
-  public void hasTrackedDependencyPinnedDependency() {
+  public void hasTrackedDependencyPinnedDependency() throws InterruptedException {
     when(model.getDependencies())
         .thenReturn(ImmutableList.<Dependency>of(pinnedDataflowDependency()));
+    readPom();
 
     assertFalse(manager.hasTrackedDataflowDependency(project));
   }
 
   @Test
-  public void hasTrackedDependencyTrackedDependency() {
+  public void hasTrackedDependencyTrackedDependency() throws InterruptedException {
     when(model.getDependencies())
         .thenReturn(ImmutableList.<Dependency>of(trackedDataflowDependency()));
+    readPom();
 
     assertTrue(manager.hasTrackedDataflowDependency(project));
   }
@@ -231,28 +235,47 @@ public class DataflowDependencyManagerTest {
   }
 
   @Test
-  public void hasPinnedDependencyNoDependency() {
+  public void hasPinnedDependencyNoDependency() throws InterruptedException {
     when(model.getDependencies()).thenReturn(ImmutableList.<Dependency>of());
+    readPom();
 
     assertFalse(manager.hasPinnedDataflowDependency(project));
   }
 
   @Test
-  public void hasPinnedDependencyPinnedDependency() {
+  public void hasPinnedDependencyPinnedDependency() throws InterruptedException {
     when(model.getDependencies())
         .thenReturn(ImmutableList.<Dependency>of(pinnedDataflowDependency()));
+    readPom();
 
     assertTrue(manager.hasPinnedDataflowDependency(project));
   }
 
   @Test
-  public void hasPinnedDependencyTrackedDependency() {
+  public void hasPinnedDependencyTrackedDependency() throws InterruptedException {
     when(model.getDependencies())
         .thenReturn(ImmutableList.<Dependency>of(trackedDataflowDependency()));
+    readPom();
 
     assertFalse(manager.hasPinnedDataflowDependency(project));
   }
 
+  @Test
+  public void hasPinnedDependencyPomNotReadYet() throws InterruptedException {
+    when(model.getDependencies())
+        .thenReturn(ImmutableList.<Dependency>of(pinnedDataflowDependency()));
+
+    assertFalse(manager.hasPinnedDataflowDependency(project));
+    Job.getJobManager().join(DataflowProjectModelCache.LOAD_JOB_FAMILY, null);
+    assertTrue(manager.hasPinnedDataflowDependency(project));
+  }
+
+  /** Reads the POM in the background, as the first property test does. */
+  private void readPom() throws InterruptedException {
+    manager.hasPinnedDataflowDependency(project);
+    Job.getJobManager().join(DataflowProjectModelCache.LOAD_JOB_FAMILY, null);
+  }
+
   private static Dependency dataflowDependency() {
     Dependency dependency = new Dependency();
     dependency.setArtifactId("google-cloud-dataflow-java-sdk-all");
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.m2e.core.embedder.IMaven;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataflowProjectModelCacheTest {
+
+  private static final IPath PROJECT_PATH = new Path("/project");
+  private static final IPath POM_PATH = new Path("/project/pom.xml");
+
+  @Mock private IMaven maven;
+  @Mock private IProject project;
+  @Mock private IFile pom;
+  @Mock private InputStream pomContents;
+  @Mock private Model model;
+
+  private final Dependency dataflowDependency = new Dependency();
+  private DataflowProjectModelCache cache;
+
+  @Before
+  public void setUp() throws CoreException {
+    dataflowDependency.setGroupId(DataflowMavenCoordinates.GROUP_ID);
+    dataflowDependency.setArtifactId(DataflowMavenCoordinates.ARTIFACT_ID);
+    dataflowDependency.setVersion("2.5.0");
+    Dependency other = new Dependency();
+    other.setGroupId("com.example");
+    other.setArtifactId("other");
+
+    when(pom.getProject()).thenReturn(project);
+    when(pom.getFullPath()).thenReturn(POM_PATH);
+    when(project.getFullPath()).thenReturn(PROJECT_PATH);
+    when(pom.getModificationStamp()).thenReturn(1L);
+    when(pom.getContents()).thenReturn(pomContents);
+    when(maven.readModel(pomContents)).thenReturn(model);
+    when(model.getDependencies()).thenReturn(Arrays.asList(other, dataflowDependency));
+    cache = new DataflowProjectModelCache(maven);
+  }
+
+  @Test
+  public void testGetDataflowDependency_boundedParses() throws CoreException {
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(dataflowDependency, cache.getDataflowDependency(pom));
+    }
+    verify(maven, times(1)).readModel(any(InputStream.class));
+  }
+
+  @Test
+  public void testGetDataflowDependency_noDependencyRemembered() throws CoreException {
+    when(model.getDependencies()).thenReturn(Collections.<Dependency>emptyList());
+
+    assertNull(cache.getDataflowDependency(pom));
+    assertNull(cache.getDataflowDependency(pom));
+    verify(maven, times(1)).readModel(any(InputStream.class));
+  }
+
+  @Test
+  public void testGetDataflowDependency_unreadablePomNotRemembered() throws CoreException {
+    when(maven.readModel(pomContents)).thenThrow(new CoreException(Status.CANCEL_STATUS));
+
+    assertNull(cache.getDataflowDependency(pom));
+    assertNull(cache.getDataflowDependency(pom));
+    verify(maven, times(2)).readModel(any(InputStream.class));
+  }
+
+  @Test
+  public void testGetDataflowDependency_modificationStampChanged() throws CoreException {
+    cache.getDataflowDependency(pom);
+    when(pom.getModificationStamp()).thenReturn(2L);
+    cache.getDataflowDependency(pom);
+
+    verify(maven, times(2)).readModel(any(InputStream.class));
+  }
+
+  @Test
+  public void testGetLoadedDataflowDependency_readInBackground()
+      throws CoreException, InterruptedException {
+    Thread testThread = Thread.currentThread();
+    when(maven.readModel(pomContents)).then(invocation -> {
+      assertNotEquals(testThread, Thread.currentThread());
+      return model;
+    });
+
+    assertNull(cache.getLoadedDataflowDependency(pom));
+    Job.getJobManager().join(DataflowProjectModelCache.LOAD_JOB_FAMILY, null);
+    assertEquals(Optional.of(dataflowDependency), cache.getLoadedDataflowDependency(pom));
+    verify(maven, times(1)).readModel(any(InputStream.class));
+  }
+
+  @Test
+  public void testGetLoadedDataflowDependency_noDependency()
+      throws CoreException, InterruptedException {
+    when(model.getDependencies()).thenReturn(Collections.<Dependency>emptyList());
+
+    assertNull(cache.getLoadedDataflowDependency(pom));
+    Job.getJobManager().join(DataflowProjectModelCache.LOAD_JOB_FAMILY, null);
+    assertEquals(Optional.empty(), cache.getLoadedDataflowDependency(pom));
+  }
+
+  @Test
+  public void testGetLoadedDataflowDependency_modificationStampChanged()
+      throws CoreException, InterruptedException {
+    cache.getDataflowDependency(pom);
+    when(pom.getModificationStamp()).thenReturn(2L);
+
+    assertNull(cache.getLoadedDataflowDependency(pom));
+    Job.getJobManager().join(DataflowProjectModelCache.LOAD_JOB_FAMILY, null);
+    assertEquals(Optional.of(dataflowDependency), cache.getLoadedDataflowDependency(pom));
+    verify(maven, times(2)).readModel(any(InputStream.class));
+  }
+
+  @Test
+  public void testResourceChanged_pomContentChanged() throws CoreException {
+    cache.getDataflowDependency(pom);
+    IResourceDelta pomDelta = mock(IResourceDelta.class);
+    when(pomDelta.getKind()).thenReturn(IResourceDelta.CHANGED);
+    when(pomDelta.getFlags()).thenReturn(IResourceDelta.CONTENT);
+
+    cache.resourceChanged(event(mock(IResourceDelta.class), pomDelta));
+    cache.getDataflowDependency(pom);
+
+    verify(maven, times(2)).readModel(any(InputStream.class));
+  }
+
+  @Test
+  public void testResourceChanged_pomMarkersChanged() throws CoreException {
+    cache.getDataflowDependency(pom);
+    IResourceDelta pomDelta = mock(IResourceDelta.class);
+    when(pomDelta.getKind()).thenReturn(IResourceDelta.CHANGED);
+    when(pomDelta.getFlags()).thenReturn(IResourceDelta.MARKERS);
+
+    cache.resourceChanged(event(mock(IResourceDelta.class), pomDelta));
+    cache.getDataflowDependency(pom);
+
+    verify(maven, times(1)).readModel(any(InputStream.class));
+  }
+
+  @Test
+  public void testResourceChanged_projectRemoved() throws CoreException {
+    cache.getDataflowDependency(pom);
+    IResourceDelta projectDelta = mock(IResourceDelta.class);
+    when(projectDelta.getKind()).thenReturn(IResourceDelta.REMOVED);
+
+    cache.resourceChanged(event(projectDelta, null));
+    cache.getDataflowDependency(pom);
+
+    verify(maven, times(2)).readModel(any(InputStream.class));
+  }
+
+  @Test
+  public void testResourceChanged_otherProject() throws CoreException {
+    cache.getDataflowDependency(pom);
+
+    cache.resourceChanged(event(null, null));
+    cache.getDataflowDependency(pom);
+
+    verify(maven, times(1)).readModel(any(InputStream.class));
+  }
+
+  private static IResourceChangeEvent event(IResourceDelta projectDelta, IResourceDelta pomDelta) {
+    IResourceDelta rootDelta = mock(IResourceDelta.class);
+    when(rootDelta.findMember(PROJECT_PATH)).thenReturn(projectDelta);
+    when(rootDelta.findMember(POM_PATH)).thenReturn(pomDelta);
+    IResourceChangeEvent event = mock(IResourceChangeEvent.class);
+    when(event.getDelta()).thenReturn(rootDelta);
+    return event;
+  }
+}
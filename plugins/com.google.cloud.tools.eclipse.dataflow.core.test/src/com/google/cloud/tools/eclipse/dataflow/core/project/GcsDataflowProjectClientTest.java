@@ -17,7 +17,30 @@
 package com.google.cloud.tools.eclipse.dataflow.core.project;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.googleapis.testing.json.GoogleJsonResponseExceptionFactoryTesting;
+import com.google.api.client.json.jackson.JacksonFactory;
+import com.google.api.services.storage.Storage;
+import com.google.api.services.storage.model.Bucket;
+import com.google.api.services.storage.model.Buckets;
+import com.google.cloud.tools.eclipse.googleapis.IGoogleApiFactory;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableSortedSet;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -28,6 +51,122 @@ import org.junit.runners.JUnit4;
 @RunWith(JUnit4.class)
 public class GcsDataflowProjectClientTest {
 
+  private static class FakeTicker extends Ticker {
+    private long nanos;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+      nanos += unit.toNanos(duration);
+    }
+  }
+
+  private final FakeTicker ticker = new FakeTicker();
+  private final Credential credential = mock(Credential.class);
+  private final Storage.Buckets bucketsApi = mock(Storage.Buckets.class);
+  private final Storage.Buckets.List listApi = mock(Storage.Buckets.List.class);
+  private final Storage.Buckets.Get getApi = mock(Storage.Buckets.Get.class);
+  private GcsDataflowProjectClient client;
+
+  @Before
+  public void setUp() throws IOException {
+    Storage storage = mock(Storage.class);
+    IGoogleApiFactory apiFactory = mock(IGoogleApiFactory.class);
+    when(apiFactory.newStorageApi(credential)).thenReturn(storage);
+    when(storage.buckets()).thenReturn(bucketsApi);
+    when(bucketsApi.list("project")).thenReturn(listApi);
+    when(listApi.execute()).thenReturn(new Buckets().setItems(Arrays.asList(
+        new Bucket().setName("bucket-1"), new Bucket().setName("bucket-2"))));
+    when(bucketsApi.get("bucket-1")).thenReturn(getApi);
+    when(getApi.execute()).thenReturn(new Bucket().setName("bucket-1"));
+
+    client = GcsDataflowProjectClient.create(
+        apiFactory, credential, new StagingLocationCache(ticker));
+  }
+
+  @Test
+  public void testGetPotentialStagingLocations_listedOnceWithinTtl() throws IOException {
+    for (int i = 0; i < 10; i++) {
+      assertEquals(ImmutableSortedSet.of("gs://bucket-1", "gs://bucket-2"),
+          client.getPotentialStagingLocations("project"));
+    }
+    verify(listApi, times(1)).execute();
+
+    ticker.advance(StagingLocationCache.TTL_SECONDS + 1, TimeUnit.SECONDS);
+    client.getPotentialStagingLocations("project");
+    verify(listApi, times(2)).execute();
+  }
+
+  @Test
+  public void testGetPotentialStagingLocations_failureNotRemembered() throws IOException {
+    when(listApi.execute()).thenThrow(new IOException("unavailable"))
+        .thenReturn(new Buckets());
+    try {
+      client.getPotentialStagingLocations("project");
+      fail();
+    } catch (IOException ex) {
+      assertEquals("unavailable", ex.getMessage());
+    }
+    assertTrue(client.getPotentialStagingLocations("project").isEmpty());
+    verify(listApi, times(2)).execute();
+  }
+
+  @Test
+  public void testLocationIsAccessible_checkedOncePerBucket() throws IOException {
+    assertTrue(client.locationIsAccessible("gs://bucket-1"));
+    assertTrue(client.locationIsAccessible("gs://bucket-1/staging"));
+    assertTrue(client.locationIsAccessible("bucket-1/staging/more"));
+    verify(getApi, times(1)).execute();
+  }
+
+  @Test
+  public void testLocationIsAccessible_forbiddenBucketRemembered() throws IOException {
+    when(getApi.execute()).thenThrow(newResponseException(403, "Forbidden"));
+    assertFalse(client.locationIsAccessible("gs://bucket-1"));
+    assertFalse(client.locationIsAccessible("gs://bucket-1"));
+    verify(getApi, times(1)).execute();
+  }
+
+  @Test
+  public void testLocationIsAccessible_transientFailureNotRemembered() throws IOException {
+    when(getApi.execute()).thenThrow(newResponseException(503, "Unavailable"))
+        .thenThrow(new IOException("connection reset"))
+        .thenReturn(new Bucket().setName("bucket-1"));
+    assertFalse(client.locationIsAccessible("gs://bucket-1"));
+    assertFalse(client.locationIsAccessible("gs://bucket-1"));
+    assertTrue(client.locationIsAccessible("gs://bucket-1"));
+    verify(getApi, times(3)).execute();
+  }
+
+  @Test
+  public void testCreateStagingLocation_forgetsMissingBucket() throws IOException {
+    Storage.Buckets.Get missingGet = mock(Storage.Buckets.Get.class);
+    when(bucketsApi.get("new-bucket")).thenReturn(missingGet);
+    when(missingGet.execute()).thenThrow(newResponseException(404, "Not Found"))
+        .thenThrow(newResponseException(404, "Not Found"))
+        .thenReturn(new Bucket().setName("new-bucket"));
+    when(bucketsApi.insert(any(String.class), any(Bucket.class)))
+        .thenReturn(mock(Storage.Buckets.Insert.class));
+    assertFalse(client.locationIsAccessible("gs://new-bucket"));
+    client.getPotentialStagingLocations("project");
+
+    assertTrue(client.createStagingLocation("project", "gs://new-bucket",
+        new NullProgressMonitor()).isSuccessful());
+
+    assertTrue(client.locationIsAccessible("gs://new-bucket"));
+    client.getPotentialStagingLocations("project");
+    verify(listApi, times(2)).execute();
+  }
+
+  private static GoogleJsonResponseException newResponseException(int status, String message)
+      throws IOException {
+    return GoogleJsonResponseExceptionFactoryTesting.newMock(
+        new JacksonFactory(), status, message);
+  }
+
   @Test
   public void testToGcsLocationUriWithFullUriReturnsUri() {
     String location = "gs://foo-bar/baz";
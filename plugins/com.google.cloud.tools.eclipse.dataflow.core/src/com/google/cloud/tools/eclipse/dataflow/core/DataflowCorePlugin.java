@@ -16,6 +16,8 @@
 
 package com.google.cloud.tools.eclipse.dataflow.core;
 
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.PipelineOptionsIndexManager;
+import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowProjectModelCache;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
@@ -47,6 +49,8 @@ public class DataflowCorePlugin extends Plugin {
 
   @Override
   public void stop(BundleContext context) throws Exception {
+    PipelineOptionsIndexManager.shutdown();
+    DataflowProjectModelCache.shutdown();
     plugin = null;
     super.stop(context);
   }
@@ -32,7 +32,8 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A Factory that creates instances of {@link PipelineOptionsHierarchy} based on the classpath of
- * the project, or an {@link EmptyPipelineOptionsHierarchy} if no project is provided.
+ * the project, or an {@link EmptyPipelineOptionsHierarchy} if no project is provided. Project
+ * hierarchies are indexes shared through the {@link PipelineOptionsIndexManager}.
  */
 public class ClasspathPipelineOptionsHierarchyFactory implements PipelineOptionsHierarchyFactory {
   /**
@@ -59,7 +60,7 @@ public class ClasspathPipelineOptionsHierarchyFactory implements PipelineOptions
       if (rootType == null || !rootType.exists()) {
         return global(monitor);
       }
-      return new JavaProjectPipelineOptionsHierarchy(javaProject, version, monitor);
+      return PipelineOptionsIndexManager.getDefault().getIndex(javaProject, version, monitor);
     } catch (JavaModelException e) {
       DataflowCorePlugin.logError(e,
           "Error while constructing Pipeline Options Hierarchy for project %s", project.getName());
@@ -81,7 +81,7 @@ public class DataflowPipelineLaunchDelegate implements ILaunchConfigurationDeleg
   private final JavaLaunchDelegate delegate;
   private final PipelineOptionsHierarchyFactory optionsRetrieverFactory;
   private final IWorkspaceRoot workspaceRoot;
-  private final DataflowDependencyManager dependencyManager;
+  private final LaunchPreparationCache preparationCache;
   private final IGoogleLoginService loginService;
 
   public DataflowPipelineLaunchDelegate() {
@@ -102,7 +102,7 @@ public class DataflowPipelineLaunchDelegate implements ILaunchConfigurationDeleg
       IGoogleLoginService loginService) {
     delegate = javaLaunchDelegate;
     optionsRetrieverFactory = optionsHierarchyFactory;
-    this.dependencyManager = dependencyManager;
+    preparationCache = new LaunchPreparationCache(dependencyManager);
     this.workspaceRoot = workspaceRoot;
     this.loginService = loginService;
   }
@@ -114,7 +114,7 @@ public class DataflowPipelineLaunchDelegate implements ILaunchConfigurationDeleg
     SubMonitor progress = SubMonitor.convert(monitor, 3);
 
     IProject project = getProject(configuration);
-    MajorVersion majorVersion = dependencyManager.getProjectMajorVersion(project);
+    MajorVersion majorVersion = preparationCache.getProjectMajorVersion(project);
 
     PipelineOptionsHierarchy hierarchy;
     try {
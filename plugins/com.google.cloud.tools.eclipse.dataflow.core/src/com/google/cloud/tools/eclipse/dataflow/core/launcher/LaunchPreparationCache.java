@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher;
+
+import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowDependencyManager;
+import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+/**
+ * Remembers the Dataflow SDK {@link MajorVersion} resolved for each launched project, so that
+ * launching a pipeline again does not re-read the project's POM or look up the latest SDK release.
+ * An entry applies only while the modification stamp of the project's {@code pom.xml} is
+ * unchanged.
+ *
+ * <p>The options hierarchy is not kept here: the {@link PipelineOptionsIndexManager} already
+ * shares it per project and keeps it current with the classpath.
+ */
+class LaunchPreparationCache {
+
+  private static final String POM_FILE_NAME = "pom.xml";
+
+  private static class Entry {
+    private final long pomStamp;
+    private final MajorVersion majorVersion;
+
+    private Entry(long pomStamp, MajorVersion majorVersion) {
+      this.pomStamp = pomStamp;
+      this.majorVersion = majorVersion;
+    }
+  }
+
+  private final DataflowDependencyManager dependencyManager;
+  private final Map<IProject, Entry> entries = new HashMap<>();
+
+  LaunchPreparationCache(DataflowDependencyManager dependencyManager) {
+    this.dependencyManager = dependencyManager;
+  }
+
+  /**
+   * Returns the major version of the Dataflow SDK used by {@code project}, or {@code null} if the
+   * project does not declare a Dataflow dependency.
+   *
+   * @see DataflowDependencyManager#getProjectMajorVersion(IProject)
+   */
+  synchronized MajorVersion getProjectMajorVersion(IProject project) {
+    IFile pom = project.getFile(POM_FILE_NAME);
+    long pomStamp = pom.getModificationStamp();
+    Entry entry = entries.get(project);
+    if (entry == null || entry.pomStamp != pomStamp) {
+      entry = new Entry(pomStamp, dependencyManager.getProjectMajorVersion(project));
+      entries.put(project, entry);
+    }
+    return entry.majorVersion;
+  }
+}
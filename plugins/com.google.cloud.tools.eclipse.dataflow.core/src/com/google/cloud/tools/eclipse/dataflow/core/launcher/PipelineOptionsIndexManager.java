@@ -0,0 +1,527 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher;
+
+import com.google.cloud.tools.eclipse.dataflow.core.DataflowCorePlugin;
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsIndex;
+import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Keeps a {@link PipelineOptionsIndex} per project and Dataflow version so that the launch
+ * configuration tab, the launch delegate and the options selection dialog do not each compute a
+ * type hierarchy of the whole classpath.
+ *
+ * <p>Indexes are built on first use, restored from the plugin state location when the project's
+ * classpath and sources have not changed since they were saved, and kept current by listening to
+ * Java element changes: edited compilation units are read again the next time an index is
+ * requested, while classpath changes cause a rebuild.
+ */
+public final class PipelineOptionsIndexManager implements IElementChangedListener {
+
+  private static final String INDEX_DIRECTORY = "pipeline-options";
+
+  /** How often a request waiting for another one's build checks for cancellation. */
+  private static final long CANCELLATION_CHECK_INTERVAL_MS = 100;
+
+  private static PipelineOptionsIndexManager instance;
+
+  /** Returns the shared manager, creating it if needed. */
+  public static synchronized PipelineOptionsIndexManager getDefault() {
+    if (instance == null) {
+      Path stateDirectory = DataflowCorePlugin.getDefault().getStateLocation().toFile().toPath()
+          .resolve(INDEX_DIRECTORY);
+      instance = new PipelineOptionsIndexManager(stateDirectory);
+      JavaCore.addElementChangedListener(instance, ElementChangedEvent.POST_CHANGE);
+    }
+    return instance;
+  }
+
+  /** Stops tracking changes. Called when the plugin stops. */
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      JavaCore.removeElementChangedListener(instance);
+      instance = null;
+    }
+  }
+
+  private static class IndexKey {
+    private final String projectName;
+    private final MajorVersion version;
+
+    private IndexKey(String projectName, MajorVersion version) {
+      this.projectName = projectName;
+      this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof IndexKey)) {
+        return false;
+      }
+      IndexKey key = (IndexKey) other;
+      return projectName.equals(key.projectName) && version == key.version;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(projectName, version);
+    }
+  }
+
+  private static class IndexState {
+    private final IJavaProject project;
+    /** {@code null} until built or restored, and after changes that require a rebuild. */
+    private PipelineOptionsIndex index;
+    /** Whether the saved index has been looked for. */
+    private boolean restoreAttempted;
+    /** Counts invalidations, so that a build that started before one is not kept. */
+    private int generation;
+    /** The build or update in progress, if any. */
+    private CompletableFuture<PipelineOptionsIndex> pending;
+    private final Set<ICompilationUnit> changedUnits = new LinkedHashSet<>();
+    private final Set<ICompilationUnit> addedUnits = new LinkedHashSet<>();
+
+    private IndexState(IJavaProject project) {
+      this.project = project;
+    }
+
+    private void invalidate() {
+      index = null;
+      generation++;
+      changedUnits.clear();
+      addedUnits.clear();
+    }
+  }
+
+  /** Where indexes are saved, or {@code null} to keep them in memory only. */
+  private final Path stateDirectory;
+  /**
+   * Guarded by {@code this}, as is the mutable state of each {@link IndexState}. The lock is only
+   * held to read or swap state; indexes are built, updated and saved outside of it.
+   */
+  private final Map<IndexKey, IndexState> states = new HashMap<>();
+
+  @VisibleForTesting
+  PipelineOptionsIndexManager(Path stateDirectory) {
+    this.stateDirectory = stateDirectory;
+  }
+
+  /**
+   * Returns the index of the {@code PipelineOptions} types of {@code project}. This is a
+   * long-running method the first time it is called for a project, unless a saved index can be
+   * reused. Concurrent requests for the same project wait for a single build.
+   */
+  public PipelineOptionsIndex getIndex(
+      IJavaProject project, MajorVersion version, IProgressMonitor monitor)
+      throws JavaModelException {
+    SubMonitor progress = SubMonitor.convert(monitor, 10);
+    IndexKey key = new IndexKey(project.getElementName(), version);
+    while (true) {
+      IndexState state;
+      boolean owner;
+      CompletableFuture<PipelineOptionsIndex> future;
+      PipelineOptionsIndex base;
+      boolean restore;
+      int generation;
+      Set<ICompilationUnit> changedUnits;
+      Set<ICompilationUnit> addedUnits;
+      synchronized (this) {
+        state = states.get(key);
+        if (state == null || !state.project.equals(project)) {
+          state = new IndexState(project);
+          states.put(key, state);
+        }
+        if (state.pending == null && state.index != null && state.changedUnits.isEmpty()) {
+          return state.index;
+        }
+        owner = state.pending == null;
+        if (owner) {
+          // claim the build; changes made from now on are applied by the next request
+          future = state.pending = new CompletableFuture<>();
+          base = state.index;
+          restore = !state.restoreAttempted;
+          state.restoreAttempted = true;
+          generation = state.generation;
+          changedUnits = new LinkedHashSet<>(state.changedUnits);
+          addedUnits = new LinkedHashSet<>(state.addedUnits);
+          state.changedUnits.clear();
+          state.addedUnits.clear();
+        } else {
+          future = state.pending;
+          base = null;
+          restore = false;
+          generation = -1;
+          changedUnits = null;
+          addedUnits = null;
+        }
+      }
+
+      if (!owner) {
+        PipelineOptionsIndex index = await(future, progress);
+        if (index != null) {
+          return index;
+        }
+        // the other build failed or was canceled: try again
+        continue;
+      }
+
+      PipelineOptionsIndex index = null;
+      try {
+        index = compute(key, project, version, base, restore, changedUnits, addedUnits,
+            progress.split(9));
+        return index;
+      } finally {
+        synchronized (this) {
+          state.pending = null;
+          if (state.generation == generation && states.get(key) == state) {
+            if (index != null) {
+              state.index = index;
+            } else {
+              // keep the drained changes for the next attempt
+              state.changedUnits.addAll(changedUnits);
+              state.addedUnits.addAll(addedUnits);
+            }
+          }
+        }
+        future.complete(index);
+      }
+    }
+  }
+
+  private PipelineOptionsIndex compute(IndexKey key, IJavaProject project, MajorVersion version,
+      PipelineOptionsIndex base, boolean restore, Set<ICompilationUnit> changedUnits,
+      Set<ICompilationUnit> addedUnits, IProgressMonitor monitor) throws JavaModelException {
+    PipelineOptionsIndex index = null;
+    if (restore) {
+      index = restore(key, project);
+    } else if (base != null) {
+      // fingerprint first, so a change made while updating is not recorded as indexed
+      String fingerprint = currentFingerprint(project);
+      index = base.update(changedUnits, addedUnits, version);
+      if (index != null) {
+        save(key, fingerprint, index);
+      }
+    }
+    if (index == null) {
+      String fingerprint = currentFingerprint(project);
+      index = PipelineOptionsIndex.build(project, version, monitor);
+      save(key, fingerprint, index);
+    }
+    return index;
+  }
+
+  /**
+   * Waits for another request's build. Returns its index, or {@code null} if that build did not
+   * complete.
+   */
+  private static PipelineOptionsIndex await(
+      CompletableFuture<PipelineOptionsIndex> future, IProgressMonitor monitor) {
+    while (true) {
+      if (monitor.isCanceled()) {
+        throw new OperationCanceledException();
+      }
+      try {
+        return future.get(CANCELLATION_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException ex) {
+        // check for cancellation again
+      } catch (ExecutionException ex) {
+        return null;
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new OperationCanceledException();
+      }
+    }
+  }
+
+  @Override
+  public void elementChanged(ElementChangedEvent event) {
+    synchronized (this) {
+      if (states.isEmpty()) {
+        return;
+      }
+    }
+    visit(event.getDelta());
+  }
+
+  private void visit(IJavaElementDelta delta) {
+    IJavaElement element = delta.getElement();
+    switch (element.getElementType()) {
+      case IJavaElement.JAVA_PROJECT:
+        if (delta.getKind() == IJavaElementDelta.REMOVED) {
+          removed(element.getJavaProject());
+          return;
+        }
+        if ((delta.getFlags() & (IJavaElementDelta.F_OPENED
+                | IJavaElementDelta.F_CLOSED
+                | IJavaElementDelta.F_CLASSPATH_CHANGED
+                | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+          invalidate(element.getJavaProject());
+          return;
+        }
+        break;
+      case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+        if (delta.getKind() != IJavaElementDelta.CHANGED
+            || (delta.getFlags() & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+                | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+                | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+          invalidate(element.getJavaProject());
+          return;
+        }
+        break;
+      case IJavaElement.COMPILATION_UNIT:
+        unitChanged(((ICompilationUnit) element).getPrimary(),
+            delta.getKind() == IJavaElementDelta.ADDED);
+        return;
+      default:
+        break;
+    }
+    for (IJavaElementDelta child : delta.getAffectedChildren()) {
+      visit(child);
+    }
+  }
+
+  private synchronized List<IndexState> snapshot() {
+    return new ArrayList<>(states.values());
+  }
+
+  private void unitChanged(ICompilationUnit unit, boolean added) {
+    for (IndexState state : snapshot()) {
+      if (state.project.isOnClasspath(unit)) {
+        synchronized (this) {
+          // a build in progress may already have read the unit, so record it for an update
+          if (state.index != null || state.pending != null) {
+            state.changedUnits.add(unit);
+            if (added) {
+              state.addedUnits.add(unit);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /** Discards the indexes of {@code changedProject} and of projects that depend on it. */
+  private void invalidate(IJavaProject changedProject) {
+    String changedProjectName = changedProject.getElementName();
+    for (IndexState state : snapshot()) {
+      boolean affected;
+      try {
+        affected = state.project.getElementName().equals(changedProjectName)
+            || !state.project.exists()
+            || containsProject(state.project.getRequiredProjectNames(), changedProjectName);
+      } catch (JavaModelException ex) {
+        affected = true;
+      }
+      if (affected) {
+        synchronized (this) {
+          state.invalidate();
+        }
+      }
+    }
+  }
+
+  /** Forgets the indexes of {@code removedProject} and discards those of its dependents. */
+  private void removed(IJavaProject removedProject) {
+    String removedProjectName = removedProject.getElementName();
+    synchronized (this) {
+      states.values().removeIf(state -> {
+        if (state.project.getElementName().equals(removedProjectName)) {
+          state.invalidate();
+          return true;
+        }
+        return false;
+      });
+    }
+    invalidate(removedProject);
+  }
+
+  private static boolean containsProject(String[] projectNames, String projectName) {
+    for (String name : projectNames) {
+      if (name.equals(projectName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the saved index of {@code project} if it is still current, or {@code null}. */
+  private PipelineOptionsIndex restore(IndexKey key, IJavaProject project) {
+    if (stateDirectory == null) {
+      return null;
+    }
+    Path indexFile = getIndexFile(key);
+    try (DataInputStream input = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(indexFile)))) {
+      if (!input.readUTF().equals(fingerprint(project))) {
+        return null;
+      }
+      return PipelineOptionsIndex.read(input);
+    } catch (NoSuchFileException ex) {
+      return null;
+    } catch (IOException | CoreException ex) {
+      DataflowCorePlugin.logWarning(ex, "Discarding saved PipelineOptions index %s", indexFile);
+      return null;
+    }
+  }
+
+  /**
+   * Returns the fingerprint to save with an index built from the project's current state, or
+   * {@code null} if the index should not be saved.
+   */
+  private String currentFingerprint(IJavaProject project) {
+    if (stateDirectory == null) {
+      return null;
+    }
+    try {
+      return fingerprint(project);
+    } catch (CoreException ex) {
+      DataflowCorePlugin.logWarning(ex, "Could not fingerprint project %s",
+          project.getElementName());
+      return null;
+    }
+  }
+
+  private void save(IndexKey key, String fingerprint, PipelineOptionsIndex index) {
+    if (stateDirectory == null || fingerprint == null) {
+      return;
+    }
+    Path indexFile = getIndexFile(key);
+    Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+    try {
+      Files.createDirectories(stateDirectory);
+      try (DataOutputStream output = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        output.writeUTF(fingerprint);
+        index.write(output);
+      }
+      Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ex) {
+      DataflowCorePlugin.logWarning(ex, "Could not save PipelineOptions index %s", indexFile);
+    }
+  }
+
+  private Path getIndexFile(IndexKey key) {
+    String name = Hashing.sha256()
+        .hashString(key.projectName, StandardCharsets.UTF_8).toString();
+    return stateDirectory.resolve(name + "-" + key.version + ".index");
+  }
+
+  /**
+   * Summarizes what the index of {@code project} depends on: the size and modification time of
+   * the libraries on its classpath, and the modification stamps of the Java sources in its source
+   * folders and those of the projects it requires.
+   */
+  @VisibleForTesting
+  static String fingerprint(IJavaProject project) throws CoreException {
+    IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+      IPath path = entry.getPath();
+      hasher.putString(path.toPortableString(), StandardCharsets.UTF_8);
+      switch (entry.getEntryKind()) {
+        case IClasspathEntry.CPE_LIBRARY:
+          File file = toFile(root, path);
+          hasher.putLong(file.length()).putLong(file.lastModified());
+          break;
+        case IClasspathEntry.CPE_SOURCE:
+          hashSources(root.findMember(path), hasher);
+          break;
+        case IClasspathEntry.CPE_PROJECT:
+          IProject requiredProject = root.getProject(path.lastSegment());
+          IJavaProject requiredJavaProject = JavaCore.create(requiredProject);
+          if (requiredJavaProject.exists()) {
+            for (IClasspathEntry requiredEntry : requiredJavaProject.getRawClasspath()) {
+              if (requiredEntry.getEntryKind() == IClasspathEntry.CPE_SOURCE) {
+                hashSources(root.findMember(requiredEntry.getPath()), hasher);
+              }
+            }
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private static File toFile(IWorkspaceRoot root, IPath path) {
+    IResource member = root.findMember(path);
+    if (member != null && member.getLocation() != null) {
+      return member.getLocation().toFile();
+    }
+    return path.toFile();
+  }
+
+  private static void hashSources(IResource sourceFolder, Hasher hasher) throws CoreException {
+    if (sourceFolder == null || !sourceFolder.isAccessible()) {
+      return;
+    }
+    List<String> sources = new ArrayList<>();
+    sourceFolder.accept(proxy -> {
+      if (proxy.getType() == IResource.FILE && proxy.getName().endsWith(".java")) {
+        sources.add(proxy.requestFullPath() + "@" + proxy.getModificationStamp());
+      }
+      return true;
+    }, IResource.NONE);
+    for (String source : sources) {
+      hasher.putString(source, StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher.options;
+
+import com.google.cloud.tools.eclipse.dataflow.core.DataflowCorePlugin;
+import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.SetMultimap;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * A {@link PipelineOptionsHierarchy} backed by flat records of the {@code PipelineOptions}
+ * interfaces visible to a project. Unlike {@link JavaProjectPipelineOptionsHierarchy}, which asks
+ * JDT for a type hierarchy over the whole classpath, an index can be updated by reading just the
+ * compilation units that changed, and can be saved to and restored from a file, so it only needs
+ * to be built from scratch once.
+ *
+ * <p>An interface is part of the hierarchy if it is the root {@code PipelineOptions} type, one of
+ * its supertypes, or extends an interface that is part of the hierarchy. Records of interfaces
+ * that are not (for example, after a supertype was deleted) are kept so that they come back when
+ * the supertype does.
+ */
+public class PipelineOptionsIndex extends AbstractPipelineOptionsHierarchy {
+
+  /** Bump when changing the file layout; files of other versions are ignored. */
+  @VisibleForTesting
+  static final int FORMAT_VERSION = 1;
+
+  /** What the index knows about a single interface. */
+  @VisibleForTesting
+  static class TypeRecord {
+    private final String name;
+    /** Handle identifier of the declaring compilation unit, or {@code null} for binary types. */
+    private final String unit;
+    private final List<String> superInterfaces;
+    private final Set<PipelineOptionsProperty> properties;
+
+    TypeRecord(String name, String unit, List<String> superInterfaces,
+        Set<PipelineOptionsProperty> properties) {
+      this.name = Preconditions.checkNotNull(name);
+      this.unit = unit;
+      this.superInterfaces = ImmutableList.copyOf(superInterfaces);
+      this.properties = ImmutableSet.copyOf(properties);
+    }
+  }
+
+  private final String rootTypeName;
+  private final ImmutableMap<String, TypeRecord> records;
+  private final ImmutableMap<String, PipelineOptionsType> types;
+
+  @VisibleForTesting
+  PipelineOptionsIndex(String rootTypeName, Collection<TypeRecord> records) {
+    this.rootTypeName = Preconditions.checkNotNull(rootTypeName);
+    Map<String, TypeRecord> byName = new LinkedHashMap<>();
+    for (TypeRecord record : records) {
+      byName.put(record.name, record);
+    }
+    this.records = ImmutableMap.copyOf(byName);
+    this.types = link(rootTypeName, this.records);
+  }
+
+  /**
+   * Builds the index of {@code project} from a type hierarchy of its whole classpath. This can be
+   * a long-running method.
+   */
+  public static PipelineOptionsIndex build(
+      IJavaProject project, MajorVersion version, IProgressMonitor monitor)
+      throws JavaModelException {
+    String rootTypeName = PipelineOptionsNamespaces.rootType(version);
+    IType rootType = project.findType(rootTypeName);
+    Preconditions.checkNotNull(rootType, "project has no PipelineOptions type");
+    Preconditions.checkArgument(rootType.exists(), "PipelineOptions does not exist in project");
+
+    ITypeHierarchy hierarchy = rootType.newTypeHierarchy(monitor);
+    List<TypeRecord> records = new ArrayList<>();
+    for (IType type : hierarchy.getAllInterfaces()) {
+      List<String> superInterfaces = new ArrayList<>();
+      for (IType superInterface : hierarchy.getSuperInterfaces(type)) {
+        superInterfaces.add(superInterface.getFullyQualifiedName());
+      }
+      records.add(new TypeRecord(type.getFullyQualifiedName(), getUnit(type), superInterfaces,
+          JavaProjectPipelineOptionsHierarchy.getProperties(type, version)));
+    }
+    return new PipelineOptionsIndex(rootTypeName, records);
+  }
+
+  /**
+   * Returns an index in which the interfaces declared in {@code changedUnits} are read again;
+   * units that no longer exist are dropped. Returns {@code null} if the changes may affect types
+   * declared elsewhere, in which case the index must be built again.
+   *
+   * @param addedUnits the subset of {@code changedUnits} that were created since the index was
+   *     last updated
+   */
+  public PipelineOptionsIndex update(Collection<ICompilationUnit> changedUnits,
+      Collection<ICompilationUnit> addedUnits, MajorVersion version) {
+    Set<String> unitIds = new HashSet<>();
+    Set<String> addedUnitIds = new HashSet<>();
+    List<TypeRecord> declaredTypes = new ArrayList<>();
+    try {
+      for (ICompilationUnit unit : changedUnits) {
+        unitIds.add(unit.getHandleIdentifier());
+        if (addedUnits.contains(unit)) {
+          addedUnitIds.add(unit.getHandleIdentifier());
+        }
+        if (unit.exists()) {
+          for (IType type : unit.getAllTypes()) {
+            if (type.isInterface()) {
+              declaredTypes.add(readSourceType(type, version));
+            }
+          }
+        }
+      }
+    } catch (JavaModelException ex) {
+      DataflowCorePlugin.logWarning(ex, "Could not read changed types; rebuilding index");
+      return null;
+    }
+    return update(unitIds, addedUnitIds, declaredTypes);
+  }
+
+  @VisibleForTesting
+  PipelineOptionsIndex update(
+      Set<String> unitIds, Set<String> addedUnitIds, Collection<TypeRecord> declaredTypes) {
+    Map<String, TypeRecord> updated = new LinkedHashMap<>(records);
+    updated.values().removeIf(record -> unitIds.contains(record.unit));
+
+    // interfaces may extend each other in any order, so repeat until nothing is added
+    List<TypeRecord> candidates = new ArrayList<>(declaredTypes);
+    boolean added = true;
+    while (added) {
+      added = false;
+      for (Iterator<TypeRecord> iterator = candidates.iterator(); iterator.hasNext(); ) {
+        TypeRecord record = iterator.next();
+        if (record.name.equals(rootTypeName)
+            || !Collections.disjoint(record.superInterfaces, updated.keySet())) {
+          if (!records.containsKey(record.name) && !addedUnitIds.contains(record.unit)) {
+            // an existing interface may have become an options type; its subtypes are unknown
+            return null;
+          }
+          updated.put(record.name, record);
+          iterator.remove();
+          added = true;
+        }
+      }
+    }
+    return new PipelineOptionsIndex(rootTypeName, updated.values());
+  }
+
+  @Override
+  public PipelineOptionsType getPipelineOptionsType(String typeName) {
+    PipelineOptionsType type = types.get(typeName);
+    if (type == null && typeName != null) {
+      // nested types may also be named with '.' instead of '$'
+      for (PipelineOptionsType candidate : types.values()) {
+        if (candidate.getName().replace('$', '.').equals(typeName)) {
+          return candidate;
+        }
+      }
+    }
+    return type;
+  }
+
+  @Override
+  public Map<String, PipelineOptionsType> getAllPipelineOptionsTypes() {
+    return types;
+  }
+
+  /** Writes the index in a form that {@link #read} understands. */
+  public void write(DataOutput output) throws IOException {
+    output.writeInt(FORMAT_VERSION);
+    output.writeUTF(rootTypeName);
+    output.writeInt(records.size());
+    for (TypeRecord record : records.values()) {
+      output.writeUTF(record.name);
+      writeNullableString(output, record.unit);
+      writeStrings(output, record.superInterfaces);
+      output.writeInt(record.properties.size());
+      for (PipelineOptionsProperty property : record.properties) {
+        output.writeUTF(property.getName());
+        output.writeBoolean(property.isDefaultProvided());
+        output.writeBoolean(property.isRequired());
+        writeStrings(output, property.getGroups());
+        writeNullableString(output, property.getDescription());
+      }
+    }
+  }
+
+  /**
+   * Reads an index written by {@link #write}.
+   *
+   * @throws IOException if the input cannot be read or was written in a different format
+   */
+  public static PipelineOptionsIndex read(DataInput input) throws IOException {
+    int formatVersion = input.readInt();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IOException("Unsupported index format: " + formatVersion);
+    }
+    String rootTypeName = input.readUTF();
+    int recordCount = input.readInt();
+    List<TypeRecord> records = new ArrayList<>(recordCount);
+    for (int i = 0; i < recordCount; i++) {
+      String name = input.readUTF();
+      String unit = readNullableString(input);
+      List<String> superInterfaces = readStrings(input);
+      int propertyCount = input.readInt();
+      Set<PipelineOptionsProperty> properties = new HashSet<>();
+      for (int j = 0; j < propertyCount; j++) {
+        String propertyName = input.readUTF();
+        boolean defaultProvided = input.readBoolean();
+        boolean required = input.readBoolean();
+        Set<String> groups = new HashSet<>(readStrings(input));
+        String description = readNullableString(input);
+        properties.add(new PipelineOptionsProperty(
+            propertyName, defaultProvided, required, groups, description));
+      }
+      records.add(new TypeRecord(name, unit, superInterfaces, properties));
+    }
+    return new PipelineOptionsIndex(rootTypeName, records);
+  }
+
+  /**
+   * Creates the {@link PipelineOptionsType}s of the interfaces that are part of the hierarchy:
+   * the root type, its supertypes and everything extending the root type.
+   */
+  private static ImmutableMap<String, PipelineOptionsType> link(
+      String rootTypeName, Map<String, TypeRecord> records) {
+    Set<String> included = new HashSet<>();
+    Queue<String> toVisit = new ArrayDeque<>();
+    toVisit.add(rootTypeName);
+    while (!toVisit.isEmpty()) {
+      TypeRecord record = records.get(toVisit.poll());
+      if (record != null && included.add(record.name)) {
+        toVisit.addAll(record.superInterfaces);
+      }
+    }
+
+    SetMultimap<String, String> subInterfaces = HashMultimap.create();
+    for (TypeRecord record : records.values()) {
+      for (String superInterface : record.superInterfaces) {
+        subInterfaces.put(superInterface, record.name);
+      }
+    }
+    toVisit.add(rootTypeName);
+    while (!toVisit.isEmpty()) {
+      for (String subInterface : subInterfaces.get(toVisit.poll())) {
+        if (included.add(subInterface)) {
+          toVisit.add(subInterface);
+        }
+      }
+    }
+
+    Map<String, PipelineOptionsType> types = new HashMap<>();
+    for (TypeRecord record : records.values()) {
+      if (included.contains(record.name)) {
+        getOrCreateType(record, records, included, types, new HashSet<>());
+      }
+    }
+    // keep the order of the records
+    ImmutableMap.Builder<String, PipelineOptionsType> result = ImmutableMap.builder();
+    for (String name : records.keySet()) {
+      if (types.containsKey(name)) {
+        result.put(name, types.get(name));
+      }
+    }
+    return result.build();
+  }
+
+  private static PipelineOptionsType getOrCreateType(TypeRecord record,
+      Map<String, TypeRecord> records, Set<String> included, Map<String, PipelineOptionsType> types,
+      Set<String> inProgress) {
+    PipelineOptionsType type = types.get(record.name);
+    if (type != null) {
+      return type;
+    }
+    inProgress.add(record.name);
+    ImmutableSet.Builder<PipelineOptionsType> parentTypes = ImmutableSet.builder();
+    for (String superInterface : record.superInterfaces) {
+      if (included.contains(superInterface) && !inProgress.contains(superInterface)) {
+        parentTypes.add(getOrCreateType(
+            records.get(superInterface), records, included, types, inProgress));
+      }
+    }
+    inProgress.remove(record.name);
+    type = new PipelineOptionsType(record.name, parentTypes.build(), record.properties);
+    types.put(record.name, type);
+    return type;
+  }
+
+  private static TypeRecord readSourceType(IType type, MajorVersion version)
+      throws JavaModelException {
+    List<String> superInterfaces = new ArrayList<>();
+    for (String superInterfaceName : type.getSuperInterfaceNames()) {
+      int typeArguments = superInterfaceName.indexOf('<');
+      if (typeArguments >= 0) {
+        superInterfaceName = superInterfaceName.substring(0, typeArguments);
+      }
+      String[][] resolved = type.resolveType(superInterfaceName);
+      // unresolved or ambiguous names cannot refer to an indexed type
+      if (resolved != null && resolved.length == 1) {
+        superInterfaces.add(toFullyQualifiedName(resolved[0][0], resolved[0][1]));
+      }
+    }
+    return new TypeRecord(type.getFullyQualifiedName(), getUnit(type), superInterfaces,
+        JavaProjectPipelineOptionsHierarchy.getProperties(type, version));
+  }
+
+  /** Returns the name of a resolved type as returned by {@link IType#getFullyQualifiedName()}. */
+  @VisibleForTesting
+  static String toFullyQualifiedName(String packageName, String typeName) {
+    String binaryTypeName = typeName.replace('.', '$');
+    return packageName.isEmpty() ? binaryTypeName : packageName + "." + binaryTypeName;
+  }
+
+  private static String getUnit(IType type) {
+    ICompilationUnit unit = type.getCompilationUnit();
+    return unit == null ? null : unit.getPrimary().getHandleIdentifier();
+  }
+
+  private static void writeNullableString(DataOutput output, String value) throws IOException {
+    output.writeBoolean(value != null);
+    if (value != null) {
+      output.writeUTF(value);
+    }
+  }
+
+  private static String readNullableString(DataInput input) throws IOException {
+    return input.readBoolean() ? input.readUTF() : null;
+  }
+
+  private static void writeStrings(DataOutput output, Collection<String> values)
+      throws IOException {
+    output.writeInt(values.size());
+    for (String value : values) {
+      output.writeUTF(value);
+    }
+  }
+
+  private static List<String> readStrings(DataInput input) throws IOException {
+    int count = input.readInt();
+    List<String> values = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      values.add(input.readUTF());
+    }
+    return values;
+  }
+}
@@ -24,6 +24,7 @@ import com.google.common.collect.Table;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
+import java.util.Optional;
 import java.util.TreeMap;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
@@ -31,10 +32,8 @@ import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.model.Dependency;
-import org.apache.maven.model.Model;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.embedder.IMaven;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
@@ -47,14 +46,14 @@ import org.eclipse.m2e.core.project.IMavenProjectRegistry;
 public class DataflowDependencyManager {
 
   private final ArtifactRetriever artifactRetriever;
-  private final IMaven maven;
   private final IMavenProjectRegistry mavenProjectRegistry;
+  private final DataflowProjectModelCache modelCache;
 
   public static DataflowDependencyManager create() {
-    return create(
+    return new DataflowDependencyManager(
         ArtifactRetriever.DEFAULT,
-        MavenPlugin.getMaven(),
-        MavenPlugin.getMavenProjectRegistry());
+        MavenPlugin.getMavenProjectRegistry(),
+        DataflowProjectModelCache.getDefault());
   }
 
   @VisibleForTesting
@@ -62,16 +61,17 @@ public class DataflowDependencyManager {
       ArtifactRetriever artifactRetriever,
       IMaven maven,
       IMavenProjectRegistry mavenProjectRegistry) {
-    return new DataflowDependencyManager(artifactRetriever, maven, mavenProjectRegistry);
+    return new DataflowDependencyManager(
+        artifactRetriever, mavenProjectRegistry, new DataflowProjectModelCache(maven));
   }
 
   private DataflowDependencyManager(
       ArtifactRetriever artifactRetriever,
-      IMaven maven,
-      IMavenProjectRegistry mavenProjectRegistry) {
+      IMavenProjectRegistry mavenProjectRegistry,
+      DataflowProjectModelCache modelCache) {
     this.artifactRetriever = artifactRetriever;
-    this.maven = maven;
     this.mavenProjectRegistry = mavenProjectRegistry;
+    this.modelCache = modelCache;
   }
 
   /**
@@ -85,21 +85,13 @@ public class DataflowDependencyManager {
         currentVersionRange);
   }
 
-  private static boolean isDataflowDependency(Dependency dependency) {
-    return dependency.getGroupId().equals(DataflowMavenCoordinates.GROUP_ID)
-        && dependency.getArtifactId().equals(DataflowMavenCoordinates.ARTIFACT_ID);
-  }
-
   /**
    * Returns {@code true} if the provided {@code Model} has a dependency on the Dataflow Java SDK
-   * with a version other than LATEST or RELEASE.
+   * with a version other than LATEST or RELEASE. Never reads the POM on the calling thread: answers
+   * {@code false} until the POM has been read in the background.
    */
   public boolean hasPinnedDataflowDependency(IProject project) {
-    Model model = getModelFromProject(project);
-    if (model == null) {
-      return false;
-    }
-    Dependency dependency = getDataflowDependencyFromModel(model);
+    Dependency dependency = getLoadedDataflowDependency(project);
     if (dependency == null
         || Artifact.LATEST_VERSION.equals(dependency.getVersion())
         || Artifact.RELEASE_VERSION.equals(dependency.getVersion())) {
@@ -110,14 +102,11 @@ public class DataflowDependencyManager {
 
   /**
    * Returns {@code true} if the provided {@code Model} has a dependency on the Dataflow Java SDK
-   * with version LATEST or RELEASE.
+   * with version LATEST or RELEASE. Never reads the POM on the calling thread: answers
+   * {@code false} until the POM has been read in the background.
    */
   public boolean hasTrackedDataflowDependency(IProject project) {
-    Model model = getModelFromProject(project);
-    if (model == null) {
-      return false;
-    }
-    Dependency dependency = getDataflowDependencyFromModel(model);
+    Dependency dependency = getLoadedDataflowDependency(project);
     if (dependency == null) {
       return false;
     }
@@ -143,19 +132,16 @@ public class DataflowDependencyManager {
    * @throws IllegalStateException if the encoded version range is not a valid version specification
    */
   private VersionRange getActualDataflowVersionRange(IProject project) {
-    Model model = getModelFromProject(project);
-    if (model != null) {
-      Dependency dependency = getDataflowDependencyFromModel(model);
-      if (dependency != null) {
-        String version = dependency.getVersion();
-        if (!Strings.isNullOrEmpty(version)) {
-          try {
-            return VersionRange.createFromVersionSpec(version);
-          } catch (InvalidVersionSpecificationException ex) {
-            String message =
-                String.format("Could not create version range from existing version %s", version);
-            throw new IllegalStateException(message, ex);
-          }
+    Dependency dependency = getDataflowDependency(project);
+    if (dependency != null) {
+      String version = dependency.getVersion();
+      if (!Strings.isNullOrEmpty(version)) {
+        try {
+          return VersionRange.createFromVersionSpec(version);
+        } catch (InvalidVersionSpecificationException ex) {
+          String message =
+              String.format("Could not create version range from existing version %s", version);
+          throw new IllegalStateException(message, ex);
         }
       }
     }
@@ -184,23 +170,21 @@ public class DataflowDependencyManager {
     }
   }
 
-  private Model getModelFromProject(IProject project) {
+  private Dependency getDataflowDependency(IProject project) {
     IMavenProjectFacade facade = mavenProjectRegistry.getProject(project);
     if (facade != null) {
       IFile pom = facade.getPom();
-      try {
-        return maven.readModel(pom.getContents());
-      } catch (CoreException e) {
-        return null;
-      }
+      return modelCache.getDataflowDependency(pom);
     }
     return null;
   }
 
-  private static Dependency getDataflowDependencyFromModel(Model model) {
-    for (Dependency dependency : model.getDependencies()) {
-      if (isDataflowDependency(dependency)) {
-        return dependency;
+  private Dependency getLoadedDataflowDependency(IProject project) {
+    IMavenProjectFacade facade = mavenProjectRegistry.getProject(project);
+    if (facade != null) {
+      Optional<Dependency> dependency = modelCache.getLoadedDataflowDependency(facade.getPom());
+      if (dependency != null) {
+        return dependency.orElse(null);
       }
     }
     return null;
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.embedder.IMaven;
+
+/**
+ * Remembers the Dataflow SDK dependency declared in each project's POM, so that property testers,
+ * menus and launches do not parse the POM every time they are evaluated. A POM is read again only
+ * after it changes: entries are dropped on resource changes to the POM, and an entry is also
+ * ignored when the POM's modification stamp no longer matches the one it was read at. Callers on
+ * the UI thread, such as property testers evaluated for menus, can look up remembered entries
+ * without waiting for a POM to be read.
+ */
+public final class DataflowProjectModelCache implements IResourceChangeListener {
+
+  private static DataflowProjectModelCache instance;
+
+  /** Returns the shared cache, creating it if needed. */
+  static synchronized DataflowProjectModelCache getDefault() {
+    if (instance == null) {
+      instance = new DataflowProjectModelCache(MavenPlugin.getMaven());
+      ResourcesPlugin.getWorkspace().addResourceChangeListener(
+          instance, IResourceChangeEvent.POST_CHANGE);
+    }
+    return instance;
+  }
+
+  /** Stops tracking changes. Called when the plugin stops. */
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+      instance = null;
+    }
+  }
+
+  private static class Entry {
+    private final long modificationStamp;
+    /** {@code null} if the POM does not depend on the Dataflow SDK. */
+    private final Dependency dataflowDependency;
+
+    private Entry(long modificationStamp, Dependency dataflowDependency) {
+      this.modificationStamp = modificationStamp;
+      this.dataflowDependency = dataflowDependency;
+    }
+  }
+
+  /** Family of the jobs reading POMs for {@link #getLoadedDataflowDependency}. */
+  @VisibleForTesting
+  static final Object LOAD_JOB_FAMILY = new Object();
+
+  private final IMaven maven;
+  private final Map<IFile, Entry> entries = new HashMap<>();
+  /** POMs being read by a load job. */
+  private final Set<IFile> loading = new HashSet<>();
+
+  @VisibleForTesting
+  DataflowProjectModelCache(IMaven maven) {
+    this.maven = maven;
+  }
+
+  /**
+   * Returns the Dataflow SDK dependency declared in {@code pom}, or {@code null} if there is none
+   * or the POM cannot be read. Unreadable POMs are not remembered. May read the POM, so callers on
+   * the UI thread should use {@link #getLoadedDataflowDependency} instead.
+   */
+  Dependency getDataflowDependency(IFile pom) {
+    long modificationStamp = pom.getModificationStamp();
+    synchronized (this) {
+      Entry entry = entries.get(pom);
+      if (entry != null && entry.modificationStamp == modificationStamp) {
+        return entry.dataflowDependency;
+      }
+    }
+    // read without holding the lock, so that lookups of remembered POMs never wait for a read
+    Dependency dataflowDependency;
+    try {
+      Model model = maven.readModel(pom.getContents());
+      dataflowDependency = findDataflowDependency(model);
+    } catch (CoreException ex) {
+      return null;
+    }
+    synchronized (this) {
+      entries.put(pom, new Entry(modificationStamp, dataflowDependency));
+    }
+    return dataflowDependency;
+  }
+
+  /**
+   * Like {@link #getDataflowDependency}, but never reads the POM on the calling thread. If the POM
+   * has not been read since it last changed, schedules a job to read it and returns {@code null}.
+   *
+   * @return the remembered dependency, empty if the POM does not depend on the Dataflow SDK, or
+   *     {@code null} if not known yet
+   */
+  synchronized Optional<Dependency> getLoadedDataflowDependency(IFile pom) {
+    Entry entry = entries.get(pom);
+    if (entry != null && entry.modificationStamp == pom.getModificationStamp()) {
+      return Optional.ofNullable(entry.dataflowDependency);
+    }
+    if (loading.add(pom)) {
+      Job loadJob = new Job("Reading " + pom.getFullPath()) { //$NON-NLS-1$
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+          try {
+            getDataflowDependency(pom);
+          } finally {
+            synchronized (DataflowProjectModelCache.this) {
+              loading.remove(pom);
+            }
+          }
+          return Status.OK_STATUS;
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+          return family == LOAD_JOB_FAMILY;
+        }
+      };
+      loadJob.setSystem(true);
+      loadJob.schedule();
+    }
+    return null;
+  }
+
+  private static Dependency findDataflowDependency(Model model) {
+    for (Dependency dependency : model.getDependencies()) {
+      if (dependency.getGroupId().equals(DataflowMavenCoordinates.GROUP_ID)
+          && dependency.getArtifactId().equals(DataflowMavenCoordinates.ARTIFACT_ID)) {
+        return dependency;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void resourceChanged(IResourceChangeEvent event) {
+    IResourceDelta delta = event.getDelta();
+    if (delta == null) {
+      return;
+    }
+    synchronized (this) {
+      for (Iterator<IFile> iterator = entries.keySet().iterator(); iterator.hasNext(); ) {
+        if (isAffected(delta, iterator.next())) {
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+  private static boolean isAffected(IResourceDelta delta, IFile pom) {
+    IResourceDelta projectDelta = delta.findMember(pom.getProject().getFullPath());
+    if (projectDelta == null) {
+      return false;
+    }
+    if (projectDelta.getKind() == IResourceDelta.REMOVED
+        || (projectDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+      return true;
+    }
+    IResourceDelta pomDelta = delta.findMember(pom.getFullPath());
+    return pomDelta != null
+        && (pomDelta.getKind() != IResourceDelta.CHANGED
+            || (pomDelta.getFlags() & ~IResourceDelta.MARKERS) != 0);
+  }
+}
@@ -19,12 +19,15 @@ package com.google.cloud.tools.eclipse.dataflow.core.project;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpStatusCodes;
 import com.google.api.services.storage.Storage;
 import com.google.api.services.storage.model.Bucket;
 import com.google.api.services.storage.model.Buckets;
 import com.google.cloud.tools.eclipse.googleapis.IGoogleApiFactory;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.base.Ticker;
 import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
@@ -40,21 +43,41 @@ import org.eclipse.core.runtime.SubMonitor;
 public class GcsDataflowProjectClient {
   private static final String GCS_PREFIX = "gs://";
 
+  /** Shared by all clients, so that reopening a dialog does not repeat recent calls. */
+  private static final StagingLocationCache sharedCache =
+      new StagingLocationCache(Ticker.systemTicker());
+
   private final Storage gcsClient;
+  private final Credential credential;
+  private final StagingLocationCache cache;
 
   public static GcsDataflowProjectClient create(
       IGoogleApiFactory apiFactory, Credential credential) {
-    return new GcsDataflowProjectClient(apiFactory.newStorageApi(credential));
+    return create(apiFactory, credential, sharedCache);
+  }
+
+  @VisibleForTesting
+  static GcsDataflowProjectClient create(
+      IGoogleApiFactory apiFactory, Credential credential, StagingLocationCache cache) {
+    return new GcsDataflowProjectClient(apiFactory.newStorageApi(credential), credential, cache);
   }
 
-  private GcsDataflowProjectClient(Storage gcsClient) {
+  private GcsDataflowProjectClient(
+      Storage gcsClient, Credential credential, StagingLocationCache cache) {
     this.gcsClient = gcsClient;
+    this.credential = credential;
+    this.cache = cache;
   }
 
   /**
-   * Gets a collection of potential Staging Locations.
+   * Gets a collection of potential Staging Locations. Recently listed buckets are reused.
    */
   public SortedSet<String> getPotentialStagingLocations(String projectId) throws IOException {
+    return cache.getStagingLocations(
+        credential, projectId, () -> listStagingLocations(projectId));
+  }
+
+  private SortedSet<String> listStagingLocations(String projectId) throws IOException {
     SortedSet<String> result = new TreeSet<>();
     Buckets buckets = gcsClient.buckets().list(projectId).execute();
     List<Bucket> bucketList = buckets.getItems();
@@ -74,17 +97,18 @@ public class GcsDataflowProjectClient {
       String projectId, String stagingLocation, IProgressMonitor progressMonitor) {
     SubMonitor monitor = SubMonitor.convert(progressMonitor, 2);
     String bucketName = toGcsBucketName(stagingLocation);
-    if (locationIsAccessible(stagingLocation)) { // bucket already exists
-      return new StagingLocationVerificationResult(
-          String.format("Bucket %s exists", bucketName), true);
-    }
-    monitor.worked(1);
-
-    // else create the bucket
     try {
+      if (bucketIsAccessible(bucketName)) { // bucket already exists
+        return new StagingLocationVerificationResult(
+            String.format("Bucket %s exists", bucketName), true);
+      }
+      monitor.worked(1);
+
+      // else create the bucket
       Bucket newBucket = new Bucket();
       newBucket.setName(bucketName);
       gcsClient.buckets().insert(projectId, newBucket).execute();
+      cache.invalidate(credential, projectId, bucketName);
       return new StagingLocationVerificationResult(
           String.format("Bucket %s created", bucketName), true);
     } catch (GoogleJsonResponseException ex) {
@@ -128,18 +152,36 @@ public class GcsDataflowProjectClient {
 
   /**
    * Gets whether the current staging location exists and is accessible. If this method returns
-   * true, the provided staging location can be used.
+   * true, the provided staging location can be used. Only the bucket is checked, and recent
+   * answers for the same bucket are reused. Errors other than a missing or forbidden bucket are
+   * not remembered.
    */
   boolean locationIsAccessible(String stagingLocation) {
     String bucketName = toGcsBucketName(stagingLocation);
     try {
-      gcsClient.buckets().get(bucketName).execute();
-      return true;
+      return cache.isAccessible(credential, bucketName, () -> bucketIsAccessible(bucketName));
     } catch (IOException ex) {
       return false;
     }
   }
 
+  /**
+   * Returns whether the bucket exists and can be read. Other failures, such as network errors,
+   * are thrown so that they are not cached as an answer.
+   */
+  private boolean bucketIsAccessible(String bucketName) throws IOException {
+    try {
+      gcsClient.buckets().get(bucketName).execute();
+      return true;
+    } catch (GoogleJsonResponseException ex) {
+      if (ex.getStatusCode() == HttpStatusCodes.STATUS_CODE_NOT_FOUND
+          || ex.getStatusCode() == HttpStatusCodes.STATUS_CODE_FORBIDDEN) {
+        return false;
+      }
+      throw ex;
+    }
+  }
+
   /**
    * The result of creating or verifying a Staging Location.
    */
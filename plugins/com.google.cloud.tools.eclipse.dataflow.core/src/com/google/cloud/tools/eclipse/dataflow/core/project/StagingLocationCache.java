@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived results of the Cloud Storage calls made while the user fills in a staging location:
+ * the buckets of a project, and whether a bucket is accessible. Results are kept per credential for
+ * {@link #TTL_SECONDS} seconds. Concurrent requests for the same entry share a single call, and
+ * failed calls are not remembered.
+ */
+class StagingLocationCache {
+
+  static final long TTL_SECONDS = 60;
+
+  private final Cache<List<Object>, SortedSet<String>> stagingLocations;
+  private final Cache<List<Object>, Boolean> accessibleBuckets;
+
+  StagingLocationCache(Ticker ticker) {
+    stagingLocations = CacheBuilder.newBuilder()
+        .expireAfterWrite(TTL_SECONDS, TimeUnit.SECONDS)
+        .ticker(ticker)
+        .build();
+    accessibleBuckets = CacheBuilder.newBuilder()
+        .expireAfterWrite(TTL_SECONDS, TimeUnit.SECONDS)
+        .ticker(ticker)
+        .build();
+  }
+
+  SortedSet<String> getStagingLocations(Credential credential, String projectId,
+      Callable<SortedSet<String>> loader) throws IOException {
+    SortedSet<String> locations = get(stagingLocations, key(credential, projectId), loader);
+    return Collections.unmodifiableSortedSet(locations);
+  }
+
+  boolean isAccessible(Credential credential, String bucketName, Callable<Boolean> loader)
+      throws IOException {
+    return get(accessibleBuckets, key(credential, bucketName), loader);
+  }
+
+  /** Forgets what is known about {@code bucketName} and the buckets of {@code projectId}. */
+  void invalidate(Credential credential, String projectId, String bucketName) {
+    stagingLocations.invalidate(key(credential, projectId));
+    accessibleBuckets.invalidate(key(credential, bucketName));
+  }
+
+  private static List<Object> key(Credential credential, String name) {
+    return Arrays.asList(credential, name);
+  }
+
+  private static <V> V get(Cache<List<Object>, V> cache, List<Object> key, Callable<V> loader)
+      throws IOException {
+    try {
+      return cache.get(key, loader);
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      Throwables.throwIfInstanceOf(ex.getCause(), IOException.class);
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw new IOException(ex.getCause());
+    }
+  }
+}
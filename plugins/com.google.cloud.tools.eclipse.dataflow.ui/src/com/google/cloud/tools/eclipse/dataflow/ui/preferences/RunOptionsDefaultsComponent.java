@@ -318,6 +318,9 @@ public class RunOptionsDefaultsComponent {
       } else {
         Verify.verify(result.get() instanceof Collection);
         if (!((Collection<?>) result.get()).contains(GoogleApi.DATAFLOW_API.getServiceId())) {
+          // check again when the project is next selected, as the user may enable the API now
+          GcpProjectServicesJob.invalidate(checkProjectConfigurationJob.getCredential(),
+              checkProjectConfigurationJob.getProjectId());
           messageTarget.setError("Project is not enabled for Cloud Dataflow");
           return;
         }
@@ -595,7 +598,8 @@ public class RunOptionsDefaultsComponent {
   }
 
   /**
-   * Ensure the staging location specified in the input combo is valid.
+   * Ensure the staging location specified in the input combo is valid. Only the bucket is
+   * verified, so edits to the rest of the location reuse a running or completed check.
    */
   @VisibleForTesting
   void startStagingLocationCheck(long schedulingDelay) {
@@ -604,9 +608,11 @@ public class RunOptionsDefaultsComponent {
 
     if (verifyStagingLocationJob != null) {
       if (Objects.equals(accountEmail, verifyStagingLocationJob.getEmail())
-          && Objects.equals(stagingLocation, verifyStagingLocationJob.getStagingLocation())
-          && verifyStagingLocationJob.getState() == Job.RUNNING) {
-        // an update is in progress
+          && isSameBucket(stagingLocation, verifyStagingLocationJob.getStagingLocation())
+          && verifyStagingLocationJob.isCurrent()
+          && (verifyStagingLocationJob.getState() == Job.RUNNING
+              || verifyStagingLocationJob.isComputationComplete())) {
+        // the bucket is being or has been verified
         return;
       }
       // Cancel any existing verifyStagingLocationJob
@@ -624,6 +630,12 @@ public class RunOptionsDefaultsComponent {
     verifyStagingLocationJob.schedule(schedulingDelay);
   }
 
+  private static boolean isSameBucket(String location, String otherLocation) {
+    return !Strings.isNullOrEmpty(location) && !Strings.isNullOrEmpty(otherLocation)
+        && GcsDataflowProjectClient.toGcsBucketName(location)
+            .equals(GcsDataflowProjectClient.toGcsBucketName(otherLocation));
+  }
+
   /**
    * Create a GCS bucket in the project specified in the project input at the location specified in
    * the staging location input.
@@ -646,6 +658,11 @@ public class RunOptionsDefaultsComponent {
         messageTarget.setInfo(Messages.getString("created.staging.location.at", stagingLocation)); //$NON-NLS-1$
         setPageComplete(true);
         createButton.setEnabled(false);
+        // the earlier verification found no bucket
+        if (verifyStagingLocationJob != null) {
+          verifyStagingLocationJob.abandon();
+        }
+        startStagingLocationCheck(0);
       } else {
         messageTarget
             .setError(Messages.getString("could.not.create.staging.location", stagingLocation)); //$NON-NLS-1$
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.services.servicemanagement.ServiceManagement;
+import com.google.api.services.servicemanagement.ServiceManagement.Services;
+import com.google.api.services.servicemanagement.model.ListServicesResponse;
+import com.google.api.services.servicemanagement.model.ManagedService;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GcpProjectServicesJobTest {
+
+  // the services cache is static, so each test uses its own credential
+  private final Credential credential = mock(Credential.class);
+  private final IGoogleApiFactory apiFactory = mock(IGoogleApiFactory.class);
+  private final Services.List listRequest = mock(Services.List.class);
+  private final IProgressMonitor monitor = new NullProgressMonitor();
+
+  @Before
+  public void setUp() throws IOException {
+    ServiceManagement serviceManagement = mock(ServiceManagement.class);
+    Services services = mock(Services.class);
+    when(apiFactory.newServiceManagementApi(credential)).thenReturn(serviceManagement);
+    when(serviceManagement.services()).thenReturn(services);
+    when(services.list()).thenReturn(listRequest);
+    when(listRequest.setFields(anyString())).thenReturn(listRequest);
+    when(listRequest.setConsumerId(anyString())).thenReturn(listRequest);
+    when(listRequest.execute()).thenReturn(page(null, "storage.googleapis.com"));
+  }
+
+  @Test
+  public void testCompute_reusesRecentListing() throws IOException {
+    assertEquals(Arrays.asList("storage.googleapis.com"), newJob().compute(monitor));
+    assertEquals(Arrays.asList("storage.googleapis.com"), newJob().compute(monitor));
+    verify(listRequest, times(1)).execute();
+  }
+
+  @Test
+  public void testCompute_listsAgainAfterInvalidate() throws IOException {
+    newJob().compute(monitor);
+    GcpProjectServicesJob.invalidate(credential, "project");
+    newJob().compute(monitor);
+    verify(listRequest, times(2)).execute();
+  }
+
+  @Test
+  public void testCompute_failureNotRemembered() throws IOException {
+    when(listRequest.execute()).thenThrow(new IOException("unavailable"))
+        .thenReturn(page(null, "storage.googleapis.com"));
+    try {
+      newJob().compute(monitor);
+      fail();
+    } catch (IOException ex) {
+      assertEquals("unavailable", ex.getMessage());
+    }
+    assertEquals(Arrays.asList("storage.googleapis.com"), newJob().compute(monitor));
+    verify(listRequest, times(2)).execute();
+  }
+
+  @Test(timeout = 10000)
+  public void testCompute_retriesListingCancelledByOtherJob() throws Exception {
+    CountDownLatch listing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(listRequest.execute()).thenAnswer(invocation -> {
+      listing.countDown();
+      release.await();
+      // a further page, so the first job checks for cancellation again
+      return page("next", "compute.googleapis.com");
+    }).thenReturn(page(null, "storage.googleapis.com"));
+
+    NullProgressMonitor firstMonitor = new NullProgressMonitor();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<List<String>> first = executor.submit(() -> newJob().compute(firstMonitor));
+      assertTrue(listing.await(5, TimeUnit.SECONDS));
+      Future<List<String>> second = executor.submit(() -> newJob().compute(monitor));
+      Thread.sleep(200); // let the second job wait for the first job's listing
+
+      firstMonitor.setCanceled(true);
+      release.countDown();
+      assertEquals(Arrays.asList("storage.googleapis.com"), second.get());
+      try {
+        first.get();
+        fail();
+      } catch (ExecutionException ex) {
+        assertTrue(ex.getCause() instanceof OperationCanceledException);
+      }
+      verify(listRequest, times(2)).execute();
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  private GcpProjectServicesJob newJob() {
+    return new GcpProjectServicesJob(apiFactory, credential, "project");
+  }
+
+  private static ListServicesResponse page(String nextPageToken, String serviceName) {
+    return new ListServicesResponse()
+        .setServices(Arrays.asList(new ManagedService().setServiceName(serviceName)))
+        .setNextPageToken(nextPageToken);
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.EmptyContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.util.Sleeper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Proxy;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+
+public class ApiRequestInitializerTest {
+
+  @Rule public KeepAliveHttpServer server = new KeepAliveHttpServer();
+
+  private final List<Long> sleeps = new ArrayList<>();
+  private final Sleeper sleeper = sleeps::add;
+  private HttpTransport transport;
+  private GenericUrl url;
+
+  @Before
+  public void setUp() {
+    ProxyFactory proxyFactory = mock(ProxyFactory.class);
+    when(proxyFactory.createProxy(any(URI.class))).thenReturn(Proxy.NO_PROXY);
+    transport = new TransportCacheLoader(proxyFactory).load(GoogleApi.CLOUD_STORAGE_API);
+    url = new GenericUrl(server.getAddress());
+  }
+
+  @Test
+  public void testTimeoutsApplied() throws IOException {
+    HttpRequest request = newRequestFactory(null).buildGetRequest(url);
+    assertEquals(1764, request.getConnectTimeout());
+    assertEquals(3528, request.getReadTimeout());
+  }
+
+  @Test
+  public void testTimeoutsOfApi() throws IOException {
+    HttpRequest request = transport.createRequestFactory(
+        new ApiRequestInitializer(null, GoogleApi.CLOUD_STORAGE_API)).buildGetRequest(url);
+    assertEquals(GoogleApi.CLOUD_STORAGE_API.getConnectTimeout(), request.getConnectTimeout());
+    assertEquals(GoogleApi.CLOUD_STORAGE_API.getReadTimeout(), request.getReadTimeout());
+  }
+
+  @Test
+  public void testCredentialInitializesRequest() throws IOException {
+    Credential credential = mock(Credential.class);
+    HttpRequest request = newRequestFactory(credential).buildGetRequest(url);
+    verify(credential).initialize(request);
+  }
+
+  @Test
+  public void testConnectionsReused() throws IOException {
+    HttpRequestFactory requestFactory = newRequestFactory(null);
+    for (int i = 0; i < 5; i++) {
+      assertEquals("{}", requestFactory.buildGetRequest(url).execute().parseAsString());
+    }
+    assertEquals(5, server.requests.get());
+    assertEquals(1, server.connections.get());
+  }
+
+  @Test
+  public void testGet_retriedOnServerError() throws IOException {
+    server.statuses.addAll(Arrays.asList(503, 500));
+    assertEquals("{}", newRequestFactory(null).buildGetRequest(url).execute().parseAsString());
+
+    assertEquals(3, server.requests.get());
+    assertEquals(2, sleeps.size());
+  }
+
+  @Test
+  public void testGet_retriedWhenThrottled() throws IOException {
+    server.statuses.add(429);
+    assertEquals("{}", newRequestFactory(null).buildGetRequest(url).execute().parseAsString());
+    assertEquals(2, server.requests.get());
+  }
+
+  @Test
+  public void testGet_retriedOnReadTimeout() throws IOException {
+    server.delayFirstResponse = true;
+    HttpRequestFactory requestFactory =
+        transport.createRequestFactory(new ApiRequestInitializer(null, 1000, 100, sleeper));
+    assertEquals("{}", requestFactory.buildGetRequest(url).execute().parseAsString());
+    assertEquals(2, server.requests.get());
+    assertEquals(1, sleeps.size());
+  }
+
+  @Test
+  public void testGet_retriesLimited() throws IOException {
+    server.statuses.addAll(Arrays.asList(503, 503, 503, 503, 503));
+    assertStatusCode(503, newRequestFactory(null).buildGetRequest(url));
+    assertEquals(4, server.requests.get());
+  }
+
+  @Test
+  public void testGet_notRetriedOnClientError() throws IOException {
+    server.statuses.add(404);
+    assertStatusCode(404, newRequestFactory(null).buildGetRequest(url));
+    assertEquals(1, server.requests.get());
+    assertTrue(sleeps.isEmpty());
+  }
+
+  @Test
+  public void testPost_notRetried() throws IOException {
+    server.statuses.add(503);
+    assertStatusCode(503, newRequestFactory(null).buildPostRequest(url, new EmptyContent()));
+    assertEquals(1, server.requests.get());
+    assertTrue(sleeps.isEmpty());
+  }
+
+  @Test
+  public void testCredentialHandlesResponseFirst() throws IOException {
+    Credential credential = mock(Credential.class);
+    doAnswer(invocation -> {
+      // like a credential refreshing its token after a 401
+      invocation.getArgumentAt(0, HttpRequest.class).setUnsuccessfulResponseHandler(
+          (request, response, supportsRetry) -> response.getStatusCode() == 401);
+      return null;
+    }).when(credential).initialize(any(HttpRequest.class));
+    server.statuses.add(401);
+
+    assertEquals("{}",
+        newRequestFactory(credential).buildGetRequest(url).execute().parseAsString());
+    assertEquals(2, server.requests.get());
+    assertTrue(sleeps.isEmpty());
+  }
+
+  private HttpRequestFactory newRequestFactory(Credential credential) {
+    return transport.createRequestFactory(
+        new ApiRequestInitializer(credential, 1764, 3528, sleeper));
+  }
+
+  private static void assertStatusCode(int expected, HttpRequest request) throws IOException {
+    try {
+      request.execute();
+      fail();
+    } catch (HttpResponseException ex) {
+      assertEquals(expected, ex.getStatusCode());
+    }
+  }
+
+  /**
+   * An HTTP/1.1 server that keeps connections alive and counts them. Responds to each request with
+   * the next of {@link #statuses}, or with {@code 200 OK} once there are none left.
+   */
+  private static class KeepAliveHttpServer extends ExternalResource {
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    /** If true, the first response is sent only after the client has given up reading it. */
+    private volatile boolean delayFirstResponse;
+    private ServerSocket serverSocket;
+
+    private String getAddress() {
+      return "http://127.0.0.1:" + serverSocket.getLocalPort() + "/";
+    }
+
+    @Override
+    protected void before() throws IOException {
+      serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+      Thread acceptor = new Thread(() -> {
+        try {
+          while (true) {
+            Socket socket = serverSocket.accept();
+            connections.incrementAndGet();
+            Thread handler = new Thread(() -> serve(socket));
+            handler.setDaemon(true);
+            handler.start();
+          }
+        } catch (IOException ex) {
+          // server closed
+        }
+      });
+      acceptor.setDaemon(true);
+      acceptor.start();
+    }
+
+    @Override
+    protected void after() {
+      try {
+        serverSocket.close();
+      } catch (IOException ex) {
+        // ignored
+      }
+    }
+
+    private void serve(Socket socket) {
+      try (Socket closedAtEnd = socket) {
+        InputStream in = socket.getInputStream();
+        OutputStream out = socket.getOutputStream();
+        String header;
+        while ((header = readHeader(in)) != null) {
+          skipBody(in, header);
+          if (requests.incrementAndGet() == 1 && delayFirstResponse) {
+            Thread.sleep(1000);
+          }
+          Integer status = statuses.poll();
+          String head = "HTTP/1.1 " + (status == null ? 200 : status) + " Status\r\n"
+              + "Content-Type: application/json\r\n"
+              + "Content-Length: " + BODY.length + "\r\n\r\n";
+          out.write(head.getBytes(StandardCharsets.US_ASCII));
+          out.write(BODY);
+          out.flush();
+        }
+      } catch (IOException | InterruptedException ex) {
+        // connection closed
+      }
+    }
+
+    /** Returns the request line and headers, or {@code null} if the connection was closed. */
+    private static String readHeader(InputStream in) throws IOException {
+      ByteArrayOutputStream header = new ByteArrayOutputStream();
+      int matched = 0;
+      byte[] end = {'\r', '\n', '\r', '\n'};
+      while (matched < end.length) {
+        int b = in.read();
+        if (b < 0) {
+          return null;
+        }
+        header.write(b);
+        matched = b == end[matched] ? matched + 1 : (b == '\r' ? 1 : 0);
+      }
+      return new String(header.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static void skipBody(InputStream in, String header) throws IOException {
+      for (String line : header.split("\r\n")) {
+        if (line.toLowerCase().startsWith("content-length:")) {
+          int length = Integer.parseInt(line.substring("content-length:".length()).trim());
+          for (int i = 0; i < length; i++) {
+            in.read();
+          }
+        }
+      }
+    }
+  }
+}
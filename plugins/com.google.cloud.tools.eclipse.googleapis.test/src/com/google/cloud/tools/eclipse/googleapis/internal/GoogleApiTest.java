@@ -17,6 +17,7 @@
 package com.google.cloud.tools.eclipse.googleapis.internal;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -27,4 +28,12 @@ public class GoogleApiTest {
       assertNotNull(api.toUri());
     }
   }
+
+  @Test
+  public void testHasTimeouts() {
+    for (GoogleApi api : GoogleApi.values()) {
+      assertTrue(api.getConnectTimeout() > 0);
+      assertTrue(api.getReadTimeout() > 0);
+    }
+  }
 }
@@ -24,12 +24,21 @@ import com.google.api.services.servicemanagement.ServiceManagement.Services;
 import com.google.api.services.servicemanagement.model.ListServicesResponse;
 import com.google.api.services.servicemanagement.model.ManagedService;
 import com.google.cloud.tools.eclipse.util.jobs.FuturisticJob;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 /**
  * Request the list of services enabled on a GCP project. On success, the {@link #getFuture() job's
@@ -45,8 +54,25 @@ import org.eclipse.core.runtime.IProgressMonitor;
  * <pre>
  * $ gcloud service-management list --log-http --project foo
  * </pre>
+ * <p>
+ * The services of a project are remembered for {@link #TTL_MINUTES} minutes per credential, so
+ * that selecting a project again does not page through its services again. Jobs checking the same
+ * project at the same time share a single listing. Use {@link #invalidate(Credential, String)} once
+ * the services of a project may have changed.
  */
 public class GcpProjectServicesJob extends FuturisticJob<List<String>> {
+  @VisibleForTesting
+  static final long TTL_MINUTES = 5;
+
+  /** Service IDs keyed by {@code [credential, projectId]}. */
+  private static final Cache<List<Object>, List<String>> enabledServices =
+      CacheBuilder.newBuilder().expireAfterWrite(TTL_MINUTES, TimeUnit.MINUTES).build();
+
+  /** Forgets the services enabled on {@code projectId} as seen with {@code credential}. */
+  public static void invalidate(Credential credential, String projectId) {
+    enabledServices.invalidate(Arrays.asList(credential, projectId));
+  }
+
   private final IGoogleApiFactory apiFactory;
 
   /** The GCP Project ID to check. */
@@ -76,6 +102,26 @@ public class GcpProjectServicesJob extends FuturisticJob<List<String>> {
   @Override
   protected List<String> compute(IProgressMonitor monitor)
       throws GoogleJsonResponseException, IOException {
+    while (true) {
+      try {
+        return enabledServices.get(Arrays.asList(credential, projectId),
+            () -> fetchServices(monitor));
+      } catch (ExecutionException | UncheckedExecutionException ex) {
+        if (ex.getCause() instanceof OperationCanceledException) {
+          // the listing may have been started and cancelled by another job; try again unless
+          // this job was cancelled too
+          checkCancelled(monitor);
+          continue;
+        }
+        Throwables.throwIfInstanceOf(ex.getCause(), IOException.class);
+        Throwables.throwIfUnchecked(ex.getCause());
+        throw new IOException(ex.getCause());
+      }
+    }
+  }
+
+  private List<String> fetchServices(IProgressMonitor monitor)
+      throws GoogleJsonResponseException, IOException {
     String originalProjectId = this.projectId;
     ServiceManagement serviceManagement = apiFactory.newServiceManagementApi(credential);
     ListServicesResponse response = null;
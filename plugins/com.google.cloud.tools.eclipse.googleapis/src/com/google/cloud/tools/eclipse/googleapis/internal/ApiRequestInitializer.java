@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.HttpBackOffIOExceptionHandler;
+import com.google.api.client.http.HttpBackOffUnsuccessfulResponseHandler;
+import com.google.api.client.http.HttpBackOffUnsuccessfulResponseHandler.BackOffRequired;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpUnsuccessfulResponseHandler;
+import com.google.api.client.util.BackOff;
+import com.google.api.client.util.ExponentialBackOff;
+import com.google.api.client.util.Sleeper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+
+/**
+ * Prepares the requests of a Google API client: authorizes them with the user's credential,
+ * applies the {@link GoogleApi#getConnectTimeout() timeouts of the API}, and retries idempotent
+ * requests with exponential back-off when they fail with an I/O error or a server error.
+ */
+class ApiRequestInitializer implements HttpRequestInitializer {
+
+  private static final int MAX_RETRIES = 3;
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final ImmutableSet<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD");
+
+  private final Credential credential;
+  private final int connectTimeout;
+  private final int readTimeout;
+  private final Sleeper sleeper;
+
+  /**
+   * @param credential the credential authorizing the requests; may be {@code null}
+   */
+  ApiRequestInitializer(Credential credential, GoogleApi api) {
+    this(credential, api.getConnectTimeout(), api.getReadTimeout(), Sleeper.DEFAULT);
+  }
+
+  @VisibleForTesting
+  ApiRequestInitializer(Credential credential, int connectTimeout, int readTimeout,
+      Sleeper sleeper) {
+    this.credential = credential;
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.sleeper = sleeper;
+  }
+
+  @Override
+  public void initialize(HttpRequest request) throws IOException {
+    if (credential != null) {
+      credential.initialize(request);
+    }
+    request.setConnectTimeout(connectTimeout);
+    request.setReadTimeout(readTimeout);
+    request.setNumberOfRetries(MAX_RETRIES);
+
+    // the request method is only set after initialization, so it is checked when a request fails
+    HttpUnsuccessfulResponseHandler credentialHandler = request.getUnsuccessfulResponseHandler();
+    HttpUnsuccessfulResponseHandler backOffHandler =
+        new HttpBackOffUnsuccessfulResponseHandler(newBackOff())
+            .setBackOffRequired(response -> isIdempotent(response.getRequest())
+                && (BackOffRequired.ON_SERVER_ERROR.isRequired(response)
+                    || response.getStatusCode() == TOO_MANY_REQUESTS))
+            .setSleeper(sleeper);
+    request.setUnsuccessfulResponseHandler((failedRequest, response, supportsRetry) ->
+        (credentialHandler != null
+            && credentialHandler.handleResponse(failedRequest, response, supportsRetry))
+        || backOffHandler.handleResponse(failedRequest, response, supportsRetry));
+
+    HttpBackOffIOExceptionHandler ioExceptionHandler =
+        new HttpBackOffIOExceptionHandler(newBackOff()).setSleeper(sleeper);
+    request.setIOExceptionHandler((failedRequest, supportsRetry) ->
+        isIdempotent(failedRequest)
+        && ioExceptionHandler.handleIOException(failedRequest, supportsRetry));
+  }
+
+  private static boolean isIdempotent(HttpRequest request) {
+    return IDEMPOTENT_METHODS.contains(request.getRequestMethod());
+  }
+
+  private static BackOff newBackOff() {
+    return new ExponentialBackOff.Builder()
+        .setInitialIntervalMillis(250)
+        .setMaxIntervalMillis(2000)
+        .setMaxElapsedTimeMillis(10_000)
+        .build();
+  }
+}
@@ -31,6 +31,7 @@ import java.net.URISyntaxException;
  * <li>The API name, for use in UI.</li>
  * <li>The base endpoint used for access, for determining proxying requirements.</li>
  * <li>The service-management ID to check for project API enablement.</li>
+ * <li>The connect and read timeouts of requests to the API.</li>
  * </ol>
  */
 public enum GoogleApi {
@@ -38,20 +39,36 @@ public enum GoogleApi {
   DATAFLOW_API(Dataflow.DEFAULT_BASE_URL, "dataflow.googleapis.com"),
   CLOUDRESOURCE_MANAGER_API(
       CloudResourceManager.DEFAULT_BASE_URL, "cloudresourcemanager.googleapis.com"),
-  CLOUD_STORAGE_API(Storage.DEFAULT_BASE_URL, "storage-api.googleapis.com"),
+  // bucket listings and object transfers can take a while to start sending data
+  CLOUD_STORAGE_API(Storage.DEFAULT_BASE_URL, "storage-api.googleapis.com",
+      Timeouts.CONNECT_MS, 60_000),
   SERVICE_MANAGEMENT_API(ServiceManagement.DEFAULT_BASE_URL, "servicemanagement.googleapis.com"),
   IAM_API(Iam.DEFAULT_BASE_URL, "iam.googleapis.com");
 
+  /** Default timeouts, in a nested class so that the enum constants can refer to them. */
+  private static class Timeouts {
+    private static final int CONNECT_MS = 5_000;
+    private static final int READ_MS = 20_000;
+  }
+
   private final URI uri;
   private final String serviceId;
+  private final int connectTimeout;
+  private final int readTimeout;
 
   private GoogleApi(String url, String serviceId) {
+    this(url, serviceId, Timeouts.CONNECT_MS, Timeouts.READ_MS);
+  }
+
+  private GoogleApi(String url, String serviceId, int connectTimeout, int readTimeout) {
     try {
       uri = new URI(url);
     } catch (URISyntaxException ex) {
       throw new RuntimeException("Fix URL");
     }
     this.serviceId = serviceId;
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
   }
 
   /**
@@ -65,4 +82,14 @@ public enum GoogleApi {
   public URI toUri() {
     return uri;
   }
+
+  /** Returns the time in milliseconds to wait for a connection to the API to be established. */
+  public int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  /** Returns the time in milliseconds to wait for data from the API once connected. */
+  public int getReadTimeout() {
+    return readTimeout;
+  }
 }
@@ -77,9 +77,9 @@ public class GoogleApiFactory implements IGoogleApiFactory {
   public void init() {
     // NetHttpTransport advises: "For maximum efficiency, applications should use a single
     // globally-shared instance of the HTTP transport." But as we need a separate proxy per URL,
-    // we cannot reuse the same httptransport.
-    transportCache =
-        CacheBuilder.newBuilder().weakValues().build(new TransportCacheLoader(proxyFactory));
+    // we cannot reuse the same httptransport. The transports are held strongly until the proxy
+    // settings change, so that every client of an API shares the same keep-alive connections.
+    transportCache = CacheBuilder.newBuilder().build(new TransportCacheLoader(proxyFactory));
   }
 
   @Override
@@ -90,7 +90,8 @@ public class GoogleApiFactory implements IGoogleApiFactory {
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
 
     CloudResourceManager resourceManager =
-        new CloudResourceManager.Builder(transport, jsonFactory, credential)
+        new CloudResourceManager.Builder(transport, jsonFactory,
+            new ApiRequestInitializer(credential, GoogleApi.CLOUDRESOURCE_MANAGER_API))
             .setApplicationName(CloudToolsInfo.USER_AGENT).build();
     return resourceManager.projects();
   }
@@ -102,7 +103,8 @@ public class GoogleApiFactory implements IGoogleApiFactory {
     Preconditions.checkNotNull(transport, "transport is null");
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
 
-    Storage.Builder builder = new Storage.Builder(transport, jsonFactory, credential)
+    Storage.Builder builder = new Storage.Builder(transport, jsonFactory,
+        new ApiRequestInitializer(credential, GoogleApi.CLOUD_STORAGE_API))
         .setApplicationName(CloudToolsInfo.USER_AGENT);
     Storage storage = builder.build();
     return storage;
@@ -116,7 +118,8 @@ public class GoogleApiFactory implements IGoogleApiFactory {
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
 
     Appengine appengine =
-        new Appengine.Builder(transport, jsonFactory, credential)
+        new Appengine.Builder(transport, jsonFactory,
+            new ApiRequestInitializer(credential, GoogleApi.APPENGINE_ADMIN_API))
             .setApplicationName(CloudToolsInfo.USER_AGENT).build();
     return appengine.apps();
   }
@@ -129,7 +132,8 @@ public class GoogleApiFactory implements IGoogleApiFactory {
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
 
     ServiceManagement serviceManagement =
-        new ServiceManagement.Builder(transport, jsonFactory, credential)
+        new ServiceManagement.Builder(transport, jsonFactory,
+            new ApiRequestInitializer(credential, GoogleApi.SERVICE_MANAGEMENT_API))
             .setApplicationName(CloudToolsInfo.USER_AGENT).build();
     return serviceManagement;
   }
@@ -141,7 +145,8 @@ public class GoogleApiFactory implements IGoogleApiFactory {
     Preconditions.checkNotNull(transport, "transport is null");
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
 
-    Iam iam = new Iam.Builder(transport, jsonFactory, credential)
+    Iam iam = new Iam.Builder(transport, jsonFactory,
+        new ApiRequestInitializer(credential, GoogleApi.IAM_API))
         .setApplicationName(CloudToolsInfo.USER_AGENT).build();
     return iam;
   }
@@ -33,8 +33,8 @@ class TransportCacheLoader extends CacheLoader<GoogleApi, HttpTransport> {
   // "get()": https://github.com/GoogleCloudPlatform/google-cloud-eclipse/issues/2130
   @Override
   public HttpTransport load(GoogleApi url) {
-    ConnectionFactory connectionFactory =
-        new TimeoutAwareConnectionFactory(proxyFactory.createProxy(url.toUri()));
+    ConnectionFactory connectionFactory = new TimeoutAwareConnectionFactory(
+        proxyFactory.createProxy(url.toUri()), url.getConnectTimeout(), url.getReadTimeout());
     return new NetHttpTransport.Builder().setConnectionFactory(connectionFactory).build();
   }
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.login.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AvatarImageCacheTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testScale_smallImageUnchanged() {
+    ImageData imageData = LabelImageLoaderTest.someImageData;
+    assertSame(imageData, AvatarImageCache.scale(imageData));
+  }
+
+  @Test
+  public void testScale_keepsAspectRatio() {
+    ImageData imageData = new ImageData(512, 256, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+    ImageData thumbnail = AvatarImageCache.scale(imageData);
+    assertEquals(AvatarImageCache.MAX_THUMBNAIL_SIZE, thumbnail.width);
+    assertEquals(AvatarImageCache.MAX_THUMBNAIL_SIZE / 2, thumbnail.height);
+  }
+
+  @Test
+  public void testStore_keptInMemory() {
+    AvatarImageCache cache = newCache(null, AvatarImageCache.MAX_DISK_BYTES);
+    ImageData stored = cache.store("http://example.com/a", LabelImageLoaderTest.someImageData);
+    assertSame(stored, cache.getIfPresent("http://example.com/a"));
+    assertNull(cache.getIfPresent("http://example.com/b"));
+    assertNull(cache.loadFromDisk("http://example.com/a"));
+  }
+
+  @Test
+  public void testStore_savedOnDisk() {
+    Path directory = tempFolder.getRoot().toPath();
+    newCache(directory, AvatarImageCache.MAX_DISK_BYTES)
+        .store("http://example.com/a", LabelImageLoaderTest.someImageData);
+
+    AvatarImageCache cache = newCache(directory, AvatarImageCache.MAX_DISK_BYTES);
+    assertNull(cache.getIfPresent("http://example.com/a"));
+    ImageData loaded = cache.loadFromDisk("http://example.com/a");
+    assertNotNull(loaded);
+    assertEquals(1, loaded.width);
+    assertSame(loaded, cache.getIfPresent("http://example.com/a"));
+    assertNull(cache.loadFromDisk("http://example.com/b"));
+  }
+
+  @Test
+  public void testLoadFromDisk_unreadableFileDiscarded() throws IOException {
+    Path directory = tempFolder.getRoot().toPath();
+    newCache(directory, AvatarImageCache.MAX_DISK_BYTES)
+        .store("http://example.com/a", LabelImageLoaderTest.someImageData);
+    Path file = listFiles(directory).iterator().next();
+    Files.write(file, "not an image".getBytes(StandardCharsets.UTF_8));
+
+    assertNull(newCache(directory, AvatarImageCache.MAX_DISK_BYTES)
+        .loadFromDisk("http://example.com/a"));
+    assertEquals(0, listFiles(directory).size());
+  }
+
+  @Test
+  public void testStore_leastRecentlyUsedDeleted() throws IOException {
+    Path directory = tempFolder.getRoot().toPath();
+    newCache(directory, AvatarImageCache.MAX_DISK_BYTES)
+        .store("http://example.com/size", LabelImageLoaderTest.someImageData);
+    Path sizeFile = listFiles(directory).iterator().next();
+    long fileSize = Files.size(sizeFile);
+    Files.delete(sizeFile);
+
+    // room for three and a half files
+    long maxDiskBytes = fileSize * 7 / 2;
+    AvatarImageCache cache = newCache(directory, maxDiskBytes);
+    Path fileA = storeAndAge(cache, directory, "http://example.com/a", 3);
+    Path fileB = storeAndAge(cache, directory, "http://example.com/b", 2);
+    Path fileC = storeAndAge(cache, directory, "http://example.com/c", 1);
+    // reading A makes B the least recently used
+    assertNotNull(newCache(directory, maxDiskBytes).loadFromDisk("http://example.com/a"));
+
+    cache.store("http://example.com/d", LabelImageLoaderTest.someImageData);
+    Set<Path> files = listFiles(directory);
+    assertEquals(3, files.size());
+    assertTrue(files.contains(fileA));
+    assertFalse(files.contains(fileB));
+    assertTrue(files.contains(fileC));
+  }
+
+  private static AvatarImageCache newCache(Path directory, long maxDiskBytes) {
+    return new AvatarImageCache(directory, AvatarImageCache.MAX_MEMORY_BYTES, maxDiskBytes);
+  }
+
+  /** Stores an image and makes its file look last used {@code hoursAgo} hours ago. */
+  private static Path storeAndAge(AvatarImageCache cache, Path directory, String imageUrl,
+      int hoursAgo) throws IOException {
+    Set<Path> before = listFiles(directory);
+    cache.store(imageUrl, LabelImageLoaderTest.someImageData);
+    Set<Path> added = new HashSet<>(listFiles(directory));
+    added.removeAll(before);
+    Path file = added.iterator().next();
+    Files.setLastModifiedTime(file, FileTime.fromMillis(
+        System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hoursAgo)));
+    return file;
+  }
+
+  private static Set<Path> listFiles(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.collect(Collectors.toSet());
+    }
+  }
+}
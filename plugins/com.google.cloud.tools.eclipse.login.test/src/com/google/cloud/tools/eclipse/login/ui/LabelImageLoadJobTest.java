@@ -18,93 +18,78 @@ package com.google.cloud.tools.eclipse.login.ui;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
-import com.google.cloud.tools.eclipse.test.util.ui.ShellTestResource;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.ExecutionException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.swt.SWT;
-import org.eclipse.swt.graphics.Image;
-import org.eclipse.swt.widgets.Label;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class LabelImageLoadJobTest {
 
-  @Rule public ShellTestResource shellResource = new ShellTestResource();
   @Rule public TestHttpServer server = new TestHttpServer(
       "sample.gif", LabelImageLoaderTest.someImageBytes);
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
 
+  private AvatarImageCache cache;
   private LabelImageLoadJob loadJob;
-  private Label label;
   private URL url;
 
   @Before
   public void setUp() throws MalformedURLException {
-    label = new Label(shellResource.getShell(), SWT.NONE);
+    cache = new AvatarImageCache(tempFolder.getRoot().toPath(),
+        AvatarImageCache.MAX_MEMORY_BYTES, AvatarImageCache.MAX_DISK_BYTES);
     url = new URL(server.getAddress() + "sample.gif");
   }
 
   @After
   public void tearDown() {
     assertEquals(Job.NONE, loadJob.getState());
-
-    if (!label.isDisposed()) {
-      Image image = label.getImage();
-      label.dispose();
-      if (image != null) {
-        assertTrue("FIX BUG: DisposeListener didn't run?", image.isDisposed());
-      }
-    }
-
-    LabelImageLoader.cache.clear();
   }
 
   @Test
   public void testRun_imageStoredInCache() throws InterruptedException {
-    assertTrue(LabelImageLoader.cache.isEmpty());
-
-    loadJob = new LabelImageLoadJob(url, label);
-    runAndWaitJob();
-    assertNotNull(LabelImageLoader.cache.get(url.toString()));
-  }
+    assertNull(cache.getIfPresent(url.toString()));
 
-  @Test
-  public void testRun_imageLoaded() throws InterruptedException {
-    loadJob = new LabelImageLoadJob(url, label);
-    runAndWaitJob();
-    assertNotNull(label.getImage());
+    loadJob = cache.load(url);
+    waitJob();
+    assertNotNull(cache.getIfPresent(url.toString()));
+    assertTrue(tempFolder.getRoot().list().length > 0);
   }
 
   @Test
-  public void testRun_imageDisposedByDisposeListener() throws InterruptedException {
-    loadJob = new LabelImageLoadJob(url, label);
-    runAndWaitJob();
-    Image image = label.getImage();
-    label.dispose();
-    assertTrue(image.isDisposed());
+  public void testRun_imageDataCompleted() throws InterruptedException, ExecutionException {
+    loadJob = cache.load(url);
+    waitJob();
+    assertSame(cache.getIfPresent(url.toString()), loadJob.getImageData().get());
   }
 
   @Test
-  public void testRun_noErrorIfLabelIsAlreadyDisposed()
-      throws MalformedURLException, InterruptedException {
-    loadJob = new LabelImageLoadJob(new URL(server.getAddress() + "sample.gif"), label);
-
-    label.dispose();
-    runAndWaitJob();
+  public void testLoad_newJobOnceDone() throws InterruptedException {
+    loadJob = cache.load(url);
+    waitJob();
+    LabelImageLoadJob firstJob = loadJob;
+
+    // found on disk this time
+    cache = new AvatarImageCache(tempFolder.getRoot().toPath(),
+        AvatarImageCache.MAX_MEMORY_BYTES, AvatarImageCache.MAX_DISK_BYTES);
+    loadJob = cache.load(url);
+    waitJob();
+    assertTrue(firstJob != loadJob);
+    assertNotNull(cache.getIfPresent(url.toString()));
   }
 
-  private void runAndWaitJob() throws InterruptedException {
-    loadJob.schedule();
-    while (!loadJob.join(100, null)) {  // spin and dispatch UI events
-      while (shellResource.getDisplay().readAndDispatch()) {
-      }  // spin
-    }
+  private void waitJob() throws InterruptedException {
+    loadJob.join();
     assertEquals(Status.OK_STATUS, loadJob.getResult());
   }
 }
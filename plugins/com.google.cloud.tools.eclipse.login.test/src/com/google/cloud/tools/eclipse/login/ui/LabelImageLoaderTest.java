@@ -16,10 +16,8 @@
 
 package com.google.cloud.tools.eclipse.login.ui;
 
-import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
-import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -49,7 +47,9 @@ public class LabelImageLoaderTest {
 
   @Rule public ShellTestResource shellResource = new ShellTestResource();
 
-  private final LabelImageLoader imageLoader = new LabelImageLoader();
+  private final AvatarImageCache cache = new AvatarImageCache(null,
+      AvatarImageCache.MAX_MEMORY_BYTES, AvatarImageCache.MAX_DISK_BYTES);
+  private final LabelImageLoader imageLoader = new LabelImageLoader(cache);
   private Label label;
 
   @Before
@@ -64,8 +64,6 @@ public class LabelImageLoaderTest {
     if (image != null) {
       assertTrue("FIX BUG: DisposeListener didn't run?", image.isDisposed());
     }
-
-    LabelImageLoader.cache.clear();
   }
 
   @Test
@@ -86,17 +84,9 @@ public class LabelImageLoaderTest {
     }
   }
 
-  @Test
-  public void testStoreInCache() {
-    assertTrue(LabelImageLoader.cache.isEmpty());
-    LabelImageLoader.storeInCache("http://example.com", someImageData);
-    assertEquals(1, LabelImageLoader.cache.size());
-    assertSame(someImageData, LabelImageLoader.cache.get("http://example.com"));
-  }
-
   @Test
   public void testLoadImage_notAsyncIfCached() throws MalformedURLException {
-    LabelImageLoader.storeInCache("http://example.com", someImageData);
+    cache.store("http://example.com", someImageData);
 
     imageLoader.loadImage("http://example.com", label);
     assertNull(imageLoader.loadJob);
@@ -17,6 +17,7 @@
 package com.google.cloud.tools.eclipse.login.ui;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
@@ -29,6 +30,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class LabelImageLoaderWithServerTest {
 
@@ -36,11 +38,16 @@ public class LabelImageLoaderWithServerTest {
   @Rule public TestHttpServer server = new TestHttpServer(
       "sample.gif", LabelImageLoaderTest.someImageBytes);
 
-  private final LabelImageLoader imageLoader = new LabelImageLoader();
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private AvatarImageCache cache;
+  private LabelImageLoader imageLoader;
   private Label label;
 
   @Before
   public void setUp() {
+    cache = newCache();
+    imageLoader = new LabelImageLoader(cache);
     label = new Label(shellResource.getShell(), SWT.NONE);
   }
 
@@ -51,8 +58,6 @@ public class LabelImageLoaderWithServerTest {
     if (image != null) {
       assertTrue("FIX BUG: DisposeListener didn't run?", image.isDisposed());
     }
-
-    LabelImageLoader.cache.clear();
   }
 
   @Test
@@ -62,11 +67,56 @@ public class LabelImageLoaderWithServerTest {
     waitJob();
 
     assertNotNull(label.getImage());
+    assertNotNull(cache.getIfPresent(server.getAddress() + "sample.gif"));
+  }
+
+  @Test
+  public void testLoadImage_concurrentLoadsShareFetch()
+      throws MalformedURLException, InterruptedException {
+    Label otherLabel = new Label(shellResource.getShell(), SWT.NONE);
+    LabelImageLoader otherImageLoader = new LabelImageLoader(cache);
+
+    imageLoader.loadImage(server.getAddress() + "sample.gif", label);
+    otherImageLoader.loadImage(server.getAddress() + "sample.gif", otherLabel);
+    assertSame(imageLoader.loadJob, otherImageLoader.loadJob);
+    waitJob();
+
+    assertNotNull(label.getImage());
+    assertNotNull(otherLabel.getImage());
+    otherLabel.dispose();
+  }
+
+  @Test
+  public void testLoadImage_savedOnDisk() throws MalformedURLException, InterruptedException {
+    imageLoader.loadImage(server.getAddress() + "sample.gif", label);
+    waitJob();
+
+    // as if after a restart: found on disk, without fetching it again
+    assertNotNull(newCache().loadFromDisk(server.getAddress() + "sample.gif"));
+  }
+
+  @Test
+  public void testLoadImage_labelDisposedBeforeLoaded()
+      throws MalformedURLException, InterruptedException {
+    imageLoader.loadImage(server.getAddress() + "sample.gif", label);
+    label.dispose();
+    waitJob();
+
+    assertNotNull(cache.getIfPresent(server.getAddress() + "sample.gif"));
+    label = new Label(shellResource.getShell(), SWT.NONE);  // for tearDown()
+  }
+
+  private AvatarImageCache newCache() {
+    return new AvatarImageCache(tempFolder.getRoot().toPath(),
+        AvatarImageCache.MAX_MEMORY_BYTES, AvatarImageCache.MAX_DISK_BYTES);
   }
 
   private void waitJob() throws InterruptedException {
     while (!imageLoader.loadJob.join(100, null)) {  // spin to dispatch UI events
       shellResource.getDisplay().readAndDispatch();
     }
+    // labels are updated asynchronously once the job is done
+    while (shellResource.getDisplay().readAndDispatch()) {
+    }
   }
 }
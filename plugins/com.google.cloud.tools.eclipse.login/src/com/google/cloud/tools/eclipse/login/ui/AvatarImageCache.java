@@ -0,0 +1,228 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.login.ui;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Avatar images shared by all the account selectors and panels. Images are kept in memory up to
+ * {@link #MAX_MEMORY_BYTES}, and as thumbnails of at most {@link #MAX_THUMBNAIL_SIZE} pixels in
+ * PNG files in the bundle state location up to {@link #MAX_DISK_BYTES}; the least recently used
+ * files are deleted first. An image that is not known yet is fetched by a single
+ * {@link LabelImageLoadJob}, however many labels are waiting for it.
+ */
+class AvatarImageCache {
+
+  private static final Logger logger = Logger.getLogger(AvatarImageCache.class.getName());
+
+  @VisibleForTesting
+  static final long MAX_MEMORY_BYTES = 2 * 1024 * 1024;
+  @VisibleForTesting
+  static final long MAX_DISK_BYTES = 4 * 1024 * 1024;
+  @VisibleForTesting
+  static final int MAX_THUMBNAIL_SIZE = 128;
+
+  private static final String FILE_EXTENSION = ".png";
+
+  private static AvatarImageCache instance;
+
+  static synchronized AvatarImageCache getDefault() {
+    if (instance == null) {
+      Path directory =
+          Platform.getStateLocation(FrameworkUtil.getBundle(AvatarImageCache.class))
+              .append("avatars").toFile().toPath();
+      instance = new AvatarImageCache(directory, MAX_MEMORY_BYTES, MAX_DISK_BYTES);
+    }
+    return instance;
+  }
+
+  private final Path directory;
+  private final long maxDiskBytes;
+  private final Cache<String, ImageData> images;
+  private final ConcurrentHashMap<String, LabelImageLoadJob> loadJobs = new ConcurrentHashMap<>();
+
+  /**
+   * @param directory where thumbnails are saved; if {@code null}, images are only kept in memory
+   */
+  @VisibleForTesting
+  AvatarImageCache(Path directory, long maxMemoryBytes, long maxDiskBytes) {
+    this.directory = directory;
+    this.maxDiskBytes = maxDiskBytes;
+    images = CacheBuilder.newBuilder()
+        .maximumWeight(maxMemoryBytes)
+        .weigher((String url, ImageData imageData) -> getSize(imageData))
+        .build();
+  }
+
+  /** Returns the image at {@code imageUrl} if it is in memory, or {@code null}. */
+  ImageData getIfPresent(String imageUrl) {
+    return images.getIfPresent(imageUrl);
+  }
+
+  /**
+   * Returns the job loading the image at {@code imageUrl}, scheduling a new one unless the image
+   * is already being loaded.
+   */
+  LabelImageLoadJob load(URL imageUrl) {
+    return loadJobs.computeIfAbsent(imageUrl.toString(), key -> {
+      LabelImageLoadJob job = new LabelImageLoadJob(imageUrl, this);
+      job.schedule();
+      return job;
+    });
+  }
+
+  /** Called by a {@link LabelImageLoadJob} once it is done. */
+  void loaded(LabelImageLoadJob job) {
+    loadJobs.remove(job.getImageUrl().toString(), job);
+  }
+
+  /** Reads the thumbnail of {@code imageUrl} from disk; returns {@code null} if there is none. */
+  ImageData loadFromDisk(String imageUrl) {
+    if (directory == null) {
+      return null;
+    }
+    Path file = getFile(imageUrl);
+    if (!Files.exists(file)) {
+      return null;
+    }
+    try (InputStream in = Files.newInputStream(file)) {
+      ImageData imageData = new ImageLoader().load(in)[0];
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+      images.put(imageUrl, imageData);
+      return imageData;
+    } catch (IOException | SWTException ex) {
+      logger.log(Level.FINE, "Discarding unreadable avatar image: " + file, ex);
+      deleteQuietly(file);
+      return null;
+    }
+  }
+
+  /**
+   * Keeps a thumbnail of {@code imageData} in memory and on disk.
+   *
+   * @return the thumbnail
+   */
+  ImageData store(String imageUrl, ImageData imageData) {
+    ImageData thumbnail = scale(imageData);
+    images.put(imageUrl, thumbnail);
+    if (directory != null) {
+      try {
+        Files.createDirectories(directory);
+        Path file = getFile(imageUrl);
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+          ImageLoader imageLoader = new ImageLoader();
+          imageLoader.data = new ImageData[] {thumbnail};
+          imageLoader.save(out, SWT.IMAGE_PNG);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        trimDiskUsage();
+      } catch (IOException | SWTException ex) {
+        logger.log(Level.FINE, "Failed to save avatar image of " + imageUrl, ex);
+      }
+    }
+    return thumbnail;
+  }
+
+  @VisibleForTesting
+  static ImageData scale(ImageData imageData) {
+    int largest = Math.max(imageData.width, imageData.height);
+    if (largest <= MAX_THUMBNAIL_SIZE) {
+      return imageData;
+    }
+    int width = Math.max(1, imageData.width * MAX_THUMBNAIL_SIZE / largest);
+    int height = Math.max(1, imageData.height * MAX_THUMBNAIL_SIZE / largest);
+    return imageData.scaledTo(width, height);
+  }
+
+  /** Deletes the least recently used thumbnails until they use at most the allowed space. */
+  private void trimDiskUsage() throws IOException {
+    List<Path> files = new ArrayList<>();
+    long totalBytes = 0;
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+      for (Path file : stream) {
+        files.add(file);
+        totalBytes += Files.size(file);
+      }
+    }
+    if (totalBytes <= maxDiskBytes) {
+      return;
+    }
+    files.sort(Comparator.comparing(AvatarImageCache::getLastModifiedTime));
+    for (Path file : files) {
+      if (totalBytes <= maxDiskBytes) {
+        break;
+      }
+      long size = Files.size(file);
+      if (deleteQuietly(file)) {
+        totalBytes -= size;
+      }
+    }
+  }
+
+  private Path getFile(String imageUrl) {
+    String name = Hashing.sha256().hashString(imageUrl, StandardCharsets.UTF_8).toString();
+    return directory.resolve(name + FILE_EXTENSION);
+  }
+
+  private static int getSize(ImageData imageData) {
+    return imageData.data.length + (imageData.alphaData == null ? 0 : imageData.alphaData.length);
+  }
+
+  private static FileTime getLastModifiedTime(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException ex) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  private static boolean deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+      return true;
+    } catch (IOException ex) {
+      logger.log(Level.FINE, "Failed to delete avatar image: " + file, ex);
+      return false;
+    }
+  }
+}
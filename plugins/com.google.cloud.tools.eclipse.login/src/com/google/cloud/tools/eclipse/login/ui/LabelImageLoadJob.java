@@ -17,53 +17,80 @@
 package com.google.cloud.tools.eclipse.login.ui;
 
 import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.jdt.internal.ui.viewsupport.ImageDisposer;
-import org.eclipse.jface.resource.ImageDescriptor;
-import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.ImageData;
-import org.eclipse.swt.widgets.Display;
-import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.graphics.ImageLoader;
 
+/**
+ * Loads an image into an {@link AvatarImageCache}, from disk if it was saved before and otherwise
+ * from its URL. The {@link #getImageData() result} is {@code null} if the image cannot be loaded.
+ */
 class LabelImageLoadJob extends Job {
 
-  private final URL imageUrl;
-  private final Label label;
-  private final Display display;
+  private static final Logger logger = Logger.getLogger(LabelImageLoadJob.class.getName());
 
-  private ImageData imageData;
+  private static final int TIMEOUT_MS = 10000;
 
-  LabelImageLoadJob(URL imageUrl, Label label) {
+  private final URL imageUrl;
+  private final AvatarImageCache cache;
+  private final CompletableFuture<ImageData> imageData = new CompletableFuture<>();
+
+  LabelImageLoadJob(URL imageUrl, AvatarImageCache cache) {
     super("Google User Profile Picture Fetch Job");
     this.imageUrl = Preconditions.checkNotNull(imageUrl);
-    this.label = label;
-    display = label.getDisplay();  // Save display early while "label" is alive.
+    this.cache = Preconditions.checkNotNull(cache);
+  }
+
+  URL getImageUrl() {
+    return imageUrl;
+  }
+
+  /** Completes once the image is loaded; listeners are called in the job thread. */
+  CompletableFuture<ImageData> getImageData() {
+    return imageData;
   }
 
   @Override
   protected IStatus run(IProgressMonitor monitor) {
-    ImageDescriptor descriptor = ImageDescriptor.createFromURL(imageUrl);
-    imageData = descriptor.getImageData();
-    if (imageData != null) {
-      LabelImageLoader.storeInCache(imageUrl.toString(), imageData);
-      display.syncExec(new SetImageRunnable());
+    ImageData result = null;
+    try {
+      String key = imageUrl.toString();
+      result = cache.loadFromDisk(key);
+      if (result == null) {
+        ImageData downloaded = download();
+        if (downloaded != null) {
+          result = cache.store(key, downloaded);
+        }
+      }
+    } finally {
+      cache.loaded(this);
+      imageData.complete(result);
     }
     return Status.OK_STATUS;
   }
 
-  private class SetImageRunnable implements Runnable {
-
-    @Override
-    public void run() {
-      if (!label.isDisposed()) {
-        Image image = new Image(label.getDisplay(), imageData);
-        label.addDisposeListener(new ImageDisposer(image));
-        label.setImage(image);
+  private ImageData download() {
+    try {
+      URLConnection connection = imageUrl.openConnection();
+      connection.setConnectTimeout(TIMEOUT_MS);
+      connection.setReadTimeout(TIMEOUT_MS);
+      try (InputStream in = connection.getInputStream()) {
+        return new ImageLoader().load(in)[0];
       }
+    } catch (IOException | SWTException ex) {
+      logger.log(Level.FINE, "Failed to fetch avatar image: " + imageUrl, ex);
+      return null;
     }
   }
 }
@@ -20,25 +20,35 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDisposer;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 
 @VisibleForTesting
 public class LabelImageLoader {
 
-  @VisibleForTesting
-  final static ConcurrentHashMap<String, ImageData> cache = new ConcurrentHashMap<>();
+  private final AvatarImageCache cache;
 
   @VisibleForTesting
   Job loadJob;
 
+  public LabelImageLoader() {
+    this(AvatarImageCache.getDefault());
+  }
+
+  @VisibleForTesting
+  LabelImageLoader(AvatarImageCache cache) {
+    this.cache = cache;
+  }
+
   /**
    * Loads an image to a {@link Label}. The image will be fetched from {@code imageUrl}
-   * asynchronously if not previously cached.
+   * asynchronously if not previously cached, and set once fetched unless the label has been
+   * disposed by then. Labels waiting for the same image share a single fetch.
    *
    * Must be called in the UI context.
    */
@@ -46,18 +56,32 @@ public class LabelImageLoader {
   public void loadImage(String imageUrl, Label label) throws MalformedURLException {
     Preconditions.checkNotNull(imageUrl);
 
-    ImageData imageData = cache.get(imageUrl);
+    ImageData imageData = cache.getIfPresent(imageUrl);
     if (imageData != null) {
-      Image image = new Image(label.getDisplay(), imageData);
-      label.addDisposeListener(new ImageDisposer(image));
-      label.setImage(image);
+      setImage(label, imageData);
     } else {
-      loadJob = new LabelImageLoadJob(new URL(imageUrl), label);
-      loadJob.schedule();
+      LabelImageLoadJob job = cache.load(new URL(imageUrl));
+      loadJob = job;
+      Display display = label.getDisplay();
+      job.getImageData().thenAccept(loaded -> {
+        if (loaded != null && !display.isDisposed()) {
+          try {
+            display.asyncExec(() -> {
+              if (!label.isDisposed()) {
+                setImage(label, loaded);
+              }
+            });
+          } catch (SWTException ex) {
+            // display disposed in the meantime
+          }
+        }
+      });
     }
   }
 
-  static void storeInCache(String imageUrl, ImageData imageData) {
-    cache.put(imageUrl, imageData);
+  private static void setImage(Label label, ImageData imageData) {
+    Image image = new Image(label.getDisplay(), imageData);
+    label.addDisposeListener(new ImageDisposer(image));
+    label.setImage(image);
   }
 }
@@ -120,6 +120,22 @@ public class MiniSelectorTest {
     assertEquals("foo.id", gcpProject.getId());
   }
 
+  @Test
+  public void testKnownProjectsShownImmediately() throws InterruptedException {
+    Credential credential = mock(Credential.class);
+    mockProjectsList(credential, new GcpProject("foo", "foo.id"));
+    MiniSelector selector = new MiniSelector(shellResource.getShell(), apiFactory, credential);
+    selector.join();
+
+    MiniSelector otherSelector =
+        new MiniSelector(shellResource.getShell(), apiFactory, credential);
+    // no need to wait for the project list to be fetched again
+    otherSelector.setProject("foo.id");
+    assertNotNull(otherSelector.getProject());
+    assertEquals("foo.id", otherSelector.getProjectId());
+    otherSelector.join();
+  }
+
   private void waitUntilResolvedProject(MiniSelector selector) {
     bot.waitUntil(new DefaultCondition() {
       @Override
@@ -18,14 +18,20 @@ package com.google.cloud.tools.eclipse.projectselector;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.api.client.auth.oauth2.Credential;
@@ -42,6 +48,8 @@ import com.google.cloud.tools.eclipse.googleapis.IGoogleApiFactory;
 import com.google.cloud.tools.eclipse.projectselector.model.AppEngine;
 import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.junit.Assert;
@@ -146,6 +154,84 @@ public class ProjectRepositoryTest {
     assertTrue(gcpProjects.isEmpty());
   }
 
+  @Test
+  public void testGetProjects_streamsPages() throws IOException, ProjectRepositoryException {
+    Projects.List list = initializeListRequest();
+    ListProjectsResponse[] pages = new ListProjectsResponse[5];
+    for (int page = 0; page < pages.length; page++) {
+      List<Project> projects = new ArrayList<>();
+      for (int i = 0; i < 2000; i++) {
+        projects.add(new Project().setName("name").setProjectId("project-" + page + "-" + i));
+      }
+      pages[page] = new ListProjectsResponse().setProjects(projects);
+      if (page < pages.length - 1) {
+        pages[page].setNextPageToken("token-" + (page + 1));
+      }
+    }
+    when(list.execute()).thenReturn(pages[0], Arrays.copyOfRange(pages, 1, pages.length));
+
+    List<Integer> pageSizes = new ArrayList<>();
+    List<GcpProject> gcpProjects = repository.getProjects(mock(Credential.class),
+        projectsSoFar -> pageSizes.add(projectsSoFar.size()));
+
+    assertThat(gcpProjects.size(), is(10000));
+    assertThat(gcpProjects.get(9999).getId(), is("project-4-1999"));
+    assertThat(pageSizes, is(Arrays.asList(2000, 4000, 6000, 8000)));
+  }
+
+  @Test
+  public void testGetKnownProjects() throws IOException, ProjectRepositoryException {
+    Projects.List list = initializeListRequest();
+    ListProjectsResponse response = new ListProjectsResponse();
+    response.setProjects(Collections.singletonList(project));
+    when(list.execute()).thenReturn(response);
+    Credential credential = mock(Credential.class);
+
+    assertNull(repository.getKnownProjects(credential));
+    List<GcpProject> gcpProjects = repository.getProjects(credential);
+
+    // shared with other repositories
+    ProjectRepository otherRepository = new ProjectRepository(apiFactory);
+    assertThat(otherRepository.getKnownProjects(credential), is(gcpProjects));
+    assertNull(otherRepository.getKnownProjects(mock(Credential.class)));
+  }
+
+  @Test
+  public void testGetKnownProjects_freshInstances() throws IOException, ProjectRepositoryException {
+    Projects.List list = initializeListRequest();
+    ListProjectsResponse response = new ListProjectsResponse();
+    response.setProjects(Collections.singletonList(project));
+    when(list.execute()).thenReturn(response);
+    Credential credential = mock(Credential.class);
+    GcpProject fetched = repository.getProjects(credential).get(0);
+    fetched.setAppEngine(AppEngine.NO_APPENGINE_APPLICATION);
+
+    GcpProject known = repository.getKnownProjects(credential).get(0);
+    assertNotSame(fetched, known);
+    assertEquals(fetched.getId(), known.getId());
+    assertEquals(fetched.getName(), known.getName());
+    assertFalse(known.hasAppEngineInfo());
+    assertNotSame(known, repository.getKnownProjects(credential).get(0));
+  }
+
+  @Test
+  public void testGetKnownProjects_notReplacedOnError()
+      throws IOException, ProjectRepositoryException {
+    Projects.List list = initializeListRequest();
+    ListProjectsResponse response = new ListProjectsResponse();
+    response.setProjects(Collections.singletonList(project));
+    when(list.execute()).thenReturn(response).thenThrow(new IOException("test exception"));
+    Credential credential = mock(Credential.class);
+    List<GcpProject> gcpProjects = repository.getProjects(credential);
+
+    try {
+      repository.getProjects(credential);
+      fail();
+    } catch (ProjectRepositoryException ex) {
+      assertThat(repository.getKnownProjects(credential), is(gcpProjects));
+    }
+  }
+
   @Test
   public void testGetProject_nullCredential() throws ProjectRepositoryException {
     assertNull(repository.getProject(null /*credential */, "projectId"));
@@ -246,6 +332,76 @@ public class ProjectRepositoryTest {
     repository.getAppEngineApplication(mock(Credential.class), "projectId");
   }
 
+  @Test
+  public void testGetAppEngineApplication_remembered()
+      throws IOException, ProjectRepositoryException {
+    Apps.Get get = initializeGetRequest();
+    when(get.execute()).thenReturn(new Application().setId("id"));
+    Credential credential = mock(Credential.class);
+
+    AppEngine appEngine = repository.getAppEngineApplication(credential, "projectId");
+    assertTrue(appEngine == repository.getAppEngineApplication(credential, "projectId"));
+    verify(get, times(1)).execute();
+  }
+
+  @Test
+  public void testGetAppEngineApplication_rememberedPerCredential()
+      throws IOException, ProjectRepositoryException {
+    Apps.Get get = initializeGetRequest();
+    when(get.execute()).thenReturn(new Application().setId("id"));
+
+    repository.getAppEngineApplication(mock(Credential.class), "projectId");
+    repository.getAppEngineApplication(mock(Credential.class), "projectId");
+    verify(get, times(2)).execute();
+  }
+
+  @Test
+  public void testGetAppEngineApplication_invalidated()
+      throws IOException, ProjectRepositoryException {
+    Apps.Get get = initializeGetRequest();
+    when(get.execute()).thenReturn(new Application().setId("id"));
+    Credential credential = mock(Credential.class);
+
+    repository.getAppEngineApplication(credential, "projectId");
+    ProjectRepository.invalidateAppEngineApplication(credential, "projectId");
+    repository.getAppEngineApplication(credential, "projectId");
+    verify(get, times(2)).execute();
+  }
+
+  @Test
+  public void testGetAppEngineApplication_invalidatedForCredential()
+      throws IOException, ProjectRepositoryException {
+    Apps.Get get = initializeGetRequest();
+    when(get.execute()).thenReturn(new Application().setId("id"));
+    Credential credential = mock(Credential.class);
+    Credential otherCredential = mock(Credential.class);
+
+    repository.getAppEngineApplication(credential, "projectId");
+    repository.getAppEngineApplication(otherCredential, "projectId");
+    ProjectRepository.invalidateAppEngineApplications(credential);
+    repository.getAppEngineApplication(credential, "projectId");
+    repository.getAppEngineApplication(otherCredential, "projectId");
+    verify(get, times(3)).execute();
+  }
+
+  @Test
+  public void testGetAppEngineApplication_errorNotRemembered()
+      throws IOException, ProjectRepositoryException {
+    Apps.Get get = initializeGetRequest();
+    when(get.execute()).thenThrow(new IOException("test exception"))
+        .thenReturn(new Application().setId("id"));
+    Credential credential = mock(Credential.class);
+
+    try {
+      repository.getAppEngineApplication(credential, "projectId");
+      fail();
+    } catch (ProjectRepositoryException ex) {
+      // expected
+    }
+    assertThat(repository.getAppEngineApplication(credential, "projectId"),
+        is(not(AppEngine.NO_APPENGINE_APPLICATION)));
+  }
+
   @Test
   public void testConvertToGcpProjects_null() {
     List<GcpProject> projects = ProjectRepository.convertToGcpProjects(null);
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.projectselector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.junit.Test;
+
+public class ProjectSearchIndexTest {
+
+  private final IProgressMonitor monitor = new NullProgressMonitor();
+
+  private final GcpProject alpha = new GcpProject("Alpha", "alpha-1");
+  private final GcpProject beta = new GcpProject("Beta", "beta-2");
+  private final GcpProject gamma = new GcpProject("Gamma", "gamma-1");
+  private final GcpProject unnamed = new GcpProject(null, "unnamed-3");
+  private final ProjectSearchIndex index =
+      new ProjectSearchIndex(Arrays.asList(alpha, beta, gamma, unnamed));
+
+  @Test
+  public void testMatches() {
+    assertTrue(ProjectSearchIndex.matches(new String[] {"a"}, "a"));
+    assertFalse(ProjectSearchIndex.matches(new String[] {"b"}, "a"));
+  }
+
+  @Test
+  public void testSplitTerms() {
+    assertArrayEquals(new String[] {"a", "b"}, ProjectSearchIndex.splitTerms(" a \tb "));
+  }
+
+  @Test
+  public void testSearch_nameOrId() {
+    assertEquals(ImmutableSet.of(beta), search("et"));
+    assertEquals(ImmutableSet.of(alpha), search("Alpha"));
+    assertEquals(ImmutableSet.of(alpha, gamma), search("-1"));
+    assertEquals(ImmutableSet.of(unnamed), search("unnamed"));
+  }
+
+  @Test
+  public void testSearch_caseSensitive() {
+    assertEquals(ImmutableSet.of(), search("ALPHA"));
+  }
+
+  @Test
+  public void testSearch_allTermsMustMatch() {
+    assertEquals(ImmutableSet.of(gamma), search("Gam 1"));
+    assertEquals(ImmutableSet.of(), search("Gam 2"));
+  }
+
+  @Test
+  public void testSearch_termsDoNotSpanNameAndId() {
+    assertEquals(ImmutableSet.of(), search("aalpha"));
+  }
+
+  @Test
+  public void testSearch_narrowedQuery() {
+    ProjectSearchIndex.Result previous = index.search("a", null, monitor);
+    assertEquals(ImmutableSet.of(alpha, beta, gamma, unnamed), previous.getProjects());
+
+    assertEquals(ImmutableSet.of(alpha, gamma),
+        index.search("a-1", previous, monitor).getProjects());
+    assertEquals(ImmutableSet.of(beta),
+        index.search("eta a", previous, monitor).getProjects());
+  }
+
+  @Test
+  public void testSearch_widenedQuery() {
+    ProjectSearchIndex.Result previous = index.search("alpha", null, monitor);
+    assertEquals(ImmutableSet.of(alpha, beta, gamma, unnamed),
+        index.search("a", previous, monitor).getProjects());
+  }
+
+  @Test
+  public void testSearch_previousResultFromOtherIndex() {
+    ProjectSearchIndex other = new ProjectSearchIndex(Arrays.asList(alpha));
+    ProjectSearchIndex.Result previous = other.search("a", null, monitor);
+    assertEquals(ImmutableSet.of(alpha, gamma),
+        index.search("a-1", previous, monitor).getProjects());
+  }
+
+  @Test
+  public void testSearch_manyProjects() {
+    List<GcpProject> projects = new ArrayList<>();
+    for (int i = 0; i < 50000; i++) {
+      projects.add(new GcpProject("Project " + i, "project-" + i));
+    }
+    ProjectSearchIndex largeIndex = new ProjectSearchIndex(projects);
+
+    ProjectSearchIndex.Result result = largeIndex.search("project-4999", null, monitor);
+    assertEquals(11, result.getProjects().size());
+    result = largeIndex.search("project-49999", result, monitor);
+    assertEquals(ImmutableSet.of(projects.get(49999)), result.getProjects());
+  }
+
+  @Test(expected = OperationCanceledException.class)
+  public void testSearch_cancelled() {
+    monitor.setCanceled(true);
+    index.search("a", null, monitor);
+  }
+
+  private ImmutableSet<GcpProject> search(String query) {
+    return index.search(query, null, monitor).getProjects();
+  }
+}
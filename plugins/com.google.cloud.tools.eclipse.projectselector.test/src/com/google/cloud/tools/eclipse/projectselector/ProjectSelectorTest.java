@@ -21,17 +21,14 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
 import com.google.cloud.tools.eclipse.test.util.ui.ShellTestResource;
 import java.util.Arrays;
 import java.util.List;
-import org.eclipse.core.databinding.property.value.IValueProperty;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.TableColumn;
 import org.junit.Before;
 import org.junit.Rule;
@@ -88,12 +85,36 @@ public class ProjectSelectorTest {
   }
 
   @Test
-  public void testMatches() {
-    IValueProperty property = mock(IValueProperty.class);
-    when(property.getValue(any())).thenReturn("a");
-    assertTrue(ProjectSelector.matches(new String[] { "a" }, new Object(), new IValueProperty[] { property }));
-    assertFalse(
-        ProjectSelector.matches(new String[] {"b"}, new Object(), new IValueProperty[] {property}));
+  public void testSetFilter() throws InterruptedException {
+    projectSelector.setProjects(Arrays.asList(new GcpProject("Alpha", "alpha-1"),
+        new GcpProject("Beta", "beta-2"), new GcpProject("Gamma", "gamma-1")));
+    projectSelector.setFilter("a-1");
+    waitForFilter();
+
+    assertEquals(2, projectSelector.getViewer().getTable().getItemCount());
+    assertThat(getVisibleProjectAtIndex(0).getId(), is("alpha-1"));
+    assertThat(getVisibleProjectAtIndex(1).getId(), is("gamma-1"));
+    // the projects themselves are not filtered
+    assertEquals(3, projectSelector.getProjectCount());
+
+    projectSelector.setFilter("");
+    assertEquals(3, projectSelector.getViewer().getTable().getItemCount());
+  }
+
+  @Test
+  public void testSetFilter_appliedToNewProjects() throws InterruptedException {
+    projectSelector.setFilter("b");
+    projectSelector.setProjects(getUnsortedProjectList());
+    waitForFilter();
+
+    assertEquals(1, projectSelector.getViewer().getTable().getItemCount());
+    assertThat(getVisibleProjectAtIndex(0).getId(), is("b"));
+  }
+
+  private void waitForFilter() throws InterruptedException {
+    projectSelector.joinFilter();
+    // the result is shown through the display's event queue
+    while (Display.getCurrent().readAndDispatch());
   }
 
   @Test
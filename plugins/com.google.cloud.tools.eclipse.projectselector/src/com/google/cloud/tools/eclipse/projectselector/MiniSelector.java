@@ -26,6 +26,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -89,6 +90,9 @@ public class MiniSelector implements ISelectionProvider {
     });
     comboViewer.setContentProvider(ArrayContentProvider.getInstance());
     comboViewer.setInput(EMPTY_PROJECTS);
+    // a choice made while the list is refreshed must survive the refresh
+    comboViewer.getCombo().addListener(SWT.Selection,
+        event -> toBeSelectedProjectId = getProjectId());
     parent.addDisposeListener(new DisposeListener() {
       @Override
       public void widgetDisposed(DisposeEvent event) {
@@ -120,7 +124,9 @@ public class MiniSelector implements ISelectionProvider {
   }
 
   /**
-   * Fetch and update the projects list, preserving the current selection.
+   * Fetch and update the projects list, preserving the current selection. The projects last
+   * fetched for the account are shown while the list is fetched again; if there are none, the
+   * projects are shown page by page as they arrive.
    */
   private void fetch() {
     toBeSelectedProjectId = getProjectId(); // save currently selected project ID
@@ -131,13 +137,12 @@ public class MiniSelector implements ISelectionProvider {
       return;
     }
 
-    fetchProjectsJob = new FetchProjectsJob();
-    fetchProjectsJob.onSuccess(
-        displayExecutor,
-        projects -> {
-          comboViewer.setInput(projects);
-          setProject(toBeSelectedProjectId);
-        });
+    List<GcpProject> knownProjects = projectRepository.getKnownProjects(credential);
+    if (knownProjects != null) {
+      showProjects(toArray(knownProjects));
+    }
+    fetchProjectsJob = new FetchProjectsJob(knownProjects == null);
+    fetchProjectsJob.onSuccess(displayExecutor, this::showProjects);
     // maybe this should be shown to the user?
     fetchProjectsJob.onError(
         MoreExecutors.directExecutor(),
@@ -145,6 +150,33 @@ public class MiniSelector implements ISelectionProvider {
     fetchProjectsJob.schedule();
   }
 
+  private void showProjects(GcpProject[] projects) {
+    if (comboViewer.getControl().isDisposed()
+        || isSameProjects(projects, (GcpProject[]) comboViewer.getInput())) {
+      return;
+    }
+    comboViewer.setInput(projects);
+    setProject(toBeSelectedProjectId);
+  }
+
+  /** Compares names too, as {@link GcpProject#equals} only considers IDs. */
+  private static boolean isSameProjects(GcpProject[] projects, GcpProject[] otherProjects) {
+    if (projects.length != otherProjects.length) {
+      return false;
+    }
+    for (int i = 0; i < projects.length; i++) {
+      if (!projects[i].equals(otherProjects[i])
+          || !Objects.equals(projects[i].getName(), otherProjects[i].getName())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static GcpProject[] toArray(List<GcpProject> projects) {
+    return projects.toArray(new GcpProject[projects.size()]);
+  }
+
   private void cancelFetch() {
     if (fetchProjectsJob != null) {
       fetchProjectsJob.abandon();
@@ -221,16 +253,28 @@ public class MiniSelector implements ISelectionProvider {
    */
   private class FetchProjectsJob extends FuturisticJob<GcpProject[]> {
     private final Credential credential; // the credential used for fetch
+    private final boolean showPages;
 
-    public FetchProjectsJob() {
+    public FetchProjectsJob(boolean showPages) {
       super("Determining accessible projects");
       credential = MiniSelector.this.credential;
+      this.showPages = showPages;
     }
 
     @Override
     protected GcpProject[] compute(IProgressMonitor monitor) throws Exception {
-      List<GcpProject> projects = projectRepository.getProjects(credential);
-      return projects.toArray(new GcpProject[projects.size()]);
+      List<GcpProject> projects =
+          projectRepository.getProjects(credential, showPages ? this::showPage : null);
+      return toArray(projects);
+    }
+
+    private void showPage(List<GcpProject> projectsSoFar) {
+      GcpProject[] projects = toArray(projectsSoFar);
+      displayExecutor.execute(() -> {
+        if (isCurrent()) {
+          showProjects(projects);
+        }
+      });
     }
 
     @Override
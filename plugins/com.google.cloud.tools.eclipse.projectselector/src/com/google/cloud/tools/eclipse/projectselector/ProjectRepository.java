@@ -29,9 +29,18 @@ import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Wrapper for the GCP Cloud Resource Manager API.
@@ -44,38 +53,104 @@ public class ProjectRepository {
   
   private static final String PROJECT_DELETE_REQUESTED = "DELETE_REQUESTED";
 
+  /** The name and id of a project, without the App Engine state a {@link GcpProject} gathers. */
+  private static class KnownProject {
+    private final String name;
+    private final String id;
+
+    private KnownProject(String name, String id) {
+      this.name = name;
+      this.id = id;
+    }
+  }
+
+  /**
+   * The last complete project list fetched for each account, so that selectors can show it at
+   * once while the list is fetched again. Credentials are compared by identity, and an entry goes
+   * away with its credential when the account is logged out. Only names and ids are kept, as
+   * {@link GcpProject} instances are updated by the selector that shows them.
+   */
+  private static final Cache<Credential, List<KnownProject>> knownProjects =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  @VisibleForTesting
+  static final long APPENGINE_APPLICATION_TTL_MINUTES = 5;
+
+  /**
+   * The App Engine application of each project, keyed by {@code [credential, projectId]}, so that
+   * selecting a project again does not query it again. Concurrent queries for the same project
+   * share a single request, and failed queries are not remembered.
+   */
+  private static final Cache<List<Object>, AppEngine> appEngineApplications =
+      CacheBuilder.newBuilder()
+          .expireAfterWrite(APPENGINE_APPLICATION_TTL_MINUTES, TimeUnit.MINUTES)
+          .build();
+
   private final IGoogleApiFactory apiFactory;
 
   public ProjectRepository(IGoogleApiFactory apiFactory) {
     this.apiFactory = apiFactory;
   }
 
+  /**
+   * @return new instances of the projects last returned by {@link #getProjects} for the account
+   *     identified by {@code credential}, or {@code null} if they have not been fetched yet
+   */
+  public List<GcpProject> getKnownProjects(Credential credential) {
+    Preconditions.checkNotNull(credential);
+    List<KnownProject> known = knownProjects.getIfPresent(credential);
+    if (known == null) {
+      return null;
+    }
+    List<GcpProject> gcpProjects = new ArrayList<>();
+    for (KnownProject project : known) {
+      gcpProjects.add(new GcpProject(project.name, project.id));
+    }
+    return ImmutableList.copyOf(gcpProjects);
+  }
+
   /**
    * @return all active projects the account identified by {@code credential} has access to
    * @throws ProjectRepositoryException if an error happens while communicating with the backend
    */
   public List<GcpProject> getProjects(Credential credential) throws ProjectRepositoryException {
+    return getProjects(credential, null);
+  }
+
+  /**
+   * Like {@link #getProjects(Credential)}, but when the projects span several pages,
+   * {@code pageListener} receives the projects fetched so far after each page but the last.
+   *
+   * @param pageListener may be {@code null}
+   * @return all active projects the account identified by {@code credential} has access to
+   * @throws ProjectRepositoryException if an error happens while communicating with the backend
+   */
+  public List<GcpProject> getProjects(Credential credential,
+      Consumer<List<GcpProject>> pageListener) throws ProjectRepositoryException {
     Preconditions.checkNotNull(credential);
-    // TODO cache results https://github.com/GoogleCloudPlatform/google-cloud-eclipse/issues/1374
     try {
       Projects projects = apiFactory.newProjectsApi(credential);
       
       String token = null;
-      List<Project> projectList = new ArrayList<>();
+      List<GcpProject> gcpProjects = new ArrayList<>();
       do {
         Projects.List listRequest = projects.list().setPageSize(PROJECT_LIST_PAGESIZE);
         if (token != null) {
           listRequest = listRequest.setPageToken(token); 
         }
         ListProjectsResponse response = listRequest.execute();
-        List<Project> responseProjects = response.getProjects();
-        if (responseProjects != null) {
-          projectList.addAll(responseProjects);
-        }
+        gcpProjects.addAll(convertToGcpProjects(response.getProjects()));
         token = response.getNextPageToken();
+        if (token != null && pageListener != null) {
+          pageListener.accept(ImmutableList.copyOf(gcpProjects));
+        }
       } while (token != null);
-      List<GcpProject> gcpProjects = convertToGcpProjects(projectList);
-      return gcpProjects;
+      List<KnownProject> known = new ArrayList<>();
+      for (GcpProject project : gcpProjects) {
+        known.add(new KnownProject(project.getName(), project.getId()));
+      }
+      knownProjects.put(credential, ImmutableList.copyOf(known));
+      return ImmutableList.copyOf(gcpProjects);
     } catch (IOException ex) {
       throw new ProjectRepositoryException(ex);
     }
@@ -128,6 +203,31 @@ public class ProjectRepository {
     Preconditions.checkNotNull(credential);
     Preconditions.checkArgument(!Strings.isNullOrEmpty(projectId));
 
+    try {
+      return appEngineApplications.get(Arrays.asList(credential, projectId),
+          () -> fetchAppEngineApplication(credential, projectId));
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      Throwables.throwIfInstanceOf(ex.getCause(), ProjectRepositoryException.class);
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw new ProjectRepositoryException(ex);
+    }
+  }
+
+  /**
+   * Forgets the App Engine application of {@code projectId} found with {@code credential}, for
+   * example after a deployment may have created it.
+   */
+  public static void invalidateAppEngineApplication(Credential credential, String projectId) {
+    appEngineApplications.invalidate(Arrays.asList(credential, projectId));
+  }
+
+  /** Forgets the App Engine applications of all projects found with {@code credential}. */
+  public static void invalidateAppEngineApplications(Credential credential) {
+    appEngineApplications.asMap().keySet().removeIf(key -> key.get(0) == credential);
+  }
+
+  private AppEngine fetchAppEngineApplication(Credential credential, String projectId)
+      throws ProjectRepositoryException {
     try {
       Application application = apiFactory.newAppsApi(credential).get(projectId).execute();
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.projectselector;
+
+import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Answers search queries over the names and IDs of a fixed list of projects. A project matches a
+ * query when each whitespace-separated term of the query occurs in its name or in its ID. Queries
+ * may be evaluated on any thread. A query that narrows the previous query, such as one typed a
+ * character further, only examines the projects matched by the previous query.
+ */
+class ProjectSearchIndex {
+
+  /** Separates the name from the ID in the searched text; cannot occur in a search term. */
+  private static final char SEPARATOR = '\n';
+
+  /** The projects matching a query. */
+  static class Result {
+    private final ProjectSearchIndex index;
+    private final String[] terms;
+    private final int[] matches;
+    private final ImmutableSet<GcpProject> projects;
+
+    private Result(ProjectSearchIndex index, String[] terms, int[] matches) {
+      this.index = index;
+      this.terms = terms;
+      this.matches = matches;
+      ImmutableSet.Builder<GcpProject> builder = ImmutableSet.builder();
+      for (int match : matches) {
+        builder.add(index.projects.get(match));
+      }
+      projects = builder.build();
+    }
+
+    ImmutableSet<GcpProject> getProjects() {
+      return projects;
+    }
+
+    /** Returns true if every project matching {@code otherTerms} also matches this result. */
+    private boolean contains(ProjectSearchIndex otherIndex, String[] otherTerms) {
+      if (index != otherIndex) {
+        return false;
+      }
+      for (String term : terms) {
+        if (!containsTermWith(otherTerms, term)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean containsTermWith(String[] terms, String text) {
+      for (String term : terms) {
+        if (term.contains(text)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private final List<GcpProject> projects;
+  /** The name and ID of each project, joined with {@link #SEPARATOR}. */
+  private final String[] searchTexts;
+
+  ProjectSearchIndex(List<GcpProject> projects) {
+    this.projects = projects;
+    searchTexts = new String[projects.size()];
+    for (int i = 0; i < searchTexts.length; i++) {
+      GcpProject project = projects.get(i);
+      searchTexts[i] = Strings.nullToEmpty(project.getName()) + SEPARATOR
+          + Strings.nullToEmpty(project.getId());
+    }
+  }
+
+  /**
+   * Returns the projects matching {@code query}.
+   *
+   * @param previous the result of an earlier search, which is used to narrow this search when
+   *     possible; may be {@code null}
+   * @throws OperationCanceledException if {@code monitor} is cancelled
+   */
+  Result search(String query, Result previous, IProgressMonitor monitor) {
+    String[] terms = splitTerms(query);
+    int[] candidates;
+    if (previous != null && previous.contains(this, terms)) {
+      candidates = previous.matches;
+    } else {
+      candidates = null;
+    }
+
+    int candidateCount = candidates == null ? searchTexts.length : candidates.length;
+    int[] matches = new int[candidateCount];
+    int matchCount = 0;
+    for (int i = 0; i < candidateCount; i++) {
+      if (i % 1000 == 0 && monitor.isCanceled()) {
+        throw new OperationCanceledException();
+      }
+      int candidate = candidates == null ? i : candidates[i];
+      if (matches(terms, searchTexts[candidate])) {
+        matches[matchCount++] = candidate;
+      }
+    }
+    return new Result(this, terms, Arrays.copyOf(matches, matchCount));
+  }
+
+  static String[] splitTerms(String query) {
+    return Arrays.stream(query.split("\\s")).filter(term -> !term.isEmpty())
+        .toArray(String[]::new);
+  }
+
+  /** Returns true if each of {@code terms} occurs in {@code text}. */
+  static boolean matches(String[] terms, String text) {
+    for (String term : terms) {
+      if (!text.contains(term)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
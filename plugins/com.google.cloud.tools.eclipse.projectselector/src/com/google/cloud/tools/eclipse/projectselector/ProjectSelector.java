@@ -17,20 +17,28 @@
 package com.google.cloud.tools.eclipse.projectselector;
 
 import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
+import com.google.cloud.tools.eclipse.ui.util.DisplayExecutor;
 import com.google.cloud.tools.eclipse.ui.util.event.OpenUriSelectionListener;
 import com.google.cloud.tools.eclipse.ui.util.event.OpenUriSelectionListener.ErrorDialogErrorHandler;
+import com.google.cloud.tools.eclipse.util.jobs.FuturisticJob;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.eclipse.core.databinding.beans.IBeanValueProperty;
 import org.eclipse.core.databinding.beans.PojoProperties;
 import org.eclipse.core.databinding.observable.list.WritableList;
-import org.eclipse.core.databinding.property.value.IValueProperty;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.databinding.viewers.ViewerSupport;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.layout.TableColumnLayout;
+import org.eclipse.jface.util.Policy;
 import org.eclipse.jface.viewers.ColumnWeightData;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
@@ -40,7 +48,6 @@ import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TableViewerColumn;
 import org.eclipse.jface.viewers.Viewer;
-import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.GridData;
@@ -49,11 +56,28 @@ import org.eclipse.swt.widgets.Link;
 
 public class ProjectSelector extends Composite implements ISelectionProvider {
 
+  /** Orders projects as they are listed: by name, as a {@code ViewerComparator} would. */
+  private static final Comparator<GcpProject> PROJECT_ORDER = Comparator.comparing(
+      project -> project.getName() == null ? "" : project.getName(), Policy.getComparator());
+
   private final TableViewer viewer;
   private final WritableList<GcpProject> input;
+  private final Executor displayExecutor;
   private Link statusLink;
   private IBeanValueProperty[] projectProperties;
 
+  private ProjectSearchIndex searchIndex = new ProjectSearchIndex(Collections.emptyList());
+  private String filterText;
+  /** The last search result; {@code null} if no filter is set. */
+  private ProjectSearchIndex.Result filterResult;
+  private FilterJob filterJob;
+  private final ViewerFilter filter = new ViewerFilter() {
+    @Override
+    public boolean select(Viewer unused, Object parentElement, Object element) {
+      return filterResult == null || filterResult.getProjects().contains(element);
+    }
+  };
+
   public ProjectSelector(Composite parent) {
     super(parent, SWT.NONE);
     GridLayoutFactory.fillDefaults().numColumns(2).spacing(0, 0).applyTo(this);
@@ -70,7 +94,9 @@ public class ProjectSelector extends Composite implements ISelectionProvider {
     input = WritableList.withElementType(GcpProject.class);
     projectProperties = PojoProperties.values(new String[] {"name", "id"}); //$NON-NLS-1$ //$NON-NLS-2$
     ViewerSupport.bind(viewer, input, projectProperties);
-    viewer.setComparator(new ViewerComparator());
+    // no ViewerComparator: projects are sorted once in setProjects(), not on every refresh
+    displayExecutor = DisplayExecutor.create(getDisplay());
+    addDisposeListener(event -> cancelFilter());
 
     Composite linkComposite = new Composite(this, SWT.NONE);
     statusLink = new Link(linkComposite, SWT.WRAP);
@@ -152,54 +178,80 @@ public class ProjectSelector extends Composite implements ISelectionProvider {
   }
 
   public void setProjects(List<GcpProject> projects) {
+    List<GcpProject> sortedProjects = new ArrayList<>();
+    if (projects != null) {
+      sortedProjects.addAll(projects);
+      sortedProjects.sort(PROJECT_ORDER);
+    }
+    searchIndex = new ProjectSearchIndex(sortedProjects);
+
     ISelection selection = viewer.getSelection();
     input.clear();
     clearStatusLink(); // otherwise revealing selection is off sometimes
-    if (projects != null) {
-      input.addAll(projects);
-    }
+    input.addAll(sortedProjects);
     viewer.setSelection(selection);
+
+    // the shown projects are filtered with the previous result until the new one is ready
+    if (filterText != null) {
+      startFilter();
+    }
   }
 
   /**
    * Set a search filter on the list. If empty or {@code null}, then removes any existing filters.
+   * The projects are searched in the background, and the list is updated once the matching
+   * projects are known.
    */
-  public void setFilter(final String searchText) {
+  public void setFilter(String searchText) {
     if (Strings.isNullOrEmpty(searchText)) {
+      cancelFilter();
+      filterText = null;
+      filterResult = null;
       viewer.resetFilters();
       return;
     }
-    ViewerFilter filter = new ViewerFilter() {
-      @Override
-      public boolean select(Viewer unused, Object parentElement, Object element) {
-        String[] searchTerms = searchText.split("\\s");
-        return matches(searchTerms, element, projectProperties);
-      }
-    };
+    filterText = searchText;
+    startFilter();
+  }
 
-    viewer.setFilters(new ViewerFilter[] {filter});
+  private void startFilter() {
+    cancelFilter();
+    filterJob = new FilterJob(searchIndex, filterText, filterResult);
+    filterJob.onSuccess(displayExecutor, this::showFilterResult);
+    filterJob.schedule();
   }
 
+  private void cancelFilter() {
+    if (filterJob != null) {
+      filterJob.abandon();
+      filterJob = null;
+    }
+  }
 
-  /**
-   * @return true if the element's properties are matched by the given search terms.
-   */
+  private void showFilterResult(ProjectSearchIndex.Result result) {
+    if (isDisposed() || filterText == null) {
+      return;
+    }
+    filterResult = result;
+    if (viewer.getFilters().length == 0) {
+      viewer.setFilters(new ViewerFilter[] {filter});
+    } else {
+      viewer.refresh();
+    }
+  }
+
+  /** Waits until the projects matching the current filter are known. */
   @VisibleForTesting
-  static boolean matches(String[] searchTerms, Object element, IValueProperty[] properties) {
-    for (String searchTerm : searchTerms) {
-      boolean seen = false;
-      for (IValueProperty property : properties) {
-        Object value = property.getValue(element);
-        if (value instanceof String && ((String) value).contains(searchTerm)) {
-          seen = true;
-          break;
-        }
-      }
-      if (!seen) {
-        return false;
-      }
+  void joinFilter() throws InterruptedException {
+    if (filterJob != null) {
+      filterJob.join();
     }
-    return true;
+  }
+
+  /** Returns the projects matching the last evaluated filter; empty if no filter is set. */
+  @VisibleForTesting
+  ImmutableSet<GcpProject> getFilteredProjects() {
+    return filterResult == null ? ImmutableSet.of() : filterResult.getProjects();
   }
 
   @Override
@@ -242,4 +294,25 @@ public class ProjectSelector extends Composite implements ISelectionProvider {
   public void clearStatusLink() {
     setStatusLink("", "");
   }
+
+  /** Searches the projects for those matching a filter. */
+  private static class FilterJob extends FuturisticJob<ProjectSearchIndex.Result> {
+    private final ProjectSearchIndex searchIndex;
+    private final String searchText;
+    private final ProjectSearchIndex.Result previous;
+
+    private FilterJob(ProjectSearchIndex searchIndex, String searchText,
+        ProjectSearchIndex.Result previous) {
+      super("Filtering projects"); //$NON-NLS-1$
+      this.searchIndex = searchIndex;
+      this.searchText = searchText;
+      this.previous = previous;
+      setSystem(true);
+    }
+
+    @Override
+    protected ProjectSearchIndex.Result compute(IProgressMonitor monitor) {
+      return searchIndex.search(searchText, previous, monitor);
+    }
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CloudSdkDescriptorCacheTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final AtomicInteger loadCount = new AtomicInteger();
+  private Path sdkHome;
+  private CloudSdkDescriptorCache cache;
+
+  @Before
+  public void setUp() {
+    sdkHome = tempFolder.getRoot().toPath();
+    cache = new CloudSdkDescriptorCache(() -> {
+      loadCount.incrementAndGet();
+      return new CloudSdkDescriptor(sdkHome, "300.0.0", null, null, false);
+    });
+  }
+
+  @After
+  public void tearDown() {
+    cache.invalidate();  // stops watching
+  }
+
+  @Test
+  public void testGetDescriptor_cached() throws CloudSdkNotFoundException {
+    CloudSdkDescriptor first = cache.getDescriptor();
+    CloudSdkDescriptor second = cache.getDescriptor();
+
+    assertSame(first, second);
+    assertEquals("300.0.0", first.getVersion());
+    assertEquals(1, loadCount.get());
+  }
+
+  @Test
+  public void testInvalidate() throws CloudSdkNotFoundException {
+    cache.getDescriptor();
+    cache.invalidate();
+    assertFalse(cache.isCached());
+
+    cache.getDescriptor();
+    assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  public void testNotFound_notCached() {
+    CloudSdkDescriptorCache failingCache = new CloudSdkDescriptorCache(() -> {
+      loadCount.incrementAndGet();
+      throw new CloudSdkNotFoundException("no SDK");
+    });
+
+    assertFalse(failingCache.isCloudSdkAvailable());
+    assertFalse(failingCache.isCloudSdkAvailable());
+    assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  public void testSdkDirectoryChange_invalidates()
+      throws CloudSdkNotFoundException, IOException, InterruptedException {
+    cache.getDescriptor();
+    assertTrue(cache.isCached());
+
+    Files.write(sdkHome.resolve("VERSION"), "301.0.0".getBytes("UTF-8"));
+
+    // WatchService implementations may poll (e.g., every 10 seconds on macOS).
+    for (int i = 0; i < 300 && cache.isCached(); i++) {
+      Thread.sleep(100);
+    }
+    assertFalse(cache.isCached());
+  }
+}
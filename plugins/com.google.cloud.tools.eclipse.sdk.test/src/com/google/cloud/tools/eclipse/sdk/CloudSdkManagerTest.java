@@ -20,9 +20,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkModifyJob;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -174,6 +179,124 @@ public class CloudSdkManagerTest {
     }
   }
 
+  @Test
+  public void testPreventModifyingSdk_waitsForRunningModifyJob() throws InterruptedException {
+    CountDownLatch modifying = new CountDownLatch(1);
+    CountDownLatch finishModifying = new CountDownLatch(1);
+    CloudSdkModifyJob modifyJob = new FakeModifyJob(Status.OK_STATUS) {
+      @Override
+      protected IStatus modifySdk(IProgressMonitor monitor) {
+        modifying.countDown();
+        try {
+          finishModifying.await();
+        } catch (InterruptedException ex) {
+          return Status.CANCEL_STATUS;
+        }
+        return super.modifySdk(monitor);
+      }
+    };
+    modifyJob.schedule();
+    assertTrue(modifying.await(10, TimeUnit.SECONDS));
+
+    CountDownLatch prevented = new CountDownLatch(1);
+    Thread reader = new Thread(() -> {
+      try {
+        fixture.preventModifyingSdk();
+        prevented.countDown();
+        fixture.allowModifyingSdk();
+      } catch (InterruptedException ex) {
+        // test will fail on timeout
+      }
+    });
+    reader.start();
+
+    assertFalse(prevented.await(100, TimeUnit.MILLISECONDS));
+    finishModifying.countDown();
+    assertTrue(prevented.await(10, TimeUnit.SECONDS));
+    reader.join();
+    modifyJob.join();
+    assertTrue(modifyJob.getResult().isOK());
+  }
+
+  @Test(timeout = 10000)
+  public void testPreventModifyingSdk_notBlockedByPreparation() throws InterruptedException {
+    CountDownLatch preparing = new CountDownLatch(1);
+    CountDownLatch finishPreparing = new CountDownLatch(1);
+    CloudSdkModifyJob modifyJob = newPreparingJob(preparing, finishPreparing);
+    modifyJob.schedule();
+    try {
+      assertTrue(preparing.await(5, TimeUnit.SECONDS));
+
+      fixture.preventModifyingSdk();
+      fixture.allowModifyingSdk();
+      assertEquals(Job.RUNNING, modifyJob.getState());
+    } finally {
+      finishPreparing.countDown();
+      modifyJob.join();
+    }
+    assertTrue(modifyJob.getResult().isOK());
+  }
+
+  @Test(timeout = 10000)
+  public void testIsManagedSdkComplete_notBlockedByPreparation() throws Exception {
+    ManagedCloudSdk managedSdk = mock(ManagedCloudSdk.class);
+    when(managedSdk.isInstalled()).thenReturn(true);
+    when(managedSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(true);
+    CloudSdkManager manager = newManager(managedSdk);
+
+    CountDownLatch preparing = new CountDownLatch(1);
+    CountDownLatch finishPreparing = new CountDownLatch(1);
+    CloudSdkModifyJob modifyJob = newPreparingJob(preparing, finishPreparing);
+    modifyJob.schedule();
+    try {
+      assertTrue(preparing.await(5, TimeUnit.SECONDS));
+      assertTrue(manager.isManagedSdkComplete());
+    } finally {
+      finishPreparing.countDown();
+      modifyJob.join();
+    }
+  }
+
+  @Test
+  public void testIsManagedSdkComplete_componentMissing() throws Exception {
+    ManagedCloudSdk managedSdk = mock(ManagedCloudSdk.class);
+    when(managedSdk.isInstalled()).thenReturn(true);
+    when(managedSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
+    assertFalse(newManager(managedSdk).isManagedSdkComplete());
+  }
+
+  @Test
+  public void testIsManagedSdkComplete_notInstalled() throws Exception {
+    ManagedCloudSdk managedSdk = mock(ManagedCloudSdk.class);
+    when(managedSdk.isInstalled()).thenReturn(false);
+    assertFalse(newManager(managedSdk).isManagedSdkComplete());
+  }
+
+  private CloudSdkManager newManager(ManagedCloudSdk managedSdk) {
+    return new CloudSdkManager(modifyLock) {
+      @Override
+      ManagedCloudSdk getManagedCloudSdk() {
+        return managedSdk;
+      }
+    };
+  }
+
+  private CloudSdkModifyJob newPreparingJob(
+      CountDownLatch preparing, CountDownLatch finishPreparing) {
+    return new FakeModifyJob(Status.OK_STATUS) {
+      @Override
+      protected IStatus prepareSdkModification(IProgressMonitor monitor) {
+        preparing.countDown();
+        try {
+          finishPreparing.await();
+          return Status.OK_STATUS;
+        } catch (InterruptedException ex) {
+          return Status.CANCEL_STATUS;
+        }
+      }
+    };
+  }
+
   private class FakeModifyJob extends CloudSdkModifyJob {
 
     private final IStatus result;
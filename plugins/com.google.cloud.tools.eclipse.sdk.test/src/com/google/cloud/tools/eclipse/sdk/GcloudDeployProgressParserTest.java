@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.sdk.GcloudDeployProgressParser.Event;
+import com.google.cloud.tools.eclipse.sdk.GcloudDeployProgressParser.EventType;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class GcloudDeployProgressParserTest {
+
+  private final List<Event> events = new ArrayList<>();
+  private final GcloudDeployProgressParser parser = new GcloudDeployProgressParser(events::add);
+
+  @Test
+  public void testIgnoreUnrelatedOutput() {
+    parser.onOutputLine("Services to deploy:");
+    parser.onOutputLine("{ 'key': 'value' }");
+    parser.onOutputLine("");
+    parser.onOutputLine(null);
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testDeploymentStarted() {
+    parser.onOutputLine("Beginning deployment of service [default]...");
+    assertEquals(1, events.size());
+    assertEquals(EventType.DEPLOYMENT_STARTED, events.get(0).getType());
+    assertEquals("default", events.get(0).getService());
+  }
+
+  @Test
+  public void testUploadStarted() {
+    parser.onOutputLine("Uploading 42 files to Google Cloud Storage");
+    assertEquals(1, events.size());
+    assertEquals(EventType.UPLOAD_STARTED, events.get(0).getType());
+    assertEquals(42, events.get(0).getFileCount());
+  }
+
+  @Test
+  public void testUploadStarted_singleFile() {
+    parser.onOutputLine("Uploading 1 file to Google Cloud Storage");
+    assertEquals(1, events.get(0).getFileCount());
+  }
+
+  @Test
+  public void testStructuredLogLine() {
+    parser.onOutputLine("{ 'verbosity': 'INFO', 'message': 'Updating service [backend]...' }");
+    assertEquals(1, events.size());
+    assertEquals(EventType.VERSION_UPDATING, events.get(0).getType());
+    assertEquals("backend", events.get(0).getService());
+  }
+
+  @Test
+  public void testStructuredLogLine_noMessage() {
+    parser.onOutputLine("{ 'verbosity': 'INFO' }");
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testServiceDeployed() {
+    parser.onOutputLine("Deployed service [default] to [https://my-project.appspot.com]");
+    assertEquals(EventType.SERVICE_DEPLOYED, events.get(0).getType());
+    assertEquals("default", events.get(0).getService());
+    assertEquals("https://my-project.appspot.com", events.get(0).getUrl());
+  }
+
+  @Test
+  public void testParse_noEvent() {
+    assertNull(GcloudDeployProgressParser.parse("#====================#"));
+  }
+
+  @Test
+  public void testFullDeploySequence() {
+    parser.onOutputLine("Beginning deployment of service [default]...");
+    parser.onOutputLine("#============================================================#");
+    parser.onOutputLine("#= Uploading 3 files to Google Cloud Storage               =#");
+    parser.onOutputLine("#============================================================#");
+    parser.onOutputLine("File upload done.");
+    parser.onOutputLine("Updating service [default]...");
+    parser.onOutputLine("...done.");
+    parser.onOutputLine("Setting traffic split for service [default]...");
+    parser.onOutputLine("...done.");
+    parser.onOutputLine("Deployed service [default] to [https://p.appspot.com]");
+
+    assertEquals(6, events.size());
+    assertEquals(EventType.DEPLOYMENT_STARTED, events.get(0).getType());
+    assertEquals(EventType.UPLOAD_STARTED, events.get(1).getType());
+    assertEquals(3, events.get(1).getFileCount());
+    assertEquals(EventType.UPLOAD_DONE, events.get(2).getType());
+    assertEquals(EventType.VERSION_UPDATING, events.get(3).getType());
+    assertEquals(EventType.TRAFFIC_MIGRATION, events.get(4).getType());
+    assertEquals(EventType.SERVICE_DEPLOYED, events.get(5).getType());
+  }
+}
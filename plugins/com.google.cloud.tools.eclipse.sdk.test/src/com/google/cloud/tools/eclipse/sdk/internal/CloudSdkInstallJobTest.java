@@ -37,12 +37,20 @@ import com.google.cloud.tools.managedcloudsdk.components.SdkComponentInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
 import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.console.MessageConsoleStream;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -50,13 +58,20 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class CloudSdkInstallJobTest {
 
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
   @Mock private MessageConsoleStream consoleStream;
   @Mock private ManagedCloudSdk managedCloudSdk;
   @Mock private SdkInstaller sdkInstaller;
   @Mock private SdkComponentInstaller componentInstaller;
 
+  /** No mirror by default, so that fresh installs fall back to the component installer. */
+  private URL componentSnapshotUrl;
+
   @Before
-  public void setUp() throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException {
+  public void setUp() throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+      IOException {
+    componentSnapshotUrl = tempFolder.getRoot().toPath().resolve("missing.json").toUri().toURL();
     when(managedCloudSdk.isInstalled()).thenReturn(true);
     when(managedCloudSdk.hasComponent(any(SdkComponent.class))).thenReturn(true);
     when(managedCloudSdk.newInstaller()).thenReturn(sdkInstaller);
@@ -117,6 +132,23 @@ public class CloudSdkInstallJobTest {
             any(SdkComponent.class), any(ProgressListener.class), any(ConsoleListener.class));
   }
 
+  @Test
+  public void testRun_notInstalled_noComponentQuery()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, CommandExitException {
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+
+    CloudSdkInstallJob job = newCloudSdkInstallJob();
+    job.schedule();
+    job.join();
+
+    assertTrue(job.getResult().isOK());
+    verify(managedCloudSdk, never()).hasComponent(any(SdkComponent.class));
+    verify(componentInstaller)
+        .installComponent(
+            any(SdkComponent.class), any(ProgressListener.class), any(ConsoleListener.class));
+  }
+
   @Test
   public void testFailureSeverity()
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
@@ -182,12 +214,71 @@ public class CloudSdkInstallJobTest {
     assertTrue(job.getResult().isOK());
   }
 
+  @Test
+  public void testRun_notInstalled_installsPrefetchedComponent()
+      throws IOException, InterruptedException, CommandExecutionException, CommandExitException {
+    componentSnapshotUrl = SdkComponentPrefetcherTest.writeMirror(
+        tempFolder.newFolder("mirror").toPath());
+    Path sdkHome = tempFolder.newFolder("google-cloud-sdk").toPath();
+    Files.write(sdkHome.resolve("VERSION"), "300.0.0".getBytes(StandardCharsets.UTF_8));
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    when(managedCloudSdk.getSdkHome()).thenReturn(sdkHome);
+
+    CloudSdkInstallJob job = newCloudSdkInstallJob(
+        "echo $CLOUDSDK_COMPONENT_MANAGER_SNAPSHOT_URL > installed-from");
+    job.schedule();
+    job.join();
+
+    assertTrue(job.getResult().isOK());
+    verify(componentInstaller, never())
+        .installComponent(
+            any(SdkComponent.class), any(ProgressListener.class), any(ConsoleListener.class));
+    String installedFrom = new String(
+        Files.readAllBytes(sdkHome.resolve("installed-from")), StandardCharsets.UTF_8).trim();
+    assertTrue(installedFrom.endsWith(SdkComponentPrefetcher.LOCAL_SNAPSHOT_NAME));
+  }
+
+  @Test
+  public void testRun_notInstalled_prefetchedComponentInstallFails()
+      throws IOException, InterruptedException, CommandExecutionException, CommandExitException {
+    componentSnapshotUrl = SdkComponentPrefetcherTest.writeMirror(
+        tempFolder.newFolder("mirror").toPath());
+    Path sdkHome = tempFolder.newFolder("google-cloud-sdk").toPath();
+    Files.write(sdkHome.resolve("VERSION"), "300.0.0".getBytes(StandardCharsets.UTF_8));
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    when(managedCloudSdk.getSdkHome()).thenReturn(sdkHome);
+
+    CloudSdkInstallJob job = newCloudSdkInstallJob("exit 1");
+    job.schedule();
+    job.join();
+
+    assertTrue(job.getResult().isOK());
+    verify(componentInstaller)
+        .installComponent(
+            any(SdkComponent.class), any(ProgressListener.class), any(ConsoleListener.class));
+  }
+
   private CloudSdkInstallJob newCloudSdkInstallJob() {
+    return newCloudSdkInstallJob("exit 0");
+  }
+
+  /** @param componentInstallScript shell script run in place of "gcloud components install" */
+  private CloudSdkInstallJob newCloudSdkInstallJob(String componentInstallScript) {
     return new CloudSdkInstallJob(consoleStream, new ReentrantReadWriteLock(), IStatus.WARNING) {
       @Override
       protected ManagedCloudSdk getManagedCloudSdk() throws UnsupportedOsException {
         return managedCloudSdk;
       }
+
+      @Override
+      URL getComponentSnapshotUrl() {
+        return componentSnapshotUrl;
+      }
+
+      @Override
+      List<String> getComponentInstallCommand(Path sdkHome) {
+        return Arrays.asList("sh", "-c", componentInstallScript);
+      }
     };
   }
 }
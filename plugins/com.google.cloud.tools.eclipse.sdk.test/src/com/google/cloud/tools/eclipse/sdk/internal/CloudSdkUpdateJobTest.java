@@ -17,6 +17,7 @@
 package com.google.cloud.tools.eclipse.sdk.internal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -36,12 +37,17 @@ import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkUpdater;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.console.MessageConsoleStream;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -49,6 +55,8 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class CloudSdkUpdateJobTest {
 
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
   @Mock private MessageConsoleStream consoleStream;
   @Mock private ManagedCloudSdk managedCloudSdk;
   @Mock private SdkUpdater sdkUpdater;
@@ -156,12 +164,52 @@ public class CloudSdkUpdateJobTest {
     verifyNoMoreInteractions(managedCloudSdk);
   }
 
+  @Test
+  public void testRun_sdkInstalled_sideBySideUpdate() throws Exception {
+    Path sdkHome = tempFolder.newFolder("google-cloud-sdk").toPath();
+    Files.write(sdkHome.resolve("VERSION"), "300.0.0".getBytes(StandardCharsets.UTF_8));
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.isUpToDate()).thenReturn(false);
+    when(managedCloudSdk.getSdkHome()).thenReturn(sdkHome);
+
+    CloudSdkUpdateJob job = new CloudSdkUpdateJob(consoleStream, new ReentrantReadWriteLock()) {
+      @Override
+      protected ManagedCloudSdk getManagedCloudSdk() {
+        return managedCloudSdk;
+      }
+
+      @Override
+      protected boolean isSideBySideUpdateSupported() {
+        return true;
+      }
+
+      @Override
+      SideBySideSdkUpdate newSideBySideUpdate(Path home) {
+        return SideBySideSdkUpdateTest.newFakeUpdate(home, "301.0.0");
+      }
+    };
+    job.schedule();
+    job.join();
+
+    assertTrue(job.getResult().isOK());
+    assertEquals("301.0.0",
+        new String(Files.readAllBytes(sdkHome.resolve("VERSION")), StandardCharsets.UTF_8).trim());
+    verify(managedCloudSdk, never()).newUpdater();
+    assertFalse(Files.exists(sdkHome.resolveSibling("google-cloud-sdk.update")));
+    assertFalse(Files.exists(sdkHome.resolveSibling("google-cloud-sdk.old")));
+  }
+
   private CloudSdkUpdateJob newCloudSdkUpdateJob() {
     return new CloudSdkUpdateJob(consoleStream, new ReentrantReadWriteLock()) {
       @Override
       protected ManagedCloudSdk getManagedCloudSdk() throws UnsupportedOsException {
         return managedCloudSdk;
       }
+
+      @Override
+      protected boolean isSideBySideUpdateSupported() {
+        return false;  // update in place with the mock updater
+      }
     };
   }
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SdkComponentPrefetcherTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private URL snapshotUrl;
+  private Path downloadDirectory;
+
+  /**
+   * Writes a stand-in for the Cloud SDK component mirror: a snapshot listing app-engine-java, its
+   * dependencies, and their payloads.
+   *
+   * @return the snapshot URL
+   */
+  static URL writeMirror(Path mirror) throws IOException {
+    JsonArray components = new JsonArray();
+    components.add(component(mirror, "core", "core payload").get());
+    components.add(component(mirror, "app-engine-java", "app-engine-java payload")
+        .dependsOn("core", "app-engine-java-extra", "native-tool").get());
+    components.add(component(mirror, "app-engine-java-extra", "extra payload").get());
+    components.add(component(mirror, "native-tool", "native payload").get());
+    components.get(0).getAsJsonObject().addProperty("is_required", true);
+    JsonObject windowsOnly = new JsonObject();
+    windowsOnly.add("operating_systems", new JsonParser().parse("[\"WINDOWS\"]"));
+    components.get(3).getAsJsonObject().add("platform", windowsOnly);
+
+    JsonObject snapshot = new JsonObject();
+    snapshot.add("components", components);
+    Path snapshotFile = mirror.resolve("components-2.json");
+    Files.write(snapshotFile, snapshot.toString().getBytes(StandardCharsets.UTF_8));
+    return snapshotFile.toUri().toURL();
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    snapshotUrl = writeMirror(tempFolder.newFolder("mirror").toPath());
+    downloadDirectory = tempFolder.newFolder("downloads").toPath();
+  }
+
+  @Test
+  public void testPrefetch() throws InterruptedException, ExecutionException, IOException {
+    SdkComponentPrefetcher prefetcher = new SdkComponentPrefetcher(snapshotUrl, downloadDirectory);
+    Path localSnapshot = prefetcher.prefetch("app-engine-java").get();
+
+    assertEquals(downloadDirectory.resolve(SdkComponentPrefetcher.LOCAL_SNAPSHOT_NAME),
+        localSnapshot);
+    assertEquals(1, prefetcher.getFetchedFraction(), 0);
+    JsonObject snapshot = readJson(localSnapshot);
+    assertEquals("app-engine-java payload", readSource(snapshot, "app-engine-java"));
+    assertEquals("extra payload", readSource(snapshot, "app-engine-java-extra"));
+    assertTrue(getSource(snapshot, "app-engine-java").startsWith(
+        downloadDirectory.toUri().toString()));
+    // left for gcloud to download from the mirror
+    assertEquals(new URL(snapshotUrl, "components/core.tar.gz").toString(),
+        getSource(snapshot, "core"));
+    assertEquals(new URL(snapshotUrl, "components/native-tool.tar.gz").toString(),
+        getSource(snapshot, "native-tool"));
+  }
+
+  @Test
+  public void testPrefetch_checksumMismatch() throws IOException, InterruptedException {
+    Path payload = Paths.get(URI.create(new URL(snapshotUrl,
+        "components/app-engine-java-extra.tar.gz").toString()));
+    Files.write(payload, "tampered".getBytes(StandardCharsets.UTF_8));
+
+    try {
+      new SdkComponentPrefetcher(snapshotUrl, downloadDirectory).prefetch("app-engine-java").get();
+      fail();
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof IOException);
+      assertTrue(ex.getCause().getMessage().startsWith("Checksum mismatch"));
+    }
+    Path localSnapshot = downloadDirectory.resolve(SdkComponentPrefetcher.LOCAL_SNAPSHOT_NAME);
+    assertFalse(Files.exists(localSnapshot));
+  }
+
+  @Test
+  public void testPrefetch_snapshotMissing() throws IOException, InterruptedException {
+    URL missing = tempFolder.getRoot().toPath().resolve("missing.json").toUri().toURL();
+    try {
+      new SdkComponentPrefetcher(missing, downloadDirectory).prefetch("app-engine-java").get();
+      fail();
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof IOException);
+    }
+  }
+
+  @Test
+  public void testPrefetch_canceled() throws IOException, InterruptedException {
+    SdkComponentPrefetcher prefetcher = new SdkComponentPrefetcher(snapshotUrl, downloadDirectory);
+    prefetcher.cancel();
+    try {
+      prefetcher.prefetch("app-engine-java").get();
+      fail();
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof IOException);
+    }
+  }
+
+  @Test
+  public void testSelectPayloadComponents() throws IOException {
+    JsonObject snapshot = readJson(Paths.get(URI.create(snapshotUrl.toString())));
+    List<String> ids = new ArrayList<>();
+    for (JsonObject component :
+        SdkComponentPrefetcher.selectPayloadComponents(snapshot, "app-engine-java")) {
+      ids.add(component.get("id").getAsString());
+    }
+    assertEquals(2, ids.size());
+    assertEquals("app-engine-java", ids.get(0));
+    assertEquals("app-engine-java-extra", ids.get(1));
+  }
+
+  @Test
+  public void testVerifySha256() throws IOException {
+    Path file = tempFolder.newFile().toPath();
+    Files.write(file, "payload".getBytes(StandardCharsets.UTF_8));
+    SdkComponentPrefetcher.verifySha256(file, sha256("payload"));
+    assertTrue(Files.exists(file));
+  }
+
+  @Test
+  public void testVerifySha256_mismatchDeletesFile() throws IOException {
+    Path file = tempFolder.newFile().toPath();
+    Files.write(file, "payload".getBytes(StandardCharsets.UTF_8));
+    try {
+      SdkComponentPrefetcher.verifySha256(file, sha256("other"));
+      fail();
+    } catch (IOException ex) {
+      assertTrue(ex.getMessage().startsWith("Checksum mismatch"));
+    }
+    assertFalse(Files.exists(file));
+  }
+
+  private static String getSource(JsonObject snapshot, String componentId) {
+    for (int i = 0; i < snapshot.getAsJsonArray("components").size(); i++) {
+      JsonObject component = snapshot.getAsJsonArray("components").get(i).getAsJsonObject();
+      if (componentId.equals(component.get("id").getAsString())) {
+        return component.getAsJsonObject("data").get("source").getAsString();
+      }
+    }
+    throw new AssertionError("no component " + componentId);
+  }
+
+  private static String readSource(JsonObject snapshot, String componentId) throws IOException {
+    Path payload = Paths.get(URI.create(getSource(snapshot, componentId)));
+    return new String(Files.readAllBytes(payload), StandardCharsets.UTF_8);
+  }
+
+  private static JsonObject readJson(Path file) throws IOException {
+    String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    return new JsonParser().parse(json).getAsJsonObject();
+  }
+
+  private static String sha256(String content) {
+    return Hashing.sha256().hashString(content, StandardCharsets.UTF_8).toString();
+  }
+
+  private static ComponentBuilder component(Path mirror, String id, String payload)
+      throws IOException {
+    Path payloadFile = mirror.resolve("components").resolve(id + ".tar.gz");
+    Files.createDirectories(payloadFile.getParent());
+    Files.write(payloadFile, payload.getBytes(StandardCharsets.UTF_8));
+    return new ComponentBuilder(id, "components/" + id + ".tar.gz", sha256(payload),
+        payload.length());
+  }
+
+  private static class ComponentBuilder {
+    private final JsonObject component = new JsonObject();
+
+    private ComponentBuilder(String id, String source, String checksum, long size) {
+      JsonObject data = new JsonObject();
+      data.addProperty("source", source);
+      data.addProperty("checksum", checksum);
+      data.addProperty("size", size);
+      data.addProperty("type", "tar");
+      component.addProperty("id", id);
+      component.add("data", data);
+    }
+
+    private ComponentBuilder dependsOn(String... ids) {
+      JsonArray dependencies = new JsonArray();
+      for (String id : ids) {
+        dependencies.add(id);
+      }
+      component.add("dependencies", dependencies);
+      return this;
+    }
+
+    private JsonObject get() {
+      return component;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SideBySideSdkUpdateTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path sdkHome;
+
+  /** Returns an update whose "gcloud components update" just rewrites the VERSION file. */
+  static SideBySideSdkUpdate newFakeUpdate(Path sdkHome, String newVersion) {
+    return new SideBySideSdkUpdate(sdkHome) {
+      @Override
+      List<String> getUpdateCommand(Path stagedSdkHome) {
+        return Arrays.asList("sh", "-c", "echo " + newVersion + " > VERSION");
+      }
+    };
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    sdkHome = tempFolder.newFolder("google-cloud-sdk").toPath();
+    write(sdkHome.resolve("VERSION"), "300.0.0");
+    Files.createDirectories(sdkHome.resolve("bin"));
+    write(sdkHome.resolve("bin/gcloud"), "#!/bin/sh");
+  }
+
+  @Test
+  public void testPrepare_leavesOriginalUntouched() throws IOException, InterruptedException {
+    SideBySideSdkUpdate update = newFakeUpdate(sdkHome, "301.0.0");
+    update.prepare(null, new NullProgressMonitor());
+
+    assertTrue(update.isPrepared());
+    assertEquals("300.0.0", read(sdkHome.resolve("VERSION")));
+    assertEquals("301.0.0", read(update.getStagedSdkHome().resolve("VERSION")));
+    assertTrue(Files.exists(update.getStagedSdkHome().resolve("bin/gcloud")));
+  }
+
+  @Test
+  public void testSwap() throws IOException, InterruptedException {
+    SideBySideSdkUpdate update = newFakeUpdate(sdkHome, "301.0.0");
+    update.prepare(null, new NullProgressMonitor());
+    update.swap();
+
+    assertEquals("301.0.0", read(sdkHome.resolve("VERSION")));
+    assertEquals("300.0.0", read(update.getBackupSdkHome().resolve("VERSION")));
+    assertFalse(Files.exists(update.getStagedSdkHome()));
+
+    update.cleanUp();
+    assertFalse(Files.exists(update.getBackupSdkHome()));
+    assertTrue(Files.exists(sdkHome.resolve("bin/gcloud")));
+  }
+
+  @Test
+  public void testSwap_notPrepared() throws IOException {
+    try {
+      new SideBySideSdkUpdate(sdkHome).swap();
+      fail();
+    } catch (IllegalStateException ex) {
+      assertEquals("update not prepared", ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testPrepare_updateCommandFails() throws InterruptedException {
+    SideBySideSdkUpdate update = new SideBySideSdkUpdate(sdkHome) {
+      @Override
+      List<String> getUpdateCommand(Path stagedSdkHome) {
+        return Arrays.asList("sh", "-c", "exit 3");
+      }
+    };
+    try {
+      update.prepare(null, new NullProgressMonitor());
+      fail();
+    } catch (IOException ex) {
+      assertEquals("Cloud SDK update exited with code 3", ex.getMessage());
+    }
+    assertFalse(update.isPrepared());
+  }
+
+  @Test(timeout = 10000)
+  public void testPrepare_cancelStopsUpdateCommand() throws IOException, InterruptedException {
+    SideBySideSdkUpdate update = new SideBySideSdkUpdate(sdkHome) {
+      @Override
+      List<String> getUpdateCommand(Path stagedSdkHome) {
+        return Arrays.asList("sh", "-c", "sleep 60");
+      }
+    };
+    NullProgressMonitor monitor = new NullProgressMonitor();
+    Thread canceller = new Thread(() -> {
+      try {
+        Thread.sleep(500);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      monitor.setCanceled(true);
+    });
+    canceller.start();
+    try {
+      update.prepare(null, monitor);
+      fail();
+    } catch (OperationCanceledException ex) {
+      // expected
+    } finally {
+      canceller.join();
+    }
+    assertFalse(update.isPrepared());
+  }
+
+  @Test
+  public void testPrepare_removesLeftovers() throws IOException, InterruptedException {
+    SideBySideSdkUpdate update = newFakeUpdate(sdkHome, "301.0.0");
+    Files.createDirectories(update.getStagedSdkHome().resolve("stale"));
+    Files.createDirectories(update.getBackupSdkHome());
+
+    update.prepare(null, new NullProgressMonitor());
+    assertFalse(Files.exists(update.getStagedSdkHome().resolve("stale")));
+    assertFalse(Files.exists(update.getBackupSdkHome()));
+  }
+
+  private static void write(Path path, String content) throws IOException {
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String read(Path path) throws IOException {
+    return new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+  }
+}
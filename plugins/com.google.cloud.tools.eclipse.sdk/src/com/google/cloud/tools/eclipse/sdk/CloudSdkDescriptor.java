@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+import com.google.cloud.tools.appengine.operations.CloudSdk;
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
+import com.google.common.base.Preconditions;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An immutable snapshot of facts about the Cloud SDK in use: its location, version, and where its
+ * App Engine Java components are. Obtain through {@link CloudSdkDescriptorCache} rather than
+ * building a {@link CloudSdk} and querying it, which re-reads the installation from disk.
+ */
+public class CloudSdkDescriptor {
+
+  private final Path sdkHome;
+  private final String version;
+  private final Path javaHome;
+  private final Path appEngineJavaPath;
+  private final boolean appEngineJavaInstalled;
+
+  public CloudSdkDescriptor(Path sdkHome, String version, Path javaHome,
+      Path appEngineJavaPath, boolean appEngineJavaInstalled) {
+    this.sdkHome = Preconditions.checkNotNull(sdkHome);
+    this.version = version;
+    this.javaHome = javaHome;
+    this.appEngineJavaPath = appEngineJavaPath;
+    this.appEngineJavaInstalled = appEngineJavaInstalled;
+  }
+
+  /** Reads the facts from {@code cloudSdk}. */
+  static CloudSdkDescriptor from(CloudSdk cloudSdk) {
+    String version;
+    try {
+      version = cloudSdk.getVersion().toString();
+    } catch (CloudSdkVersionFileException ex) {
+      version = null;
+    }
+    Path appEngineJavaPath = cloudSdk.getAppEngineSdkForJavaPath();
+    return new CloudSdkDescriptor(cloudSdk.getPath(), version, cloudSdk.getJavaHomePath(),
+        appEngineJavaPath, appEngineJavaPath != null && Files.isDirectory(appEngineJavaPath));
+  }
+
+  public Path getSdkHome() {
+    return sdkHome;
+  }
+
+  /** Returns the Cloud SDK version, or {@code null} if the {@code VERSION} file is unreadable. */
+  public String getVersion() {
+    return version;
+  }
+
+  /** Returns the JDK/JRE home the Cloud SDK tools run with. */
+  public Path getJavaHome() {
+    return javaHome;
+  }
+
+  /** Returns the location of the App Engine SDK for Java inside the Cloud SDK. */
+  public Path getAppEngineJavaPath() {
+    return appEngineJavaPath;
+  }
+
+  /** Returns {@code true} if the {@code app-engine-java} component is installed. */
+  public boolean isAppEngineJavaInstalled() {
+    return appEngineJavaInstalled;
+  }
+
+  @Override
+  public String toString() {
+    return "CloudSdkDescriptor[home=" + sdkHome + ", version=" + version + "]";
+  }
+}
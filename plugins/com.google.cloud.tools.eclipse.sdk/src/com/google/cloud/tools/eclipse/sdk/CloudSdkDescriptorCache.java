@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+import com.google.cloud.tools.appengine.operations.CloudSdk;
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
+import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkPreferences;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches a {@link CloudSdkDescriptor} of the Cloud SDK currently in use, so that hot paths (e.g.,
+ * launches and deploys) need not re-locate the Cloud SDK and re-read its {@code VERSION} file. The
+ * descriptor is dropped when Cloud SDK preferences change, when a managed Cloud SDK install or
+ * update job finishes, and when the top-level contents of the Cloud SDK directory change.
+ */
+public class CloudSdkDescriptorCache {
+
+  private static final Logger logger = Logger.getLogger(CloudSdkDescriptorCache.class.getName());
+
+  private static CloudSdkDescriptorCache instance;
+
+  public static synchronized CloudSdkDescriptorCache getInstance() {
+    if (instance == null) {
+      instance = new CloudSdkDescriptorCache(() -> CloudSdkDescriptor.from(
+          new CloudSdk.Builder().build()));
+      CloudSdkPreferences.addPreferenceChangeListener(event -> instance.invalidate());
+    }
+    return instance;
+  }
+
+  private final Callable<CloudSdkDescriptor> loader;
+
+  private CloudSdkDescriptor descriptor;
+  private WatchService watchService;
+
+  @VisibleForTesting
+  CloudSdkDescriptorCache(Callable<CloudSdkDescriptor> loader) {
+    this.loader = loader;
+  }
+
+  /**
+   * Returns the descriptor of the Cloud SDK in use, locating and reading it from disk only if not
+   * cached.
+   *
+   * @throws CloudSdkNotFoundException if the Cloud SDK cannot be located
+   */
+  public synchronized CloudSdkDescriptor getDescriptor() throws CloudSdkNotFoundException {
+    if (descriptor == null) {
+      try {
+        descriptor = loader.call();
+      } catch (CloudSdkNotFoundException | RuntimeException ex) {
+        throw ex;
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+      watch(descriptor.getSdkHome());
+    }
+    return descriptor;
+  }
+
+  /**
+   * Returns a builder for the Cloud SDK in use, located through the cached descriptor rather than
+   * by searching for the Cloud SDK again.
+   *
+   * @throws CloudSdkNotFoundException if the Cloud SDK cannot be located
+   */
+  public CloudSdk.Builder newCloudSdkBuilder() throws CloudSdkNotFoundException {
+    return new CloudSdk.Builder().sdkPath(getDescriptor().getSdkHome());
+  }
+
+  /** Returns {@code true} if the Cloud SDK can be located. */
+  public boolean isCloudSdkAvailable() {
+    try {
+      getDescriptor();
+      return true;
+    } catch (CloudSdkNotFoundException ex) {
+      return false;
+    }
+  }
+
+  /** Drops the cached descriptor; the next {@link #getDescriptor()} reads it afresh. */
+  public synchronized void invalidate() {
+    descriptor = null;
+    stopWatching();
+  }
+
+  @VisibleForTesting
+  synchronized boolean isCached() {
+    return descriptor != null;
+  }
+
+  /** Must be called with the lock held. */
+  private void watch(Path sdkHome) {
+    stopWatching();
+    try {
+      WatchService newWatchService = sdkHome.getFileSystem().newWatchService();
+      sdkHome.register(newWatchService, StandardWatchEventKinds.ENTRY_CREATE,
+          StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+      watchService = newWatchService;
+
+      Thread watcher = new Thread(() -> awaitChange(newWatchService),
+          "Cloud SDK directory watcher"); //$NON-NLS-1$
+      watcher.setDaemon(true);
+      watcher.start();
+    } catch (IOException | UnsupportedOperationException ex) {
+      // Without a watch, rely on the preference and modify-job invalidation alone.
+      logger.log(Level.FINE, "Cannot watch Cloud SDK directory " + sdkHome, ex); //$NON-NLS-1$
+    }
+  }
+
+  private void awaitChange(WatchService service) {
+    try {
+      WatchKey key = service.take();
+      key.pollEvents();
+      synchronized (this) {
+        if (watchService == service) {
+          invalidate();
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException ex) {
+      // stopped watching
+    }
+  }
+
+  /** Must be called with the lock held. */
+  private void stopWatching() {
+    if (watchService != null) {
+      try {
+        watchService.close();
+      } catch (IOException ex) {
+        logger.log(Level.FINE, "Cannot close watch service", ex); //$NON-NLS-1$
+      }
+      watchService = null;
+    }
+  }
+}
@@ -20,15 +20,18 @@ import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkInstallJob;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkModifyJob;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkPreferences;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkUpdateJob;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVerificationException;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVersionMismatchException;
+import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import com.google.common.annotations.VisibleForTesting;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.IJobManager;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.console.MessageConsoleStream;
 
@@ -53,8 +56,9 @@ public class CloudSdkManager {
 
   /**
    * Prevents potential future SDK auto-install or auto-update functionality to allow safely using
-   * the managed Cloud SDK for some period of time. Blocks if an install or update is in progress.
-   * Callers must call {@code CloudSdkManager#allowModifyingSdk} eventually to lift the suspension.
+   * the managed Cloud SDK for some period of time. Blocks while an install or update is changing
+   * the SDK. Callers must call {@code CloudSdkManager#allowModifyingSdk} eventually to lift the
+   * suspension.
    * Any callers that intend to use {@code CloudSdk} must always call this before staring work, even
    * if the Cloud SDK preferences are configured not to auto-managed the SDK.
    *
@@ -63,11 +67,9 @@ public class CloudSdkManager {
    * @see CloudSdkManager#allowModifyingSdk
    */
   public void preventModifyingSdk() throws InterruptedException {
-    do {
-      IJobManager jobManager = Job.getJobManager();
-      // The join is to improve UI reporting of blocked jobs. Most of the waiting should be here.
-      jobManager.join(CloudSdkModifyJob.CLOUD_SDK_MODIFY_JOB_FAMILY, null /* no monitor */);
-    } while (!modifyLock.readLock().tryLock(10, TimeUnit.MILLISECONDS));
+    // Modify jobs hold the write lock only while changing the SDK on disk, not while preparing
+    // (e.g., downloading), so this blocks exactly as long as the SDK is unusable.
+    modifyLock.readLock().lockInterruptibly();
     // We have acquired the read lock; all further install/update should be blocked, while others
     // can still grab a read lock and use the Cloud SDK.
   }
@@ -105,8 +107,11 @@ public class CloudSdkManager {
    */
   public IStatus installManagedSdk(MessageConsoleStream consoleStream, IProgressMonitor monitor) {
     if (CloudSdkPreferences.isAutoManaging()) {
-      // We don't check if the Cloud SDK installed but always schedule the install job; such check
-      // may pass while the SDK is being installed and in an incomplete state.
+      // A complete SDK needs no install job, which would otherwise wait for any update job that
+      // is still preparing its changes.
+      if (isManagedSdkComplete()) {
+        return Status.OK_STATUS;
+      }
       // Mark installation failure as non-ERROR to avoid job failure reporting dialogs from the
       // overly helpful Eclipse UI ProgressManager
       CloudSdkInstallJob installJob = new CloudSdkInstallJob(
@@ -126,6 +131,35 @@ public class CloudSdkManager {
     return Status.OK_STATUS;
   }
 
+  /**
+   * Checks if the managed Cloud SDK and the App Engine Java component are installed. The check is
+   * done under the read lock, so it never sees an install or update half-way through.
+   */
+  @VisibleForTesting
+  boolean isManagedSdkComplete() {
+    try {
+      modifyLock.readLock().lockInterruptibly();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    try {
+      ManagedCloudSdk managedSdk = getManagedCloudSdk();
+      return managedSdk.isInstalled() && managedSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA);
+    } catch (UnsupportedOsException | ManagedSdkVerificationException
+        | ManagedSdkVersionMismatchException ex) {
+      // let the install job report the problem
+      return false;
+    } finally {
+      modifyLock.readLock().unlock();
+    }
+  }
+
+  @VisibleForTesting
+  ManagedCloudSdk getManagedCloudSdk() throws UnsupportedOsException {
+    return ManagedCloudSdk.newManagedSdk();
+  }
+
   /**
    * Triggers the update of a managed Cloud SDK, if the preferences are configured to auto-manage
    * the SDK.
@@ -147,7 +181,6 @@ public class CloudSdkManager {
     installJob.schedule();
 
     try {
-      Job.getJobManager().join(CloudSdkInstallJob.CLOUD_SDK_MODIFY_JOB_FAMILY, cancelMonitor);
       if (!installJob.join(0, cancelMonitor)) {
         return Status.CANCEL_STATUS;
       }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+import com.google.cloud.tools.appengine.operations.cloudsdk.JsonParseException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessOutputLineListener;
+import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.GcloudStructuredLog;
+import com.google.common.base.Preconditions;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link ProcessOutputLineListener} that recognizes {@code gcloud app deploy} progress messages
+ * as they are produced and reports them as typed {@link Event}s. Should listen to stderr. Both
+ * gcloud structured logs (whose {@code message} property is inspected) and plain status lines are
+ * understood. Lines are examined one at a time and nothing is retained, so memory use does not
+ * grow with the amount of output.
+ */
+public class GcloudDeployProgressParser implements ProcessOutputLineListener {
+
+  /** Kinds of deploy milestones reported by gcloud. */
+  public enum EventType {
+    /** {@code Beginning deployment of service [<service>]...} */
+    DEPLOYMENT_STARTED,
+    /** {@code Uploading <n> files to Google Cloud Storage} */
+    UPLOAD_STARTED,
+    /** {@code File upload done.} */
+    UPLOAD_DONE,
+    /** {@code Updating service [<service>]...} (i.e., a new version is being created) */
+    VERSION_UPDATING,
+    /** {@code Setting traffic split for service [<service>]...} */
+    TRAFFIC_MIGRATION,
+    /** {@code Deployed service [<service>] to [<url>]} */
+    SERVICE_DEPLOYED
+  }
+
+  /** A single progress milestone. Fields not carried by the milestone are {@code null} or -1. */
+  public static class Event {
+    private final EventType type;
+    private final String service;
+    private final int fileCount;
+    private final String url;
+
+    Event(EventType type, String service, int fileCount, String url) {
+      this.type = type;
+      this.service = service;
+      this.fileCount = fileCount;
+      this.url = url;
+    }
+
+    public EventType getType() {
+      return type;
+    }
+
+    /** Service name, or {@code null} if the milestone is not service-specific. */
+    public String getService() {
+      return service;
+    }
+
+    /** Number of files to upload for {@link EventType#UPLOAD_STARTED}; -1 otherwise. */
+    public int getFileCount() {
+      return fileCount;
+    }
+
+    /** Service URL for {@link EventType#SERVICE_DEPLOYED}; {@code null} otherwise. */
+    public String getUrl() {
+      return url;
+    }
+
+    @Override
+    public String toString() {
+      return type + "[service=" + service + ", files=" + fileCount + ", url=" + url + "]";
+    }
+  }
+
+  private static final Pattern DEPLOYMENT_STARTED =
+      Pattern.compile("Beginning deployment of service \\[([^\\]]*)\\]");
+  private static final Pattern UPLOAD_STARTED =
+      Pattern.compile("Uploading (\\d+) files? to Google Cloud Storage");
+  private static final Pattern UPLOAD_DONE = Pattern.compile("File upload done");
+  private static final Pattern VERSION_UPDATING =
+      Pattern.compile("Updating service \\[([^\\]]*)\\]");
+  private static final Pattern TRAFFIC_MIGRATION =
+      Pattern.compile("Setting traffic split for service \\[([^\\]]*)\\]");
+  private static final Pattern SERVICE_DEPLOYED =
+      Pattern.compile("Deployed service \\[([^\\]]*)\\] to \\[([^\\]]*)\\]");
+
+  private final Consumer<Event> eventConsumer;
+
+  public GcloudDeployProgressParser(Consumer<Event> eventConsumer) {
+    this.eventConsumer = Preconditions.checkNotNull(eventConsumer);
+  }
+
+  @Override
+  public void onOutputLine(String line) {
+    Event event = parse(getMessage(line));
+    if (event != null) {
+      eventConsumer.accept(event);
+    }
+  }
+
+  /** Returns the {@code message} of a structured log line, or the line itself if unstructured. */
+  private static String getMessage(String line) {
+    if (line == null || !line.trim().startsWith("{")) {
+      return line;
+    }
+    try {
+      GcloudStructuredLog log = GcloudStructuredLog.parse(line);
+      return log != null ? log.getMessage() : null;
+    } catch (JsonParseException ex) {
+      return line;  // not a structured log line
+    }
+  }
+
+  static Event parse(String message) {
+    if (message == null || message.isEmpty()) {
+      return null;
+    }
+
+    Matcher matcher = DEPLOYMENT_STARTED.matcher(message);
+    if (matcher.find()) {
+      return new Event(EventType.DEPLOYMENT_STARTED, matcher.group(1), -1, null);
+    }
+    matcher = UPLOAD_STARTED.matcher(message);
+    if (matcher.find()) {
+      return new Event(EventType.UPLOAD_STARTED, null, parseCount(matcher.group(1)), null);
+    }
+    if (UPLOAD_DONE.matcher(message).find()) {
+      return new Event(EventType.UPLOAD_DONE, null, -1, null);
+    }
+    matcher = VERSION_UPDATING.matcher(message);
+    if (matcher.find()) {
+      return new Event(EventType.VERSION_UPDATING, matcher.group(1), -1, null);
+    }
+    matcher = TRAFFIC_MIGRATION.matcher(message);
+    if (matcher.find()) {
+      return new Event(EventType.TRAFFIC_MIGRATION, matcher.group(1), -1, null);
+    }
+    matcher = SERVICE_DEPLOYED.matcher(message);
+    if (matcher.find()) {
+      return new Event(EventType.SERVICE_DEPLOYED, matcher.group(1), -1, matcher.group(2));
+    }
+    return null;
+  }
+
+  private static int parseCount(String digits) {
+    try {
+      return Integer.parseInt(digits);
+    } catch (NumberFormatException ex) {
+      return -1;  // absurdly large number
+    }
+  }
+}
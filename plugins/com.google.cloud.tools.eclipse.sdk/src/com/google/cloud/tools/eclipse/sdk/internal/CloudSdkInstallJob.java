@@ -33,13 +33,28 @@ import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponentInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.ui.console.MessageConsoleStream;
@@ -47,6 +62,17 @@ import org.eclipse.ui.console.MessageConsoleStream;
 public class CloudSdkInstallJob extends CloudSdkModifyJob {
   private static final Logger logger = Logger.getLogger(CloudSdkInstallJob.class.getName());
 
+  /*
+   * Relative progress weights, roughly proportional to download sizes. On a fresh install, the
+   * component payloads are downloaded while the base SDK installs; the component install itself
+   * runs gcloud from the base SDK, so it cannot start before.
+   */
+  private static final int BASE_INSTALL_WORK = 70;
+  private static final int COMPONENT_INSTALL_WORK = 30;
+  private static final int COMPONENT_FETCH_WORK = 20;
+  private static final int FETCH_PROGRESS_RESOLUTION = 1000;
+  private static final long FETCH_POLL_INTERVAL_MS = 100;
+
   public CloudSdkInstallJob(MessageConsoleStream consoleStream, ReadWriteLock cloudSdkLock) {
     super(consoleStream, cloudSdkLock);
   }
@@ -63,39 +89,22 @@ public class CloudSdkInstallJob extends CloudSdkModifyJob {
    */
   @Override
   protected IStatus modifySdk(IProgressMonitor monitor) {
-    SubMonitor progress =
-        SubMonitor.convert(monitor, Messages.getString("configuring.cloud.sdk"), 30); // $NON-NLS-1$
+    SubMonitor progress = SubMonitor.convert(monitor,
+        Messages.getString("configuring.cloud.sdk"), BASE_INSTALL_WORK + COMPONENT_INSTALL_WORK);
 
     try {
       ManagedCloudSdk managedSdk = getManagedCloudSdk();
       if (!managedSdk.isInstalled()) {
-        subTask(progress, Messages.getString("installing.cloud.sdk")); // $NON-NLS-1$
-        SdkInstaller installer = managedSdk.newInstaller();
-        installer.install(
-            new ProgressWrapper(progress.split(10)),
-            new MessageConsoleWriterListener(consoleStream));
-        String version = getVersion(managedSdk.getSdkHome());
-        AnalyticsPingManager.getInstance().sendPing(AnalyticsEvents.CLOUD_SDK_INSTALL_SUCCESS);
-        logger.info("Installed Google Cloud SDK version " + version);
-      }
-
-      if (!managedSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)) {
-        subTask(
-            progress, Messages.getString("installing.cloud.sdk.app.engine.java")); // $NON-NLS-1$
-        SdkComponentInstaller componentInstaller = managedSdk.newComponentInstaller();
-        componentInstaller.installComponent(
-            SdkComponent.APP_ENGINE_JAVA,
-            new ProgressWrapper(progress.split(10)),
-            new MessageConsoleWriterListener(consoleStream));
-        AnalyticsPingManager.getInstance().sendPing(
-            AnalyticsEvents.CLOUD_SDK_COMPONENT_INSTALL_SUCCESS);
-        logger.info("Installed Google Cloud SDK component: " + SdkComponent.APP_ENGINE_JAVA.name());
+        installFresh(managedSdk, progress);
+      } else if (!managedSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)) {
+        progress.setWorkRemaining(COMPONENT_INSTALL_WORK);
+        installComponent(managedSdk, progress.split(COMPONENT_INSTALL_WORK));
       }
-      progress.worked(10);
+      progress.done();
 
       return Status.OK_STATUS;
 
-    } catch (InterruptedException | ClosedByInterruptException e) {
+    } catch (InterruptedException | ClosedByInterruptException | OperationCanceledException e) {
       AnalyticsPingManager.getInstance().sendPing(AnalyticsEvents.CLOUD_SDK_INSTALL_CANCELED);
       return Status.CANCEL_STATUS;
     } catch (IOException | ManagedSdkVerificationException | SdkInstallerException |
@@ -123,4 +132,130 @@ public class CloudSdkInstallJob extends CloudSdkModifyJob {
       return status;
     }
   }
+
+  /**
+   * Installs the base SDK, while the payloads of the App Engine Java component are downloaded
+   * concurrently, then installs the component from the downloaded payloads. If they could not be
+   * downloaded or installed, the component is installed as usual.
+   */
+  private void installFresh(ManagedCloudSdk managedSdk, SubMonitor progress)
+      throws IOException, InterruptedException, ManagedSdkVerificationException,
+      SdkInstallerException, CommandExecutionException, CommandExitException,
+      CloudSdkVersionFileException, CloudSdkNotFoundException {
+    Path downloadDirectory = Files.createTempDirectory("cloud-sdk-components"); //$NON-NLS-1$
+    SdkComponentPrefetcher prefetcher =
+        new SdkComponentPrefetcher(getComponentSnapshotUrl(), downloadDirectory);
+    CompletableFuture<Path> localSnapshot =
+        prefetcher.prefetch(SdkComponent.APP_ENGINE_JAVA.toString());
+    try {
+      subTask(progress, Messages.getString("installing.cloud.sdk")); // $NON-NLS-1$
+      SdkInstaller installer = managedSdk.newInstaller();
+      installer.install(
+          new ProgressWrapper(progress.split(BASE_INSTALL_WORK)),
+          new MessageConsoleWriterListener(consoleStream));
+      String version = getVersion(managedSdk.getSdkHome());
+      AnalyticsPingManager.getInstance().sendPing(AnalyticsEvents.CLOUD_SDK_INSTALL_SUCCESS);
+      logger.info("Installed Google Cloud SDK version " + version);
+
+      // A freshly installed base SDK never includes app-engine-java, so skip asking gcloud.
+      Path snapshot = awaitPrefetch(prefetcher, localSnapshot,
+          progress.split(COMPONENT_FETCH_WORK));
+      if (snapshot == null
+          || !installPrefetchedComponent(managedSdk.getSdkHome(), snapshot,
+              progress.split(COMPONENT_INSTALL_WORK - COMPONENT_FETCH_WORK))) {
+        int componentWork = COMPONENT_INSTALL_WORK - COMPONENT_FETCH_WORK;
+        progress.setWorkRemaining(componentWork);
+        installComponent(managedSdk, progress.split(componentWork));
+      }
+    } finally {
+      prefetcher.cancel();
+      try {
+        MoreFiles.deleteRecursively(downloadDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+      } catch (IOException ex) {
+        logger.log(Level.WARNING, "Could not delete " + downloadDirectory, ex); // $NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * Waits for the component payloads, reporting the download progress.
+   *
+   * @return the local snapshot to install from, or {@code null} if the payloads could not be
+   *     downloaded
+   */
+  private static Path awaitPrefetch(SdkComponentPrefetcher prefetcher,
+      CompletableFuture<Path> localSnapshot, IProgressMonitor monitor)
+      throws InterruptedException {
+    SubMonitor progress = SubMonitor.convert(monitor, FETCH_PROGRESS_RESOLUTION);
+    int reported = 0;
+    while (true) {
+      // most of the payloads have usually arrived while the base SDK was installed
+      int fetched = (int) (prefetcher.getFetchedFraction() * FETCH_PROGRESS_RESOLUTION);
+      progress.worked(fetched - reported);
+      reported = fetched;
+      try {
+        return localSnapshot.get(FETCH_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException ex) {
+        progress.checkCanceled();
+      } catch (ExecutionException ex) {
+        logger.log(Level.WARNING, "Could not download Cloud SDK component payloads; " // $NON-NLS-1$
+            + "gcloud will download them", ex.getCause()); // $NON-NLS-1$
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Runs {@code gcloud components install} against the local snapshot of downloaded payloads.
+   *
+   * @return {@code false} if the command failed
+   */
+  private boolean installPrefetchedComponent(Path sdkHome, Path localSnapshot,
+      IProgressMonitor monitor) throws InterruptedException {
+    subTask(monitor, Messages.getString("installing.cloud.sdk.app.engine.java")); // $NON-NLS-1$
+    try {
+      GcloudRunner.run(getComponentInstallCommand(sdkHome), sdkHome,
+          Collections.singletonMap(
+              "CLOUDSDK_COMPONENT_MANAGER_SNAPSHOT_URL", // $NON-NLS-1$
+              localSnapshot.toUri().toString()),
+          "Cloud SDK component install", consoleStream, monitor); // $NON-NLS-1$
+    } catch (IOException ex) {
+      logger.log(Level.WARNING,
+          "Could not install downloaded Cloud SDK component payloads", ex); // $NON-NLS-1$
+      return false;
+    }
+    AnalyticsPingManager.getInstance().sendPing(
+        AnalyticsEvents.CLOUD_SDK_COMPONENT_INSTALL_SUCCESS);
+    logger.info("Installed Google Cloud SDK component: " + SdkComponent.APP_ENGINE_JAVA.name());
+    return true;
+  }
+
+  private void installComponent(ManagedCloudSdk managedSdk, IProgressMonitor monitor)
+      throws InterruptedException, ManagedSdkVerificationException, CommandExecutionException,
+      CommandExitException {
+    SubMonitor progress = SubMonitor.convert(monitor, 1);
+    subTask(progress, Messages.getString("installing.cloud.sdk.app.engine.java")); // $NON-NLS-1$
+    SdkComponentInstaller componentInstaller = managedSdk.newComponentInstaller();
+    componentInstaller.installComponent(
+        SdkComponent.APP_ENGINE_JAVA,
+        new ProgressWrapper(progress.split(1)),
+        new MessageConsoleWriterListener(consoleStream));
+    AnalyticsPingManager.getInstance().sendPing(
+        AnalyticsEvents.CLOUD_SDK_COMPONENT_INSTALL_SUCCESS);
+    logger.info("Installed Google Cloud SDK component: " + SdkComponent.APP_ENGINE_JAVA.name());
+  }
+
+  /** Returns the component snapshot to download the component payloads from. */
+  @VisibleForTesting
+  URL getComponentSnapshotUrl() throws MalformedURLException {
+    return new URL(SdkComponentPrefetcher.DEFAULT_SNAPSHOT_URL);
+  }
+
+  /** Returns the command that installs the App Engine Java component into {@code sdkHome}. */
+  @VisibleForTesting
+  List<String> getComponentInstallCommand(Path sdkHome) {
+    String gcloud = GcloudRunner.getGcloudPath(sdkHome).toString();
+    return Arrays.asList(gcloud, "components", "install", // $NON-NLS-1$ // $NON-NLS-2$
+        SdkComponent.APP_ENGINE_JAVA.toString(), "--quiet"); // $NON-NLS-1$
+  }
 }
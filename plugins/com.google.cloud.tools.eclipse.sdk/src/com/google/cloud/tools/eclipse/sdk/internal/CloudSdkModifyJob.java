@@ -19,6 +19,7 @@ package com.google.cloud.tools.eclipse.sdk.internal;
 import com.google.cloud.tools.appengine.operations.CloudSdk;
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
+import com.google.cloud.tools.eclipse.sdk.CloudSdkDescriptorCache;
 import com.google.cloud.tools.eclipse.sdk.Messages;
 import com.google.cloud.tools.eclipse.ui.util.MessageConsoleUtilities;
 import com.google.cloud.tools.eclipse.util.jobs.MutexRule;
@@ -32,6 +33,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IProgressMonitorWithBlocking;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.console.MessageConsole;
 import org.eclipse.ui.console.MessageConsoleStream;
@@ -90,24 +92,59 @@ public abstract class CloudSdkModifyJob extends Job {
       return Status.CANCEL_STATUS;
     }
 
+    SubMonitor progress = SubMonitor.convert(monitor, 100);
     try {
-      markBlocked(monitor);  // for better UI reporting of lock-waiting.
-      cloudSdkLock.writeLock().lockInterruptibly();
-    } catch (InterruptedException e) {
-      return Status.CANCEL_STATUS;
+      // Preparation runs without the lock, so the Cloud SDK remains usable in the meantime.
+      IStatus preparationStatus = prepareSdkModification(progress.newChild(getPreparationWork()));
+      if (!preparationStatus.isOK()) {
+        return preparationStatus;
+      }
+
+      try {
+        markBlocked(monitor);  // for better UI reporting of lock-waiting.
+        cloudSdkLock.writeLock().lockInterruptibly();
+      } catch (InterruptedException e) {
+        return Status.CANCEL_STATUS;
+      } finally {
+        clearBlocked(monitor);
+      }
+
+      try {
+        return modifySdk(progress.newChild(100 - getPreparationWork()));
+      } finally {
+        // Whatever the outcome, the installation may have changed on disk.
+        CloudSdkDescriptorCache.getInstance().invalidate();
+        cloudSdkLock.writeLock().unlock();
+      }
     } finally {
-      clearBlocked(monitor);
+      finishSdkModification();
     }
+  }
 
-    try {
-      return modifySdk(monitor);
-    } finally {
-      cloudSdkLock.writeLock().unlock();
-    }
+  /**
+   * Does any lengthy work that can be done before modifying the Cloud SDK, without blocking Cloud
+   * SDK users (e.g., downloading). Runs without holding the Cloud SDK lock, but never concurrently
+   * with other {@link CloudSdkModifyJob}s. A non-OK status aborts the job.
+   */
+  protected IStatus prepareSdkModification(IProgressMonitor monitor) {
+    return Status.OK_STATUS;
   }
 
+  /** Percentage of the job progress allotted to {@link #prepareSdkModification}. */
+  protected int getPreparationWork() {
+    return 0;
+  }
+
+  /** Modifies the Cloud SDK. Runs while holding the Cloud SDK lock. */
   protected abstract IStatus modifySdk(IProgressMonitor monitor);
 
+  /**
+   * Cleans up after the job (e.g., deletes leftover files) once the Cloud SDK lock is released.
+   * Always called, even if preparation or modification failed.
+   */
+  protected void finishSdkModification() {
+  }
+
   /** Retrieve the version of the Cloud SDK at the provided location. */
   protected static String getVersion(Path sdkPath) 
       throws CloudSdkVersionFileException, CloudSdkNotFoundException {
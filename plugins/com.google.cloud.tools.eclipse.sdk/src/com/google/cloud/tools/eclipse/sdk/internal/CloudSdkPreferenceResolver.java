@@ -33,6 +33,9 @@ import org.eclipse.jface.preference.IPreferenceStore;
 public class CloudSdkPreferenceResolver implements CloudSdkResolver {
   private static final Logger logger = Logger.getLogger(CloudSdkPreferenceResolver.class.getName());
   
+  /** The managed Cloud SDK location depends only on the OS and user home, so compute it once. */
+  private static Path managedSdkHome;
+
   private final IPreferenceStore preferences;
 
   public CloudSdkPreferenceResolver() {
@@ -49,13 +52,7 @@ public class CloudSdkPreferenceResolver implements CloudSdkResolver {
     // We only consult the Managed Cloud SDK when it has been explicitly configured, which
     // is done in CloudSdkPreferences.
     if (CloudSdkPreferences.isAutoManaging()) {
-      try {
-        // It is assumed that clients do not get and use "CloudSdk" while it is being modified.
-        return ManagedCloudSdk.newManagedSdk().getSdkHome();
-      } catch (UnsupportedOsException ex) {
-        logger.log(Level.SEVERE, "Google Cloud SDK not available", ex); // $NON-NLS-1$
-        return null;
-      }
+      return getManagedSdkHome();
     }
     String value = preferences.getString(CloudSdkPreferences.CLOUD_SDK_PATH);
     if (!Strings.isNullOrEmpty(value)) {
@@ -64,6 +61,18 @@ public class CloudSdkPreferenceResolver implements CloudSdkResolver {
     return null;
   }
 
+  private static synchronized Path getManagedSdkHome() {
+    if (managedSdkHome == null) {
+      try {
+        // It is assumed that clients do not get and use "CloudSdk" while it is being modified.
+        managedSdkHome = ManagedCloudSdk.newManagedSdk().getSdkHome();
+      } catch (UnsupportedOsException ex) {
+        logger.log(Level.SEVERE, "Google Cloud SDK not available", ex); // $NON-NLS-1$
+      }
+    }
+    return managedSdkHome;
+  }
+
   @Override
   public int getRank() {
     // since the user configures this path, this resolver should have highest priority
@@ -16,14 +16,14 @@
 
 package com.google.cloud.tools.eclipse.sdk.internal;
 
-import com.google.cloud.tools.appengine.operations.CloudSdk;
-import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
+import com.google.cloud.tools.eclipse.sdk.CloudSdkDescriptorCache;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.ui.preferences.ScopedPreferenceStore;
@@ -65,6 +65,11 @@ public final class CloudSdkPreferences extends AbstractPreferenceInitializer {
     return InstanceScope.INSTANCE.getNode(BUNDLEID);
   }
 
+  /** Registers a listener notified when any Cloud SDK preference changes. */
+  public static void addPreferenceChangeListener(IPreferenceChangeListener listener) {
+    getPreferenceNode().addPreferenceChangeListener(listener);
+  }
+
   public static boolean isAutoManaging() {
     return isAutoManaging(getPreferenceStore());
   }
@@ -117,11 +122,6 @@ public final class CloudSdkPreferences extends AbstractPreferenceInitializer {
 
   /** Return {@code true} if the Cloud SDK is available. */
   private static boolean isCloudSdkAvailable() {
-    try {
-      new CloudSdk.Builder().build();
-      return true;
-    } catch (CloudSdkNotFoundException ex) {
-      return false;
-    }
+    return CloudSdkDescriptorCache.getInstance().isCloudSdkAvailable();
   }
 }
@@ -30,11 +30,16 @@ import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkUpdater;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.ui.console.MessageConsoleStream;
@@ -43,10 +48,76 @@ import org.eclipse.ui.console.MessageConsoleStream;
 public class CloudSdkUpdateJob extends CloudSdkModifyJob {
   private static final Logger logger = Logger.getLogger(CloudSdkUpdateJob.class.getName());
 
+  /** An update prepared aside by {@link #prepareSdkModification}; {@code null} if none. */
+  private SideBySideSdkUpdate sideBySideUpdate;
+
   public CloudSdkUpdateJob(MessageConsoleStream consoleStream, ReadWriteLock cloudSdkLock) {
     super(consoleStream, cloudSdkLock);
   }
 
+  /**
+   * Downloads and applies the update to a copy of the managed Cloud SDK, so that {@link
+   * #modifySdk} only needs to swap directories while holding the Cloud SDK lock. Any failure here
+   * is not fatal: {@link #modifySdk} then falls back to updating in place.
+   */
+  @Override
+  protected IStatus prepareSdkModification(IProgressMonitor monitor) {
+    if (!isSideBySideUpdateSupported()) {
+      return Status.OK_STATUS;
+    }
+
+    SubMonitor progress = SubMonitor.convert(monitor, 10);
+    try {
+      ManagedCloudSdk managedSdk = getManagedCloudSdk();
+      if (managedSdk.isInstalled() && !managedSdk.isUpToDate()) {
+        subTask(progress, Messages.getString("updating.cloud.sdk")); //$NON-NLS-1$
+        SideBySideSdkUpdate update = newSideBySideUpdate(managedSdk.getSdkHome());
+        update.prepare(consoleStream, progress.newChild(10));
+        sideBySideUpdate = update;
+      }
+      return Status.OK_STATUS;
+    } catch (InterruptedException | OperationCanceledException ex) {
+      AnalyticsPingManager.getInstance().sendPing(AnalyticsEvents.CLOUD_SDK_UPDATE_CANCELED);
+      return Status.CANCEL_STATUS;
+    } catch (IOException | UnsupportedOsException | ManagedSdkVerificationException
+        | ManagedSdkVersionMismatchException ex) {
+      logger.log(Level.WARNING,
+          "Could not prepare Cloud SDK update aside; will update in place", ex); //$NON-NLS-1$
+      return Status.OK_STATUS;
+    }
+  }
+
+  @Override
+  protected int getPreparationWork() {
+    return isSideBySideUpdateSupported() ? 90 : 0;
+  }
+
+  @Override
+  protected void finishSdkModification() {
+    if (sideBySideUpdate != null) {
+      try {
+        sideBySideUpdate.cleanUp();
+      } catch (IOException ex) {
+        logger.log(Level.WARNING, "Could not delete old Cloud SDK files", ex); //$NON-NLS-1$
+      }
+      sideBySideUpdate = null;
+    }
+  }
+
+  /**
+   * Windows does not allow renaming directories with files in use (e.g., by a running {@code
+   * dev_appserver}), so updates are always done in place there.
+   */
+  @VisibleForTesting
+  protected boolean isSideBySideUpdateSupported() {
+    return !Platform.OS_WIN32.equals(Platform.getOS());
+  }
+
+  @VisibleForTesting
+  SideBySideSdkUpdate newSideBySideUpdate(Path sdkHome) {
+    return new SideBySideSdkUpdate(sdkHome);
+  }
+
   /**
    * Perform the installation and configuration of the managed Cloud SDK. Any errors are returned as
    * {@link IStatus#WARNING} to avoid the Eclipse UI ProgressManager reporting the error with no
@@ -65,6 +136,22 @@ public class CloudSdkUpdateJob extends CloudSdkModifyJob {
         logger.info("Google Cloud SDK is not installed"); //$NON-NLS-1$
         return StatusUtil.create(getFailureSeverity(),
             this, Messages.getString("cloud.sdk.not.installed")); //$NON-NLS-1$
+      } else if (sideBySideUpdate != null && sideBySideUpdate.isPrepared()) {
+        String oldVersion = getVersion(managedSdk.getSdkHome());
+        try {
+          sideBySideUpdate.swap();
+        } catch (IOException ex) {
+          logger.log(Level.WARNING, "Could not swap in updated Cloud SDK", ex); //$NON-NLS-1$
+          return StatusUtil.create(getFailureSeverity(), this,
+              Messages.getString("installing.cloud.sdk.failed"), ex); //$NON-NLS-1$
+        }
+        String newVersion = getVersion(managedSdk.getSdkHome());
+        logger.info(
+            "Managed Google Cloud SDK updated from " //$NON-NLS-1$
+                + oldVersion
+                + " to " //$NON-NLS-1$
+                + newVersion);
+        AnalyticsPingManager.getInstance().sendPing(AnalyticsEvents.CLOUD_SDK_UPDATE_SUCCESS);
       } else if (!managedSdk.isUpToDate()) {
         subTask(subMonitor, Messages.getString("updating.cloud.sdk")); //$NON-NLS-1$
         String oldVersion = getVersion(managedSdk.getSdkHome());
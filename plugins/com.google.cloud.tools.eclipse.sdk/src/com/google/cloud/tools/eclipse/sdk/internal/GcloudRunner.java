@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.ui.console.MessageConsoleStream;
+
+/**
+ * Runs {@code gcloud} commands of a Cloud SDK installation directly, for the few modifications the
+ * {@code appengine-plugins-core} library cannot make. The output is copied to a console, and the
+ * command is stopped if the progress monitor is cancelled.
+ */
+class GcloudRunner {
+
+  private static final long CANCELLATION_POLL_INTERVAL_MS = 200;
+
+  private GcloudRunner() {}
+
+  /** Returns the path of the {@code gcloud} launcher of the Cloud SDK at {@code sdkHome}. */
+  static Path getGcloudPath(Path sdkHome) {
+    String launcher = Platform.OS_WIN32.equals(Platform.getOS()) ? "gcloud.cmd" : "gcloud";
+    return sdkHome.resolve("bin").resolve(launcher);
+  }
+
+  /**
+   * Runs {@code command} in {@code workingDirectory} with prompts disabled.
+   *
+   * @param environment variables to add to the command's environment
+   * @param description names the command in the failure message
+   * @param consoleStream receives the command's output; may be {@code null}
+   * @throws IOException if the command cannot be started or exits with a non-zero code
+   * @throws InterruptedException if interrupted while the command runs; the command is stopped
+   * @throws OperationCanceledException if {@code monitor} is cancelled; the command is stopped
+   */
+  static void run(List<String> command, Path workingDirectory, Map<String, String> environment,
+      String description, MessageConsoleStream consoleStream, IProgressMonitor monitor)
+      throws IOException, InterruptedException {
+    SubMonitor progress = SubMonitor.convert(monitor, 1);
+    ProcessBuilder processBuilder = new ProcessBuilder(command)
+        .directory(workingDirectory.toFile())
+        .redirectErrorStream(true);
+    processBuilder.environment().put("CLOUDSDK_CORE_DISABLE_PROMPTS", "1");
+    processBuilder.environment().putAll(environment);
+
+    Process process = processBuilder.start();
+    // the output is copied on another thread so that this one can notice cancellation
+    Thread outputCopier = new Thread(() -> copyOutput(process, consoleStream),
+        description + " output"); //$NON-NLS-1$
+    outputCopier.setDaemon(true);
+    outputCopier.start();
+    try {
+      while (!process.waitFor(CANCELLATION_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+        if (progress.isCanceled()) {
+          throw new OperationCanceledException();
+        }
+      }
+      outputCopier.join();
+      int exitCode = process.exitValue();
+      if (exitCode != 0) {
+        throw new IOException(description + " exited with code " + exitCode);
+      }
+    } finally {
+      process.destroy();  // no-op if exited; stops the command if cancelled or interrupted
+      progress.worked(1);
+    }
+  }
+
+  private static void copyOutput(Process process, MessageConsoleStream consoleStream) {
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (consoleStream != null && !consoleStream.isClosed()) {
+          consoleStream.println(line);
+        }
+      }
+    } catch (IOException ex) {
+      // the stream is closed when the process is destroyed
+    }
+  }
+}
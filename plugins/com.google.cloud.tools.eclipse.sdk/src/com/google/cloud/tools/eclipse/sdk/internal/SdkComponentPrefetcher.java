@@ -0,0 +1,312 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import com.google.cloud.tools.eclipse.util.io.FileDownloader;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ascii;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Downloads the payloads of a Cloud SDK component ahead of {@code gcloud components install}, so
+ * that they can be fetched while the base Cloud SDK is still being installed. The payloads, with
+ * their sizes and SHA-256 checksums, are listed in the component snapshot that gcloud itself
+ * reads. They are downloaded concurrently and verified, and a copy of the snapshot pointing at the
+ * downloaded files is written for gcloud to install from.
+ * <p>
+ * Components that every installation includes are not downloaded, nor are platform-specific
+ * ones; if gcloud needs them, it downloads them itself.
+ */
+class SdkComponentPrefetcher {
+
+  /** The component snapshot of the release channel the managed Cloud SDK is installed from. */
+  static final String DEFAULT_SNAPSHOT_URL =
+      "https://dl.google.com/dl/cloudsdk/channels/rapid/components-2.json"; //$NON-NLS-1$
+
+  @VisibleForTesting
+  static final String LOCAL_SNAPSHOT_NAME = "local-components-2.json"; //$NON-NLS-1$
+
+  private static final ExecutorService fetchExecutor = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setNameFormat("sdk-component-fetch-%d").setDaemon(true).build());
+
+  private final URL snapshotUrl;
+  private final Path downloadDirectory;
+  private final List<PayloadMonitor> payloads = new CopyOnWriteArrayList<>();
+  private volatile boolean canceled;
+
+  SdkComponentPrefetcher(URL snapshotUrl, Path downloadDirectory) {
+    this.snapshotUrl = Preconditions.checkNotNull(snapshotUrl);
+    this.downloadDirectory = Preconditions.checkNotNull(downloadDirectory);
+  }
+
+  /**
+   * Starts downloading the payloads of {@code componentId} and its dependencies in the background.
+   *
+   * @return the local snapshot to install from; completes exceptionally with an
+   *     {@link IOException} if the snapshot or a payload cannot be downloaded, or a payload does
+   *     not match its checksum
+   */
+  CompletableFuture<Path> prefetch(String componentId) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return fetch(componentId);
+      } catch (IOException ex) {
+        throw new CompletionException(ex);
+      }
+    }, fetchExecutor);
+  }
+
+  /** Stops any running downloads; the future returned by {@link #prefetch} then fails. */
+  void cancel() {
+    canceled = true;
+  }
+
+  /**
+   * Returns the fraction, between 0 and 1, of the payload bytes downloaded so far. Payloads are
+   * only known once the snapshot has been read; until then, this is 0.
+   */
+  double getFetchedFraction() {
+    long totalSize = 0;
+    double fetchedSize = 0;
+    for (PayloadMonitor payload : payloads) {
+      totalSize += payload.size;
+      fetchedSize += payload.size * payload.getFraction();
+    }
+    return totalSize > 0 ? fetchedSize / totalSize : 0;
+  }
+
+  private Path fetch(String componentId) throws IOException {
+    Path snapshotFile = download(downloadDirectory, snapshotUrl, new PayloadMonitor(0));
+    JsonObject snapshot;
+    try (Reader reader = Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8)) {
+      snapshot = new JsonParser().parse(reader).getAsJsonObject();
+    } catch (RuntimeException ex) {  // malformed or unexpected JSON
+      throw new IOException("Cannot read component snapshot " + snapshotUrl, ex);
+    }
+
+    List<JsonObject> selected = selectPayloadComponents(snapshot, componentId);
+    List<CompletableFuture<Path>> downloads = new ArrayList<>();
+    for (JsonObject component : selected) {
+      JsonObject data = component.getAsJsonObject("data");
+      // a folder per component, as payloads of different components could share a file name
+      Path folder = downloadDirectory.resolve(component.get("id").getAsString());
+      URL source = new URL(snapshotUrl, data.get("source").getAsString());
+      String checksum = data.get("checksum").getAsString();
+      PayloadMonitor monitor = new PayloadMonitor(data.get("size").getAsLong());
+      payloads.add(monitor);
+      downloads.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          Path payload = download(folder, source, monitor);
+          verifySha256(payload, checksum);
+          return payload;
+        } catch (IOException ex) {
+          throw new CompletionException(ex);
+        }
+      }, fetchExecutor));
+    }
+
+    Map<String, Path> localPayloads = new HashMap<>();
+    for (int i = 0; i < selected.size(); i++) {
+      try {
+        localPayloads.put(selected.get(i).get("id").getAsString(), downloads.get(i).join());
+      } catch (CompletionException ex) {
+        cancel();  // no use finishing the other downloads
+        if (ex.getCause() instanceof IOException) {
+          throw (IOException) ex.getCause();
+        }
+        throw ex;
+      }
+    }
+    return writeLocalSnapshot(snapshot, localPayloads);
+  }
+
+  private static Path download(Path folder, URL url, PayloadMonitor monitor) throws IOException {
+    FileDownloader downloader =
+        new FileDownloader(new org.eclipse.core.runtime.Path(folder.toString()));
+    IPath downloaded = downloader.download(url, monitor);
+    if (downloaded == null) {
+      throw new IOException("Download canceled: " + url);
+    }
+    monitor.complete();
+    return downloaded.toFile().toPath();
+  }
+
+  /**
+   * Returns {@code componentId} and its transitive dependencies that have a payload to download,
+   * except those that every installation includes and platform-specific ones.
+   */
+  @VisibleForTesting
+  static List<JsonObject> selectPayloadComponents(JsonObject snapshot, String componentId) {
+    Map<String, JsonObject> components = new HashMap<>();
+    for (JsonElement element : snapshot.getAsJsonArray("components")) {
+      JsonObject component = element.getAsJsonObject();
+      components.put(component.get("id").getAsString(), component);
+    }
+
+    List<JsonObject> selected = new ArrayList<>();
+    Set<String> visited = new HashSet<>();
+    Queue<String> pending = new ArrayDeque<>();
+    visited.add(componentId);
+    pending.add(componentId);
+    while (!pending.isEmpty()) {
+      JsonObject component = components.get(pending.remove());
+      if (component == null || isRequired(component) || isPlatformSpecific(component)) {
+        continue;
+      }
+      if (hasPayload(component)) {
+        selected.add(component);
+      }
+      JsonArray dependencies = component.getAsJsonArray("dependencies");
+      if (dependencies != null) {
+        for (JsonElement dependency : dependencies) {
+          if (visited.add(dependency.getAsString())) {
+            pending.add(dependency.getAsString());
+          }
+        }
+      }
+    }
+    return selected;
+  }
+
+  private static boolean isRequired(JsonObject component) {
+    JsonElement required = component.get("is_required");
+    return required != null && required.getAsBoolean();
+  }
+
+  private static boolean isPlatformSpecific(JsonObject component) {
+    JsonObject platform = component.getAsJsonObject("platform");
+    return platform != null && platform.size() > 0;
+  }
+
+  private static boolean hasPayload(JsonObject component) {
+    JsonObject data = component.getAsJsonObject("data");
+    return data != null && data.has("source") && data.has("checksum") && data.has("size");
+  }
+
+  /**
+   * Writes a copy of {@code snapshot} in which the downloaded payloads are sources, and the other
+   * sources are absolute, as they would otherwise be resolved against the copy's location.
+   */
+  private Path writeLocalSnapshot(JsonObject snapshot, Map<String, Path> localPayloads)
+      throws IOException {
+    for (JsonElement element : snapshot.getAsJsonArray("components")) {
+      JsonObject component = element.getAsJsonObject();
+      JsonObject data = component.getAsJsonObject("data");
+      if (data == null || !data.has("source")) {
+        continue;
+      }
+      Path localPayload = localPayloads.get(component.get("id").getAsString());
+      String source = localPayload != null
+          ? localPayload.toUri().toString()
+          : new URL(snapshotUrl, data.get("source").getAsString()).toString();
+      data.addProperty("source", source);
+    }
+
+    Path localSnapshot = downloadDirectory.resolve(LOCAL_SNAPSHOT_NAME);
+    try (Writer writer = Files.newBufferedWriter(localSnapshot, StandardCharsets.UTF_8)) {
+      new Gson().toJson(snapshot, writer);
+    }
+    return localSnapshot;
+  }
+
+  /** Verifies that the SHA-256 digest of {@code file} is {@code expected}. */
+  @VisibleForTesting
+  static void verifySha256(Path file, String expected) throws IOException {
+    String actual = MoreFiles.asByteSource(file).hash(Hashing.sha256()).toString();
+    if (!Ascii.toLowerCase(expected).equals(actual)) {
+      Files.delete(file);
+      throw new IOException(
+          "Checksum mismatch for " + file + ": expected " + expected + ", got " + actual);
+    }
+  }
+
+  /**
+   * Tracks the progress of one download, reported by {@link FileDownloader} from its own thread,
+   * and stops it when the prefetch is canceled.
+   */
+  private class PayloadMonitor extends NullProgressMonitor {
+    private final long size;
+    private volatile double totalWork;
+    private volatile double worked;
+    private volatile boolean complete;
+
+    private PayloadMonitor(long size) {
+      this.size = size;
+    }
+
+    @Override
+    public void beginTask(String name, int totalWork) {
+      this.totalWork = totalWork;
+    }
+
+    @Override
+    public void internalWorked(double work) {
+      worked += work;  // only ever called from the downloading thread
+    }
+
+    @Override
+    public void worked(int work) {
+      internalWorked(work);
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return canceled || super.isCanceled();
+    }
+
+    private void complete() {
+      complete = true;
+    }
+
+    private double getFraction() {
+      if (complete) {
+        return 1;
+      }
+      return totalWork > 0 ? Math.min(worked / totalWork, 1) : 0;
+    }
+  }
+}
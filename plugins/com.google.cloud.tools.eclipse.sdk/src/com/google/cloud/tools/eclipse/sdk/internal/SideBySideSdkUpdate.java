@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.ui.console.MessageConsoleStream;
+
+/**
+ * Updates a Cloud SDK installation without modifying it in place: {@link #prepare} copies the
+ * installation to a sibling directory and runs {@code gcloud components update} on the copy, while
+ * the original stays usable; {@link #swap} then replaces the original with the updated copy using
+ * directory renames, which is quick enough to do while holding the Cloud SDK write lock.
+ */
+class SideBySideSdkUpdate {
+
+  private static final String STAGING_SUFFIX = ".update";
+  private static final String BACKUP_SUFFIX = ".old";
+
+  private final Path sdkHome;
+  private final Path stagedSdkHome;
+  private final Path backupSdkHome;
+  private boolean prepared;
+
+  SideBySideSdkUpdate(Path sdkHome) {
+    this.sdkHome = Preconditions.checkNotNull(sdkHome);
+    String name = sdkHome.getFileName().toString();
+    stagedSdkHome = sdkHome.resolveSibling(name + STAGING_SUFFIX);
+    backupSdkHome = sdkHome.resolveSibling(name + BACKUP_SUFFIX);
+  }
+
+  /**
+   * Copies the Cloud SDK aside and updates the copy. Leftovers from earlier attempts are deleted
+   * first.
+   *
+   * @throws IOException if copying fails or the update command fails
+   * @throws InterruptedException if interrupted while the update command runs
+   * @throws OperationCanceledException if {@code monitor} is cancelled; a running update command
+   *     is stopped
+   */
+  void prepare(MessageConsoleStream consoleStream, IProgressMonitor monitor)
+      throws IOException, InterruptedException {
+    SubMonitor progress = SubMonitor.convert(monitor, 100);
+    cleanUp();
+
+    copyDirectory(sdkHome, stagedSdkHome, progress.newChild(40));
+    if (progress.isCanceled()) {
+      throw new OperationCanceledException();
+    }
+    runUpdate(consoleStream, progress.newChild(60));
+    prepared = true;
+  }
+
+  boolean isPrepared() {
+    return prepared;
+  }
+
+  /**
+   * Replaces the Cloud SDK with the updated copy. If the second rename fails, the original is put
+   * back. The replaced installation is left for {@link #cleanUp} to delete.
+   */
+  void swap() throws IOException {
+    Preconditions.checkState(prepared, "update not prepared");
+    Files.move(sdkHome, backupSdkHome, StandardCopyOption.ATOMIC_MOVE);
+    try {
+      Files.move(stagedSdkHome, sdkHome, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException ex) {
+      Files.move(backupSdkHome, sdkHome, StandardCopyOption.ATOMIC_MOVE);
+      throw ex;
+    }
+    prepared = false;
+  }
+
+  /** Deletes the staged copy and the replaced installation, if any. */
+  void cleanUp() throws IOException {
+    prepared = false;
+    for (Path leftover : Arrays.asList(stagedSdkHome, backupSdkHome)) {
+      if (Files.exists(leftover, LinkOption.NOFOLLOW_LINKS)) {
+        MoreFiles.deleteRecursively(leftover, RecursiveDeleteOption.ALLOW_INSECURE);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  Path getStagedSdkHome() {
+    return stagedSdkHome;
+  }
+
+  @VisibleForTesting
+  Path getBackupSdkHome() {
+    return backupSdkHome;
+  }
+
+  /** Returns the command that updates the Cloud SDK installed at {@code stagedSdkHome}. */
+  @VisibleForTesting
+  List<String> getUpdateCommand(Path stagedSdkHome) {
+    String gcloud = GcloudRunner.getGcloudPath(stagedSdkHome).toString();
+    return Arrays.asList(gcloud, "components", "update", "--quiet");
+  }
+
+  private void runUpdate(MessageConsoleStream consoleStream, IProgressMonitor monitor)
+      throws IOException, InterruptedException {
+    GcloudRunner.run(getUpdateCommand(stagedSdkHome), stagedSdkHome,
+        Collections.<String, String>emptyMap(), "Cloud SDK update", consoleStream, monitor);
+  }
+
+  private static void copyDirectory(Path source, Path target, IProgressMonitor monitor)
+      throws IOException {
+    SubMonitor progress = SubMonitor.convert(monitor, 1);
+    Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes)
+          throws IOException {
+        if (progress.isCanceled()) {
+          return FileVisitResult.TERMINATE;
+        }
+        Files.copy(directory, target.resolve(source.relativize(directory)),
+            StandardCopyOption.COPY_ATTRIBUTES);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attributes)
+          throws IOException {
+        Files.copy(file, target.resolve(source.relativize(file)),
+            StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    progress.worked(1);
+  }
+}
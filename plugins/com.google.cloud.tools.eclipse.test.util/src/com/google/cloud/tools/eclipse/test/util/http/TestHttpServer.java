@@ -60,6 +60,8 @@ public class TestHttpServer extends ExternalResource {
 
   private final String expectedPath;
   private final byte[] responseBytes;
+  private final Map<String, String> responseHeaders = new HashMap<>();
+  private int responseStatus = HttpServletResponse.SC_OK;
 
   // Examples: new TestHttpServer("folder/sample.txt", "arbitrary file content");
   //           new TestHttpServer("", "<html><body>root</body></html>");
@@ -120,6 +122,15 @@ public class TestHttpServer extends ExternalResource {
     return ((ServerConnector) server.getConnectors()[0]).getLocalPort();
   }
 
+  /** Sets the status code of the response; {@code 200 OK} by default. */
+  public void setResponseStatus(int responseStatus) {
+    this.responseStatus = responseStatus;
+  }
+
+  public void addResponseHeader(String name, String value) {
+    responseHeaders.put(name, value);
+  }
+
   public String getRequestMethod() {
     Preconditions.checkState(requestHandled);
     return requestMethod;
@@ -175,8 +186,11 @@ public class TestHttpServer extends ExternalResource {
         }
 
         baseRequest.setHandled(true);
-        response.getOutputStream().write(responseBytes);
-        response.setStatus(HttpServletResponse.SC_OK);
+        response.setStatus(responseStatus);
+        responseHeaders.forEach(response::setHeader);
+        if (responseStatus != HttpServletResponse.SC_NOT_MODIFIED) {
+          response.getOutputStream().write(responseBytes);
+        }
       }
     }
   }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.ui.status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.tools.eclipse.ui.status.Incident.Severity;
+import com.google.common.base.Ticker;
+import java.net.URI;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PollingStatusServiceImplTest {
+
+  /** Nothing listens on this port, so connections are refused. */
+  private static final URI UNREACHABLE_URI = URI.create("http://127.0.0.1:1/incidents.json");
+
+  private static class FakeTicker extends Ticker {
+    private long nanos;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+      nanos += unit.toNanos(duration);
+    }
+  }
+
+  private final FakeTicker ticker = new FakeTicker();
+  private final AtomicInteger notifications = new AtomicInteger();
+  private boolean networkAvailable = true;
+  private PollingStatusServiceImpl service;
+
+  @Before
+  public void setUp() {
+    service = new PollingStatusServiceImpl(UNREACHABLE_URI, ticker, new Random(0),
+        () -> networkAvailable);
+    service.addStatusChangeListener(unused -> notifications.incrementAndGet());
+  }
+
+  @Test
+  public void testGetNextPollDelay_ok() {
+    assertEquals(GcpStatus.OK_STATUS, service.getCurrentStatus());
+    assertEquals(PollingStatusServiceImpl.POLL_INTERVAL_MS, service.getNextPollDelay());
+  }
+
+  @Test
+  public void testRefreshStatus_cannotConnect() {
+    service.refreshStatus();
+    assertEquals(Severity.ERROR, service.getCurrentStatus().severity);
+    assertEquals(Messages.getString("cannot.connect.to.gcp"), service.getCurrentStatus().summary);
+  }
+
+  @Test
+  public void testRefreshStatus_notifiesOnlyOnChange() {
+    service.refreshStatus();
+    service.refreshStatus();
+    service.refreshStatus();
+    assertEquals(1, notifications.get());
+  }
+
+  @Test
+  public void testGetNextPollDelay_backOffWithJitter() {
+    long backOff = PollingStatusServiceImpl.INITIAL_RETRY_DELAY_MS;
+    for (int failures = 1; failures <= 4; failures++) {
+      service.refreshStatus();
+      long delay = service.getNextPollDelay();
+      assertTrue(delay >= backOff / 2 && delay <= backOff);
+      backOff *= 2;
+    }
+  }
+
+  @Test
+  public void testGetNextPollDelay_backOffBounded() {
+    for (int failures = 1; failures <= 20; failures++) {
+      service.refreshStatus();
+    }
+    assertTrue(service.getNextPollDelay() <= PollingStatusServiceImpl.MAX_RETRY_DELAY_MS);
+    assertTrue(service.getNextPollDelay() >= PollingStatusServiceImpl.MAX_RETRY_DELAY_MS / 2);
+  }
+
+  @Test
+  public void testGetNextPollDelay_jittered() {
+    service.refreshStatus();
+    service.refreshStatus();
+    service.refreshStatus();
+    long delay = service.getNextPollDelay();
+    for (int i = 0; i < 10; i++) {
+      if (service.getNextPollDelay() != delay) {
+        return;
+      }
+    }
+    fail("delays not randomized");
+  }
+
+  @Test
+  public void testRefreshStatus_offline() {
+    networkAvailable = false;
+    service.refreshStatus();
+    service.refreshStatus();
+    assertEquals(Severity.ERROR, service.getCurrentStatus().severity);
+    assertEquals(1, notifications.get());
+    // no back-off while offline, as no requests are made
+    assertEquals(PollingStatusServiceImpl.INITIAL_RETRY_DELAY_MS, service.getNextPollDelay());
+  }
+
+  @Test
+  public void testIsIdle() {
+    assertFalse(service.isIdle());
+    ticker.advance(PollingStatusServiceImpl.IDLE_TIMEOUT_MS - 1, TimeUnit.MILLISECONDS);
+    assertFalse(service.isIdle());
+    ticker.advance(1, TimeUnit.MILLISECONDS);
+    assertTrue(service.isIdle());
+  }
+
+  @Test
+  public void testRecordActivity() {
+    ticker.advance(PollingStatusServiceImpl.IDLE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    assertTrue(service.isIdle());
+    service.recordActivity();
+    assertFalse(service.isIdle());
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.ui.status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import com.google.cloud.tools.eclipse.ui.status.Incident.Severity;
+import com.google.common.base.Ticker;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PollingStatusServiceImplWithServerTest {
+
+  private static final String INCIDENTS = "[{\"number\": 18004, \"severity\": \"medium\","
+      + " \"service_key\": \"cloud-networking\", \"service_name\": \"Google Cloud Networking\","
+      + " \"begin\": \"2018-01-25T20:21:00Z\"}]";
+  private static final String LAST_MODIFIED = "Thu, 25 Jan 2018 20:22:00 GMT";
+
+  @Rule public TestHttpServer server = new TestHttpServer("incidents.json", INCIDENTS);
+
+  private final AtomicInteger notifications = new AtomicInteger();
+  private PollingStatusServiceImpl service;
+
+  @Before
+  public void setUp() {
+    service = new PollingStatusServiceImpl(URI.create(server.getAddress() + "incidents.json"),
+        Ticker.systemTicker(), new Random(0), () -> true);
+    service.addStatusChangeListener(unused -> notifications.incrementAndGet());
+  }
+
+  @Test
+  public void testRefreshStatus() {
+    server.addResponseHeader("ETag", "\"v1\"");
+    server.addResponseHeader("Last-Modified", LAST_MODIFIED);
+    service.refreshStatus();
+
+    assertEquals("GET", server.getRequestMethod());
+    assertEquals("bytes=0-8192", server.getRequestHeaders().get("Range"));
+    assertNull(server.getRequestHeaders().get("If-None-Match"));
+    assertNull(server.getRequestHeaders().get("If-Modified-Since"));
+
+    GcpStatus status = service.getCurrentStatus();
+    assertEquals(Severity.MEDIUM, status.severity);
+    assertEquals("Google Cloud Networking", status.summary);
+    assertEquals(1, status.active.size());
+    assertEquals(1, notifications.get());
+    assertEquals(PollingStatusServiceImpl.POLL_INTERVAL_MS, service.getNextPollDelay());
+  }
+
+  @Test
+  public void testRefreshStatus_notModified() {
+    Incident incident = new Incident();
+    incident.severity = Severity.HIGH;
+    incident.serviceName = "Compute Engine";
+    GcpStatus previousStatus =
+        new GcpStatus(Severity.HIGH, "Compute Engine", Collections.singletonList(incident));
+    service.setValidators("\"v1\"", LAST_MODIFIED, previousStatus);
+    server.setResponseStatus(304);
+
+    service.refreshStatus();
+
+    assertEquals("\"v1\"", server.getRequestHeaders().get("If-None-Match"));
+    assertEquals(LAST_MODIFIED, server.getRequestHeaders().get("If-Modified-Since"));
+    assertEquals(previousStatus, service.getCurrentStatus());
+    assertEquals(PollingStatusServiceImpl.POLL_INTERVAL_MS, service.getNextPollDelay());
+  }
+
+  @Test
+  public void testRefreshStatus_serverError() {
+    server.setResponseStatus(503);
+    service.refreshStatus();
+
+    assertEquals(Severity.ERROR, service.getCurrentStatus().severity);
+    assertEquals(Messages.getString("failure.retrieving.status"),
+        service.getCurrentStatus().summary);
+    assertEquals(1, notifications.get());
+  }
+}
@@ -18,6 +18,7 @@ package com.google.cloud.tools.eclipse.ui.status;
 
 import com.google.cloud.tools.eclipse.ui.status.Incident.Severity;
 import java.util.Collection;
+import java.util.Objects;
 
 /** Summary of current Google Cloud Platform status based on accumulated incidents. */
 public class GcpStatus {
@@ -34,6 +35,25 @@ public class GcpStatus {
     this.active = active;
   }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof GcpStatus)) {
+      return false;
+    }
+    GcpStatus other = (GcpStatus) obj;
+    return severity == other.severity
+        && Objects.equals(summary, other.summary)
+        && Objects.equals(active, other.active);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(severity, summary, active);
+  }
+
   @Override
   public String toString() {
     return severity + ": " + summary;
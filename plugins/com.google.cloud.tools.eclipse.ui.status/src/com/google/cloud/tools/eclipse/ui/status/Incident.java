@@ -21,6 +21,7 @@ import com.google.gson.annotations.SerializedName;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -82,6 +83,30 @@ public class Incident {
   public Date begin;
   public Date end;
 
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Incident)) {
+      return false;
+    }
+    Incident other = (Incident) obj;
+    return id == other.id
+        && severity == other.severity
+        && Objects.equals(serviceKey, other.serviceKey)
+        && Objects.equals(serviceName, other.serviceName)
+        && Objects.equals(description, other.description)
+        && Objects.equals(uri, other.uri)
+        && Objects.equals(begin, other.begin)
+        && Objects.equals(end, other.end);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, severity, serviceKey, serviceName, description, uri, begin, end);
+  }
+
   @Override
   public String toString() {
     return String.format("Incident %d [%s, %s]: %s", id, severity, serviceName, description);
@@ -17,7 +17,9 @@
 package com.google.cloud.tools.eclipse.ui.status;
 
 import com.google.cloud.tools.eclipse.ui.status.Incident.Severity;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
+import com.google.common.base.Ticker;
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
 import com.google.gson.stream.JsonReader;
@@ -25,18 +27,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
 import java.net.Proxy;
 import java.net.Proxy.Type;
 import java.net.SocketException;
 import java.net.URI;
-import java.net.URLConnection;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -47,6 +54,10 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.ui.PlatformUI;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -59,6 +70,11 @@ import org.osgi.service.component.annotations.ReferencePolicy;
  * status page provides a incident log in JSON, which appears to be ordered from most recent to
  * oldest. We fetch the first N bytes and process the incidents listed. Incidents that are still
  * on-going do not have an "end".
+ * <p>
+ * Requests are conditional, so an unchanged log is not downloaded again, and listeners are only
+ * notified when the status changes. Failed requests are retried with a randomized exponential
+ * back-off. Polling is suspended while the user is away from the workbench, and no requests are
+ * made while there is no network connection.
  */
 @Component(name = "polling")
 public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
@@ -71,10 +87,17 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
 
     @Override
     protected IStatus run(IProgressMonitor monitor) {
+      if (isIdle()) {
+        // resumed by recordActivity()
+        suspended.set(true);
+        if (!isIdle() && suspended.compareAndSet(true, false)) {
+          schedule();
+        }
+        return Status.OK_STATUS;
+      }
       refreshStatus();
       if (active) {
-        // poll more frequently when having connection errors
-        schedule(currentStatus.severity == Severity.ERROR ? errorPollTime : pollTime);
+        schedule(getNextPollDelay());
       }
       return Status.OK_STATUS;
     }
@@ -85,21 +108,63 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
   private static final URI STATUS_JSON_URI =
       URI.create("https://status.cloud.google.com/incidents.json"); //$NON-NLS-1$
 
-  private Job pollingJob = new PollJob();
-
+  private static final int TIMEOUT_MS = 20000;
 
   /** Normally polls every 3 minutes. */
-  private final long pollTime = TimeUnit.MINUTES.toMillis(3); // poll every 3 minutes
+  @VisibleForTesting
+  static final long POLL_INTERVAL_MS = TimeUnit.MINUTES.toMillis(3);
+
+  /** Back-off after the first failed request, doubled with each further failure. */
+  @VisibleForTesting
+  static final long INITIAL_RETRY_DELAY_MS = TimeUnit.SECONDS.toMillis(30);
+
+  @VisibleForTesting
+  static final long MAX_RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(30);
+
+  /** Polling is suspended when the user has not used the workbench for this long. */
+  @VisibleForTesting
+  static final long IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
 
-  /** Shorter poll when encountering connection errors. */
-  private final long errorPollTime = TimeUnit.SECONDS.toMillis(30);
+  private final Job pollingJob = new PollJob();
 
-  private boolean active = false;
+  private final URI statusUri;
+  private final Ticker ticker;
+  private final Random random;
+  private final BooleanSupplier networkAvailable;
+  private final Listener activityListener = event -> recordActivity();
+
+  private volatile boolean active = false;
   private IProxyService proxyService;
   private ListenerList<Consumer<GcpStatusMonitoringService>> listeners = new ListenerList<>();
   private Gson gson = new Gson();
 
-  private GcpStatus currentStatus = GcpStatus.OK_STATUS;
+  private volatile GcpStatus currentStatus = GcpStatus.OK_STATUS;
+
+  // Accessed only when refreshing the status.
+  private int consecutiveFailures = 0;
+  private boolean offline = false;
+  // validators of the last incident log retrieved, and the status it gave
+  private String entityTag;
+  private String lastModified;
+  private GcpStatus fetchedStatus;
+
+  private volatile long lastActivityNanos;
+  private final AtomicBoolean suspended = new AtomicBoolean();
+
+  public PollingStatusServiceImpl() {
+    this(STATUS_JSON_URI, Ticker.systemTicker(), new Random(),
+        PollingStatusServiceImpl::hasNetworkInterfaceUp);
+  }
+
+  @VisibleForTesting
+  PollingStatusServiceImpl(URI statusUri, Ticker ticker, Random random,
+      BooleanSupplier networkAvailable) {
+    this.statusUri = statusUri;
+    this.ticker = ticker;
+    this.random = random;
+    this.networkAvailable = networkAvailable;
+    lastActivityNanos = ticker.read();
+  }
 
   @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
   public void setProxyService(IProxyService proxyService) {
@@ -115,6 +180,14 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
   @Activate
   public void start() {
     active = true;
+    lastActivityNanos = ticker.read();
+    if (PlatformUI.isWorkbenchRunning()) {
+      Display display = PlatformUI.getWorkbench().getDisplay();
+      display.asyncExec(() -> {
+        display.addFilter(SWT.KeyDown, activityListener);
+        display.addFilter(SWT.MouseDown, activityListener);
+      });
+    }
     pollingJob.schedule();
   }
 
@@ -122,6 +195,44 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
   public void stop() {
     active = false;
     pollingJob.cancel();
+    if (PlatformUI.isWorkbenchRunning()) {
+      Display display = PlatformUI.getWorkbench().getDisplay();
+      display.asyncExec(() -> {
+        display.removeFilter(SWT.KeyDown, activityListener);
+        display.removeFilter(SWT.MouseDown, activityListener);
+      });
+    }
+  }
+
+  /** Notes that the user is using the workbench, and resumes polling if it was suspended. */
+  @VisibleForTesting
+  void recordActivity() {
+    lastActivityNanos = ticker.read();
+    if (suspended.compareAndSet(true, false) && active) {
+      pollingJob.schedule();
+    }
+  }
+
+  @VisibleForTesting
+  boolean isIdle() {
+    return ticker.read() - lastActivityNanos >= TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MS);
+  }
+
+  /** Returns the delay until the next poll, based on the outcome of the last one. */
+  @VisibleForTesting
+  long getNextPollDelay() {
+    if (offline) {
+      // checking for a network connection is cheap, so look again soon
+      return INITIAL_RETRY_DELAY_MS;
+    }
+    if (consecutiveFailures == 0) {
+      return POLL_INTERVAL_MS;
+    }
+    long backOff = Math.min(MAX_RETRY_DELAY_MS,
+        INITIAL_RETRY_DELAY_MS << Math.min(consecutiveFailures - 1, 16));
+    // wait a random time between half and all of the back-off, so that the IDEs that lost their
+    // connection at the same time do not all retry at the same time
+    return backOff / 2 + (long) (random.nextDouble() * (backOff / 2));
   }
 
   @Override
@@ -130,36 +241,91 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
   }
 
   void refreshStatus() {
+    if (!networkAvailable.getAsBoolean()) {
+      offline = true;
+      updateStatus(
+          new GcpStatus(
+              Severity.ERROR, Messages.getString("cannot.connect.to.gcp"), null)); //$NON-NLS1$
+      return;
+    }
+    offline = false;
     try {
-      // As of 2018-01-30 the incidents log is 258k! But the incidents appear to be sorted from most
-      // recent to the oldest.  Although fetching with gzip encoding reduces to 36k over the wire,
-      // we can still do better by retrieving only the first 8k.
-      URLConnection connection = STATUS_JSON_URI.toURL().openConnection(getProxy(STATUS_JSON_URI));
-      connection.addRequestProperty("Range", "bytes=0-8192"); //$NON-NLS-1$ //$NON-NLS-2$
-      try (InputStream input = connection.getInputStream()) {
-        InputStreamReader streamReader = new InputStreamReader(input, StandardCharsets.UTF_8);
-        Collection<Incident> activeIncidents = extractIncidentsInProgress(gson, streamReader);
-        if (activeIncidents.isEmpty()) {
-          currentStatus = GcpStatus.OK_STATUS;
-        } else {
-          Severity highestSeverity = Incident.getHighestSeverity(activeIncidents);
-          Collection<String> affectedServices = Incident.getAffectedServiceNames(activeIncidents);
-          currentStatus =
-              new GcpStatus(highestSeverity, Joiner.on(", ").join(affectedServices), activeIncidents); //$NON-NLS-1$
-        }
-      }
+      updateStatus(fetchStatus());
+      consecutiveFailures = 0;
     } catch (UnknownHostException | SocketException ex) {
       logger.log(Level.WARNING, "Cannot connect to GCP: " + ex); // $NON-NLS1$
-      currentStatus =
+      consecutiveFailures++;
+      updateStatus(
           new GcpStatus(
-              Severity.ERROR, Messages.getString("cannot.connect.to.gcp"), null); //$NON-NLS1$
+              Severity.ERROR, Messages.getString("cannot.connect.to.gcp"), null)); //$NON-NLS1$
     } catch (IOException ex) {
       // Could be a JSON error
       logger.log(Level.WARNING, "Failure retrieving GCP status", ex); // $NON-NLS1$
-      currentStatus =
+      consecutiveFailures++;
+      updateStatus(
           new GcpStatus(
-              Severity.ERROR, Messages.getString("failure.retrieving.status"), null); //$NON-NLS1$
+              Severity.ERROR, Messages.getString("failure.retrieving.status"), null)); //$NON-NLS1$
+    }
+  }
+
+  private GcpStatus fetchStatus() throws IOException {
+    HttpURLConnection connection =
+        (HttpURLConnection) statusUri.toURL().openConnection(getProxy(statusUri));
+    connection.setConnectTimeout(TIMEOUT_MS);
+    connection.setReadTimeout(TIMEOUT_MS);
+    // As of 2018-01-30 the incidents log is 258k! But the incidents appear to be sorted from most
+    // recent to the oldest.  Although fetching with gzip encoding reduces to 36k over the wire,
+    // we can still do better by retrieving only the first 8k.
+    connection.addRequestProperty("Range", "bytes=0-8192"); //$NON-NLS-1$ //$NON-NLS-2$
+    // and nothing at all if the log has not changed since we last retrieved it
+    if (entityTag != null) {
+      connection.addRequestProperty("If-None-Match", entityTag); //$NON-NLS-1$
+    }
+    if (lastModified != null) {
+      connection.addRequestProperty("If-Modified-Since", lastModified); //$NON-NLS-1$
+    }
+
+    int responseCode = connection.getResponseCode();
+    if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && fetchedStatus != null) {
+      connection.getInputStream().close();
+      return fetchedStatus;
+    } else if (responseCode >= HttpURLConnection.HTTP_MULT_CHOICE) {
+      connection.disconnect();
+      throw new IOException("Unexpected HTTP response: " + responseCode); //$NON-NLS-1$
+    }
+
+    try (InputStream input = connection.getInputStream()) {
+      InputStreamReader streamReader = new InputStreamReader(input, StandardCharsets.UTF_8);
+      Collection<Incident> activeIncidents = extractIncidentsInProgress(gson, streamReader);
+      GcpStatus status;
+      if (activeIncidents.isEmpty()) {
+        status = GcpStatus.OK_STATUS;
+      } else {
+        Severity highestSeverity = Incident.getHighestSeverity(activeIncidents);
+        Collection<String> affectedServices = Incident.getAffectedServiceNames(activeIncidents);
+        status =
+            new GcpStatus(highestSeverity, Joiner.on(", ").join(affectedServices), activeIncidents); //$NON-NLS-1$
+      }
+      setValidators(connection.getHeaderField("ETag"), //$NON-NLS-1$
+          connection.getHeaderField("Last-Modified"), status); //$NON-NLS-1$
+      return status;
+    }
+  }
+
+  /** Remembers the validators of the retrieved incident log and the status it gave. */
+  @VisibleForTesting
+  void setValidators(String entityTag, String lastModified, GcpStatus status) {
+    this.entityTag = entityTag;
+    this.lastModified = lastModified;
+    fetchedStatus = status;
+  }
+
+  /** Notifies the listeners if {@code status} differs from the current status. */
+  private void updateStatus(GcpStatus status) {
+    if (status.equals(currentStatus)) {
+      return;
     }
+    currentStatus = status;
     for (Consumer<GcpStatusMonitoringService> listener : listeners) {
       listener.accept(this);
     }
@@ -187,6 +353,23 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
     return incidents;
   }
 
+  /** Returns true if a network interface other than the loopback interface is up. */
+  private static boolean hasNetworkInterfaceUp() {
+    try {
+      Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
+      while (interfaces != null && interfaces.hasMoreElements()) {
+        NetworkInterface networkInterface = interfaces.nextElement();
+        if (networkInterface.isUp() && !networkInterface.isLoopback()) {
+          return true;
+        }
+      }
+      return false;
+    } catch (SocketException ex) {
+      // can't tell; assume we are online
+      return true;
+    }
+  }
+
   private Proxy getProxy(URI uri) {
     if (proxyService == null) {
       return Proxy.NO_PROXY;
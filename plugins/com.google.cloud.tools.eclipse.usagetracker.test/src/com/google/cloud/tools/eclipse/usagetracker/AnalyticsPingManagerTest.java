@@ -30,8 +30,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.tools.eclipse.usagetracker.AnalyticsPingManager.PingEvent;
+import com.google.cloud.tools.eclipse.usagetracker.EventSpool.LogEvent;
 import com.google.common.collect.ImmutableMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.junit.Before;
 import org.junit.Test;
@@ -253,5 +255,33 @@ public class AnalyticsPingManagerTest {
   public void testSendPingArguments_validMetadataMap() {
     pingManager.sendPing("eventName", EMPTY_MAP);
   } 
+
+  @Test
+  public void testFlush_optedOutDiscardsSpooledEvents() {
+    mockOptIn(false);
+    mockOptInRegistered(true);
+    EventSpool spool = new EventSpool(null);
+    spool.add(new LogEvent(1000000L, 0, "{}"));
+    pingManager = new AnalyticsPingManager("https://example.com", preferences, pingEventQueue,
+        spool);
+
+    assertEquals(-1, pingManager.flush(new NullProgressMonitor()));
+    assertTrue(spool.isEmpty());
+  }
+
+  @Test
+  public void testGetBackOffMillis() {
+    assertEquals(AnalyticsPingManager.INITIAL_BACKOFF_MS, AnalyticsPingManager.getBackOffMillis(1));
+    assertEquals(2 * AnalyticsPingManager.INITIAL_BACKOFF_MS,
+        AnalyticsPingManager.getBackOffMillis(2));
+    assertEquals(4 * AnalyticsPingManager.INITIAL_BACKOFF_MS,
+        AnalyticsPingManager.getBackOffMillis(3));
+  }
+
+  @Test
+  public void testGetBackOffMillis_bounded() {
+    assertEquals(AnalyticsPingManager.MAX_BACKOFF_MS, AnalyticsPingManager.getBackOffMillis(10));
+    assertEquals(AnalyticsPingManager.MAX_BACKOFF_MS, AnalyticsPingManager.getBackOffMillis(100));
+  }
   
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.usagetracker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import com.google.cloud.tools.eclipse.usagetracker.AnalyticsPingManager.PingEvent;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AnalyticsPingManagerWithServerTest {
+
+  /** Nothing listens on this port, so connections are refused. */
+  private static final String UNREACHABLE_URL = "http://127.0.0.1:1/";
+
+  @Rule public TestHttpServer server = new TestHttpServer("", "{}");
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Mock private IEclipsePreferences preferences;
+
+  private final ConcurrentLinkedQueue<PingEvent> pingEventQueue = new ConcurrentLinkedQueue<>();
+  private Path spoolFile;
+
+  @Before
+  public void setUp() {
+    when(preferences.get("ANALYTICS_CLIENT_ID", null)).thenReturn("clientId");
+    when(preferences.getBoolean(eq(AnalyticsPreferences.ANALYTICS_OPT_IN), anyBoolean()))
+        .thenReturn(true);
+    when(preferences.getBoolean(eq(AnalyticsPreferences.ANALYTICS_OPT_IN_REGISTERED),
+                                anyBoolean()))
+        .thenReturn(true);
+    spoolFile = tempFolder.getRoot().toPath().resolve("events.json");
+  }
+
+  @Test
+  public void testFlush_eventsSentInOneRequest() {
+    AnalyticsPingManager pingManager = newPingManager(server.getAddress());
+    queueEvents(3);
+
+    assertEquals(-1, pingManager.flush(new NullProgressMonitor()));
+    assertEquals("POST", server.getRequestMethod());
+    assertEquals(3, getLogEvents(server.getBody()).size());
+    assertTrue(new EventSpool(spoolFile).isEmpty());
+  }
+
+  @Test
+  public void testFlush_unreachableEventsSentByNextSession() {
+    AnalyticsPingManager offlinePingManager = newPingManager(UNREACHABLE_URL);
+    queueEvents(2);
+    long retryDelay = offlinePingManager.flush(new NullProgressMonitor());
+    assertEquals(AnalyticsPingManager.INITIAL_BACKOFF_MS, retryDelay, 1000);
+    assertEquals(2, new EventSpool(spoolFile).size());
+
+    // backing off: new events are spooled without trying to send them
+    queueEvents(1);
+    assertTrue(offlinePingManager.flush(new NullProgressMonitor()) > 0);
+    assertEquals(3, new EventSpool(spoolFile).size());
+
+    AnalyticsPingManager pingManager = newPingManager(server.getAddress());
+    assertEquals(-1, pingManager.flush(new NullProgressMonitor()));
+    List<Map<String, ?>> logEvents = getLogEvents(server.getBody());
+    assertEquals(3, logEvents.size());
+    assertTrue(new EventSpool(spoolFile).isEmpty());
+  }
+
+  private AnalyticsPingManager newPingManager(String collectionUrl) {
+    return new AnalyticsPingManager(collectionUrl, preferences, pingEventQueue,
+        new EventSpool(spoolFile));
+  }
+
+  private void queueEvents(int count) {
+    for (int i = 0; i < count; i++) {
+      pingEventQueue.add(new PingEvent("event" + i, ImmutableMap.of("key", "value"), null));
+    }
+  }
+
+  private static List<Map<String, ?>> getLogEvents(String json) {
+    Type mapType = new TypeToken<Map<String, ?>>(){}.getType();
+    Map<String, ?> root = new Gson().fromJson(json, mapType);
+    assertEquals("CONCORD", root.get("log_source"));
+    @SuppressWarnings("unchecked")
+    List<Map<String, ?>> logEvents = (List<Map<String, ?>>) root.get("log_event");
+    for (Map<String, ?> logEvent : logEvents) {
+      assertTrue(((String) logEvent.get("source_extension_json")).contains("clientId"));
+    }
+    return logEvents;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.usagetracker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.usagetracker.EventSpool.LogEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EventSpoolTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void setUp() {
+    file = tempFolder.getRoot().toPath().resolve("state").resolve("events.json");
+  }
+
+  @Test
+  public void testPeekAndRemove() {
+    EventSpool spool = new EventSpool(null);
+    assertTrue(spool.isEmpty());
+    spool.add(newEvent(0));
+    spool.add(newEvent(1));
+    spool.add(newEvent(2));
+
+    List<LogEvent> events = spool.peek(2);
+    assertEquals(2, events.size());
+    assertEquals("{\"event\":0}", events.get(0).getSourceExtensionJson());
+    assertEquals("{\"event\":1}", events.get(1).getSourceExtensionJson());
+    assertEquals(3, spool.size());
+
+    spool.remove(2);
+    assertEquals(1, spool.size());
+    spool.remove(5);
+    assertTrue(spool.isEmpty());
+  }
+
+  @Test
+  public void testBounded() {
+    EventSpool spool = new EventSpool(null);
+    for (int i = 0; i < EventSpool.MAX_EVENTS + 10; i++) {
+      spool.add(newEvent(i));
+    }
+    assertEquals(EventSpool.MAX_EVENTS, spool.size());
+    // the oldest events were dropped
+    assertEquals("{\"event\":10}", spool.peek(1).get(0).getSourceExtensionJson());
+  }
+
+  @Test
+  public void testSavedAcrossInstances() {
+    EventSpool spool = new EventSpool(file);
+    spool.add(newEvent(0));
+    spool.add(newEvent(1));
+    spool.save();
+    assertTrue(Files.exists(file));
+
+    EventSpool reloaded = new EventSpool(file);
+    assertEquals(2, reloaded.size());
+    assertEquals("{\"event\":1}", reloaded.peek(2).get(1).getSourceExtensionJson());
+  }
+
+  @Test
+  public void testSave_noChanges() {
+    new EventSpool(file).save();
+    assertFalse(Files.exists(file));
+  }
+
+  @Test
+  public void testClear() {
+    EventSpool spool = new EventSpool(file);
+    spool.add(newEvent(0));
+    spool.save();
+    spool.clear();
+    spool.save();
+    assertTrue(new EventSpool(file).isEmpty());
+  }
+
+  @Test
+  public void testUnreadableFileDiscarded() throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.write(file, "not json[".getBytes(StandardCharsets.UTF_8));
+    EventSpool spool = new EventSpool(file);
+    assertTrue(spool.isEmpty());
+    spool.add(newEvent(0));
+    spool.save();
+    assertEquals(1, new EventSpool(file).size());
+  }
+
+  private static LogEvent newEvent(int i) {
+    return new LogEvent(1000000L + i, i, "{\"event\":" + i + "}");
+  }
+}
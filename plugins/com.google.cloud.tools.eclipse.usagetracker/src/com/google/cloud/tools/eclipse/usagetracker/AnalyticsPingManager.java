@@ -16,6 +16,7 @@
 
 package com.google.cloud.tools.eclipse.usagetracker;
 
+import com.google.cloud.tools.eclipse.usagetracker.EventSpool.LogEvent;
 import com.google.cloud.tools.eclipse.util.CloudToolsInfo;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -23,6 +24,8 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -44,6 +47,7 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
+import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.prefs.BackingStoreException;
 
 /**
@@ -56,6 +60,18 @@ public class AnalyticsPingManager {
   private static final String FIRELOG_COLLECTION_URL =
       "https://firebaselogging-pa.googleapis.com/v1/firelog/legacy/log";
 
+  private static final String SPOOL_FILENAME = "analytics-events.json";
+
+  /** Delay before queued events are sent, so that events fired together are sent together. */
+  private static final long FLUSH_DELAY_MS = 2000;
+  /** Maximum number of events sent in a single request. */
+  @VisibleForTesting
+  static final int MAX_BATCH_SIZE = 100;
+  @VisibleForTesting
+  static final long INITIAL_BACKOFF_MS = 60_000;
+  @VisibleForTesting
+  static final long MAX_BACKOFF_MS = 60 * 60_000;
+
   private static AnalyticsPingManager instance;
 
   private final String collectionUrl;
@@ -64,15 +80,22 @@ public class AnalyticsPingManager {
   private final IEclipsePreferences preferences;
 
   private final ConcurrentLinkedQueue<PingEvent> pingEventQueue;
-  
+
+  // Events of opted-in users that are yet to be sent.
+  private final EventSpool eventSpool;
+
+  /**
+   * Sends the queued events, in batches of up to {@link #MAX_BATCH_SIZE} events. When the
+   * collection endpoint cannot be reached, the events are kept in the {@link EventSpool} and the
+   * job reschedules itself with an exponential back-off rather than retrying each event.
+   */
   @VisibleForTesting
   final Job eventFlushJob = new Job("Analytics Event Submission") {
     @Override
     protected IStatus run(IProgressMonitor monitor) {
-      while (!pingEventQueue.isEmpty() && !monitor.isCanceled()) {
-        PingEvent event = pingEventQueue.poll();
-        showOptInDialogIfNeeded(event.shell);
-        sendPing(event);
+      long retryDelay = flush(monitor);
+      if (retryDelay >= 0) {
+        schedule(retryDelay);
       }
       return Status.OK_STATUS;
     }
@@ -80,12 +103,23 @@ public class AnalyticsPingManager {
 
   private int sequencePosition = 0;
 
+  // Accessed only by the eventFlushJob.
+  private int consecutiveFailures = 0;
+  private long nextAttemptMillis = 0;
+
   @VisibleForTesting
   AnalyticsPingManager(String collectionUrl, IEclipsePreferences preferences,
       ConcurrentLinkedQueue<PingEvent> concurrentLinkedQueue) {
+    this(collectionUrl, preferences, concurrentLinkedQueue, new EventSpool(null));
+  }
+
+  @VisibleForTesting
+  AnalyticsPingManager(String collectionUrl, IEclipsePreferences preferences,
+      ConcurrentLinkedQueue<PingEvent> concurrentLinkedQueue, EventSpool eventSpool) {
     this.collectionUrl = collectionUrl;
     this.preferences = Preconditions.checkNotNull(preferences);
     pingEventQueue = concurrentLinkedQueue;
+    this.eventSpool = Preconditions.checkNotNull(eventSpool);
   }
 
   public static synchronized AnalyticsPingManager getInstance() {
@@ -94,8 +128,16 @@ public class AnalyticsPingManager {
       if (!Platform.inDevelopmentMode() && !Constants.FIRELOG_API_KEY.startsWith("@")) {
         collectionUrl = FIRELOG_COLLECTION_URL + "?key=" + Constants.FIRELOG_API_KEY;
       }
+      Path stateLocation =
+          Platform.getStateLocation(FrameworkUtil.getBundle(AnalyticsPingManager.class))
+              .toFile().toPath();
       instance = new AnalyticsPingManager(collectionUrl, AnalyticsPreferences.getPreferenceNode(),
-          new ConcurrentLinkedQueue<PingEvent>());
+          new ConcurrentLinkedQueue<PingEvent>(),
+          new EventSpool(stateLocation.resolve(SPOOL_FILENAME)));
+      if (collectionUrl != null) {
+        // send any events left from a previous session
+        instance.eventFlushJob.schedule(FLUSH_DELAY_MS);
+      }
     }
     return instance;
   }
@@ -185,30 +227,85 @@ public class AnalyticsPingManager {
       if (userHasOptedIn() || !userHasRegisteredOptInStatus()) {
         ImmutableMap<String, String> metadataCopy = ImmutableMap.copyOf(metadata);
         pingEventQueue.add(new PingEvent(eventName, metadataCopy, parentShell));
-        eventFlushJob.schedule();
+        eventFlushJob.schedule(FLUSH_DELAY_MS);
       }
     }
   }
 
   /**
-   * This is the only method that makes an HTTP connection. Everything else
-   * ultimately funnels through here. 
+   * Moves the queued events to the {@link EventSpool} and sends the spooled events.
+   *
+   * @return the delay in milliseconds after which sending should be retried, or {@code -1} if
+   *     there is nothing left to send
    */
-  private void sendPing(PingEvent pingEvent) {
-    if (userHasOptedIn()) {
-      try {
-        String json = jsonEncode(pingEvent);
-        int resultCode = HttpUtil.sendPost(collectionUrl, json, "application/json");
-        if (resultCode >= 300) {
-          logger.log(Level.FINE, "Failed to POST to Concord with HTTP result " + resultCode);
+  @VisibleForTesting
+  long flush(IProgressMonitor monitor) {
+    PingEvent event;
+    while (!monitor.isCanceled() && (event = pingEventQueue.poll()) != null) {
+      showOptInDialogIfNeeded(event.shell);
+      if (userHasOptedIn()) {
+        eventSpool.add(toLogEvent(event));
+      }
+    }
+    if (!userHasOptedIn()) {
+      // don't send events recorded before the user opted out
+      eventSpool.clear();
+    }
+
+    try {
+      while (!eventSpool.isEmpty() && !monitor.isCanceled()) {
+        long now = System.currentTimeMillis();
+        if (now < nextAttemptMillis) {
+          return nextAttemptMillis - now;
+        }
+        List<LogEvent> batch = eventSpool.peek(MAX_BATCH_SIZE);
+        if (!sendBatch(batch)) {
+          consecutiveFailures++;
+          nextAttemptMillis = now + getBackOffMillis(consecutiveFailures);
+          return nextAttemptMillis - now;
         }
-      } catch (IOException ex) {
-        // Don't recover or retry.
-        logger.log(Level.FINE, "Failed to POST to Concord", ex);
-      } 
+        consecutiveFailures = 0;
+        eventSpool.remove(batch.size());
+      }
+      return -1;
+    } finally {
+      eventSpool.save();
     }
   }
 
+  /**
+   * This is the only method that makes an HTTP connection. Everything else
+   * ultimately funnels through here.
+   *
+   * @return false if sending should be retried later
+   */
+  private boolean sendBatch(List<LogEvent> batch) {
+    try {
+      String json = jsonEncode(batch);
+      int resultCode = HttpUtil.sendPost(collectionUrl, json, "application/json");
+      if (resultCode < 300) {
+        return true;
+      }
+      logger.log(Level.FINE, "Failed to POST to Concord with HTTP result " + resultCode);
+      // the events were rejected; sending them again would not help
+      return resultCode < 500 && resultCode != HttpURLConnection.HTTP_CLIENT_TIMEOUT
+          && resultCode != 429 /* Too Many Requests */;
+    } catch (IOException ex) {
+      logger.log(Level.FINE, "Failed to POST to Concord", ex);
+      return false;
+    }
+  }
+
+  /** Returns how long to wait before sending again after {@code failures} failed attempts. */
+  @VisibleForTesting
+  static long getBackOffMillis(int failures) {
+    Preconditions.checkArgument(failures > 0);
+    if (failures > 32) {
+      return MAX_BACKOFF_MS;
+    }
+    return Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << (failures - 1));
+  }
+
   private static ImmutableMap<String, String> getPlatformInfo() {
     return ImmutableMap.of(
         "ct4e-version", CloudToolsInfo.getToolsVersion(),
@@ -285,15 +382,12 @@ public class AnalyticsPingManager {
 
   @VisibleForTesting
   String jsonEncode(PingEvent event) {
+    return jsonEncode(Collections.singletonList(toLogEvent(event)));
+  }
+
+  private LogEvent toLogEvent(PingEvent event) {
     Gson gson = new Gson();
 
-    Map<String, String> desktopClientInfo = new HashMap<>();
-    desktopClientInfo.put("os", System.getProperty("os.name"));
-    
-    Map<String, Object> clientInfo = new HashMap<>();
-    clientInfo.put("client_type", "DESKTOP");
-    clientInfo.put("desktop_client_info", desktopClientInfo);
-        
     // logs/proto/cloud/concord/concord_event.proto
     Map<String, Object> sourceExtension = new HashMap<>();
     sourceExtension.put("client_install_id", getAnonymizedClientId());
@@ -313,17 +407,25 @@ public class AnalyticsPingManager {
     sourceExtension.put("event_metadata", metadataList);
     
     String sourceExtensionJsonString = gson.toJson(sourceExtension);
+    return new LogEvent(System.currentTimeMillis(), sequencePosition++, sourceExtensionJsonString);
+  }
+
+  @VisibleForTesting
+  static String jsonEncode(List<LogEvent> logEvents) {
+    Gson gson = new Gson();
+
+    Map<String, String> desktopClientInfo = new HashMap<>();
+    desktopClientInfo.put("os", System.getProperty("os.name"));
     
-    Map<String, Object> logEvent = new HashMap<>();
-    logEvent.put("event_time_ms", System.currentTimeMillis());
-    logEvent.put("sequence_position", sequencePosition++);  
-    logEvent.put("source_extension_json", sourceExtensionJsonString);
-    
+    Map<String, Object> clientInfo = new HashMap<>();
+    clientInfo.put("client_type", "DESKTOP");
+    clientInfo.put("desktop_client_info", desktopClientInfo);
+
     Map<String, Object> root = new HashMap<>();
     root.put("log_source", "CONCORD");
     root.put("request_time_ms", System.currentTimeMillis());
     root.put("client_info", clientInfo);
-    root.put("log_event", Collections.singletonList(logEvent));
+    root.put("log_event", logEvents);
 
     return gson.toJson(root);
   }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.usagetracker;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Analytics events waiting to be sent, kept in a JSON file so that events recorded while the
+ * collection endpoint is unreachable are sent later, even after a restart. Holds at most
+ * {@link #MAX_EVENTS} events; the oldest events are dropped first.
+ */
+class EventSpool {
+
+  private static final Logger logger = Logger.getLogger(EventSpool.class.getName());
+
+  @VisibleForTesting
+  static final int MAX_EVENTS = 1000;
+
+  /** A {@code log_event} entry of a Firelog request. */
+  static class LogEvent {
+    @SerializedName("event_time_ms")
+    private final long eventTimeMs;
+    @SerializedName("sequence_position")
+    private final int sequencePosition;
+    @SerializedName("source_extension_json")
+    private final String sourceExtensionJson;
+
+    LogEvent(long eventTimeMs, int sequencePosition, String sourceExtensionJson) {
+      this.eventTimeMs = eventTimeMs;
+      this.sequencePosition = sequencePosition;
+      this.sourceExtensionJson = sourceExtensionJson;
+    }
+
+    @VisibleForTesting
+    String getSourceExtensionJson() {
+      return sourceExtensionJson;
+    }
+  }
+
+  private static final Type EVENTS_TYPE = new TypeToken<List<LogEvent>>() {}.getType();
+
+  private final Gson gson = new Gson();
+  private final Path file;
+  // lazily loaded, oldest first
+  private List<LogEvent> events;
+  private boolean dirty;
+
+  /**
+   * @param file where the events are saved; if {@code null}, the events are only kept in memory
+   */
+  EventSpool(Path file) {
+    this.file = file;
+  }
+
+  synchronized void add(LogEvent event) {
+    List<LogEvent> events = getEvents();
+    events.add(event);
+    if (events.size() > MAX_EVENTS) {
+      events.subList(0, events.size() - MAX_EVENTS).clear();
+    }
+    dirty = true;
+  }
+
+  synchronized boolean isEmpty() {
+    return getEvents().isEmpty();
+  }
+
+  synchronized int size() {
+    return getEvents().size();
+  }
+
+  /** Returns up to {@code maxCount} of the oldest events, without removing them. */
+  synchronized List<LogEvent> peek(int maxCount) {
+    List<LogEvent> events = getEvents();
+    return new ArrayList<>(events.subList(0, Math.min(maxCount, events.size())));
+  }
+
+  /** Removes the {@code count} oldest events, typically after they were {@link #peek}ed. */
+  synchronized void remove(int count) {
+    List<LogEvent> events = getEvents();
+    events.subList(0, Math.min(count, events.size())).clear();
+    dirty = true;
+  }
+
+  synchronized void clear() {
+    if (!getEvents().isEmpty()) {
+      events.clear();
+      dirty = true;
+    }
+  }
+
+  /** Writes the events to the file if they changed since they were last loaded or saved. */
+  synchronized void save() {
+    if (file == null || !dirty) {
+      return;
+    }
+    try {
+      Files.createDirectories(file.getParent());
+      Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+      try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+        gson.toJson(events, EVENTS_TYPE, writer);
+      }
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      dirty = false;
+    } catch (IOException ex) {
+      logger.log(Level.FINE, "Failed to save analytics events: " + file, ex);
+    }
+  }
+
+  private List<LogEvent> getEvents() {
+    if (events == null) {
+      events = load();
+    }
+    return events;
+  }
+
+  private List<LogEvent> load() {
+    if (file != null && Files.exists(file)) {
+      try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        List<LogEvent> loaded = gson.fromJson(reader, EVENTS_TYPE);
+        if (loaded != null) {
+          List<LogEvent> events = new ArrayList<>();
+          for (LogEvent event : loaded) {
+            if (event != null && event.sourceExtensionJson != null) {
+              events.add(event);
+            }
+          }
+          return events;
+        }
+      } catch (IOException | JsonParseException ex) {
+        logger.log(Level.FINE, "Discarding unreadable analytics events: " + file, ex);
+      }
+    }
+    return new ArrayList<>();
+  }
+}
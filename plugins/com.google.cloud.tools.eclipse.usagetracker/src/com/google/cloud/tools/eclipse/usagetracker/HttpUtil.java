@@ -18,8 +18,10 @@ package com.google.cloud.tools.eclipse.usagetracker;
 
 import com.google.cloud.tools.eclipse.util.CloudToolsInfo;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.ByteStreams;
 import com.google.common.net.UrlEscapers;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
@@ -40,9 +42,8 @@ class HttpUtil {
     byte[] bytesToWrite = body.getBytes(StandardCharsets.UTF_8);
 
     URL url = new URL(urlString);
-    HttpURLConnection connection = null;
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
     try {
-      connection = (HttpURLConnection) url.openConnection();
       connection.setDoOutput(true);
       connection.setRequestMethod("POST");
       // This prevent Analytics from identifying our pings as spam.
@@ -56,11 +57,19 @@ class HttpUtil {
         out.write(bytesToWrite);
         out.flush();
       }
-      return connection.getResponseCode();
-    } finally {
-      if (connection != null) {
-        connection.disconnect();
+      int responseCode = connection.getResponseCode();
+      // Read the response to the end rather than disconnecting, so that the connection is kept
+      // alive and reused by the next request to the same host.
+      try (InputStream in = responseCode < 400
+          ? connection.getInputStream() : connection.getErrorStream()) {
+        if (in != null) {
+          ByteStreams.exhaust(in);
+        }
       }
+      return responseCode;
+    } catch (IOException ex) {
+      connection.disconnect();
+      throw ex;
     }
   }
 
@@ -16,15 +16,24 @@
 
 package com.google.cloud.tools.eclipse.util;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
-
+import java.nio.charset.StandardCharsets;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class ArtifactRetrieverTest {
-  
+
+  // nothing listens on port 1, so any attempt to connect fails
+  private static final String UNREACHABLE_REPOSITORY = "http://127.0.0.1:1/";
+  private static final byte[] METADATA = "<metadata/>".getBytes(StandardCharsets.UTF_8);
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
   @Test
   public void testGetInstance() throws URISyntaxException {
     ArtifactRetriever retriever1 = ArtifactRetriever.getInstance("http://www.example.com/");
@@ -55,5 +64,55 @@ public class ArtifactRetrieverTest {
     Assert.assertEquals("com.google.cloud.dataflow", actual[0]);
     Assert.assertEquals("google-cloud-dataflow-java-sdk-all", actual[1]);
   }
-  
+
+  @Test
+  public void testGetMetadata_freshEntryUsedWithoutFetching() throws IOException {
+    MavenMetadataCache cache = newCache();
+    ArtifactRetriever retriever = new ArtifactRetriever(UNREACHABLE_REPOSITORY, cache);
+    URL url = retriever.getMetadataUrl("com.example", "foo");
+    cache.put(url.toString(),
+        new MavenMetadataCache.Entry(METADATA, null, null, System.currentTimeMillis()));
+
+    Assert.assertArrayEquals(METADATA, retriever.getMetadata(url));
+  }
+
+  @Test
+  public void testGetMetadata_offlineUsesStaleEntry() throws IOException {
+    MavenMetadataCache cache = newCache();
+    ArtifactRetriever retriever = new ArtifactRetriever(UNREACHABLE_REPOSITORY, cache);
+    retriever.setOffline(true);
+    URL url = retriever.getMetadataUrl("com.example", "foo");
+    cache.put(url.toString(), new MavenMetadataCache.Entry(METADATA, "\"etag\"", null, 0));
+
+    Assert.assertArrayEquals(METADATA, retriever.getMetadata(url));
+    Assert.assertEquals(0, cache.get(url.toString()).getValidated());
+  }
+
+  @Test(expected = IOException.class)
+  public void testGetMetadata_offlineWithoutEntry() throws IOException {
+    ArtifactRetriever retriever = new ArtifactRetriever(UNREACHABLE_REPOSITORY, newCache());
+    retriever.setOffline(true);
+    retriever.getMetadata(retriever.getMetadataUrl("com.example", "foo"));
+  }
+
+  @Test
+  public void testGetMetadata_unreachableUsesStaleEntry() throws IOException {
+    MavenMetadataCache cache = newCache();
+    ArtifactRetriever retriever = new ArtifactRetriever(UNREACHABLE_REPOSITORY, cache);
+    URL url = retriever.getMetadataUrl("com.example", "foo");
+    cache.put(url.toString(), new MavenMetadataCache.Entry(METADATA, null, null, 0));
+
+    Assert.assertArrayEquals(METADATA, retriever.getMetadata(url));
+  }
+
+  @Test
+  public void testGetLatestVersion_offlineWithoutEntry() {
+    ArtifactRetriever retriever = new ArtifactRetriever(UNREACHABLE_REPOSITORY, newCache());
+    retriever.setOffline(true);
+    Assert.assertNull(retriever.getLatestVersion("com.example", "foo"));
+  }
+
+  private MavenMetadataCache newCache() {
+    return new MavenMetadataCache(tempFolder.getRoot().toPath(), 10);
+  }
 }
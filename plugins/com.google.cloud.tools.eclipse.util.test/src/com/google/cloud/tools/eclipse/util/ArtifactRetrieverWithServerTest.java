@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that use an HTTP server as a stand-in for a Maven repository. Separate from
+ * {@link ArtifactRetrieverTest} to avoid unnecessary test server launching.
+ */
+public class ArtifactRetrieverWithServerTest {
+
+  private static final String METADATA_PATH = "com/example/foo/maven-metadata.xml";
+  private static final String METADATA = "<metadata><versioning><versions>"
+      + "<version>1.0.0</version><version>1.2.0</version><version>2.0.0-beta</version>"
+      + "</versions></versioning></metadata>";
+  private static final byte[] OLD_METADATA = "<metadata/>".getBytes(StandardCharsets.UTF_8);
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+  @Rule public TestHttpServer server = new TestHttpServer(METADATA_PATH, METADATA);
+
+  private MavenMetadataCache cache;
+  private ArtifactRetriever retriever;
+  private URL url;
+
+  @Before
+  public void setUp() {
+    cache = new MavenMetadataCache(tempFolder.getRoot().toPath(), 10);
+    retriever = new ArtifactRetriever(server.getAddress(), cache);
+    url = retriever.getMetadataUrl("com.example", "foo");
+  }
+
+  @Test
+  public void testGetMetadata_storesResponseWithValidators() throws IOException {
+    server.addResponseHeader("ETag", "\"v2\"");
+    server.addResponseHeader("Last-Modified", "Tue, 02 Mar 2021 10:00:00 GMT");
+
+    assertArrayEquals(METADATA.getBytes(StandardCharsets.UTF_8), retriever.getMetadata(url));
+
+    MavenMetadataCache.Entry entry = cache.get(url.toString());
+    assertArrayEquals(METADATA.getBytes(StandardCharsets.UTF_8), entry.getContent());
+    assertEquals("\"v2\"", entry.getEtag());
+    assertEquals("Tue, 02 Mar 2021 10:00:00 GMT", entry.getLastModified());
+    assertNull(server.getRequestHeaders().get("If-None-Match"));
+  }
+
+  @Test
+  public void testGetMetadata_revalidatesStaleEntry() throws IOException {
+    server.setResponseStatus(304);
+    cache.put(url.toString(), new MavenMetadataCache.Entry(
+        OLD_METADATA, "\"v1\"", "Mon, 01 Mar 2021 10:00:00 GMT", 0));
+
+    assertArrayEquals(OLD_METADATA, retriever.getMetadata(url));
+
+    assertEquals("\"v1\"", server.getRequestHeaders().get("If-None-Match"));
+    assertEquals("Mon, 01 Mar 2021 10:00:00 GMT",
+        server.getRequestHeaders().get("If-Modified-Since"));
+    assertTrue(cache.get(url.toString()).getValidated() > 0);
+  }
+
+  @Test
+  public void testGetMetadata_replacesModifiedEntry() throws IOException {
+    server.addResponseHeader("ETag", "\"v2\"");
+    cache.put(url.toString(), new MavenMetadataCache.Entry(OLD_METADATA, "\"v1\"", null, 0));
+
+    assertArrayEquals(METADATA.getBytes(StandardCharsets.UTF_8), retriever.getMetadata(url));
+    assertEquals("\"v2\"", cache.get(url.toString()).getEtag());
+  }
+
+  @Test
+  public void testGetMetadata_serverErrorUsesStaleEntry() throws IOException {
+    server.setResponseStatus(500);
+    cache.put(url.toString(), new MavenMetadataCache.Entry(OLD_METADATA, null, null, 0));
+
+    assertArrayEquals(OLD_METADATA, retriever.getMetadata(url));
+    assertEquals(0, cache.get(url.toString()).getValidated());
+  }
+
+  @Test
+  public void testGetLatestVersion() {
+    assertEquals("2.0.0-beta", retriever.getLatestVersion("com.example", "foo").toString());
+    assertEquals("1.2.0", retriever.getLatestReleaseVersion("com.example", "foo").toString());
+  }
+}
@@ -19,11 +19,19 @@ package com.google.cloud.tools.eclipse.util;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -92,6 +100,112 @@ public class DependencyResolverTest {
     Assert.fail("Jackson missing but contained: \n" + result);
   }
 
+  @Test
+  public void testCoalesce_concurrentRequestsShareResult() throws Exception {
+    AtomicInteger resolutions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> first = executor.submit(() -> DependencyResolver.coalesce("shared", monitor,
+          () -> {
+            resolutions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "first";
+          }));
+      Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+      new Thread(() -> {
+        sleep(200);
+        release.countDown();
+      }).start();
+      String second = DependencyResolver.coalesce("shared", monitor, () -> {
+        resolutions.incrementAndGet();
+        return "second";
+      });
+      Assert.assertEquals("first", second);
+      Assert.assertEquals("first", first.get(5, TimeUnit.SECONDS));
+      Assert.assertEquals(1, resolutions.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCoalesce_sequentialRequestsResolveAgain() throws CoreException {
+    AtomicInteger resolutions = new AtomicInteger();
+    DependencyResolver.coalesce("sequential", monitor, resolutions::incrementAndGet);
+    DependencyResolver.coalesce("sequential", monitor, resolutions::incrementAndGet);
+    Assert.assertEquals(2, resolutions.get());
+  }
+
+  @Test
+  public void testCoalesce_failureSharedWithWaiters() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(() -> DependencyResolver.coalesce("failure", monitor, () -> {
+        started.countDown();
+        await(release);
+        throw new CoreException(Status.CANCEL_STATUS);
+      }));
+      Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+      new Thread(() -> {
+        sleep(200);
+        release.countDown();
+      }).start();
+      try {
+        DependencyResolver.coalesce("failure", monitor, () -> "unexpected");
+        Assert.fail();
+      } catch (CoreException ex) {
+        Assert.assertEquals(Status.CANCEL_STATUS, ex.getStatus());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(expected = OperationCanceledException.class)
+  public void testCoalesce_waiterCanceled() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(() -> DependencyResolver.coalesce("canceled", monitor, () -> {
+        started.countDown();
+        await(release);
+        return "first";
+      }));
+      Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+      NullProgressMonitor canceled = new NullProgressMonitor();
+      canceled.setCanceled(true);
+      DependencyResolver.coalesce("canceled", canceled, () -> "unexpected");
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   /**
    * Easier to check for inclusion by Maven coordinates.
    */
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.util.jobs.MutexRule;
+import org.junit.Test;
+
+public class MavenArtifactRuleTest {
+
+  private final MavenArtifactRule rule = new MavenArtifactRule("com.example", "foo", "1.0");
+
+  @Test
+  public void testContains_sameCoordinates() {
+    assertTrue(rule.contains(rule));
+    assertTrue(rule.contains(new MavenArtifactRule("com.example", "foo", "1.0")));
+  }
+
+  @Test
+  public void testIsConflicting_sameCoordinates() {
+    assertTrue(rule.isConflicting(rule));
+    assertTrue(rule.isConflicting(new MavenArtifactRule("com.example", "foo", "1.0")));
+  }
+
+  @Test
+  public void testIsConflicting_otherCoordinates() {
+    assertFalse(rule.isConflicting(new MavenArtifactRule("com.example", "foo", "2.0")));
+    assertFalse(rule.isConflicting(new MavenArtifactRule("com.example", "bar", "1.0")));
+    assertFalse(rule.isConflicting(new MavenArtifactRule("org.example", "foo", "1.0")));
+  }
+
+  @Test
+  public void testIsConflicting_otherRules() {
+    assertFalse(rule.isConflicting(new MutexRule("unrelated")));
+    assertFalse(rule.contains(new MutexRule("unrelated")));
+  }
+}
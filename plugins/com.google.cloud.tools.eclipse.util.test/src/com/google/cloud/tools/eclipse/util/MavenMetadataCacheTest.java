@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MavenMetadataCacheTest {
+
+  private static final String URL = "https://repo.example.com/com/example/foo/maven-metadata.xml";
+  private static final byte[] CONTENT = "<metadata/>".getBytes(StandardCharsets.UTF_8);
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path directory;
+  private MavenMetadataCache cache;
+
+  @Before
+  public void setUp() {
+    directory = tempFolder.getRoot().toPath().resolve("cache");
+    cache = new MavenMetadataCache(directory, 2);
+  }
+
+  @Test
+  public void testGet_missing() {
+    assertNull(cache.get(URL));
+  }
+
+  @Test
+  public void testPutAndGet() throws IOException {
+    cache.put(URL, new MavenMetadataCache.Entry(CONTENT, "\"etag\"", "yesterday", 42));
+
+    MavenMetadataCache.Entry entry = cache.get(URL);
+    assertNotNull(entry);
+    assertArrayEquals(CONTENT, entry.getContent());
+    assertEquals("\"etag\"", entry.getEtag());
+    assertEquals("yesterday", entry.getLastModified());
+    assertEquals(42, entry.getValidated());
+  }
+
+  @Test
+  public void testPutAndGet_noValidators() throws IOException {
+    cache.put(URL, new MavenMetadataCache.Entry(CONTENT, null, null, 42));
+
+    MavenMetadataCache.Entry entry = cache.get(URL);
+    assertNull(entry.getEtag());
+    assertNull(entry.getLastModified());
+  }
+
+  @Test
+  public void testGet_survivesNewInstance() throws IOException {
+    cache.put(URL, new MavenMetadataCache.Entry(CONTENT, "\"etag\"", null, 42));
+
+    MavenMetadataCache reopened = new MavenMetadataCache(directory, 2);
+    assertArrayEquals(CONTENT, reopened.get(URL).getContent());
+  }
+
+  @Test
+  public void testMarkValidated() throws IOException {
+    cache.put(URL, new MavenMetadataCache.Entry(CONTENT, "\"etag\"", null, 42));
+    cache.markValidated(URL, 100);
+
+    MavenMetadataCache.Entry entry = cache.get(URL);
+    assertEquals(100, entry.getValidated());
+    assertEquals("\"etag\"", entry.getEtag());
+    assertArrayEquals(CONTENT, entry.getContent());
+  }
+
+  @Test
+  public void testMarkValidated_missing() throws IOException {
+    cache.markValidated(URL, 100);
+    assertNull(cache.get(URL));
+  }
+
+  @Test
+  public void testPut_evictsLeastRecentlyValidated() throws IOException {
+    cache.put(URL + "/1", new MavenMetadataCache.Entry(CONTENT, null, null, 20));
+    cache.put(URL + "/2", new MavenMetadataCache.Entry(CONTENT, null, null, 10));
+    cache.put(URL + "/3", new MavenMetadataCache.Entry(CONTENT, null, null, 30));
+
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get(URL + "/1"));
+    assertNull(cache.get(URL + "/2"));
+    assertNotNull(cache.get(URL + "/3"));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.util.io;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests resuming a download from a server that honors range requests. */
+public class FileDownloaderResumeWithServerTest {
+
+  private static final String FILE_TO_DOWNLOAD = "index.html";
+  private static final String FIRST_PART = "<html><body>";
+  private static final String REST = "hello</body></html>";
+  private static final String ETAG = "\"v1\"";
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  @Rule public TestHttpServer server = new TestHttpServer(FILE_TO_DOWNLOAD, REST);
+
+  @Test
+  public void testDownload_resumesPartialFile() throws IOException {
+    server.setResponseStatus(206);
+    int length = FIRST_PART.length() + REST.length();
+    server.addResponseHeader("Content-Range",
+        "bytes " + FIRST_PART.length() + "-" + (length - 1) + "/" + length);
+    File downloadFolder = temporaryFolder.newFolder();
+    File partialFile = new File(downloadFolder, FILE_TO_DOWNLOAD + FileDownloader.PARTIAL_SUFFIX);
+    Files.write(partialFile.toPath(), FIRST_PART.getBytes(StandardCharsets.UTF_8));
+    File validatorFile =
+        new File(downloadFolder, FILE_TO_DOWNLOAD + FileDownloader.VALIDATOR_SUFFIX);
+    Files.write(validatorFile.toPath(), ETAG.getBytes(StandardCharsets.UTF_8));
+
+    FileDownloader fileDownloader = new FileDownloader(new Path(downloadFolder.getAbsolutePath()));
+    IPath downloadPath = fileDownloader.download(
+        new URL(server.getAddress() + FILE_TO_DOWNLOAD), new NullProgressMonitor());
+
+    assertEquals("bytes=" + FIRST_PART.length() + "-", server.getRequestHeaders().get("Range"));
+    assertEquals(ETAG, server.getRequestHeaders().get("If-Range"));
+    assertThat(new String(Files.readAllBytes(downloadPath.toFile().toPath()),
+        StandardCharsets.UTF_8), is(FIRST_PART + REST));
+    assertFalse(partialFile.exists());
+    assertFalse(validatorFile.exists());
+  }
+}
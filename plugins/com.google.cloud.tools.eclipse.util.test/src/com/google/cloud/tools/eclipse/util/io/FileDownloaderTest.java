@@ -16,8 +16,12 @@
 
 package com.google.cloud.tools.eclipse.util.io;
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.junit.Rule;
@@ -49,4 +53,31 @@ public class FileDownloaderTest {
     FileDownloader fileDownloader = new FileDownloader(new Path("/dev/null/foo"));
     fileDownloader.download(new URL("http://example.com/dummy.zip"), new NullProgressMonitor());
   }
+
+  @Test
+  public void testGetContentRangeStart() {
+    assertEquals(100, FileDownloader.getContentRangeStart("bytes 100-199/200"));
+    assertEquals(0, FileDownloader.getContentRangeStart("bytes 0-9/*"));
+  }
+
+  @Test
+  public void testGetContentRangeStart_unparseable() {
+    assertEquals(-1, FileDownloader.getContentRangeStart(null));
+    assertEquals(-1, FileDownloader.getContentRangeStart("bytes */200"));
+    assertEquals(-1, FileDownloader.getContentRangeStart("items 1-2/3"));
+  }
+
+  @Test
+  public void testVerifySha1() throws IOException {
+    java.nio.file.Path file = temporaryFolder.newFile().toPath();
+    Files.write(file, "hello".getBytes(StandardCharsets.UTF_8));
+    FileDownloader.verifySha1(file, "aaf4c61ddcc5e8a2dabede0f3b482cd9aea9434d");
+  }
+
+  @Test(expected = IOException.class)
+  public void testVerifySha1_mismatch() throws IOException {
+    java.nio.file.Path file = temporaryFolder.newFile().toPath();
+    Files.write(file, "hello!".getBytes(StandardCharsets.UTF_8));
+    FileDownloader.verifySha1(file, "aaf4c61ddcc5e8a2dabede0f3b482cd9aea9434d");
+  }
 }
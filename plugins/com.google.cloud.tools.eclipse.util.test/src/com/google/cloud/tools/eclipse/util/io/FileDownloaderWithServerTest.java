@@ -17,7 +17,10 @@
 package com.google.cloud.tools.eclipse.util.io;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -27,6 +30,10 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
@@ -57,4 +64,59 @@ public class FileDownloaderWithServerTest {
     assertThat(new String(Files.readAllBytes(downloadedFile.toPath()), StandardCharsets.UTF_8),
                is(FILE_CONTENT));
   }
+
+  @Test
+  public void testDownload_restartsWhenServerIgnoresRange() throws IOException {
+    File downloadFolder = temporaryFolder.newFolder();
+    File partialFile = new File(downloadFolder, FILE_TO_DOWNLOAD + FileDownloader.PARTIAL_SUFFIX);
+    Files.write(partialFile.toPath(), "garbage".getBytes(StandardCharsets.UTF_8));
+    Files.write(new File(downloadFolder, FILE_TO_DOWNLOAD + FileDownloader.VALIDATOR_SUFFIX)
+        .toPath(), "\"v1\"".getBytes(StandardCharsets.UTF_8));
+
+    FileDownloader fileDownloader = new FileDownloader(new Path(downloadFolder.getAbsolutePath()));
+    IPath downloadPath = fileDownloader.download(
+        new URL(server.getAddress() + FILE_TO_DOWNLOAD), new NullProgressMonitor());
+
+    assertEquals("bytes=7-", server.getRequestHeaders().get("Range"));
+    assertThat(new String(Files.readAllBytes(downloadPath.toFile().toPath()),
+        StandardCharsets.UTF_8), is(FILE_CONTENT));
+    assertFalse(partialFile.exists());
+  }
+
+  @Test
+  public void testDownload_partialFileOfUnknownVersionNotResumed() throws IOException {
+    File downloadFolder = temporaryFolder.newFolder();
+    File partialFile = new File(downloadFolder, FILE_TO_DOWNLOAD + FileDownloader.PARTIAL_SUFFIX);
+    Files.write(partialFile.toPath(), "<html>".getBytes(StandardCharsets.UTF_8));
+
+    FileDownloader fileDownloader = new FileDownloader(new Path(downloadFolder.getAbsolutePath()));
+    IPath downloadPath = fileDownloader.download(
+        new URL(server.getAddress() + FILE_TO_DOWNLOAD), new NullProgressMonitor());
+
+    assertNull(server.getRequestHeaders().get("Range"));
+    assertThat(new String(Files.readAllBytes(downloadPath.toFile().toPath()),
+        StandardCharsets.UTF_8), is(FILE_CONTENT));
+  }
+
+  @Test
+  public void testDownload_concurrentCallsDownloadOnce()
+      throws IOException, InterruptedException, ExecutionException {
+    // the server fails any second request for the file
+    FileDownloader fileDownloader =
+        new FileDownloader(new Path(temporaryFolder.newFolder().getAbsolutePath()));
+    URL url = new URL(server.getAddress() + FILE_TO_DOWNLOAD);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<IPath> first = executor.submit(
+          () -> fileDownloader.download(url, new NullProgressMonitor()));
+      Future<IPath> second = executor.submit(
+          () -> fileDownloader.download(url, new NullProgressMonitor()));
+      assertEquals(first.get(), second.get());
+      assertThat(new String(Files.readAllBytes(first.get().toFile().toPath()),
+          StandardCharsets.UTF_8), is(FILE_CONTENT));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
@@ -24,11 +24,17 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.ImmutableSortedSet.Builder;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Path;
 import java.util.Locale;
 import java.util.NavigableSet;
 import java.util.concurrent.ExecutionException;
@@ -43,6 +49,10 @@ import javax.xml.xpath.XPathFactory;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
@@ -54,13 +64,28 @@ import org.xml.sax.SAXException;
  * may change between versions.
  *
  * <p>The artifact retriever reads Maven Central metadata XML files to retrieve available and latest
- * versions.
+ * versions. Metadata files are kept in a {@link MavenMetadataCache} under the bundle state location
+ * so that they survive restarts: entries younger than {@link #METADATA_MAX_AGE_MS} are used as is,
+ * older ones are revalidated with a conditional request. When offline (see {@link #isOffline()}),
+ * or when the repository cannot be reached, cached entries are used regardless of their age.
  */
 public class ArtifactRetriever {
 
   private static final Logger logger = Logger.getLogger(ArtifactRetriever.class.getName());
 
+  private static final int CONNECT_TIMEOUT_MS = 3000;
+  private static final int READ_TIMEOUT_MS = 3000;
+
+  /** Metadata cached for less than this long is used without contacting the repository. */
+  @VisibleForTesting
+  static final long METADATA_MAX_AGE_MS = TimeUnit.HOURS.toMillis(4);
+  private static final int METADATA_CACHE_MAX_ENTRIES = 500;
+
+  private static MavenMetadataCache sharedMetadataCache;
+
   private final String repositoryUrl;
+  private final MavenMetadataCache metadataCache;
+  private volatile boolean offline;
 
   // see https://maven.apache.org/ref/3.5.0/maven-repository-metadata/repository-metadata.html
   @VisibleForTesting
@@ -127,7 +152,49 @@ public class ArtifactRetriever {
    *     "https://repo1.maven.org/maven2/"
    */
   private ArtifactRetriever(String repositoryUrl) {
+    this(repositoryUrl, getSharedMetadataCache());
+  }
+
+  /** @param metadataCache on-disk metadata cache; {@code null} to cache in memory only */
+  @VisibleForTesting
+  ArtifactRetriever(String repositoryUrl, MavenMetadataCache metadataCache) {
     this.repositoryUrl = repositoryUrl;
+    this.metadataCache = metadataCache;
+  }
+
+  /**
+   * Returns the cache under the bundle state location, or {@code null} when not running in OSGi.
+   */
+  private static synchronized MavenMetadataCache getSharedMetadataCache() {
+    if (sharedMetadataCache == null) {
+      Bundle bundle = FrameworkUtil.getBundle(ArtifactRetriever.class);
+      if (bundle == null) {
+        return null;
+      }
+      Path directory = Platform.getStateLocation(bundle).append("maven-metadata").toFile().toPath();
+      sharedMetadataCache = new MavenMetadataCache(directory, METADATA_CACHE_MAX_ENTRIES);
+    }
+    return sharedMetadataCache;
+  }
+
+  /**
+   * Forces offline mode on or off. Offline, metadata is served from the on-disk cache only,
+   * however old, and artifacts without cached metadata are not found.
+   */
+  public void setOffline(boolean offline) {
+    this.offline = offline;
+  }
+
+  /** Returns true if offline mode was forced or Maven is configured to work offline. */
+  public boolean isOffline() {
+    if (offline) {
+      return true;
+    }
+    try {
+      return MavenPlugin.getMavenConfiguration().isOffline();
+    } catch (RuntimeException | LinkageError ex) {
+      return false;  // M2E not running
+    }
   }
 
   /**
@@ -210,16 +277,79 @@ public class ArtifactRetriever {
     String[] x = keyToId(coordinates);
     String groupId = x[0];
     String artifactId = x[1];
-    try {
+    byte[] metadata = getMetadata(getMetadataUrl(groupId, artifactId));
+    try (InputStream input = new ByteArrayInputStream(metadata)) {
       return DocumentBuilderFactory.newInstance()
           .newDocumentBuilder()
-          .parse(getMetadataUrl(groupId, artifactId).toString());
+          .parse(input);
     } catch (ParserConfigurationException | SAXException ex) {
       // these really shouldn't happen but if they do we'll wrap them
       throw new IOException("Could not configure Document Builder", ex);
     }
   }
 
+  /** Returns the content at {@code url}, going through {@link #metadataCache} if available. */
+  @VisibleForTesting
+  byte[] getMetadata(URL url) throws IOException {
+    String key = url.toString();
+    MavenMetadataCache.Entry cached = metadataCache == null ? null : metadataCache.get(key);
+    long now = System.currentTimeMillis();
+    if (cached != null) {
+      boolean fresh = now - cached.getValidated() < METADATA_MAX_AGE_MS;
+      if (fresh || isOffline()) {
+        return cached.getContent();
+      }
+    } else if (isOffline()) {
+      throw new IOException("Working offline and no cached metadata available: " + url);
+    }
+
+    try {
+      return fetchMetadata(url, cached, now);
+    } catch (IOException ex) {
+      if (cached == null) {
+        throw ex;
+      }
+      logger.log(Level.INFO, "Using stale cached metadata; could not fetch " + url, ex);
+      return cached.getContent();
+    }
+  }
+
+  private byte[] fetchMetadata(URL url, MavenMetadataCache.Entry cached, long now)
+      throws IOException {
+    URLConnection connection = url.openConnection();
+    connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+    connection.setReadTimeout(READ_TIMEOUT_MS);
+    connection.setRequestProperty("User-Agent", CloudToolsInfo.USER_AGENT);
+    if (cached != null && cached.getEtag() != null) {
+      connection.setRequestProperty("If-None-Match", cached.getEtag());
+    }
+    if (cached != null && cached.getLastModified() != null) {
+      connection.setRequestProperty("If-Modified-Since", cached.getLastModified());
+    }
+
+    if (connection instanceof HttpURLConnection) {
+      int responseCode = ((HttpURLConnection) connection).getResponseCode();
+      if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+        metadataCache.markValidated(url.toString(), now);
+        return cached.getContent();
+      }
+    }
+
+    byte[] content;
+    try (InputStream input = connection.getInputStream()) {
+      content = ByteStreams.toByteArray(input);
+    }
+    if (metadataCache != null) {
+      try {
+        metadataCache.put(url.toString(), new MavenMetadataCache.Entry(content,
+            connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"), now));
+      } catch (IOException ex) {
+        logger.log(Level.WARNING, "Could not cache metadata from " + url, ex);
+      }
+    }
+    return content;
+  }
+
   @VisibleForTesting
   static String idToKey(String groupId, String artifactId) {
     return groupId + ":" + artifactId;
@@ -17,9 +17,18 @@
 package com.google.cloud.tools.eclipse.util;
 
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.RepositorySystem;
@@ -39,11 +48,28 @@ import org.eclipse.aether.util.filter.DependencyFilterUtils;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.m2e.core.embedder.IMavenExecutionContext;
 
 public class DependencyResolver {
 
+  /**
+   * Resolutions in progress, keyed by operation and artifact coordinates. A request for an artifact
+   * that is already being resolved waits for and shares the result of the earlier request.
+   */
+  private static final ConcurrentMap<String, CompletableFuture<?>> inFlight =
+      new ConcurrentHashMap<>();
+
+  /** How often a request waiting for another one checks for cancellation. */
+  private static final long CANCELLATION_CHECK_INTERVAL_MS = 100;
+
+  @FunctionalInterface
+  @VisibleForTesting
+  interface Resolution<T> {
+    T resolve() throws CoreException;
+  }
+
   /**
    * Returns all transitive runtime dependencies of the specified Maven jar artifact including the
    * artifact itself.
@@ -51,16 +77,18 @@ public class DependencyResolver {
    * @param groupId group ID of the Maven artifact to resolve
    * @param artifactId artifact ID of the Maven artifact to resolve
    * @param version version of the Maven artifact to resolve
-   * @return artifacts in the transitive dependency graph. Order not guaranteed.
+   * @return artifacts in the transitive dependency graph, unmodifiable. Order not guaranteed.
    * @throws CoreException if the dependencies could not be resolved
    */
   public static Collection<Artifact> getTransitiveDependencies(
       String groupId, String artifactId, String version, IProgressMonitor monitor)
       throws CoreException {
-    return MavenUtils.runOperation(
+    String coords = groupId + ":" + artifactId + ":" + version;
+    return coalesce("transitive:" + coords, monitor, () -> MavenUtils.runOperation(
+        new MavenArtifactRule(groupId, artifactId, version),
         monitor,
-        (context, system, progress) ->
-            _getTransitiveDependencies(context, system, groupId, artifactId, version, progress));
+        (context, system, progress) -> Collections.unmodifiableCollection(
+            _getTransitiveDependencies(context, system, groupId, artifactId, version, progress))));
   }
 
   private static Collection<Artifact> _getTransitiveDependencies(
@@ -123,11 +151,70 @@ public class DependencyResolver {
   public static Collection<Dependency> getManagedDependencies(
       String groupId, String artifactId, String version, IProgressMonitor monitor)
       throws CoreException {
-
-    return MavenUtils.runOperation(
+    String coords = groupId + ":" + artifactId + ":" + version;
+    return coalesce("managed:" + coords, monitor, () -> MavenUtils.runOperation(
+        new MavenArtifactRule(groupId, artifactId, version),
         monitor,
-        (context, system, progress) ->
-            _getManagedDependencies(context, system, groupId, artifactId, version, progress));
+        (context, system, progress) -> Collections.unmodifiableCollection(
+            _getManagedDependencies(context, system, groupId, artifactId, version, progress))));
+  }
+
+  /**
+   * Runs {@code resolution} unless a resolution with the same {@code key} is already in progress,
+   * in which case its outcome is returned instead. Results are shared between callers and so must
+   * not be modified. If the resolution in progress is canceled, the waiting caller runs its own.
+   */
+  @VisibleForTesting
+  static <T> T coalesce(String key, IProgressMonitor monitor, Resolution<T> resolution)
+      throws CoreException {
+    while (true) {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      @SuppressWarnings("unchecked")
+      CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(key, future);
+      if (existing == null) {
+        try {
+          T result = resolution.resolve();
+          future.complete(result);
+          return result;
+        } catch (CoreException | RuntimeException ex) {
+          future.completeExceptionally(ex);
+          throw ex;
+        } finally {
+          inFlight.remove(key, future);
+        }
+      }
+
+      try {
+        return await(existing, monitor);
+      } catch (ExecutionException ex) {
+        if (!(ex.getCause() instanceof OperationCanceledException)) {
+          Throwables.throwIfInstanceOf(ex.getCause(), CoreException.class);
+          Throwables.throwIfUnchecked(ex.getCause());
+          throw new CoreException(StatusUtil.error(DependencyResolver.class,
+              "Could not resolve dependencies", ex.getCause()));
+        }
+        // the other caller gave up; try again
+      }
+    }
+  }
+
+  private static <T> T await(CompletableFuture<T> future, IProgressMonitor monitor)
+      throws ExecutionException {
+    try {
+      while (true) {
+        if (monitor != null && monitor.isCanceled()) {
+          throw new OperationCanceledException();
+        }
+        try {
+          return future.get(CANCELLATION_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+          // check for cancellation and keep waiting
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new OperationCanceledException();
+    }
   }
 
   private static Collection<Dependency> _getManagedDependencies(
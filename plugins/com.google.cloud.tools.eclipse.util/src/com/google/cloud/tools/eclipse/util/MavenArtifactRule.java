@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.util;
+
+import com.google.common.base.Preconditions;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+
+/**
+ * Scheduling rule for resolving a single Maven artifact. Rules for the same coordinates conflict,
+ * so that a given artifact is not downloaded twice at the same time, while artifacts with
+ * different coordinates can be resolved concurrently.
+ */
+final class MavenArtifactRule implements ISchedulingRule {
+
+  private final String coordinates;
+
+  MavenArtifactRule(String groupId, String artifactId, String version) {
+    Preconditions.checkNotNull(groupId);
+    Preconditions.checkNotNull(artifactId);
+    Preconditions.checkNotNull(version);
+    coordinates = groupId + ":" + artifactId + ":" + version;
+  }
+
+  @Override
+  public boolean contains(ISchedulingRule rule) {
+    return isConflicting(rule);
+  }
+
+  @Override
+  public boolean isConflicting(ISchedulingRule rule) {
+    return rule instanceof MavenArtifactRule
+        && coordinates.equals(((MavenArtifactRule) rule).coordinates);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof MavenArtifactRule
+        && coordinates.equals(((MavenArtifactRule) other).coordinates);
+  }
+
+  @Override
+  public int hashCode() {
+    return coordinates.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "MavenArtifactRule: " + coordinates;
+  }
+}
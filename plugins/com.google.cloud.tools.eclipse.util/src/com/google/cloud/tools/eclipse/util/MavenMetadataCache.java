@@ -0,0 +1,226 @@
+/*
+ * Copyright 2021 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.cloud.tools.eclipse.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A size-bounded, on-disk cache of Maven repository metadata files ({@code maven-metadata.xml}),
+ * keyed by URL. Along with the content, each entry keeps the {@code ETag} and
+ * {@code Last-Modified} validators sent by the repository so that a stale entry can be
+ * revalidated with a conditional request instead of being downloaded again.
+ *
+ * <p>Each entry is stored as two files named after a hash of its URL: the metadata itself and a
+ * properties file with the validators and the time the entry was last confirmed to be current.
+ * When the cache holds more than its maximum number of entries, the least recently confirmed
+ * entries are deleted.
+ */
+class MavenMetadataCache {
+
+  private static final Logger logger = Logger.getLogger(MavenMetadataCache.class.getName());
+
+  private static final String CONTENT_SUFFIX = ".xml";
+  private static final String PROPERTIES_SUFFIX = ".properties";
+
+  private static final String URL_PROPERTY = "url";
+  private static final String ETAG_PROPERTY = "etag";
+  private static final String LAST_MODIFIED_PROPERTY = "lastModified";
+  private static final String VALIDATED_PROPERTY = "validated";
+
+  /** A cached metadata file. */
+  static class Entry {
+    private final byte[] content;
+    private final String etag;
+    private final String lastModified;
+    private final long validated;
+
+    Entry(byte[] content, String etag, String lastModified, long validated) {
+      this.content = Preconditions.checkNotNull(content);
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.validated = validated;
+    }
+
+    byte[] getContent() {
+      return content;
+    }
+
+    /** The {@code ETag} header sent with the content, or {@code null}. */
+    String getEtag() {
+      return etag;
+    }
+
+    /** The {@code Last-Modified} header sent with the content, or {@code null}. */
+    String getLastModified() {
+      return lastModified;
+    }
+
+    /** Time in milliseconds the content was last fetched or confirmed to be current. */
+    long getValidated() {
+      return validated;
+    }
+  }
+
+  private final Path directory;
+  private final int maxEntries;
+
+  MavenMetadataCache(Path directory, int maxEntries) {
+    Preconditions.checkArgument(maxEntries > 0);
+    this.directory = Preconditions.checkNotNull(directory);
+    this.maxEntries = maxEntries;
+  }
+
+  /** Returns the entry cached for {@code url}, or {@code null} if there is none. */
+  synchronized Entry get(String url) {
+    Path propertiesFile = getPropertiesFile(url);
+    Path contentFile = getContentFile(url);
+    try {
+      Properties properties = readProperties(propertiesFile);
+      if (!url.equals(properties.getProperty(URL_PROPERTY))) {
+        return null;  // hash collision
+      }
+      long validated = Long.parseLong(properties.getProperty(VALIDATED_PROPERTY, "0"));
+      return new Entry(Files.readAllBytes(contentFile), properties.getProperty(ETAG_PROPERTY),
+          properties.getProperty(LAST_MODIFIED_PROPERTY), validated);
+    } catch (NoSuchFileException ex) {
+      return null;
+    } catch (IOException | NumberFormatException ex) {
+      logger.log(Level.WARNING, "Discarding unreadable cached metadata for " + url, ex);
+      return null;
+    }
+  }
+
+  /** Caches {@code entry} for {@code url}, replacing any existing entry, and trims the cache. */
+  synchronized void put(String url, Entry entry) throws IOException {
+    Files.createDirectories(directory);
+    writeAtomically(getContentFile(url), entry.getContent());
+    writeProperties(url, entry);
+    trim();
+  }
+
+  /** Records that the entry cached for {@code url} was confirmed to be current at {@code time}. */
+  synchronized void markValidated(String url, long time) throws IOException {
+    Entry entry = get(url);
+    if (entry != null) {
+      writeProperties(url,
+          new Entry(entry.getContent(), entry.getEtag(), entry.getLastModified(), time));
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int size() throws IOException {
+    return listPropertiesFiles().size();
+  }
+
+  private void writeProperties(String url, Entry entry) throws IOException {
+    Properties properties = new Properties();
+    properties.setProperty(URL_PROPERTY, url);
+    if (entry.getEtag() != null) {
+      properties.setProperty(ETAG_PROPERTY, entry.getEtag());
+    }
+    if (entry.getLastModified() != null) {
+      properties.setProperty(LAST_MODIFIED_PROPERTY, entry.getLastModified());
+    }
+    properties.setProperty(VALIDATED_PROPERTY, Long.toString(entry.getValidated()));
+
+    Path propertiesFile = getPropertiesFile(url);
+    Path tempFile = propertiesFile.resolveSibling(propertiesFile.getFileName() + ".tmp");
+    try (OutputStream output = Files.newOutputStream(tempFile)) {
+      properties.store(output, null);
+    }
+    Files.move(tempFile, propertiesFile, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /** Deletes the least recently validated entries beyond {@link #maxEntries}. */
+  private void trim() throws IOException {
+    List<Path> propertiesFiles = listPropertiesFiles();
+    if (propertiesFiles.size() <= maxEntries) {
+      return;
+    }
+
+    List<Path> byAge = new ArrayList<>(propertiesFiles);
+    byAge.sort(Comparator.comparingLong(MavenMetadataCache::getValidatedTime));
+    for (Path propertiesFile : byAge.subList(0, byAge.size() - maxEntries)) {
+      String fileName = propertiesFile.getFileName().toString();
+      String baseName = fileName.substring(0, fileName.length() - PROPERTIES_SUFFIX.length());
+      Files.deleteIfExists(propertiesFile);
+      Files.deleteIfExists(directory.resolve(baseName + CONTENT_SUFFIX));
+    }
+  }
+
+  private List<Path> listPropertiesFiles() throws IOException {
+    List<Path> files = new ArrayList<>();
+    if (Files.isDirectory(directory)) {
+      try (DirectoryStream<Path> stream =
+          Files.newDirectoryStream(directory, "*" + PROPERTIES_SUFFIX)) {
+        stream.forEach(files::add);
+      }
+    }
+    return files;
+  }
+
+  private static long getValidatedTime(Path propertiesFile) {
+    try {
+      return Long.parseLong(readProperties(propertiesFile).getProperty(VALIDATED_PROPERTY, "0"));
+    } catch (IOException | NumberFormatException ex) {
+      return 0;  // evict unreadable entries first
+    }
+  }
+
+  private static Properties readProperties(Path propertiesFile) throws IOException {
+    Properties properties = new Properties();
+    try (InputStream input = Files.newInputStream(propertiesFile)) {
+      properties.load(input);
+    }
+    return properties;
+  }
+
+  private static void writeAtomically(Path file, byte[] content) throws IOException {
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.write(tempFile, content);
+    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private Path getContentFile(String url) {
+    return directory.resolve(hash(url) + CONTENT_SUFFIX);
+  }
+
+  private Path getPropertiesFile(String url) {
+    return directory.resolve(hash(url) + PROPERTIES_SUFFIX);
+  }
+
+  private static String hash(String url) {
+    return Hashing.sha256().hashString(url, StandardCharsets.UTF_8).toString();
+  }
+}
@@ -92,6 +92,7 @@ public class MavenUtils {
       IProgressMonitor monitor)
       throws CoreException {
     return runOperation(
+        new MavenArtifactRule(groupId, artifactId, version),
         monitor,
         (context, system, progress) -> {
           IMaven maven = MavenPlugin.getMaven();
@@ -102,21 +103,26 @@ public class MavenUtils {
   }
 
   /**
-   * Perform some Maven-related action that may result in a change to the local Maven repositories,
-   * ensuring that required {@link ISchedulingRule scheduling rules} are held.
+   * Perform some Maven-related action that may result in a change to the local Maven repositories.
+   * If no {@link ISchedulingRule scheduling rule} is held, {@code rule} is acquired for the
+   * duration of the operation. Otherwise the current rule must contain either {@code rule} or
+   * the {@link #mavenResolvingRule() m2e rule}, as scheduling rules cannot be nested unless the
+   * outer rule contains the inner one.
+   *
+   * @param rule the rule to acquire when none is held, usually a {@link MavenArtifactRule}
    */
-  public static <T> T runOperation(IProgressMonitor monitor, MavenRepositoryOperation<T> operation)
-      throws CoreException {
+  public static <T> T runOperation(ISchedulingRule rule, IProgressMonitor monitor,
+      MavenRepositoryOperation<T> operation) throws CoreException {
     SubMonitor progress = SubMonitor.convert(monitor, 10);
-    ISchedulingRule rule = mavenResolvingRule();
-    boolean acquireRule = Job.getJobManager().currentRule() == null;
+    ISchedulingRule currentRule = Job.getJobManager().currentRule();
+    boolean acquireRule = currentRule == null;
     if (acquireRule) {
       Job.getJobManager().beginRule(rule, progress.split(2));
+    } else {
+      Verify.verify(currentRule.contains(rule) || currentRule.contains(mavenResolvingRule()),
+          "require holding superset of rule: " + rule);
     }
     try {
-      Verify.verify(
-          Job.getJobManager().currentRule().contains(rule),
-          "require holding superset of rule: " + rule);
       IMavenExecutionContext context = MavenPlugin.getMaven().createExecutionContext();
       return context.execute(
           (context2, monitor2) -> {
@@ -132,7 +138,10 @@ public class MavenUtils {
     }
   }
 
-  /** Return the m2e scheduling rule used to serialize access to the Maven repository. */
+  /**
+   * Return the m2e scheduling rule used to serialize Maven project configuration. Holding it is
+   * sufficient to resolve any artifact through {@link #runOperation}.
+   */
   public static ISchedulingRule mavenResolvingRule() {
     return MavenPlugin.getProjectConfigurationManager().getRule();
   }
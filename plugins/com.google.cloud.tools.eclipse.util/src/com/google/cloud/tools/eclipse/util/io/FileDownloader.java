@@ -17,27 +17,69 @@
 package com.google.cloud.tools.eclipse.util.io;
 
 import com.google.cloud.tools.eclipse.util.CloudToolsInfo;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ascii;
 import com.google.common.base.Preconditions;
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.MoreFiles;
+import com.google.common.util.concurrent.Striped;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.SubMonitor;
 
 /**
  * Utility class to download files from {@link URL}s.
+ * <p>
+ * Files are first written to a sibling {@code .part} file, which is renamed to its final name
+ * only once complete and verified, so a file with the final name is never partial. An interrupted
+ * download leaves the {@code .part} file behind and the next attempt resumes it with an HTTP range
+ * request, if the server supports them; the request is conditional on the remote file being the
+ * same version, identified by its {@code ETag} or {@code Last-Modified} date. If the server
+ * publishes a Maven-style {@code .sha1} sidecar next to the file, the download is verified against
+ * it. At most {@link #MAX_CONCURRENT_DOWNLOADS} downloads run at the same time across all
+ * instances.
  */
 public class FileDownloader {
 
+  private static final Logger logger = Logger.getLogger(FileDownloader.class.getName());
+
   private static final int DEFAULT_CONNECT_TIMEOUT_MS = 3000;
-  private static final int DEFAULT_READ_TIMEOUT_MS = 3000;
+  private static final int DEFAULT_READ_TIMEOUT_MS = 10000;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  @VisibleForTesting
+  static final String PARTIAL_SUFFIX = ".part";
+  @VisibleForTesting
+  static final String VALIDATOR_SUFFIX = ".part.validator";
+  private static final String SHA1_SUFFIX = ".sha1";
+  private static final Pattern CONTENT_RANGE_PATTERN =
+      Pattern.compile("bytes (\\d+)-\\d+/(\\d+|\\*)");
+
+  @VisibleForTesting
+  static final int MAX_CONCURRENT_DOWNLOADS = 4;
+  private static final Semaphore downloadSlots = new Semaphore(MAX_CONCURRENT_DOWNLOADS, true);
+  // serializes downloads to the same file, which would otherwise share the partial file
+  private static final Striped<Lock> fileLocks = Striped.lock(32);
 
   private final IPath downloadFolderPath;
 
@@ -61,12 +103,13 @@ public class FileDownloader {
   /**
    * Downloads the file pointed to by the <code>url</code>
    * <p>
-   * The downloaded file's name will be the last segment of the path of the URL.
+   * The downloaded file's name will be the last segment of the path of the URL. If a file with
+   * that name already exists, it is returned without downloading.
    *
    * @param url location of the file to download, cannot be <code>null</code>
-   * @return a path pointing to the downloaded file
-   * @throws IOException if the URL cannot be opened, the output file cannot be written or the
-   *         transfer of the remote file fails
+   * @return a path pointing to the downloaded file, or {@code null} if canceled
+   * @throws IOException if the URL cannot be opened, the output file cannot be written, the
+   *         transfer of the remote file fails or the downloaded file does not match its checksum
    */
   public IPath download(URL url, IProgressMonitor monitor) throws IOException {
     Preconditions.checkNotNull(url, "url is null");
@@ -80,29 +123,181 @@ public class FileDownloader {
     }
 
     ensureDownloadFolderExists();
-    URLConnection connection = url.openConnection();
-    connection.setConnectTimeout(DEFAULT_CONNECT_TIMEOUT_MS);
-    connection.setReadTimeout(DEFAULT_READ_TIMEOUT_MS);
-    connection.setRequestProperty("User-Agent", CloudToolsInfo.USER_AGENT);
-    try (InputStream inputStream = new BufferedInputStream(connection.getInputStream());
-         OutputStream outputStream = 
-             new BufferedOutputStream(Files.newOutputStream(downloadedFile.toPath()))) {
-      byte[] buffer = new byte[4096];
+    Lock fileLock = fileLocks.get(downloadedFile.getAbsolutePath());
+    fileLock.lock();
+    try {
+      if (downloadedFile.exists()) {  // downloaded meanwhile by a concurrent caller
+        return new Path(downloadedFile.getAbsolutePath());
+      }
+      if (!acquireDownloadSlot(monitor)) {
+        return null;
+      }
+      try {
+        return transfer(url, downloadedFile.toPath(), monitor)
+            ? new Path(downloadedFile.getAbsolutePath()) : null;
+      } finally {
+        downloadSlots.release();
+      }
+    } finally {
+      fileLock.unlock();
+    }
+  }
+
+  /** Returns false if canceled while waiting for a download slot. */
+  private static boolean acquireDownloadSlot(IProgressMonitor monitor)
+      throws InterruptedIOException {
+    try {
+      while (!downloadSlots.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+        if (monitor.isCanceled()) {
+          return false;
+        }
+      }
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to download");
+    }
+  }
+
+  /** Returns false if canceled; the partial file is kept to be resumed. */
+  private boolean transfer(URL url, java.nio.file.Path target, IProgressMonitor monitor)
+      throws IOException {
+    java.nio.file.Path partialFile = target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+    java.nio.file.Path validatorFile =
+        target.resolveSibling(target.getFileName() + VALIDATOR_SUFFIX);
+    // a partial file is only resumed if we know which version of the remote file it holds
+    String validator = Files.exists(validatorFile)
+        ? new String(Files.readAllBytes(validatorFile), StandardCharsets.UTF_8) : null;
+    long resumeFrom = Files.exists(partialFile) && validator != null ? Files.size(partialFile) : 0;
+
+    URLConnection connection = openConnection(url);
+    if (resumeFrom > 0) {
+      connection.setRequestProperty("Range", "bytes=" + resumeFrom + "-");
+      // the server sends the whole file instead if it changed since the partial file was started
+      connection.setRequestProperty("If-Range", validator);
+    }
+    boolean resuming = false;
+    if (resumeFrom > 0 && connection instanceof HttpURLConnection) {
+      int responseCode = ((HttpURLConnection) connection).getResponseCode();
+      resuming = responseCode == HttpURLConnection.HTTP_PARTIAL;
+      // Range Not Satisfiable, or not the range asked for: the partial file is useless
+      if (responseCode == 416 || (resuming
+          && getContentRangeStart(connection.getHeaderField("Content-Range")) != resumeFrom)) {
+        ((HttpURLConnection) connection).disconnect();
+        Files.delete(partialFile);
+        Files.delete(validatorFile);
+        return transfer(url, target, monitor);
+      }
+    }
+    if (!resuming) {
+      saveValidator(connection, validatorFile);
+    }
+
+    long contentLength = connection.getContentLengthLong();
+    SubMonitor progress = SubMonitor.convert(monitor,
+        contentLength > 0 ? (int) Math.min(contentLength / 1024, Integer.MAX_VALUE) : 0);
+    StandardOpenOption[] openOptions = resuming
+        ? new StandardOpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.APPEND}
+        : new StandardOpenOption[] {StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE};
+    try (InputStream inputStream = connection.getInputStream();
+        OutputStream outputStream = Files.newOutputStream(partialFile, openOptions)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
       int read = 0;
+      long unreported = 0;
       while ((read = inputStream.read(buffer)) != -1) {
-        if (monitor.isCanceled()) {
-          return null;
+        if (progress.isCanceled()) {
+          return false;
         }
         outputStream.write(buffer, 0, read);
+        unreported += read;
+        progress.worked((int) (unreported / 1024));
+        unreported %= 1024;
       }
-      return new Path(downloadedFile.getAbsolutePath());
-    } finally {
-      if (monitor.isCanceled()) {
-        Files.delete(downloadedFile.toPath());
+    }
+
+    verifyChecksum(url, partialFile);
+    Files.move(partialFile, target, StandardCopyOption.ATOMIC_MOVE);
+    Files.deleteIfExists(validatorFile);
+    return true;
+  }
+
+  /**
+   * Keeps the strong {@code ETag}, or else the {@code Last-Modified} date, of the remote file next
+   * to the partial file, to send as {@code If-Range} when resuming.
+   */
+  private static void saveValidator(URLConnection connection, java.nio.file.Path validatorFile)
+      throws IOException {
+    String validator = connection.getHeaderField("ETag");
+    if (validator == null || validator.startsWith("W/")) {  // weak tags cannot be used for ranges
+      validator = connection.getHeaderField("Last-Modified");
+    }
+    if (validator == null) {
+      Files.deleteIfExists(validatorFile);
+    } else {
+      Files.write(validatorFile, validator.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * Returns the first byte position of a {@code Content-Range} header value such as
+   * {@code bytes 100-199/200}, or -1 if it cannot be parsed.
+   */
+  @VisibleForTesting
+  static long getContentRangeStart(String contentRange) {
+    if (contentRange == null) {
+      return -1;
+    }
+    Matcher matcher = CONTENT_RANGE_PATTERN.matcher(contentRange.trim());
+    return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+  }
+
+  /** Checks the file against the {@code .sha1} sidecar of {@code url}, if there is one. */
+  private static void verifyChecksum(URL url, java.nio.file.Path file) throws IOException {
+    String sidecar;
+    try {
+      URLConnection connection = openConnection(new URL(url.toString() + SHA1_SUFFIX));
+      try (InputStream inputStream = connection.getInputStream()) {
+        sidecar = new String(ByteStreams.toByteArray(inputStream), StandardCharsets.US_ASCII);
       }
+    } catch (IOException ex) {
+      logger.fine("No checksum available for " + url + ": " + ex);
+      return;
+    }
+
+    // a sidecar holds a hexadecimal digest, optionally followed by the file name
+    String expected = Ascii.toLowerCase(sidecar.trim().split("\\s+")[0]);
+    if (!expected.matches("[0-9a-f]{40}")) {
+      logger.fine("Ignoring malformed checksum for " + url + ": " + sidecar);
+      return;
+    }
+    try {
+      verifySha1(file, expected);
+    } catch (IOException ex) {
+      Files.deleteIfExists(file);
+      throw ex;
+    }
+  }
+
+  /** Verifies that the SHA-1 digest of {@code file} is {@code expected}. */
+  @VisibleForTesting
+  static void verifySha1(java.nio.file.Path file, String expected) throws IOException {
+    @SuppressWarnings("deprecation")  // SHA-1 is what Maven repositories publish
+    String actual = MoreFiles.asByteSource(file).hash(Hashing.sha1()).toString();
+    if (!expected.equals(actual)) {
+      throw new IOException(
+          "Checksum mismatch for " + file + ": expected " + expected + ", got " + actual);
     }
   }
 
+  private static URLConnection openConnection(URL url) throws IOException {
+    URLConnection connection = url.openConnection();
+    connection.setConnectTimeout(DEFAULT_CONNECT_TIMEOUT_MS);
+    connection.setReadTimeout(DEFAULT_READ_TIMEOUT_MS);
+    connection.setRequestProperty("User-Agent", CloudToolsInfo.USER_AGENT);
+    return connection;
+  }
+
   private void ensureDownloadFolderExists() throws IOException {
     File downloadFolder = downloadFolderPath.toFile();
     if (!downloadFolder.exists() && !downloadFolder.mkdirs()) {